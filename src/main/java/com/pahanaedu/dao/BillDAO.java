@@ -4,11 +4,19 @@ import com.pahanaedu.models.Bill;
 import com.pahanaedu.models.BillItem;
 import com.pahanaedu.models.Customer;
 import com.pahanaedu.models.Item;
+import com.pahanaedu.util.BillCursor;
 import com.pahanaedu.util.DatabaseConnection;
+import com.pahanaedu.util.RowHandler;
+import java.io.IOException;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.math.BigDecimal;
 
 /**
@@ -24,17 +32,54 @@ import java.math.BigDecimal;
  */
 public class BillDAO {
 
+    /**
+     * Bill header columns joined with the owning customer, so lists never look
+     * customers up one bill at a time
+     */
+    private static final String BILL_HEADER_SELECT = """
+        SELECT b.bill_number, b.customer_account_number, b.total_amount, b.discount_amount,
+               b.payment_method, b.bill_date, b.created_by, b.status, b.notes,
+               c.account_number, c.name, c.address, c.phone_number, c.email, c.credit_limit,
+               c.is_active, c.registration_date, c.updated_date
+        FROM bills b
+        LEFT JOIN customers c ON c.account_number = b.customer_account_number
+        """;
+
+    /**
+     * Bill item columns joined with the item they reference
+     */
+    private static final String BILL_ITEM_SELECT = """
+        SELECT bi.bill_item_id, bi.bill_number, bi.item_id, bi.quantity, bi.unit_price, bi.line_total,
+               i.name, i.category, i.price, i.stock_quantity, i.reorder_level, i.description,
+               i.is_active, i.created_date, i.updated_date
+        FROM bill_items bi
+        JOIN items i ON i.item_id = bi.item_id
+        """;
+
+    /**
+     * Maximum bill numbers bound into a single IN (...) list
+     */
+    private static final int MAX_IN_LIST_SIZE = 500;
+
+    /**
+     * IN (...) list lengths actually used; a chunk is padded up to the next one so
+     * only this many distinct statements reach the statement caches
+     */
+    private static final int[] IN_LIST_SIZES = {1, 10, 50, 100, MAX_IN_LIST_SIZE};
+
     private final DatabaseConnection dbConnection;
-    private final CustomerDAO customerDAO;
+    private final SequenceDAO sequenceDAO;
     private final ItemDAO itemDAO;
+    private final SalesRollupDAO salesRollupDAO;
 
     /**
      * Constructor - initialize with database connection and related DAOs
      */
     public BillDAO() {
         this.dbConnection = DatabaseConnection.getInstance();
-        this.customerDAO = new CustomerDAO();
+        this.sequenceDAO = new SequenceDAO();
         this.itemDAO = new ItemDAO();
+        this.salesRollupDAO = new SalesRollupDAO();
     }
 
     /**
@@ -83,32 +128,37 @@ public class BillDAO {
                     VALUES (?, ?, ?, ?, ?)
                     """;
 
-                System.out.println("  Processing " + bill.getBillItems().size() + " bill items...");
-                for (BillItem billItem : bill.getBillItems()) {
-                    System.out.println("    Processing item: " + billItem.getItemId() + " (qty: " + billItem.getQuantity() + ")");
-                    
-                    try (PreparedStatement itemStmt = conn.prepareStatement(itemSql)) {
+                // All line items go to the server as one batch (multi-row VALUES with rewriteBatchedStatements)
+                System.out.println("  Inserting " + bill.getBillItems().size() + " bill items as one batch...");
+                try (PreparedStatement itemStmt = conn.prepareStatement(itemSql)) {
+                    for (BillItem billItem : bill.getBillItems()) {
                         itemStmt.setString(1, bill.getBillNumber());
                         itemStmt.setString(2, billItem.getItemId());
                         itemStmt.setInt(3, billItem.getQuantity());
                         itemStmt.setBigDecimal(4, billItem.getUnitPrice());
                         itemStmt.setBigDecimal(5, billItem.getLineTotal());
+                        itemStmt.addBatch();
+                    }
 
-                        System.out.println("    Inserting bill item...");
-                        int itemResult = itemStmt.executeUpdate();
-                        System.out.println("    Bill item insert result: " + itemResult);
-
-                        // Reduce stock for each item
-                        System.out.println("    Reducing stock for item: " + billItem.getItemId());
-                        if (!itemDAO.reduceStock(billItem.getItemId(), billItem.getQuantity(), conn)) {
-                            System.err.println("    Failed to reduce stock for item: " + billItem.getItemId());
-                            throw new SQLException("Failed to reduce stock for item: " + billItem.getItemId());
+                    int[] itemResults = itemStmt.executeBatch();
+                    for (int itemResult : itemResults) {
+                        if (itemResult == Statement.EXECUTE_FAILED) {
+                            throw new SQLException("Failed to insert bill items for bill: " + bill.getBillNumber());
                         }
-                        System.out.println("    Stock reduced successfully");
                     }
+                    System.out.println("  Bill items inserted: " + itemResults.length + " statement result(s)");
                 }
+
+                // Reduce stock for all items in one batch
+                System.out.println("  Reducing stock in one batch...");
+                itemDAO.reduceStockBatch(bill.getBillItems(), conn);
+                System.out.println("  Stock reduced successfully");
             }
 
+            // Count the bill in the daily sales rollup last, so the rollup row (shared by
+            // every checkout of the day) is locked only until the commit just below
+            salesRollupDAO.addBill(conn, bill.getBillNumber());
+
             System.out.println("  Committing transaction...");
             conn.commit(); // Commit transaction
             System.out.println("  Transaction committed successfully");
@@ -149,30 +199,27 @@ public class BillDAO {
      * @return Bill object if found, null otherwise
      */
     public Bill findByBillNumber(String billNumber) {
-        String sql = """
-            SELECT bill_number, customer_account_number, total_amount, discount_amount, payment_method, 
-                   bill_date, created_by, status, notes 
-            FROM bills 
-            WHERE bill_number = ?
-            """;
+        String sql = BILL_HEADER_SELECT + "WHERE b.bill_number = ?";
 
         try (Connection conn = dbConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, billNumber);
 
+            Bill bill = null;
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Bill bill = createBillFromResultSet(rs);
-                    // Load bill items
-                    bill.setBillItems(getBillItems(billNumber));
-                    // Load customer info
-                    Customer customer = customerDAO.findByAccountNumber(bill.getCustomerAccountNumber());
-                    bill.setCustomer(customer);
-                    return bill;
+                    // Customer comes from the join
+                    bill = createBillFromResultSet(rs);
                 }
             }
 
+            if (bill != null) {
+                // Load bill items on the same connection
+                bill.setBillItems(loadBillItems(conn, List.of(billNumber)).getOrDefault(billNumber, new ArrayList<>()));
+                return bill;
+            }
+
         } catch (SQLException e) {
             System.err.println("Error finding bill by number: " + e.getMessage());
             e.printStackTrace();
@@ -188,13 +235,21 @@ public class BillDAO {
      * @return List of bills for the customer
      */
     public List<Bill> getBillsByCustomer(String customerAccountNumber) {
+        return getBillsByCustomer(customerAccountNumber, true);
+    }
+
+    /**
+     * Get bills by customer account number
+     *
+     * @param customerAccountNumber Customer account number
+     * @param includeItems false to load bill headers only (list views)
+     * @return List of bills for the customer
+     */
+    public List<Bill> getBillsByCustomer(String customerAccountNumber, boolean includeItems) {
         List<Bill> bills = new ArrayList<>();
-        String sql = """
-            SELECT bill_number, customer_account_number, total_amount, discount_amount, payment_method, 
-                   bill_date, created_by, status, notes 
-            FROM bills 
-            WHERE customer_account_number = ? 
-            ORDER BY bill_date DESC
+        String sql = BILL_HEADER_SELECT + """
+            WHERE b.customer_account_number = ?
+            ORDER BY b.bill_date DESC
             """;
 
         try (Connection conn = dbConnection.getConnection();
@@ -204,12 +259,14 @@ public class BillDAO {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Bill bill = createBillFromResultSet(rs);
-                    bill.setBillItems(getBillItems(bill.getBillNumber()));
-                    bills.add(bill);
+                    bills.add(createBillFromResultSet(rs));
                 }
             }
 
+            if (includeItems) {
+                attachBillItems(conn, bills);
+            }
+
         } catch (SQLException e) {
             System.err.println("Error getting bills by customer: " + e.getMessage());
             e.printStackTrace();
@@ -226,12 +283,21 @@ public class BillDAO {
      * @return List of bills
      */
     public List<Bill> getAllBills(int limit, int offset) {
+        return getAllBills(limit, offset, true);
+    }
+
+    /**
+     * Get all bills with pagination
+     *
+     * @param limit Number of records to return
+     * @param offset Number of records to skip
+     * @param includeItems false to load bill headers only (list views)
+     * @return List of bills
+     */
+    public List<Bill> getAllBills(int limit, int offset, boolean includeItems) {
         List<Bill> bills = new ArrayList<>();
-        String sql = """
-            SELECT bill_number, customer_account_number, total_amount, discount_amount, payment_method, 
-                   bill_date, created_by, status, notes 
-            FROM bills 
-            ORDER BY bill_date DESC 
+        String sql = BILL_HEADER_SELECT + """
+            ORDER BY b.bill_date DESC, b.bill_number DESC
             LIMIT ? OFFSET ?
             """;
 
@@ -243,12 +309,14 @@ public class BillDAO {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Bill bill = createBillFromResultSet(rs);
-                    bill.setBillItems(getBillItems(bill.getBillNumber()));
-                    bills.add(bill);
+                    bills.add(createBillFromResultSet(rs));
                 }
             }
 
+            if (includeItems) {
+                attachBillItems(conn, bills);
+            }
+
         } catch (SQLException e) {
             System.err.println("Error getting all bills: " + e.getMessage());
             e.printStackTrace();
@@ -258,7 +326,113 @@ public class BillDAO {
     }
 
     /**
-     * Update bill status
+     * Get bills with a given status, newest first
+     *
+     * @param status Bill status
+     * @param includeItems false to load bill headers only
+     * @return List of matching bills
+     */
+    public List<Bill> getBillsByStatus(Bill.Status status, boolean includeItems) {
+        return getBillsMatching("b.status = ?", status.name(), includeItems);
+    }
+
+    /**
+     * Get bills paid with a given payment method, newest first
+     *
+     * @param paymentMethod Payment method
+     * @param includeItems false to load bill headers only
+     * @return List of matching bills
+     */
+    public List<Bill> getBillsByPaymentMethod(Bill.PaymentMethod paymentMethod, boolean includeItems) {
+        return getBillsMatching("b.payment_method = ?", paymentMethod.name(), includeItems);
+    }
+
+    /**
+     * Load bills matching a single-parameter condition on the bills table
+     *
+     * @param condition SQL condition with one placeholder
+     * @param value Value bound to the placeholder
+     * @param includeItems false to load bill headers only
+     * @return List of matching bills
+     */
+    private List<Bill> getBillsMatching(String condition, String value, boolean includeItems) {
+        List<Bill> bills = new ArrayList<>();
+        String sql = BILL_HEADER_SELECT
+                + "WHERE " + condition + "\n"
+                + "ORDER BY b.bill_date DESC, b.bill_number DESC";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, value);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    bills.add(createBillFromResultSet(rs));
+                }
+            }
+
+            if (includeItems) {
+                attachBillItems(conn, bills);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting bills where " + condition + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return bills;
+    }
+
+    /**
+     * Get a page of bills using keyset (seek) pagination
+     * Starts right after the cursor in (bill_date, bill_number) order, so every page
+     * costs the same index range scan as the first one
+     *
+     * @param cursor Position after the last bill of the previous page, or null for the first page
+     * @param limit Number of records to return
+     * @param includeItems false to load bill headers only (list views)
+     * @return List of bills, newest first
+     */
+    public List<Bill> getBillsAfter(BillCursor cursor, int limit, boolean includeItems) {
+        List<Bill> bills = new ArrayList<>();
+        String sql = BILL_HEADER_SELECT
+                + (cursor != null ? "WHERE b.bill_date < ? OR (b.bill_date = ? AND b.bill_number < ?)\n" : "")
+                + "ORDER BY b.bill_date DESC, b.bill_number DESC\n"
+                + "LIMIT ?";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (cursor != null) {
+                stmt.setTimestamp(index++, cursor.getBillDate());
+                stmt.setTimestamp(index++, cursor.getBillDate());
+                stmt.setString(index++, cursor.getBillNumber());
+            }
+            stmt.setInt(index, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    bills.add(createBillFromResultSet(rs));
+                }
+            }
+
+            if (includeItems) {
+                attachBillItems(conn, bills);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting bills after cursor: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return bills;
+    }
+
+    /**
+     * Update bill status (transaction)
+     * The daily sales rollup moves the bill from its old status row to the new one
      *
      * @param billNumber Bill number
      * @param status New status
@@ -267,24 +441,58 @@ public class BillDAO {
     public boolean updateBillStatus(String billNumber, Bill.Status status) {
         String sql = "UPDATE bills SET status = ? WHERE bill_number = ?";
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        Connection conn = null;
+        try {
+            conn = dbConnection.getConnection();
+            conn.setAutoCommit(false);
 
-            stmt.setString(1, status.toString());
-            stmt.setString(2, billNumber);
+            String previousStatus = lockBillStatus(conn, billNumber);
+            if (previousStatus == null) {
+                conn.rollback();
+                return false;
+            }
 
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, status.toString());
+                stmt.setString(2, billNumber);
+                stmt.executeUpdate();
+            }
+
+            // Rollup last, just before commit
+            if (!status.name().equals(previousStatus)) {
+                salesRollupDAO.moveBill(conn, billNumber, previousStatus);
+            }
+
+            conn.commit();
+            return true;
 
         } catch (SQLException e) {
             System.err.println("Error updating bill status: " + e.getMessage());
             e.printStackTrace();
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackEx) {
+                    System.err.println("Error rolling back status update: " + rollbackEx.getMessage());
+                }
+            }
             return false;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    DatabaseConnection.closeConnection(conn);
+                } catch (SQLException e) {
+                    System.err.println("Error resetting connection: " + e.getMessage());
+                }
+            }
         }
     }
 
     /**
-     * Cancel bill and restore stock
+     * Cancel bill and restore stock (transaction)
+     * Status change, stock restore and sales rollup all commit together.
+     * An already cancelled bill is left alone so its stock is not restored twice.
      *
      * @param billNumber Bill number to cancel
      * @return true if cancellation successful, false otherwise
@@ -295,8 +503,16 @@ public class BillDAO {
             conn = dbConnection.getConnection();
             conn.setAutoCommit(false);
 
+            // Lock the bill so concurrent cancellations cannot both restore stock
+            String currentStatus = lockBillStatus(conn, billNumber);
+            if (currentStatus == null || Bill.Status.CANCELLED.name().equals(currentStatus)) {
+                conn.rollback();
+                return false;
+            }
+
             // Get bill items before cancellation
-            List<BillItem> billItems = getBillItems(billNumber);
+            List<BillItem> billItems = loadBillItems(conn, List.of(billNumber))
+                    .getOrDefault(billNumber, new ArrayList<>());
 
             // Update bill status to cancelled
             String sql = "UPDATE bills SET status = 'CANCELLED' WHERE bill_number = ?";
@@ -305,16 +521,11 @@ public class BillDAO {
                 stmt.executeUpdate();
             }
 
-            // Restore stock for each item
-            for (BillItem billItem : billItems) {
-                Item item = itemDAO.findByItemId(billItem.getItemId());
-                if (item != null) {
-                    int newStock = item.getStockQuantity() + billItem.getQuantity();
-                    if (!itemDAO.updateStock(billItem.getItemId(), newStock)) {
-                        throw new SQLException("Failed to restore stock for item: " + billItem.getItemId());
-                    }
-                }
-            }
+            // Restore stock for all items in one batch
+            itemDAO.restoreStockBatch(billItems, conn);
+
+            // Rollup last, just before commit
+            salesRollupDAO.moveBill(conn, billNumber, currentStatus);
 
             conn.commit();
             return true;
@@ -343,74 +554,259 @@ public class BillDAO {
     }
 
     /**
-     * Get bill items for a specific bill
+     * Lock a bill row for the rest of the transaction
      *
+     * @param conn Connection of the surrounding transaction
      * @param billNumber Bill number
-     * @return List of bill items
+     * @return Current status, or null if the bill does not exist
+     * @throws SQLException if database error occurs
      */
-    public List<BillItem> getBillItems(String billNumber) {
-        List<BillItem> billItems = new ArrayList<>();
-        String sql = """
-            SELECT bill_item_id, bill_number, item_id, quantity, unit_price, line_total 
-            FROM bill_items 
-            WHERE bill_number = ? 
-            ORDER BY bill_item_id
-            """;
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    private String lockBillStatus(Connection conn, String billNumber) throws SQLException {
+        String sql = "SELECT status FROM bills WHERE bill_number = ? FOR UPDATE";
 
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, billNumber);
-
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    BillItem billItem = new BillItem();
-                    billItem.setBillItemId(rs.getInt("bill_item_id"));
-                    billItem.setBillNumber(rs.getString("bill_number"));
-                    billItem.setItemId(rs.getString("item_id"));
-                    billItem.setQuantity(rs.getInt("quantity"));
-                    billItem.setUnitPrice(rs.getBigDecimal("unit_price"));
-                    billItem.setLineTotal(rs.getBigDecimal("line_total"));
-
-                    // Load item details
-                    Item item = itemDAO.findByItemId(billItem.getItemId());
-                    billItem.setItem(item);
-
-                    billItems.add(billItem);
-                }
+                return rs.next() ? rs.getString("status") : null;
             }
+        }
+    }
+
+    /**
+     * Get bill items for a specific bill
+     *
+     * @param billNumber Bill number
+     * @return List of bill items
+     */
+    public List<BillItem> getBillItems(String billNumber) {
+        return getBillItems(List.of(billNumber)).getOrDefault(billNumber, new ArrayList<>());
+    }
+
+    /**
+     * Get bill items for several bills with one query per chunk of bill numbers
+     *
+     * @param billNumbers Bill numbers to load items for
+     * @return Bill items keyed by bill number; bills without items are absent
+     */
+    public Map<String, List<BillItem>> getBillItems(Collection<String> billNumbers) {
+        if (billNumbers == null || billNumbers.isEmpty()) {
+            return Collections.emptyMap();
+        }
 
+        try (Connection conn = dbConnection.getConnection()) {
+            return loadBillItems(conn, billNumbers);
         } catch (SQLException e) {
             System.err.println("Error getting bill items: " + e.getMessage());
             e.printStackTrace();
         }
 
-        return billItems;
+        return Collections.emptyMap();
     }
 
     /**
-     * Generate next bill number
+     * Load items for a page of bills and attach them to each bill
      *
-     * @return Next available bill number
+     * @param conn Open database connection
+     * @param bills Bills whose items should be loaded
+     * @throws SQLException if database error occurs
+     */
+    private void attachBillItems(Connection conn, List<Bill> bills) throws SQLException {
+        if (bills.isEmpty()) {
+            return;
+        }
+
+        List<String> billNumbers = new ArrayList<>(bills.size());
+        for (Bill bill : bills) {
+            billNumbers.add(bill.getBillNumber());
+        }
+
+        Map<String, List<BillItem>> itemsByBill = loadBillItems(conn, billNumbers);
+        for (Bill bill : bills) {
+            bill.setBillItems(itemsByBill.get(bill.getBillNumber()));
+        }
+    }
+
+    /**
+     * Load bill items joined with their items for a set of bill numbers
+     * Bill numbers are bound in chunks so the IN (...) list stays bounded. Each chunk
+     * is padded to one of IN_LIST_SIZES by repeating its last bill number, so pages
+     * of any size share a handful of SQL texts instead of one per chunk length.
+     *
+     * @param conn Open database connection
+     * @param billNumbers Bill numbers to load items for
+     * @return Bill items keyed by bill number, each list in bill_item_id order
+     * @throws SQLException if database error occurs
+     */
+    private Map<String, List<BillItem>> loadBillItems(Connection conn, Collection<String> billNumbers)
+            throws SQLException {
+        Map<String, List<BillItem>> itemsByBill = new HashMap<>();
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(billNumbers));
+
+        for (int start = 0; start < distinct.size(); start += MAX_IN_LIST_SIZE) {
+            List<String> chunk = distinct.subList(start, Math.min(start + MAX_IN_LIST_SIZE, distinct.size()));
+            int listSize = inListSize(chunk.size());
+            String placeholders = String.join(",", Collections.nCopies(listSize, "?"));
+            String sql = BILL_ITEM_SELECT
+                    + "WHERE bi.bill_number IN (" + placeholders + ")\n"
+                    + "ORDER BY bi.bill_number, bi.bill_item_id";
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < listSize; i++) {
+                    stmt.setString(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                }
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        BillItem billItem = new BillItem();
+                        billItem.setBillItemId(rs.getInt("bill_item_id"));
+                        billItem.setBillNumber(rs.getString("bill_number"));
+                        billItem.setItemId(rs.getString("item_id"));
+                        billItem.setQuantity(rs.getInt("quantity"));
+                        billItem.setUnitPrice(rs.getBigDecimal("unit_price"));
+                        billItem.setLineTotal(rs.getBigDecimal("line_total"));
+
+                        // Item details come from the join
+                        billItem.setItem(ItemDAO.createItemFromResultSet(rs));
+
+                        itemsByBill.computeIfAbsent(billItem.getBillNumber(), k -> new ArrayList<>())
+                                .add(billItem);
+                    }
+                }
+            }
+        }
+
+        return itemsByBill;
+    }
+
+    /**
+     * Smallest IN (...) list length from IN_LIST_SIZES that holds the given count
      */
-    public String generateNextBillNumber() {
-        String sql = "SELECT MAX(CAST(SUBSTRING(bill_number, 5) AS UNSIGNED)) as max_id FROM bills WHERE bill_number LIKE 'BILL%'";
+    private static int inListSize(int count) {
+        for (int size : IN_LIST_SIZES) {
+            if (count <= size) {
+                return size;
+            }
+        }
+        return MAX_IN_LIST_SIZE;
+    }
 
+    /**
+     * Stream bills with their items in (bill_date, bill_number) order
+     * One joined query is read through a streaming result set and each bill is
+     * handed to the handler as soon as its last item row has been read, so only
+     * one bill is held in memory at a time. Amounts are the stored values.
+     * The bill's customer carries only the account number and name, and each
+     * item only its ID, name and category.
+     *
+     * @param since Resume after this bill, or null to start from the oldest bill
+     * @param handler Receives each bill with its items
+     * @return Number of bills streamed, or -1 if the query failed
+     * @throws IOException if the handler fails to write a bill
+     */
+    public int streamBillsWithItems(BillCursor since, RowHandler<Bill> handler) throws IOException {
+        String sql = """
+            SELECT b.bill_number, b.customer_account_number, b.total_amount, b.discount_amount,
+                   b.payment_method, b.bill_date, b.created_by, b.status, b.notes,
+                   c.name AS customer_name,
+                   bi.bill_item_id, bi.item_id, bi.quantity, bi.unit_price, bi.line_total,
+                   i.name AS item_name, i.category AS item_category
+            FROM bills b
+            LEFT JOIN customers c ON c.account_number = b.customer_account_number
+            LEFT JOIN bill_items bi ON bi.bill_number = b.bill_number
+            LEFT JOIN items i ON i.item_id = bi.item_id
+            """
+                + (since != null ? "WHERE b.bill_date > ? OR (b.bill_date = ? AND b.bill_number > ?)\n" : "")
+                + "ORDER BY b.bill_date, b.bill_number";
+
+        int bills = 0;
         try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                     ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(DatabaseConnection.STREAMING_FETCH_SIZE);
+            if (since != null) {
+                stmt.setTimestamp(1, since.getBillDate());
+                stmt.setTimestamp(2, since.getBillDate());
+                stmt.setString(3, since.getBillNumber());
+            }
 
-            if (rs.next()) {
-                // Use getLong instead of getInt to handle larger numbers
-                long maxId = rs.getLong("max_id");
-                return String.format("BILL%06d", maxId + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                Bill current = null;
+                while (rs.next()) {
+                    String billNumber = rs.getString("bill_number");
+                    if (current == null || !current.getBillNumber().equals(billNumber)) {
+                        if (current != null) {
+                            handler.handle(current);
+                            bills++;
+                        }
+                        current = createExportBill(rs);
+                    }
+
+                    // LEFT JOIN leaves the item columns null for a bill without items
+                    if (rs.getString("item_id") != null) {
+                        BillItem billItem = new BillItem();
+                        billItem.setBillItemId(rs.getInt("bill_item_id"));
+                        billItem.setBillNumber(billNumber);
+
+                        Item item = new Item();
+                        item.setItemId(rs.getString("item_id"));
+                        item.setName(rs.getString("item_name"));
+                        item.setCategory(rs.getString("item_category"));
+                        billItem.setItem(item);
+
+                        // Stored line total last, after the setters have recalculated it
+                        billItem.setQuantity(rs.getInt("quantity"));
+                        billItem.setUnitPrice(rs.getBigDecimal("unit_price"));
+                        billItem.setLineTotal(rs.getBigDecimal("line_total"));
+
+                        // Added directly so the stored totals are not recalculated
+                        current.getBillItems().add(billItem);
+                    }
+                }
+                if (current != null) {
+                    handler.handle(current);
+                    bills++;
+                }
             }
+            return bills;
 
         } catch (SQLException e) {
-            System.err.println("Error generating bill number: " + e.getMessage());
+            System.err.println("Error streaming bills after " + bills + " bills: " + e.getMessage());
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
+    /**
+     * Map the bill columns of an export row
+     */
+    private Bill createExportBill(ResultSet rs) throws SQLException {
+        Bill bill = new Bill();
+        bill.setBillNumber(rs.getString("bill_number"));
+        bill.setCustomerAccountNumber(rs.getString("customer_account_number"));
+        bill.setTotalAmount(rs.getBigDecimal("total_amount"));
+        bill.setDiscountAmount(rs.getBigDecimal("discount_amount"));
+        bill.setPaymentMethod(Bill.PaymentMethod.valueOf(rs.getString("payment_method")));
+        bill.setBillDate(rs.getTimestamp("bill_date"));
+        bill.setCreatedBy(rs.getString("created_by"));
+        bill.setStatus(Bill.Status.valueOf(rs.getString("status")));
+        bill.setNotes(rs.getString("notes"));
+
+        String customerName = rs.getString("customer_name");
+        if (customerName != null) {
+            bill.setCustomer(new Customer(bill.getCustomerAccountNumber(), customerName));
         }
+        return bill;
+    }
 
-        return "BILL000001"; // Default if no bills exist
+    /**
+     * Generate next bill number
+     *
+     * @return Next available bill number
+     * @throws SQLException if no ID can be reserved
+     */
+    public String generateNextBillNumber() throws SQLException {
+        return String.format("BILL%06d", sequenceDAO.nextValue(SequenceDAO.BILL_SEQUENCE));
     }
 
     /**
@@ -421,13 +817,22 @@ public class BillDAO {
      * @return List of bills in date range
      */
     public List<Bill> getBillsByDateRange(Date startDate, Date endDate) {
+        return getBillsByDateRange(startDate, endDate, true);
+    }
+
+    /**
+     * Get bills by date range
+     *
+     * @param startDate Start date
+     * @param endDate End date
+     * @param includeItems false to load bill headers only (list views and totals)
+     * @return List of bills in date range
+     */
+    public List<Bill> getBillsByDateRange(Date startDate, Date endDate, boolean includeItems) {
         List<Bill> bills = new ArrayList<>();
-        String sql = """
-            SELECT bill_number, customer_account_number, total_amount, discount_amount, payment_method, 
-                   bill_date, created_by, status, notes 
-            FROM bills 
-            WHERE DATE(bill_date) BETWEEN ? AND ? 
-            ORDER BY bill_date DESC
+        String sql = BILL_HEADER_SELECT + """
+            WHERE DATE(b.bill_date) BETWEEN ? AND ?
+            ORDER BY b.bill_date DESC
             """;
 
         try (Connection conn = dbConnection.getConnection();
@@ -438,12 +843,14 @@ public class BillDAO {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Bill bill = createBillFromResultSet(rs);
-                    bill.setBillItems(getBillItems(bill.getBillNumber()));
-                    bills.add(bill);
+                    bills.add(createBillFromResultSet(rs));
                 }
             }
 
+            if (includeItems) {
+                attachBillItems(conn, bills);
+            }
+
         } catch (SQLException e) {
             System.err.println("Error getting bills by date range: " + e.getMessage());
             e.printStackTrace();
@@ -545,7 +952,7 @@ public class BillDAO {
     }
 
     /**
-     * Create Bill object from ResultSet
+     * Create Bill object from a bill header row joined with its customer
      *
      * @param rs ResultSet containing bill data
      * @return Bill object
@@ -564,6 +971,11 @@ public class BillDAO {
         bill.setStatus(Bill.Status.valueOf(rs.getString("status")));
         bill.setNotes(rs.getString("notes"));
 
+        // LEFT JOIN leaves the customer columns null if the account is missing
+        if (rs.getString("account_number") != null) {
+            bill.setCustomer(CustomerDAO.createCustomerFromResultSet(rs));
+        }
+
         return bill;
     }
 }
\ No newline at end of file
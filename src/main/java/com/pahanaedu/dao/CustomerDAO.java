@@ -2,10 +2,17 @@ package com.pahanaedu.dao;
 
 import com.pahanaedu.models.Customer;
 import com.pahanaedu.util.DatabaseConnection;
+import com.pahanaedu.util.RowHandler;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Data Access Object for Customer management
@@ -21,9 +28,11 @@ import java.util.List;
 public class CustomerDAO {
 
     private final DatabaseConnection dbConnection;
+    private final SequenceDAO sequenceDAO;
 
     public CustomerDAO() {
         this.dbConnection = DatabaseConnection.getInstance();
+        this.sequenceDAO = new SequenceDAO();
     }
 
     public boolean createCustomer(Customer customer) {
@@ -66,6 +75,26 @@ public class CustomerDAO {
      * @return Customer object if found, null otherwise
      */
     public Customer findByAccountNumber(String accountNumber) {
+        try {
+            return loadByAccountNumber(accountNumber);
+        } catch (SQLException e) {
+            System.err.println("Error finding customer by account number: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Find customer by account number, reporting database errors
+     * Unlike findByAccountNumber, null always means the customer does not exist,
+     * so callers may remember the absence.
+     *
+     * @param accountNumber Account number
+     * @return Customer object or null if not found
+     * @throws SQLException if the lookup fails
+     */
+    public Customer loadByAccountNumber(String accountNumber) throws SQLException {
         String sql = """
             SELECT account_number, name, address, phone_number, email, credit_limit, 
                    is_active, registration_date, updated_date 
@@ -83,10 +112,6 @@ public class CustomerDAO {
                     return createCustomerFromResultSet(rs);
                 }
             }
-
-        } catch (SQLException e) {
-            System.err.println("Error finding customer by account number: " + e.getMessage());
-            e.printStackTrace();
         }
 
         return null;
@@ -201,6 +226,52 @@ public class CustomerDAO {
      *
      * @return List of all active customers
      */
+    /**
+     * Stream active customers to a handler one row at a time
+     * Uses a forward-only result set with the driver's streaming fetch size, so
+     * memory use does not grow with the number of customers
+     *
+     * @param nameFilter Optional name substring, null for all active customers
+     * @param handler Receives each customer as it is read
+     * @return Number of customers streamed, or -1 if the query failed
+     * @throws IOException if the handler fails to write a row
+     */
+    public int streamActiveCustomers(String nameFilter, RowHandler<Customer> handler) throws IOException {
+        boolean filtered = nameFilter != null && !nameFilter.trim().isEmpty();
+        String sql = """
+            SELECT account_number, name, address, phone_number, email, credit_limit,
+                   is_active, registration_date, updated_date
+            FROM customers
+            WHERE is_active = TRUE
+            """
+                + (filtered ? "AND name LIKE ?\n" : "")
+                + "ORDER BY account_number";
+
+        int rows = 0;
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                     ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(DatabaseConnection.STREAMING_FETCH_SIZE);
+            if (filtered) {
+                stmt.setString(1, "%" + nameFilter.trim() + "%");
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(createCustomerFromResultSet(rs));
+                    rows++;
+                }
+            }
+            return rows;
+
+        } catch (SQLException e) {
+            System.err.println("Error streaming customers after " + rows + " rows: " + e.getMessage());
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
     public List<Customer> getAllActiveCustomers() {
         List<Customer> customers = new ArrayList<>();
         String sql = """
@@ -258,27 +329,146 @@ public class CustomerDAO {
     }
 
     /**
-     * Generate next customer account number
+     * Find which of the given account numbers already exist, in one query
      *
-     * @return Next available account number
+     * @param accountNumbers Account numbers to look up
+     * @return The account numbers that exist; empty on error
      */
-    public String generateNextAccountNumber() {
-        String sql = "SELECT MAX(CAST(SUBSTRING(account_number, 4) AS UNSIGNED)) as max_id FROM customers WHERE account_number LIKE 'CUS%'";
+    public Set<String> findExistingAccountNumbers(Collection<String> accountNumbers) {
+        Set<String> existing = new HashSet<>();
+        if (accountNumbers.isEmpty()) {
+            return existing;
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT account_number FROM customers WHERE account_number IN (");
+        for (int i = 0; i < accountNumbers.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
 
         try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
 
-            if (rs.next()) {
-                int maxId = rs.getInt("max_id");
-                return String.format("CUS%03d", maxId + 1);
+            int index = 1;
+            for (String accountNumber : accountNumbers) {
+                stmt.setString(index++, accountNumber);
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    existing.add(rs.getString(1));
+                }
             }
 
         } catch (SQLException e) {
-            System.err.println("Error generating account number: " + e.getMessage());
+            System.err.println("Error looking up existing account numbers: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return existing;
+    }
+
+    /**
+     * Insert customers as one JDBC batch in one transaction
+     * If the batch fails it is rolled back and the rows are inserted one at a time,
+     * so only the rows the database rejects are lost and each gets its own error.
+     *
+     * @param customers Validated customers with their account numbers set
+     * @return Database error by index in customers, for rows that were not saved; empty if all were
+     */
+    public Map<Integer, String> createCustomers(List<Customer> customers) {
+        String sql = """
+            INSERT INTO customers (account_number, name, address, phone_number, email, credit_limit, is_active)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+        Map<Integer, String> failures = new LinkedHashMap<>();
+        if (customers.isEmpty()) {
+            return failures;
         }
 
-        return "CUS001"; // Default if no customers exist
+        Connection conn = null;
+        try {
+            conn = dbConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (Customer customer : customers) {
+                    setInsertParameters(stmt, customer);
+                    stmt.addBatch();
+                }
+
+                for (int rowsAffected : stmt.executeBatch()) {
+                    if (rowsAffected == Statement.EXECUTE_FAILED) {
+                        throw new SQLException("Customer insert batch reported a failed row");
+                    }
+                }
+            }
+
+            conn.commit();
+
+        } catch (SQLException e) {
+            System.err.println("Customer insert batch of " + customers.size() + " failed, retrying row by row: "
+                    + e.getMessage());
+            if (conn == null) {
+                for (int i = 0; i < customers.size(); i++) {
+                    failures.put(i, "Database unavailable");
+                }
+                return failures;
+            }
+            try {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            } catch (SQLException rollbackEx) {
+                System.err.println("Error rolling back customer insert batch: " + rollbackEx.getMessage());
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < customers.size(); i++) {
+                    try {
+                        setInsertParameters(stmt, customers.get(i));
+                        stmt.executeUpdate();
+                    } catch (SQLException rowEx) {
+                        failures.put(i, rowEx.getMessage());
+                    }
+                }
+            } catch (SQLException retryEx) {
+                for (int i = 0; i < customers.size(); i++) {
+                    failures.putIfAbsent(i, retryEx.getMessage());
+                }
+            }
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    DatabaseConnection.closeConnection(conn);
+                } catch (SQLException e) {
+                    System.err.println("Error resetting connection: " + e.getMessage());
+                }
+            }
+        }
+
+        return failures;
+    }
+
+    private void setInsertParameters(PreparedStatement stmt, Customer customer) throws SQLException {
+        stmt.setString(1, customer.getAccountNumber());
+        stmt.setString(2, customer.getName());
+        stmt.setString(3, customer.getAddress());
+        stmt.setString(4, customer.getPhoneNumber());
+        stmt.setString(5, customer.getEmail());
+        stmt.setBigDecimal(6, customer.getCreditLimit());
+        stmt.setBoolean(7, customer.isActive());
+    }
+
+    /**
+     * Generate next customer account number
+     *
+     * @return Next available account number
+     * @throws SQLException if no ID can be reserved
+     */
+    public String generateNextAccountNumber() throws SQLException {
+        return String.format("CUS%03d", sequenceDAO.nextValue(SequenceDAO.CUSTOMER_SEQUENCE));
     }
 
     /**
@@ -306,12 +496,13 @@ public class CustomerDAO {
 
     /**
      * Create Customer object from ResultSet
+     * Package-private so BillDAO can map customer columns from its joined queries
      *
      * @param rs ResultSet containing customer data
      * @return Customer object
      * @throws SQLException if database error occurs
      */
-    private Customer createCustomerFromResultSet(ResultSet rs) throws SQLException {
+    static Customer createCustomerFromResultSet(ResultSet rs) throws SQLException {
         Customer customer = new Customer();
 
         customer.setAccountNumber(rs.getString("account_number"));
@@ -1,11 +1,17 @@
 package com.pahanaedu.dao;
 
+import com.pahanaedu.models.BillItem;
 import com.pahanaedu.models.Item;
 import com.pahanaedu.util.DatabaseConnection;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Data Access Object for Item management
@@ -21,12 +27,14 @@ import java.util.List;
 public class ItemDAO {
 
     private final DatabaseConnection dbConnection;
+    private final SequenceDAO sequenceDAO;
 
     /**
      * Constructor - initialize with database connection
      */
     public ItemDAO() {
         this.dbConnection = DatabaseConnection.getInstance();
+        this.sequenceDAO = new SequenceDAO();
     }
 
     /**
@@ -262,18 +270,19 @@ public class ItemDAO {
                 shouldCloseConnection = true;
             }
             
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, quantity);
-            stmt.setString(2, itemId);
-            stmt.setInt(3, quantity);
-
-            System.out.println("  Executing SQL update...");
-            int rowsAffected = stmt.executeUpdate();
-            System.out.println("  Rows affected: " + rowsAffected);
-            
-            boolean result = rowsAffected > 0;
-            System.out.println("  Reduce stock result: " + result);
-            return result;
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, quantity);
+                stmt.setString(2, itemId);
+                stmt.setInt(3, quantity);
+
+                System.out.println("  Executing SQL update...");
+                int rowsAffected = stmt.executeUpdate();
+                System.out.println("  Rows affected: " + rowsAffected);
+
+                boolean result = rowsAffected > 0;
+                System.out.println("  Reduce stock result: " + result);
+                return result;
+            }
 
         } catch (SQLException e) {
             System.err.println("Error reducing stock: " + e.getMessage());
@@ -292,6 +301,93 @@ public class ItemDAO {
         }
     }
 
+    /**
+     * Reduce stock for all items of a bill as one JDBC batch
+     * Quantities for the same item are combined so each item is updated once.
+     * The per-row update counts are checked, so an item without enough stock
+     * still fails the whole batch.
+     *
+     * @param billItems Bill items whose quantities should be taken from stock
+     * @param conn Connection of the surrounding transaction
+     * @throws SQLException if any item has insufficient stock or the update fails
+     */
+    public void reduceStockBatch(List<BillItem> billItems, Connection conn) throws SQLException {
+        String sql = """
+            UPDATE items 
+            SET stock_quantity = stock_quantity - ?, updated_date = CURRENT_TIMESTAMP 
+            WHERE item_id = ? AND stock_quantity >= ?
+            """;
+
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (BillItem billItem : billItems) {
+            quantities.merge(billItem.getItemId(), billItem.getQuantity(), Integer::sum);
+        }
+
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        List<String> itemIds = new ArrayList<>(quantities.keySet());
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (String itemId : itemIds) {
+                int quantity = quantities.get(itemId);
+                stmt.setInt(1, quantity);
+                stmt.setString(2, itemId);
+                stmt.setInt(3, quantity);
+                stmt.addBatch();
+            }
+
+            int[] rowsAffected = stmt.executeBatch();
+            for (int i = 0; i < rowsAffected.length; i++) {
+                // SUCCESS_NO_INFO is only reported when the driver cannot count rows; treat as applied
+                if (rowsAffected[i] == 0 || rowsAffected[i] == Statement.EXECUTE_FAILED) {
+                    String itemId = i < itemIds.size() ? itemIds.get(i) : "unknown";
+                    throw new SQLException("Insufficient stock or unknown item: " + itemId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Put the quantities of a bill's items back into stock as one JDBC batch
+     * Used when a bill is cancelled, on the cancellation's own transaction
+     *
+     * @param billItems Bill items whose quantities should be returned to stock
+     * @param conn Connection of the surrounding transaction
+     * @throws SQLException if the update fails
+     */
+    public void restoreStockBatch(List<BillItem> billItems, Connection conn) throws SQLException {
+        String sql = """
+            UPDATE items 
+            SET stock_quantity = stock_quantity + ?, updated_date = CURRENT_TIMESTAMP 
+            WHERE item_id = ?
+            """;
+
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (BillItem billItem : billItems) {
+            quantities.merge(billItem.getItemId(), billItem.getQuantity(), Integer::sum);
+        }
+
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+                stmt.setInt(1, entry.getValue());
+                stmt.setString(2, entry.getKey());
+                stmt.addBatch();
+            }
+
+            for (int rowsAffected : stmt.executeBatch()) {
+                if (rowsAffected == Statement.EXECUTE_FAILED) {
+                    throw new SQLException("Failed to restore stock for cancelled bill items");
+                }
+            }
+        }
+    }
+
     /**
      * Deactivate item (soft delete)
      *
@@ -434,27 +530,149 @@ public class ItemDAO {
     }
 
     /**
-     * Generate next item ID
+     * Find which of the given item IDs already exist, in one query
      *
-     * @return Next available item ID
+     * @param itemIds Item IDs to look up
+     * @return The IDs that exist
+     * @throws SQLException if the lookup fails
      */
-    public String generateNextItemId() {
-        String sql = "SELECT MAX(CAST(SUBSTRING(item_id, 5) AS UNSIGNED)) as max_id FROM items WHERE item_id LIKE 'ITEM%'";
+    public Set<String> findExistingItemIds(Collection<String> itemIds) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        if (itemIds.isEmpty()) {
+            return existing;
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT item_id FROM items WHERE item_id IN (");
+        for (int i = 0; i < itemIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
 
         try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
 
-            if (rs.next()) {
-                int maxId = rs.getInt("max_id");
-                return String.format("ITEM%03d", maxId + 1);
+            int index = 1;
+            for (String itemId : itemIds) {
+                stmt.setString(index++, itemId);
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    existing.add(rs.getString(1));
+                }
+            }
+        }
+
+        return existing;
+    }
+
+    /**
+     * Insert or update items as one JDBC batch in one transaction
+     * With rewriteBatchedStatements the batch goes to the server as a multi-row
+     * INSERT ... ON DUPLICATE KEY UPDATE. If the batch fails it is rolled back and
+     * the rows are applied one at a time, so only the rows the database rejects
+     * are lost and each gets its own error.
+     *
+     * @param items Validated items with their IDs set
+     * @return Database error by index in items, for rows that were not saved; empty if all were
+     */
+    public Map<Integer, String> upsertItems(List<Item> items) {
+        String sql = """
+            INSERT INTO items (item_id, name, category, price, stock_quantity, reorder_level, description, is_active)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE name = VALUES(name), category = VALUES(category), price = VALUES(price),
+                stock_quantity = VALUES(stock_quantity), reorder_level = VALUES(reorder_level),
+                description = VALUES(description), is_active = VALUES(is_active), updated_date = CURRENT_TIMESTAMP
+            """;
+
+        Map<Integer, String> failures = new LinkedHashMap<>();
+        if (items.isEmpty()) {
+            return failures;
+        }
+
+        Connection conn = null;
+        try {
+            conn = dbConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (Item item : items) {
+                    setUpsertParameters(stmt, item);
+                    stmt.addBatch();
+                }
+
+                for (int rowsAffected : stmt.executeBatch()) {
+                    if (rowsAffected == Statement.EXECUTE_FAILED) {
+                        throw new SQLException("Item upsert batch reported a failed row");
+                    }
+                }
             }
 
+            conn.commit();
+
         } catch (SQLException e) {
-            System.err.println("Error generating item ID: " + e.getMessage());
+            System.err.println("Item upsert batch of " + items.size() + " failed, retrying row by row: "
+                    + e.getMessage());
+            if (conn == null) {
+                for (int i = 0; i < items.size(); i++) {
+                    failures.put(i, "Database unavailable");
+                }
+                return failures;
+            }
+            try {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            } catch (SQLException rollbackEx) {
+                System.err.println("Error rolling back item upsert batch: " + rollbackEx.getMessage());
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < items.size(); i++) {
+                    try {
+                        setUpsertParameters(stmt, items.get(i));
+                        stmt.executeUpdate();
+                    } catch (SQLException rowEx) {
+                        failures.put(i, rowEx.getMessage());
+                    }
+                }
+            } catch (SQLException retryEx) {
+                for (int i = 0; i < items.size(); i++) {
+                    failures.putIfAbsent(i, retryEx.getMessage());
+                }
+            }
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    DatabaseConnection.closeConnection(conn);
+                } catch (SQLException e) {
+                    System.err.println("Error resetting connection: " + e.getMessage());
+                }
+            }
         }
 
-        return "ITEM001"; // Default if no items exist
+        return failures;
+    }
+
+    private void setUpsertParameters(PreparedStatement stmt, Item item) throws SQLException {
+        stmt.setString(1, item.getItemId());
+        stmt.setString(2, item.getName());
+        stmt.setString(3, item.getCategory());
+        stmt.setBigDecimal(4, item.getPrice());
+        stmt.setInt(5, item.getStockQuantity());
+        stmt.setInt(6, item.getReorderLevel());
+        stmt.setString(7, item.getDescription());
+        stmt.setBoolean(8, item.isActive());
+    }
+
+    /**
+     * Generate next item ID
+     *
+     * @return Next available item ID
+     * @throws SQLException if no ID can be reserved
+     */
+    public String generateNextItemId() throws SQLException {
+        return String.format("ITEM%03d", sequenceDAO.nextValue(SequenceDAO.ITEM_SEQUENCE));
     }
 
     /**
@@ -482,12 +700,13 @@ public class ItemDAO {
 
     /**
      * Create Item object from ResultSet
+     * Package-private so BillDAO can map item columns from its joined queries
      *
      * @param rs ResultSet containing item data
      * @return Item object
      * @throws SQLException if database error occurs
      */
-    private Item createItemFromResultSet(ResultSet rs) throws SQLException {
+    static Item createItemFromResultSet(ResultSet rs) throws SQLException {
         Item item = new Item();
 
         item.setItemId(rs.getString("item_id"));
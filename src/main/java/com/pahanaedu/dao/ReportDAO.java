@@ -0,0 +1,174 @@
+package com.pahanaedu.dao;
+
+import com.pahanaedu.models.Bill;
+import com.pahanaedu.util.DatabaseConnection;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.*;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Data Access Object for sales reporting
+ * Runs report aggregates as GROUP BY queries so only the aggregated rows leave
+ * the database, instead of loading every bill and line item into memory.
+ * Date-range sales totals come from the pre-aggregated daily_sales_rollup table.
+ *
+ * Design Patterns Used:
+ * - DAO Pattern: Encapsulates database access logic
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class ReportDAO {
+
+    private final DatabaseConnection dbConnection;
+
+    /**
+     * Constructor - initialize with database connection
+     */
+    public ReportDAO() {
+        this.dbConnection = DatabaseConnection.getInstance();
+    }
+
+    /**
+     * Get the best selling items across all paid bills
+     *
+     * @param limit Maximum number of items to return
+     * @return Quantity sold keyed by item name, highest first
+     */
+    public Map<String, Integer> getTopSellingItems(int limit) {
+        Map<String, Integer> itemQuantities = new LinkedHashMap<>();
+        String sql = """
+            SELECT i.name, SUM(bi.quantity) AS quantity_sold
+            FROM bill_items bi
+            JOIN bills b ON b.bill_number = bi.bill_number
+            JOIN items i ON i.item_id = bi.item_id
+            WHERE b.status = 'PAID'
+            GROUP BY i.name
+            ORDER BY quantity_sold DESC, i.name
+            LIMIT ?
+            """;
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    itemQuantities.put(rs.getString("name"), rs.getInt("quantity_sold"));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting top selling items: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return itemQuantities;
+    }
+
+    /**
+     * Get the average amount of paid bills
+     *
+     * @return Average paid bill amount rounded to 2 decimals, zero if there are none
+     */
+    public BigDecimal getAveragePaidBillAmount() {
+        String sql = "SELECT AVG(total_amount) FROM bills WHERE status = 'PAID'";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            if (rs.next() && rs.getBigDecimal(1) != null) {
+                return rs.getBigDecimal(1).setScale(2, RoundingMode.HALF_UP);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting average paid bill amount: " + e.getMessage());
+        }
+
+        return BigDecimal.ZERO;
+    }
+
+    /**
+     * Get bill counts and paid totals per payment method for a date range
+     * Reads the daily_sales_rollup rows for the range rather than the bills themselves
+     *
+     * @param startDate First day of the range
+     * @param endDate Last day of the range (inclusive)
+     * @return Summary per payment method; methods without bills are absent
+     */
+    public Map<Bill.PaymentMethod, SalesSummary> getSalesByPaymentMethod(Date startDate, Date endDate) {
+        Map<Bill.PaymentMethod, SalesSummary> summaries = new EnumMap<>(Bill.PaymentMethod.class);
+        String sql = """
+            SELECT payment_method,
+                   SUM(bill_count) AS bill_count,
+                   COALESCE(SUM(CASE WHEN status = 'PAID' THEN bill_count END), 0) AS paid_count,
+                   COALESCE(SUM(CASE WHEN status = 'PAID' THEN total_amount END), 0) AS paid_amount
+            FROM daily_sales_rollup
+            WHERE sales_date BETWEEN ? AND ?
+            GROUP BY payment_method
+            HAVING SUM(bill_count) > 0
+            """;
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDate(1, startDate);
+            stmt.setDate(2, endDate);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    summaries.put(Bill.PaymentMethod.valueOf(rs.getString("payment_method")),
+                            new SalesSummary(rs.getInt("bill_count"), rs.getInt("paid_count"),
+                                    rs.getBigDecimal("paid_amount")));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting sales by payment method: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return summaries;
+    }
+
+    /**
+     * Aggregated bill counts and paid amount for one report row
+     */
+    public static class SalesSummary {
+        private final int billCount;
+        private final int paidBillCount;
+        private final BigDecimal paidAmount;
+
+        public SalesSummary(int billCount, int paidBillCount, BigDecimal paidAmount) {
+            this.billCount = billCount;
+            this.paidBillCount = paidBillCount;
+            this.paidAmount = paidAmount != null ? paidAmount : BigDecimal.ZERO;
+        }
+
+        public int getBillCount() {
+            return billCount;
+        }
+
+        public int getPaidBillCount() {
+            return paidBillCount;
+        }
+
+        public BigDecimal getPaidAmount() {
+            return paidAmount;
+        }
+
+        /**
+         * Combine two summaries, e.g. to total several payment methods
+         */
+        public SalesSummary add(SalesSummary other) {
+            return new SalesSummary(billCount + other.billCount, paidBillCount + other.paidBillCount,
+                    paidAmount.add(other.paidAmount));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.pahanaedu.dao;
+
+import com.pahanaedu.util.DatabaseConnection;
+
+import java.sql.*;
+
+/**
+ * Data Access Object for the daily sales rollup
+ * Maintains daily_sales_rollup, one row of bill count and amount per
+ * (sales_date, payment_method, status), so date-range reports read a handful of
+ * rollup rows instead of scanning bills
+ *
+ * The rollup is kept current incrementally: BillDAO calls addBill/moveBill on the
+ * connection of its own transaction whenever a bill is created or changes status,
+ * as the last statements before commit, so the rollup row lock (shared by every bill
+ * of the same day, method and status) is held only for the commit itself.
+ * rebuild() recomputes the rollup from bills for backfills and repairs.
+ *
+ * Design Patterns Used:
+ * - DAO Pattern: Encapsulates database access logic
+ * - Materialized View Pattern: Pre-aggregated report rows kept in step with bills
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class SalesRollupDAO {
+
+    /**
+     * Add (or subtract) a bill's current count and amount to its rollup row
+     * The key is derived from the stored bill so it always matches rebuild()
+     */
+    private static final String APPLY_BILL_SQL = """
+        INSERT INTO daily_sales_rollup (sales_date, payment_method, status, bill_count, total_amount)
+        SELECT DATE(bill_date), payment_method, status, ?, ? * total_amount
+        FROM bills
+        WHERE bill_number = ?
+        ON DUPLICATE KEY UPDATE
+            bill_count = bill_count + VALUES(bill_count),
+            total_amount = total_amount + VALUES(total_amount)
+        """;
+
+    /**
+     * Subtract a bill from the rollup row of its date and payment method and a
+     * given (previous) status
+     */
+    private static final String REMOVE_BILL_SQL = """
+        INSERT INTO daily_sales_rollup (sales_date, payment_method, status, bill_count, total_amount)
+        SELECT DATE(bill_date), payment_method, ?, -1, -total_amount
+        FROM bills
+        WHERE bill_number = ?
+        ON DUPLICATE KEY UPDATE
+            bill_count = bill_count + VALUES(bill_count),
+            total_amount = total_amount + VALUES(total_amount)
+        """;
+
+    private final DatabaseConnection dbConnection;
+
+    /**
+     * Constructor - initialize with database connection
+     */
+    public SalesRollupDAO() {
+        this.dbConnection = DatabaseConnection.getInstance();
+    }
+
+    /**
+     * Count a bill in the rollup row for its current date, payment method and status
+     * Must run on the caller's transaction, after the bill row is written
+     *
+     * @param conn Connection of the surrounding transaction
+     * @param billNumber Bill number
+     * @throws SQLException if the rollup cannot be updated
+     */
+    public void addBill(Connection conn, String billNumber) throws SQLException {
+        applyBill(conn, billNumber, 1);
+    }
+
+    /**
+     * Move a bill from the rollup row of its previous status to that of its current one
+     * Call after the status change, just before commit
+     *
+     * @param conn Connection of the surrounding transaction
+     * @param billNumber Bill number
+     * @param previousStatus Status the bill had before the change
+     * @throws SQLException if the rollup cannot be updated
+     */
+    public void moveBill(Connection conn, String billNumber, String previousStatus) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(REMOVE_BILL_SQL)) {
+            stmt.setString(1, previousStatus);
+            stmt.setString(2, billNumber);
+
+            if (stmt.executeUpdate() == 0) {
+                throw new SQLException("Bill not found for sales rollup: " + billNumber);
+            }
+        }
+        applyBill(conn, billNumber, 1);
+    }
+
+    private void applyBill(Connection conn, String billNumber, int sign) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(APPLY_BILL_SQL)) {
+            stmt.setInt(1, sign);
+            stmt.setInt(2, sign);
+            stmt.setString(3, billNumber);
+
+            if (stmt.executeUpdate() == 0) {
+                throw new SQLException("Bill not found for sales rollup: " + billNumber);
+            }
+        }
+    }
+
+    /**
+     * Recompute the rollup from the bills table (transaction)
+     *
+     * @param startDate First day to rebuild, or null together with endDate for all days
+     * @param endDate Last day to rebuild (inclusive)
+     * @return Number of rollup rows written, or -1 if the rebuild failed
+     */
+    public int rebuild(Date startDate, Date endDate) {
+        boolean allDays = startDate == null || endDate == null;
+        String deleteSql = "DELETE FROM daily_sales_rollup"
+                + (allDays ? "" : " WHERE sales_date BETWEEN ? AND ?");
+        String insertSql = """
+            INSERT INTO daily_sales_rollup (sales_date, payment_method, status, bill_count, total_amount)
+            SELECT DATE(bill_date), payment_method, status, COUNT(*), SUM(total_amount)
+            FROM bills
+            """
+                + (allDays ? "" : "WHERE bill_date >= ? AND bill_date < ?\n")
+                + "GROUP BY DATE(bill_date), payment_method, status";
+
+        Connection conn = null;
+        try {
+            conn = dbConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(deleteSql)) {
+                if (!allDays) {
+                    stmt.setDate(1, startDate);
+                    stmt.setDate(2, endDate);
+                }
+                stmt.executeUpdate();
+            }
+
+            int rows;
+            try (PreparedStatement stmt = conn.prepareStatement(insertSql)) {
+                if (!allDays) {
+                    stmt.setDate(1, startDate);
+                    stmt.setDate(2, Date.valueOf(endDate.toLocalDate().plusDays(1)));
+                }
+                rows = stmt.executeUpdate();
+            }
+
+            conn.commit();
+            return rows;
+
+        } catch (SQLException e) {
+            System.err.println("Error rebuilding sales rollup: " + e.getMessage());
+            e.printStackTrace();
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackEx) {
+                    System.err.println("Error rolling back sales rollup rebuild: " + rollbackEx.getMessage());
+                }
+            }
+            return -1;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    DatabaseConnection.closeConnection(conn);
+                } catch (SQLException e) {
+                    System.err.println("Error resetting connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
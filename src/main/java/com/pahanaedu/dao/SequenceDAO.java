@@ -0,0 +1,164 @@
+package com.pahanaedu.dao;
+
+import com.pahanaedu.util.DatabaseConnection;
+import com.pahanaedu.util.HiLoSequence;
+
+import java.sql.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Data Access Object for ID sequences
+ * Reserves blocks of IDs from the id_sequences table and hands them out from memory,
+ * replacing the MAX(CAST(SUBSTRING(...))) scans previously run for every new ID
+ *
+ * Design Patterns Used:
+ * - DAO Pattern: Encapsulates database access logic
+ * - Hi/Lo Pattern: One row lock per block of IDs instead of one scan per ID
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class SequenceDAO {
+
+    public static final String BILL_SEQUENCE = "bill";
+    public static final String CUSTOMER_SEQUENCE = "customer";
+    public static final String ITEM_SEQUENCE = "item";
+    public static final String USER_SEQUENCE = "user";
+
+    /**
+     * Highest number already used for each sequence
+     * Only run to seed a missing sequence row
+     */
+    private static final Map<String, String> MAX_USED_QUERIES = Map.of(
+            BILL_SEQUENCE, "SELECT MAX(CAST(SUBSTRING(bill_number, 5) AS UNSIGNED)) FROM bills WHERE bill_number LIKE 'BILL%'",
+            CUSTOMER_SEQUENCE, "SELECT MAX(CAST(SUBSTRING(account_number, 4) AS UNSIGNED)) FROM customers WHERE account_number LIKE 'CUS%'",
+            ITEM_SEQUENCE, "SELECT MAX(CAST(SUBSTRING(item_id, 5) AS UNSIGNED)) FROM items WHERE item_id LIKE 'ITEM%'",
+            USER_SEQUENCE, "SELECT MAX(CAST(SUBSTRING(user_id, 4) AS UNSIGNED)) FROM users WHERE user_id LIKE 'USR%'"
+    );
+
+    /**
+     * Sequences are shared by every DAO instance so blocks are not wasted
+     */
+    private static final Map<String, HiLoSequence> SEQUENCES = new ConcurrentHashMap<>();
+
+    private final DatabaseConnection dbConnection;
+
+    /**
+     * Constructor - initialize with database connection
+     */
+    public SequenceDAO() {
+        this.dbConnection = DatabaseConnection.getInstance();
+    }
+
+    /**
+     * Get the next value of a sequence
+     * There is no fallback: any other guess (such as MAX(id)+1) could fall inside a
+     * block already reserved by this or another node.
+     *
+     * @param sequenceName One of the *_SEQUENCE names
+     * @return Next value of the sequence
+     * @throws SQLException if a new block is needed and cannot be reserved
+     */
+    public long nextValue(String sequenceName) throws SQLException {
+        requireKnownSequence(sequenceName);
+
+        HiLoSequence sequence = SEQUENCES.computeIfAbsent(sequenceName,
+                name -> new HiLoSequence(name, dbConnection.getSequenceBlockSize(), this::reserveBlock));
+        return sequence.nextValue();
+    }
+
+    /**
+     * Reserve a block of values (transaction)
+     * The sequence row is locked with SELECT ... FOR UPDATE so concurrent nodes
+     * receive disjoint blocks. A missing row is seeded from the owning table.
+     *
+     * @param sequenceName Sequence name
+     * @param blockSize Number of values to reserve
+     * @return First value of the reserved block
+     * @throws SQLException if the block cannot be reserved
+     */
+    long reserveBlock(String sequenceName, int blockSize) throws SQLException {
+        String selectSql = "SELECT next_value FROM id_sequences WHERE sequence_name = ? FOR UPDATE";
+        String seedSql = "INSERT IGNORE INTO id_sequences (sequence_name, next_value) VALUES (?, ?)";
+        String updateSql = "UPDATE id_sequences SET next_value = ? WHERE sequence_name = ?";
+
+        Connection conn = null;
+        try {
+            conn = dbConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            Long start = lockNextValue(conn, selectSql, sequenceName);
+            if (start == null) {
+                // First use on this database - continue from the highest existing ID
+                try (PreparedStatement stmt = conn.prepareStatement(seedSql)) {
+                    stmt.setString(1, sequenceName);
+                    stmt.setLong(2, findMaxUsed(conn, sequenceName) + 1);
+                    stmt.executeUpdate();
+                }
+                start = lockNextValue(conn, selectSql, sequenceName);
+                if (start == null) {
+                    throw new SQLException("Unable to seed sequence: " + sequenceName);
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(updateSql)) {
+                stmt.setLong(1, start + blockSize);
+                stmt.setString(2, sequenceName);
+                stmt.executeUpdate();
+            }
+
+            conn.commit();
+            return start;
+
+        } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackEx) {
+                    System.err.println("Error rolling back sequence reservation: " + rollbackEx.getMessage());
+                }
+            }
+            throw e;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    DatabaseConnection.closeConnection(conn);
+                } catch (SQLException e) {
+                    System.err.println("Error resetting connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Read and lock the next value of a sequence row
+     *
+     * @return Next value, or null if the row does not exist
+     */
+    private Long lockNextValue(Connection conn, String sql, String sequenceName) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, sequenceName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Find the highest number already used in the table owning a sequence
+     */
+    private long findMaxUsed(Connection conn, String sequenceName) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(MAX_USED_QUERIES.get(sequenceName));
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private void requireKnownSequence(String sequenceName) {
+        if (!MAX_USED_QUERIES.containsKey(sequenceName)) {
+            throw new IllegalArgumentException("Unknown sequence: " + sequenceName);
+        }
+    }
+}
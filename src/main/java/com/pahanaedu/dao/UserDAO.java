@@ -24,12 +24,14 @@ import java.util.List;
 public class UserDAO {
 
     private final DatabaseConnection dbConnection;
+    private final SequenceDAO sequenceDAO;
 
     /**
      * Constructor - initialize with database connection
      */
     public UserDAO() {
         this.dbConnection = DatabaseConnection.getInstance();
+        this.sequenceDAO = new SequenceDAO();
     }
 
     /**
@@ -234,6 +236,32 @@ public class UserDAO {
         }
     }
 
+    /**
+     * Replace a user's stored password hash, for example when upgrading it at login
+     *
+     * @param userId User ID
+     * @param passwordHash Hash produced by PasswordUtil.hashPassword
+     * @return true if update successful, false otherwise
+     */
+    public boolean updatePasswordHash(String userId, String passwordHash) {
+        String sql = "UPDATE users SET password = ? WHERE user_id = ?";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, passwordHash);
+            stmt.setString(2, userId);
+
+            int rowsAffected = stmt.executeUpdate();
+            return rowsAffected > 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error updating password hash: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
     /**
      * Deactivate user (soft delete)
      *
@@ -406,22 +434,13 @@ public class UserDAO {
         return user;
     }
 
-    public String generateNextUserId() {
-        String sql = "SELECT MAX(CAST(SUBSTRING(user_id, 4) AS UNSIGNED)) as max_id FROM users WHERE user_id LIKE 'USR%'";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            if (rs.next()) {
-                int maxId = rs.getInt("max_id");
-                return String.format("USR%03d", maxId + 1);
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error generating user ID: " + e.getMessage());
-        }
-
-        return "USR001"; // Default if no users exist
+    /**
+     * Generate next user ID
+     *
+     * @return Next available user ID
+     * @throws SQLException if no ID can be reserved
+     */
+    public String generateNextUserId() throws SQLException {
+        return String.format("USR%03d", sequenceDAO.nextValue(SequenceDAO.USER_SEQUENCE));
     }
 }
\ No newline at end of file
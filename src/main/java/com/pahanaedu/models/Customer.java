@@ -181,6 +181,16 @@ public class Customer {
         return creditLimit != null && creditLimit.compareTo(BigDecimal.ZERO) > 0;
     }
 
+    // Clone method for creating copies
+    public Customer clone() {
+        Customer clone = new Customer(this.accountNumber, this.name, this.address, this.phoneNumber, this.email);
+        clone.setCreditLimit(this.creditLimit);
+        clone.setActive(this.isActive);
+        clone.setRegistrationDate(this.registrationDate != null ? (Timestamp) this.registrationDate.clone() : null);
+        clone.setUpdatedDate(this.updatedDate != null ? (Timestamp) this.updatedDate.clone() : null);
+        return clone;
+    }
+
     // Override toString for debugging
     @Override
     public String toString() {
@@ -215,6 +215,17 @@ public class Item {
         return price != null && price.compareTo(BigDecimal.ZERO) > 0;
     }
 
+    // Clone method for creating copies
+    public Item clone() {
+        Item clone = new Item(this.itemId, this.name, this.category, this.price, this.stockQuantity);
+        clone.setReorderLevel(this.reorderLevel);
+        clone.setDescription(this.description);
+        clone.setActive(this.isActive);
+        clone.setCreatedDate(this.createdDate != null ? (Timestamp) this.createdDate.clone() : null);
+        clone.setUpdatedDate(this.updatedDate != null ? (Timestamp) this.updatedDate.clone() : null);
+        return clone;
+    }
+
     // Override toString for debugging
     @Override
     public String toString() {
@@ -1,6 +1,7 @@
 package com.pahanaedu.service.impl;
 
 import com.pahanaedu.dao.BillDAO;
+import com.pahanaedu.dao.ReportDAO;
 import com.pahanaedu.models.Bill;
 import com.pahanaedu.models.BillItem;
 import com.pahanaedu.models.Customer;
@@ -8,8 +9,12 @@ import com.pahanaedu.models.Item;
 import com.pahanaedu.service.interfaces.BillService;
 import com.pahanaedu.service.interfaces.CustomerService;
 import com.pahanaedu.service.interfaces.ItemService;
+import com.pahanaedu.util.BillCursor;
+import com.pahanaedu.util.ItemCatalogCache;
+import com.pahanaedu.util.RowHandler;
 import com.pahanaedu.util.ValidationUtils;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.sql.Date;
@@ -37,8 +42,10 @@ import java.util.stream.Collectors;
 public class BillServiceImpl implements BillService {
 
     private final BillDAO billDAO;
+    private final ReportDAO reportDAO;
     private final CustomerService customerService;
     private final ItemService itemService;
+    private final ItemCatalogCache catalogCache;
 
     // Business constants
     private static final BigDecimal MAX_DISCOUNT_PERCENTAGE = new BigDecimal("50.00");
@@ -50,17 +57,38 @@ public class BillServiceImpl implements BillService {
      */
     public BillServiceImpl() {
         this.billDAO = new BillDAO();
+        this.reportDAO = new ReportDAO();
         this.customerService = new CustomerServiceImpl();
         this.itemService = new ItemServiceImpl();
+        this.catalogCache = ItemCatalogCache.getInstance();
     }
 
     /**
      * Constructor for testing with DAO injection
      */
     public BillServiceImpl(BillDAO billDAO, CustomerService customerService, ItemService itemService) {
+        this(billDAO, new ReportDAO(), customerService, itemService);
+    }
+
+    /**
+     * Constructor for testing with DAO and report DAO injection
+     */
+    public BillServiceImpl(BillDAO billDAO, ReportDAO reportDAO, CustomerService customerService,
+                           ItemService itemService) {
+        this(billDAO, reportDAO, customerService, itemService, ItemCatalogCache.getInstance());
+    }
+
+    /**
+     * Constructor for testing with DAO and cache injection
+     * Pass the same cache the ItemService uses, so checkouts adjust the stock it serves.
+     */
+    public BillServiceImpl(BillDAO billDAO, ReportDAO reportDAO, CustomerService customerService,
+                           ItemService itemService, ItemCatalogCache catalogCache) {
         this.billDAO = billDAO;
+        this.reportDAO = reportDAO;
         this.customerService = customerService;
         this.itemService = itemService;
+        this.catalogCache = catalogCache;
     }
 
     @Override
@@ -97,6 +125,10 @@ public class BillServiceImpl implements BillService {
         // Generate bill number if not provided
         if (bill.getBillNumber() == null || bill.getBillNumber().trim().isEmpty()) {
             bill.setBillNumber(generateNextBillNumber());
+            if (bill.getBillNumber() == null) {
+                System.err.println("Unable to generate bill number");
+                return false;
+            }
         }
 
         // Set timestamps
@@ -110,6 +142,8 @@ public class BillServiceImpl implements BillService {
         try {
             boolean created = billDAO.createBill(bill);
             if (created) {
+                // Stock changed in the bill's transaction, outside ItemService
+                adjustCachedStock(bill, -1);
                 System.out.println("Bill created successfully: " + bill.getBillNumber());
             }
             return created;
@@ -163,6 +197,26 @@ public class BillServiceImpl implements BillService {
         }
     }
 
+    @Override
+    public List<Bill> getBillsAfter(BillCursor cursor, int limit) {
+        if (!ValidationUtils.isPositive(limit)) {
+            System.err.println("Invalid pagination parameters");
+            return List.of();
+        }
+
+        try {
+            return billDAO.getBillsAfter(cursor, limit, true);
+        } catch (Exception e) {
+            System.err.println("Error getting bills after cursor: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    public int exportBills(BillCursor since, RowHandler<Bill> handler) throws IOException {
+        return billDAO.streamBillsWithItems(since, handler);
+    }
+
     @Override
     public List<Bill> getBillsByDateRange(Date startDate, Date endDate) {
         if (startDate == null || endDate == null) {
@@ -215,6 +269,19 @@ public class BillServiceImpl implements BillService {
         }
     }
 
+    /**
+     * Apply a bill's stock change to the cached catalog instead of dropping it
+     *
+     * @param sign -1 for a sale, 1 for a cancellation that restores stock
+     */
+    private void adjustCachedStock(Bill bill, int sign) {
+        Map<String, Integer> stockChanges = new HashMap<>();
+        for (BillItem billItem : bill.getBillItems()) {
+            stockChanges.merge(billItem.getItemId(), sign * billItem.getQuantity(), Integer::sum);
+        }
+        catalogCache.adjustStock(stockChanges);
+    }
+
     @Override
     public boolean cancelBill(String billNumber) {
         if (!ValidationUtils.isNotEmpty(billNumber)) {
@@ -237,6 +304,7 @@ public class BillServiceImpl implements BillService {
         try {
             boolean cancelled = billDAO.cancelBill(billNumber);
             if (cancelled) {
+                adjustCachedStock(bill, 1);
                 System.out.println("Bill cancelled successfully: " + billNumber);
             }
             return cancelled;
@@ -504,7 +572,7 @@ public class BillServiceImpl implements BillService {
             return billDAO.generateNextBillNumber();
         } catch (Exception e) {
             System.err.println("Error generating bill number: " + e.getMessage());
-            return "BILL000001"; // Fallback default
+            return null; // Never guess an ID another node may hold
         }
     }
 
@@ -625,31 +693,22 @@ public class BillServiceImpl implements BillService {
 
     @Override
     public String getSalesReport(Date startDate, Date endDate) {
-        List<Bill> bills = getBillsByDateRange(startDate, endDate);
-        BigDecimal totalSales = calculateTotalSales(startDate, endDate);
+        Map<Bill.PaymentMethod, ReportDAO.SalesSummary> byMethod = getSalesByPaymentMethod(startDate, endDate);
+        ReportDAO.SalesSummary totals = sumSummaries(byMethod);
 
         StringBuilder report = new StringBuilder();
         report.append("SALES REPORT\n");
         report.append("Period: ").append(startDate).append(" to ").append(endDate).append("\n");
         report.append("=".repeat(50)).append("\n");
-        report.append("Total Bills: ").append(bills.size()).append("\n");
-        report.append("Total Sales: Rs. ").append(totalSales).append("\n");
-
-        // Group by payment method
-        Map<Bill.PaymentMethod, Integer> paymentMethodCount = new HashMap<>();
-        Map<Bill.PaymentMethod, BigDecimal> paymentMethodTotal = new HashMap<>();
-
-        for (Bill bill : bills) {
-            if (bill.isPaid()) {
-                paymentMethodCount.merge(bill.getPaymentMethod(), 1, Integer::sum);
-                paymentMethodTotal.merge(bill.getPaymentMethod(), bill.getTotalAmount(), BigDecimal::add);
-            }
-        }
+        report.append("Total Bills: ").append(totals.getBillCount()).append("\n");
+        report.append("Total Sales: Rs. ").append(totals.getPaidAmount()).append("\n");
 
+        // Paid bills per payment method
         report.append("\nPayment Method Breakdown:\n");
         for (Bill.PaymentMethod method : Bill.PaymentMethod.values()) {
-            int count = paymentMethodCount.getOrDefault(method, 0);
-            BigDecimal total = paymentMethodTotal.getOrDefault(method, BigDecimal.ZERO);
+            ReportDAO.SalesSummary summary = byMethod.get(method);
+            int count = summary != null ? summary.getPaidBillCount() : 0;
+            BigDecimal total = summary != null ? summary.getPaidAmount() : BigDecimal.ZERO;
             report.append(String.format("%s: %d bills, Rs. %.2f\n", method, count, total));
         }
 
@@ -663,24 +722,8 @@ public class BillServiceImpl implements BillService {
         }
 
         try {
-            // Get all paid bills
-            List<Bill> allBills = getAllBills(Integer.MAX_VALUE, 0);
-            Map<String, Integer> itemQuantities = new HashMap<>();
-
-            // Calculate total quantities sold per item
-            for (Bill bill : allBills) {
-                if (bill.isPaid()) {
-                    for (BillItem billItem : bill.getBillItems()) {
-                        String itemName = billItem.getItemName();
-                        itemQuantities.merge(itemName, billItem.getQuantity(), Integer::sum);
-                    }
-                }
-            }
-
-            // Sort by quantity and return top items
-            return itemQuantities.entrySet().stream()
-                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
-                    .limit(limit)
+            // Quantities are summed per item in the database
+            return reportDAO.getTopSellingItems(limit).entrySet().stream()
                     .map(entry -> entry.getKey() + " (" + entry.getValue() + " sold)")
                     .collect(Collectors.toList());
 
@@ -692,11 +735,38 @@ public class BillServiceImpl implements BillService {
 
     @Override
     public BigDecimal calculateTotalSales(Date startDate, Date endDate) {
-        List<Bill> bills = getBillsByDateRange(startDate, endDate);
-        return bills.stream()
-                .filter(Bill::isPaid)
-                .map(Bill::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (startDate == null || endDate == null || startDate.after(endDate)) {
+            return BigDecimal.ZERO;
+        }
+
+        return sumSummaries(getSalesByPaymentMethod(startDate, endDate)).getPaidAmount();
+    }
+
+    /**
+     * Get bill counts and paid totals per payment method for a date range
+     */
+    private Map<Bill.PaymentMethod, ReportDAO.SalesSummary> getSalesByPaymentMethod(Date startDate, Date endDate) {
+        if (startDate == null || endDate == null || startDate.after(endDate)) {
+            return Map.of();
+        }
+
+        try {
+            return reportDAO.getSalesByPaymentMethod(startDate, endDate);
+        } catch (Exception e) {
+            System.err.println("Error getting sales by payment method: " + e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /**
+     * Total the per-payment-method summaries of a report
+     */
+    private ReportDAO.SalesSummary sumSummaries(Map<Bill.PaymentMethod, ReportDAO.SalesSummary> summaries) {
+        ReportDAO.SalesSummary total = new ReportDAO.SalesSummary(0, 0, BigDecimal.ZERO);
+        for (ReportDAO.SalesSummary summary : summaries.values()) {
+            total = total.add(summary);
+        }
+        return total;
     }
 
     @Override
@@ -706,9 +776,7 @@ public class BillServiceImpl implements BillService {
         }
 
         try {
-            return getAllBills(Integer.MAX_VALUE, 0).stream()
-                    .filter(bill -> paymentMethod.equals(bill.getPaymentMethod()))
-                    .collect(Collectors.toList());
+            return billDAO.getBillsByPaymentMethod(paymentMethod, true);
         } catch (Exception e) {
             System.err.println("Error getting bills by payment method: " + e.getMessage());
             return List.of();
@@ -722,9 +790,7 @@ public class BillServiceImpl implements BillService {
         }
 
         try {
-            return getAllBills(Integer.MAX_VALUE, 0).stream()
-                    .filter(bill -> status.equals(bill.getStatus()))
-                    .collect(Collectors.toList());
+            return billDAO.getBillsByStatus(status, true);
         } catch (Exception e) {
             System.err.println("Error getting bills by status: " + e.getMessage());
             return List.of();
@@ -764,7 +830,12 @@ public class BillServiceImpl implements BillService {
         }
 
         // Create bill
-        Bill bill = new Bill(generateNextBillNumber(), customerAccountNumber, createdBy);
+        String billNumber = generateNextBillNumber();
+        if (billNumber == null) {
+            System.err.println("Unable to generate bill number");
+            return null;
+        }
+        Bill bill = new Bill(billNumber, customerAccountNumber, createdBy);
         bill.setPaymentMethod(paymentMethod);
         bill.setBillItems(new ArrayList<>(cartItems));
         bill.setCustomer(customer);
@@ -813,21 +884,7 @@ public class BillServiceImpl implements BillService {
      */
     public BigDecimal calculateAverageBillAmount() {
         try {
-            List<Bill> allBills = getAllBills(Integer.MAX_VALUE, 0);
-            List<Bill> paidBills = allBills.stream()
-                    .filter(Bill::isPaid)
-                    .collect(Collectors.toList());
-
-            if (paidBills.isEmpty()) {
-                return BigDecimal.ZERO;
-            }
-
-            BigDecimal totalAmount = paidBills.stream()
-                    .map(Bill::getTotalAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            return totalAmount.divide(BigDecimal.valueOf(paidBills.size()), 2, RoundingMode.HALF_UP);
-
+            return reportDAO.getAveragePaidBillAmount();
         } catch (Exception e) {
             System.err.println("Error calculating average bill amount: " + e.getMessage());
             return BigDecimal.ZERO;
@@ -837,19 +894,20 @@ public class BillServiceImpl implements BillService {
     /**
      * Business method: Get daily sales summary
      */
+    @Override
     public String getDailySalesSummary(Date date) {
-        List<Bill> dailyBills = getBillsByDateRange(date, date);
-        BigDecimal dailySales = calculateTotalSales(date, date);
+        ReportDAO.SalesSummary daily = sumSummaries(getSalesByPaymentMethod(date, date));
+        BigDecimal dailySales = daily.getPaidAmount();
 
         StringBuilder summary = new StringBuilder();
         summary.append("Daily Sales Summary for ").append(date).append("\n");
         summary.append("=".repeat(40)).append("\n");
-        summary.append("Total Bills: ").append(dailyBills.size()).append("\n");
-        summary.append("Paid Bills: ").append(dailyBills.stream().mapToInt(b -> b.isPaid() ? 1 : 0).sum()).append("\n");
+        summary.append("Total Bills: ").append(daily.getBillCount()).append("\n");
+        summary.append("Paid Bills: ").append(daily.getPaidBillCount()).append("\n");
         summary.append("Total Sales: Rs. ").append(dailySales).append("\n");
 
-        if (!dailyBills.isEmpty()) {
-            BigDecimal avgBill = dailySales.divide(BigDecimal.valueOf(dailyBills.size()), 2, RoundingMode.HALF_UP);
+        if (daily.getBillCount() > 0) {
+            BigDecimal avgBill = dailySales.divide(BigDecimal.valueOf(daily.getBillCount()), 2, RoundingMode.HALF_UP);
             summary.append("Average Bill: Rs. ").append(avgBill).append("\n");
         }
 
@@ -859,6 +917,7 @@ public class BillServiceImpl implements BillService {
     /**
      * Business method: Get customer purchase history summary
      */
+    @Override
     public String getCustomerPurchaseHistory(String customerAccountNumber) {
         List<Bill> customerBills = getBillsByCustomer(customerAccountNumber);
         Customer customer = customerService.findCustomerByAccountNumber(customerAccountNumber);
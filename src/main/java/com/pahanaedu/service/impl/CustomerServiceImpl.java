@@ -3,10 +3,25 @@ package com.pahanaedu.service.impl;
 import com.pahanaedu.dao.CustomerDAO;
 import com.pahanaedu.models.Customer;
 import com.pahanaedu.service.interfaces.CustomerService;
+import com.pahanaedu.util.CustomerAutocomplete;
+import com.pahanaedu.util.CustomerCache;
+import com.pahanaedu.util.CustomerImportReader;
+import com.pahanaedu.util.CustomerSearchIndex;
+import com.pahanaedu.util.ImportReader;
+import com.pahanaedu.util.ImportReport;
+import com.pahanaedu.util.RowHandler;
 import com.pahanaedu.util.ValidationUtils;
+import com.pahanaedu.util.WorkerPool;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service implementation for Customer management operations
@@ -17,6 +32,10 @@ import java.util.List;
  * - Dependency Injection: Uses DAO for data access
  * - Strategy Pattern: Different validation strategies
  * - Template Method Pattern: Common validation workflow
+ * - Cache-Aside Pattern: Account number lookups go through the shared CustomerCache
+ * - Inverted Index: Substring searches are answered by the shared CustomerSearchIndex
+ *   and prefix autocomplete by the shared CustomerAutocomplete
+ * - Batch Pattern: Bulk imports are validated on the shared WorkerPool and inserted in JDBC batches
  *
  * @author Pahana Edu Development Team
  * @version 1.0
@@ -24,13 +43,30 @@ import java.util.List;
 public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerDAO customerDAO;
+    private final CustomerCache customerCache;
+    private final CustomerSearchIndex searchIndex;
+    private final CustomerAutocomplete autocomplete;
+
+    private static final BigDecimal MAX_CREDIT_LIMIT = new BigDecimal("1000000.00"); // 1 million
 
     public CustomerServiceImpl() {
-        this.customerDAO = new CustomerDAO();
+        this(new CustomerDAO());
     }
 
     public CustomerServiceImpl(CustomerDAO customerDAO) {
+        this(customerDAO, CustomerCache.getInstance(), CustomerSearchIndex.getInstance(),
+                CustomerAutocomplete.getInstance());
+    }
+
+    /**
+     * Constructor for testing with DAO, cache and search structure injection
+     */
+    public CustomerServiceImpl(CustomerDAO customerDAO, CustomerCache customerCache,
+                               CustomerSearchIndex searchIndex, CustomerAutocomplete autocomplete) {
         this.customerDAO = customerDAO;
+        this.customerCache = customerCache;
+        this.searchIndex = searchIndex;
+        this.autocomplete = autocomplete;
     }
 
     @Override
@@ -49,6 +85,10 @@ public class CustomerServiceImpl implements CustomerService {
         // Generate account number if not provided
         if (customer.getAccountNumber() == null || customer.getAccountNumber().trim().isEmpty()) {
             customer.setAccountNumber(generateNextAccountNumber());
+            if (customer.getAccountNumber() == null) {
+                System.err.println("Unable to generate account number");
+                return false;
+            }
         }
 
         // Set default values
@@ -59,6 +99,8 @@ public class CustomerServiceImpl implements CustomerService {
         try {
             boolean created = customerDAO.createCustomer(customer);
             if (created) {
+                // Clears a cached "not found" for the new account number
+                customerChanged(customer.getAccountNumber());
                 System.out.println("Customer created successfully: " + customer.getAccountNumber());
             }
             return created;
@@ -91,6 +133,7 @@ public class CustomerServiceImpl implements CustomerService {
         try {
             boolean updated = customerDAO.updateCustomer(customer);
             if (updated) {
+                customerChanged(customer.getAccountNumber());
                 System.out.println("Customer updated successfully: " + customer.getAccountNumber());
             }
             return updated;
@@ -122,6 +165,7 @@ public class CustomerServiceImpl implements CustomerService {
         try {
             boolean deactivated = customerDAO.deactivateCustomer(accountNumber);
             if (deactivated) {
+                customerChanged(accountNumber);
                 System.out.println("Customer deactivated successfully: " + accountNumber);
             }
             return deactivated;
@@ -138,7 +182,7 @@ public class CustomerServiceImpl implements CustomerService {
         }
 
         try {
-            return customerDAO.findByAccountNumber(accountNumber);
+            return customerCache.getCustomer(accountNumber, customerDAO::loadByAccountNumber);
         } catch (Exception e) {
             System.err.println("Error finding customer by account number: " + e.getMessage());
             return null;
@@ -167,6 +211,55 @@ public class CustomerServiceImpl implements CustomerService {
         }
     }
 
+    @Override
+    public List<Customer> searchCustomers(CustomerSearchIndex.Field field, String term, int limit) {
+        if (field == null || !ValidationUtils.isNotEmpty(term)) {
+            return List.of();
+        }
+
+        try {
+            return searchIndex.search(field, term, limit, customerDAO::getAllActiveCustomers);
+        } catch (Exception e) {
+            System.err.println("Error searching customers by " + field + ": " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    public List<Customer> autocompleteCustomers(String prefix, int limit) {
+        if (!ValidationUtils.isNotEmpty(prefix)) {
+            return List.of();
+        }
+
+        try {
+            return autocomplete.complete(prefix, limit, customerDAO::getAllActiveCustomers);
+        } catch (Exception e) {
+            System.err.println("Error autocompleting customers: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    public int exportActiveCustomers(String nameFilter, RowHandler<Customer> handler) throws IOException {
+        String sanitizedFilter = ValidationUtils.isNotEmpty(nameFilter)
+                ? ValidationUtils.sanitizeInput(nameFilter) : null;
+        return customerDAO.streamActiveCustomers(sanitizedFilter, handler);
+    }
+
+    /**
+     * Build the customer search structures ahead of the first request
+     */
+    public void warmUpSearch() {
+        try {
+            List<Customer> customers = customerDAO.getAllActiveCustomers();
+            autocomplete.warmUp(() -> customers);
+            searchIndex.warmUp(() -> customers);
+            System.out.println("Customer search structures built: " + customers.size() + " customers");
+        } catch (Exception e) {
+            System.err.println("Error building customer search structures: " + e.getMessage());
+        }
+    }
+
     @Override
     public List<Customer> getAllActiveCustomers() {
         try {
@@ -179,71 +272,250 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     public boolean validateCustomer(Customer customer) {
-        if (customer == null) {
-            System.err.println("Customer object is required");
+        String error = findValidationError(customer);
+        if (error != null) {
+            System.err.println(error);
             return false;
         }
+        return true;
+    }
+
+    /**
+     * Check customer data against the business rules
+     * Reads the customer only, so batches can be checked on several threads.
+     *
+     * @return Reason the customer is invalid, or null if it is valid
+     */
+    private String findValidationError(Customer customer) {
+        if (customer == null) {
+            return "Customer object is required";
+        }
 
         // Validate account number format if provided
         if (customer.getAccountNumber() != null && !customer.getAccountNumber().trim().isEmpty()) {
             if (!ValidationUtils.isValidAccountNumber(customer.getAccountNumber())) {
-                System.err.println("Invalid account number format: " + customer.getAccountNumber());
-                return false;
+                return "Invalid account number format: " + customer.getAccountNumber();
             }
         }
 
         // Validate customer name
         if (!ValidationUtils.isValidName(customer.getName())) {
-            System.err.println("Customer name is required and must be valid");
-            return false;
+            return "Customer name is required and must be valid";
         }
 
         // Validate address if provided
         if (customer.getAddress() != null && !customer.getAddress().trim().isEmpty()) {
             if (!ValidationUtils.isValidAddress(customer.getAddress())) {
-                System.err.println("Invalid address format");
-                return false;
+                return "Invalid address format";
             }
         }
 
         // Validate phone number if provided
         if (customer.getPhoneNumber() != null && !customer.getPhoneNumber().trim().isEmpty()) {
             if (!ValidationUtils.isValidPhoneNumber(customer.getPhoneNumber())) {
-                System.err.println("Invalid phone number format: " + customer.getPhoneNumber());
-                return false;
+                return "Invalid phone number format: " + customer.getPhoneNumber();
             }
         }
 
         // Validate email if provided
         if (customer.getEmail() != null && !customer.getEmail().trim().isEmpty()) {
             if (!ValidationUtils.isValidEmail(customer.getEmail())) {
-                System.err.println("Invalid email format: " + customer.getEmail());
-                return false;
+                return "Invalid email format: " + customer.getEmail();
             }
         }
 
         // Validate credit limit
         if (customer.getCreditLimit() != null) {
             if (!ValidationUtils.isNonNegative(customer.getCreditLimit())) {
-                System.err.println("Credit limit must be non-negative");
-                return false;
+                return "Credit limit must be non-negative";
             }
 
             // Business rule: Credit limit should not exceed reasonable limit
-            BigDecimal maxCreditLimit = new BigDecimal("1000000.00"); // 1 million
-            if (customer.getCreditLimit().compareTo(maxCreditLimit) > 0) {
-                System.err.println("Credit limit exceeds maximum allowed limit");
-                return false;
+            if (customer.getCreditLimit().compareTo(MAX_CREDIT_LIMIT) > 0) {
+                return "Credit limit exceeds maximum allowed limit";
             }
         }
 
         // Validate that customer has at least one contact method
         if (!hasValidContactInfo(customer)) {
-            System.err.println("Customer must have at least one valid contact method (phone or email)");
-            return false;
+            return "Customer must have at least one valid contact method (phone or email)";
         }
 
-        return true;
+        return null;
+    }
+
+    @Override
+    public ImportReport importCustomers(CustomerImportReader reader, int batchSize, ImportReport report) {
+        ImportDuplicates duplicates = new ImportDuplicates();
+        List<ImportReader.Row<Customer>> batch = new ArrayList<>(batchSize);
+
+        try {
+            try {
+                ImportReader.Row<Customer> row;
+                while ((row = reader.next()) != null) {
+                    report.rowRead();
+                    if (row.getError() != null) {
+                        report.rowFailed(row.getLine(), row.getKey(), row.getError());
+                        continue;
+                    }
+
+                    batch.add(row);
+                    if (batch.size() >= batchSize) {
+                        importBatch(batch, duplicates, report);
+                        batch.clear();
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Customer import stopped reading: " + e.getMessage());
+                report.abort("Input could not be read: " + e.getMessage());
+            }
+
+            importBatch(batch, duplicates, report);
+        } finally {
+            if (report.getCreatedCount() > 0) {
+                // Rebuilt on the next search rather than re-read customer by customer
+                searchIndex.invalidateAll();
+                autocomplete.invalidateAll();
+            }
+            report.finish();
+        }
+
+        System.out.println("Customer import finished. " + report);
+        return report;
+    }
+
+    /**
+     * Validate a batch on the worker pool, drop duplicates, then insert the rest
+     * with one account number lookup and one JDBC batch
+     */
+    private void importBatch(List<ImportReader.Row<Customer>> batch, ImportDuplicates duplicates,
+                             ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<String> errors;
+        try {
+            errors = WorkerPool.getShared().map(batch, row -> findValidationError(row.getValue()));
+        } catch (RuntimeException e) {
+            System.err.println("Error validating customer batch: " + e.getMessage());
+            for (ImportReader.Row<Customer> row : batch) {
+                report.rowFailed(row.getLine(), row.getValue().getAccountNumber(), "Import failed: " + e.getMessage());
+            }
+            return;
+        }
+
+        // In file order, so the first of a set of duplicates is the one kept
+        List<ImportReader.Row<Customer>> accepted = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            ImportReader.Row<Customer> row = batch.get(i);
+            Customer customer = row.getValue();
+            String error = errors.get(i) != null ? errors.get(i) : duplicates.check(customer, row.getLine());
+            if (error != null) {
+                report.rowFailed(row.getLine(), customer.getAccountNumber(), error);
+                continue;
+            }
+
+            if (!ValidationUtils.isNotEmpty(customer.getAccountNumber())) {
+                customer.setAccountNumber(generateNextAccountNumber());
+                if (customer.getAccountNumber() == null) {
+                    report.rowFailed(row.getLine(), null, "Unable to generate account number");
+                    continue;
+                }
+            } else {
+                customer.setAccountNumber(customer.getAccountNumber().trim());
+            }
+            if (customer.getCreditLimit() == null) {
+                customer.setCreditLimit(BigDecimal.ZERO);
+            }
+            accepted.add(row);
+        }
+
+        List<Customer> customers = new ArrayList<>(accepted.size());
+        try {
+            Set<String> existing = customerDAO.findExistingAccountNumbers(accepted.stream()
+                    .map(row -> row.getValue().getAccountNumber())
+                    .collect(Collectors.toCollection(HashSet::new)));
+
+            List<ImportReader.Row<Customer>> inserts = new ArrayList<>(accepted.size());
+            for (ImportReader.Row<Customer> row : accepted) {
+                if (existing.contains(row.getValue().getAccountNumber())) {
+                    report.rowFailed(row.getLine(), row.getValue().getAccountNumber(), "Account number already exists");
+                } else {
+                    inserts.add(row);
+                    customers.add(row.getValue());
+                }
+            }
+
+            Map<Integer, String> failures = customerDAO.createCustomers(customers);
+            int created = 0;
+            for (int i = 0; i < inserts.size(); i++) {
+                String accountNumber = customers.get(i).getAccountNumber();
+                String failure = failures.get(i);
+                if (failure != null) {
+                    report.rowFailed(inserts.get(i).getLine(), accountNumber, failure);
+                } else {
+                    // Clears a cached "not found" for the new account number
+                    customerCache.invalidate(accountNumber);
+                    created++;
+                }
+            }
+            report.rowsCreated(created);
+
+        } catch (Exception e) {
+            System.err.println("Error importing customer batch: " + e.getMessage());
+            for (ImportReader.Row<Customer> row : accepted) {
+                report.rowFailed(row.getLine(), row.getValue().getAccountNumber(), "Import failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Account numbers, phone numbers and emails already accepted in one import
+     * Only the keys are kept, so memory grows with the file by a few strings per row.
+     */
+    private static final class ImportDuplicates {
+        private final Map<String, Long> accountNumbers = new HashMap<>();
+        private final Map<String, Long> phoneNumbers = new HashMap<>();
+        private final Map<String, Long> emails = new HashMap<>();
+
+        /**
+         * @return Why the customer repeats an earlier row, or null after recording its keys
+         */
+        String check(Customer customer, long line) {
+            String accountNumber = normalize(customer.getAccountNumber(), false);
+            String phoneNumber = normalize(customer.getPhoneNumber(), false);
+            String email = normalize(customer.getEmail(), true);
+
+            Long firstLine;
+            if (accountNumber != null && (firstLine = accountNumbers.get(accountNumber)) != null) {
+                return "Duplicate account number (first on line " + firstLine + ")";
+            }
+            if (phoneNumber != null && (firstLine = phoneNumbers.get(phoneNumber)) != null) {
+                return "Duplicate phone number (first on line " + firstLine + ")";
+            }
+            if (email != null && (firstLine = emails.get(email)) != null) {
+                return "Duplicate email (first on line " + firstLine + ")";
+            }
+
+            if (accountNumber != null) {
+                accountNumbers.put(accountNumber, line);
+            }
+            if (phoneNumber != null) {
+                phoneNumbers.put(phoneNumber, line);
+            }
+            if (email != null) {
+                emails.put(email, line);
+            }
+            return null;
+        }
+
+        private static String normalize(String value, boolean ignoreCase) {
+            if (value == null || value.trim().isEmpty()) {
+                return null;
+            }
+            return ignoreCase ? value.trim().toLowerCase() : value.trim();
+        }
     }
 
     /**
@@ -285,7 +557,7 @@ public class CustomerServiceImpl implements CustomerService {
             return customerDAO.generateNextAccountNumber();
         } catch (Exception e) {
             System.err.println("Error generating account number: " + e.getMessage());
-            return "CUS001"; // Fallback default
+            return null; // Never guess an ID another node may hold
         }
     }
 
@@ -474,6 +746,24 @@ public class CustomerServiceImpl implements CustomerService {
         return updateCustomer(customer);
     }
 
+    /**
+     * Get customer cache statistics for monitoring
+     *
+     * @return Hit, miss, eviction and invalidation counts
+     */
+    public String getCustomerCacheStats() {
+        return customerCache.getStats() + ", " + searchIndex.getStats() + ", " + autocomplete.getStats();
+    }
+
+    /**
+     * Drop the cached customer and re-index it after a successful write
+     */
+    private void customerChanged(String accountNumber) {
+        customerCache.invalidate(accountNumber);
+        searchIndex.refresh(accountNumber, customerDAO::loadByAccountNumber);
+        autocomplete.refresh(accountNumber, customerDAO::loadByAccountNumber);
+    }
+
     @Override
     public boolean deleteCustomer(String accountNumber) {
         return deactivateCustomer(accountNumber);
@@ -3,10 +3,22 @@ package com.pahanaedu.service.impl;
 import com.pahanaedu.dao.ItemDAO;
 import com.pahanaedu.models.Item;
 import com.pahanaedu.service.interfaces.ItemService;
+import com.pahanaedu.util.ImportReader;
+import com.pahanaedu.util.ImportReport;
+import com.pahanaedu.util.ItemCatalogCache;
+import com.pahanaedu.util.ItemImportReader;
+import com.pahanaedu.util.ItemSearchIndex;
 import com.pahanaedu.util.ValidationUtils;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -18,6 +30,8 @@ import java.util.stream.Collectors;
  * - Dependency Injection: Uses DAO for data access
  * - Strategy Pattern: Different validation strategies
  * - Business Rules Pattern: Encapsulates inventory rules
+ * - Cache-Aside Pattern: Catalog reads go through the shared ItemCatalogCache
+ * - Batch Pattern: Catalog imports are upserted in JDBC batches
  *
  * @author Pahana Edu Development Team
  * @version 1.0
@@ -25,6 +39,7 @@ import java.util.stream.Collectors;
 public class ItemServiceImpl implements ItemService {
 
     private final ItemDAO itemDAO;
+    private final ItemCatalogCache catalogCache;
 
     // Business constants
     private static final BigDecimal MIN_PRICE = new BigDecimal("0.01");
@@ -37,14 +52,22 @@ public class ItemServiceImpl implements ItemService {
      * Constructor with dependency injection
      */
     public ItemServiceImpl() {
-        this.itemDAO = new ItemDAO();
+        this(new ItemDAO());
     }
 
     /**
      * Constructor for testing with DAO injection
      */
     public ItemServiceImpl(ItemDAO itemDAO) {
+        this(itemDAO, ItemCatalogCache.getInstance());
+    }
+
+    /**
+     * Constructor for testing with DAO and cache injection
+     */
+    public ItemServiceImpl(ItemDAO itemDAO, ItemCatalogCache catalogCache) {
         this.itemDAO = itemDAO;
+        this.catalogCache = catalogCache;
     }
 
     @Override
@@ -63,6 +86,10 @@ public class ItemServiceImpl implements ItemService {
         // Generate item ID if not provided
         if (item.getItemId() == null || item.getItemId().trim().isEmpty()) {
             item.setItemId(generateNextItemId());
+            if (item.getItemId() == null) {
+                System.err.println("Unable to generate item ID");
+                return false;
+            }
         }
 
         // Set default values
@@ -71,6 +98,7 @@ public class ItemServiceImpl implements ItemService {
         try {
             boolean created = itemDAO.createItem(item);
             if (created) {
+                catalogCache.invalidate(item.getItemId());
                 System.out.println("Item created successfully: " + item.getItemId());
             }
             return created;
@@ -97,6 +125,7 @@ public class ItemServiceImpl implements ItemService {
         try {
             boolean updated = itemDAO.updateItem(item);
             if (updated) {
+                catalogCache.invalidate(item.getItemId());
                 System.out.println("Item updated successfully: " + item.getItemId());
             }
             return updated;
@@ -128,6 +157,7 @@ public class ItemServiceImpl implements ItemService {
         try {
             boolean deactivated = itemDAO.deactivateItem(itemId);
             if (deactivated) {
+                catalogCache.invalidate(itemId);
                 System.out.println("Item deactivated successfully: " + itemId);
             }
             return deactivated;
@@ -144,7 +174,7 @@ public class ItemServiceImpl implements ItemService {
         }
 
         try {
-            return itemDAO.findByItemId(itemId);
+            return catalogCache.getItem(itemId, itemDAO::findByItemId);
         } catch (Exception e) {
             System.err.println("Error finding item by ID: " + e.getMessage());
             return null;
@@ -181,17 +211,32 @@ public class ItemServiceImpl implements ItemService {
         }
 
         try {
-            return itemDAO.getItemsByCategory(category);
+            return catalogCache.getActiveItemsByCategory(category, itemDAO::getAllActiveItems,
+                    itemDAO::getItemsByCategory);
         } catch (Exception e) {
             System.err.println("Error getting items by category: " + e.getMessage());
             return List.of();
         }
     }
 
+    @Override
+    public ItemSearchIndex.Result searchItems(ItemSearchIndex.Query query) {
+        if (query == null) {
+            return new ItemSearchIndex.Result(List.of(), 0, Map.of());
+        }
+
+        try {
+            return catalogCache.search(query, itemDAO::getAllActiveItems);
+        } catch (Exception e) {
+            System.err.println("Error searching items: " + e.getMessage());
+            return new ItemSearchIndex.Result(List.of(), 0, Map.of());
+        }
+    }
+
     @Override
     public List<Item> getAllActiveItems() {
         try {
-            return itemDAO.getAllActiveItems();
+            return catalogCache.getActiveItems(itemDAO::getAllActiveItems);
         } catch (Exception e) {
             System.err.println("Error getting all active items: " + e.getMessage());
             return List.of();
@@ -201,7 +246,11 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public List<Item> getItemsNeedingReorder() {
         try {
-            return itemDAO.getItemsNeedingReorder();
+            // Same rule and order as ItemDAO.getItemsNeedingReorder, served from the catalog
+            return getAllActiveItems().stream()
+                    .filter(item -> item.getStockQuantity() <= item.getReorderLevel())
+                    .sorted(Comparator.comparingInt(Item::getStockQuantity))
+                    .collect(Collectors.toList());
         } catch (Exception e) {
             System.err.println("Error getting items needing reorder: " + e.getMessage());
             return List.of();
@@ -211,7 +260,7 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public List<String> getAllCategories() {
         try {
-            return itemDAO.getAllCategories();
+            return catalogCache.getCategories(itemDAO::getAllActiveItems, itemDAO::getAllCategories);
         } catch (Exception e) {
             System.err.println("Error getting all categories: " + e.getMessage());
             return List.of();
@@ -241,6 +290,7 @@ public class ItemServiceImpl implements ItemService {
         try {
             boolean updated = itemDAO.updateStock(itemId, newQuantity);
             if (updated) {
+                catalogCache.invalidate(itemId);
                 System.out.println("Stock updated for item " + itemId + ": " + newQuantity);
             }
             return updated;
@@ -257,7 +307,7 @@ public class ItemServiceImpl implements ItemService {
             return false;
         }
 
-        Item item = findItemById(itemId);
+        Item item = findCurrentItem(itemId);
         if (item == null) {
             System.err.println("Item not found: " + itemId);
             return false;
@@ -295,6 +345,7 @@ public class ItemServiceImpl implements ItemService {
         try {
             boolean reduced = itemDAO.reduceStock(itemId, quantityToReduce);
             if (reduced) {
+                catalogCache.invalidate(itemId);
                 System.out.println("Stock reduced for item " + itemId + ": -" + quantityToReduce);
             }
             return reduced;
@@ -317,8 +368,8 @@ public class ItemServiceImpl implements ItemService {
             return false;
         }
 
-        // Verify item exists
-        Item item = findItemById(itemId);
+        // Verify item exists; updateItem writes every column, stock included
+        Item item = findCurrentItem(itemId);
         if (item == null) {
             System.err.println("Item not found: " + itemId);
             return false;
@@ -328,58 +379,188 @@ public class ItemServiceImpl implements ItemService {
         return updateItem(item);
     }
 
+    /**
+     * Read an item from the database rather than the catalog cache
+     * For read-modify-write paths: cached stock can be up to a TTL old and never
+     * sees stock changed by other nodes, so writing it back would undo those changes.
+     */
+    private Item findCurrentItem(String itemId) {
+        if (!ValidationUtils.isNotEmpty(itemId)) {
+            return null;
+        }
+
+        try {
+            return itemDAO.findByItemId(itemId);
+        } catch (Exception e) {
+            System.err.println("Error finding item by ID: " + e.getMessage());
+            return null;
+        }
+    }
+
     @Override
     public boolean validateItem(Item item) {
-        if (item == null) {
-            System.err.println("Item object is required");
+        String error = findValidationError(item);
+        if (error != null) {
+            System.err.println(error);
             return false;
         }
+        return true;
+    }
+
+    /**
+     * Check item data against the business rules
+     *
+     * @return Reason the item is invalid, or null if it is valid
+     */
+    private String findValidationError(Item item) {
+        if (item == null) {
+            return "Item object is required";
+        }
 
         // Validate item ID format if provided
         if (item.getItemId() != null && !item.getItemId().trim().isEmpty()) {
             if (!ValidationUtils.isValidItemId(item.getItemId())) {
-                System.err.println("Invalid item ID format: " + item.getItemId());
-                return false;
+                return "Invalid item ID format: " + item.getItemId();
             }
         }
 
         // Validate item name
         if (!ValidationUtils.isValidName(item.getName())) {
-            System.err.println("Item name is required and must be valid");
-            return false;
+            return "Item name is required and must be valid";
         }
 
         // Validate category
         if (!ValidationUtils.isValidCategory(item.getCategory())) {
-            System.err.println("Valid category is required");
-            return false;
+            return "Valid category is required";
         }
 
         // Validate price
         if (!ValidationUtils.isInRange(item.getPrice(), MIN_PRICE, MAX_PRICE)) {
-            System.err.println("Price must be between " + MIN_PRICE + " and " + MAX_PRICE);
-            return false;
+            return "Price must be between " + MIN_PRICE + " and " + MAX_PRICE;
         }
 
         // Validate stock quantity
         if (!ValidationUtils.isInRange(item.getStockQuantity(), MIN_STOCK, MAX_STOCK)) {
-            System.err.println("Stock quantity must be between " + MIN_STOCK + " and " + MAX_STOCK);
-            return false;
+            return "Stock quantity must be between " + MIN_STOCK + " and " + MAX_STOCK;
         }
 
         // Validate reorder level
         if (!ValidationUtils.isInRange(item.getReorderLevel(), 0, item.getStockQuantity())) {
-            System.err.println("Reorder level must be between 0 and current stock quantity");
-            return false;
+            return "Reorder level must be between 0 and current stock quantity";
         }
 
         // Validate description if provided
         if (!ValidationUtils.isValidDescription(item.getDescription())) {
-            System.err.println("Invalid description format");
-            return false;
+            return "Invalid description format";
         }
 
-        return true;
+        return null;
+    }
+
+    @Override
+    public ImportReport importItems(ItemImportReader reader, int batchSize) {
+        ImportReport report = new ImportReport();
+        List<ImportReader.Row<Item>> batch = new ArrayList<>(batchSize);
+
+        try {
+            ImportReader.Row<Item> row;
+            while ((row = reader.next()) != null) {
+                report.rowRead();
+                if (row.getError() != null) {
+                    report.rowFailed(row.getLine(), row.getKey(), row.getError());
+                    continue;
+                }
+
+                Item item = row.getValue();
+                if (item.getReorderLevel() == ItemImportReader.UNSET_REORDER_LEVEL) {
+                    // Not in the file: the usual default, but never above the stock being loaded
+                    item.setReorderLevel(Math.max(0, Math.min(DEFAULT_REORDER_LEVEL, item.getStockQuantity())));
+                }
+
+                String error = findValidationError(item);
+                if (error != null) {
+                    report.rowFailed(row.getLine(), item.getItemId(), error);
+                    continue;
+                }
+
+                if (item.getItemId() == null || item.getItemId().trim().isEmpty()) {
+                    item.setItemId(generateNextItemId());
+                    if (item.getItemId() == null) {
+                        report.rowFailed(row.getLine(), null, "Unable to generate item ID");
+                        continue;
+                    }
+                } else {
+                    item.setItemId(item.getItemId().trim());
+                }
+
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    upsertBatch(batch, report);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Item import stopped reading: " + e.getMessage());
+            report.abort("Input could not be read: " + e.getMessage());
+        }
+
+        try {
+            upsertBatch(batch, report);
+        } finally {
+            if (report.getCreatedCount() + report.getUpdatedCount() > 0) {
+                catalogCache.invalidateAll();
+            }
+            report.finish();
+        }
+
+        System.out.println("Item import finished. " + report);
+        return report;
+    }
+
+    /**
+     * Upsert one batch and count its rows as created, updated or failed
+     * Whether a row is new is taken from one ID lookup for the whole batch.
+     */
+    private void upsertBatch(List<ImportReader.Row<Item>> batch, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Item> items = new ArrayList<>(batch.size());
+        for (ImportReader.Row<Item> row : batch) {
+            items.add(row.getValue());
+        }
+
+        Set<String> existing = new HashSet<>();
+        Map<Integer, String> failures;
+        try {
+            existing.addAll(itemDAO.findExistingItemIds(
+                    items.stream().map(Item::getItemId).collect(Collectors.toCollection(HashSet::new))));
+            failures = itemDAO.upsertItems(items);
+        } catch (Exception e) {
+            System.err.println("Error importing item batch: " + e.getMessage());
+            failures = new HashMap<>();
+            for (int i = 0; i < items.size(); i++) {
+                failures.put(i, "Import failed: " + e.getMessage());
+            }
+        }
+
+        int created = 0;
+        int updated = 0;
+        for (int i = 0; i < items.size(); i++) {
+            String itemId = items.get(i).getItemId();
+            String failure = failures.get(i);
+            if (failure != null) {
+                report.rowFailed(batch.get(i).getLine(), itemId, failure);
+            } else if (existing.add(itemId)) {
+                created++;
+            } else {
+                // Existed before, or appeared earlier in this batch
+                updated++;
+            }
+        }
+        report.rowsCreated(created);
+        report.rowsUpdated(updated);
     }
 
     /**
@@ -434,7 +615,7 @@ public class ItemServiceImpl implements ItemService {
             return itemDAO.generateNextItemId();
         } catch (Exception e) {
             System.err.println("Error generating item ID: " + e.getMessage());
-            return "ITEM001"; // Fallback default
+            return null; // Never guess an ID another node may hold
         }
     }
 
@@ -505,9 +686,10 @@ public class ItemServiceImpl implements ItemService {
         }
 
         try {
-            return getAllActiveItems().stream()
-                    .filter(item -> ValidationUtils.isInRange(item.getPrice(), minPrice, maxPrice))
-                    .collect(Collectors.toList());
+            ItemSearchIndex.Query query = new ItemSearchIndex.Query();
+            query.setMinPrice(minPrice);
+            query.setMaxPrice(maxPrice);
+            return catalogCache.search(query, itemDAO::getAllActiveItems).getItems();
         } catch (Exception e) {
             System.err.println("Error getting items by price range: " + e.getMessage());
             return List.of();
@@ -564,6 +746,15 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
+    /**
+     * Get item catalog cache statistics for monitoring
+     *
+     * @return Hit, miss, eviction and invalidation counts
+     */
+    public String getCatalogCacheStats() {
+        return catalogCache.getStats();
+    }
+
     /**
      * Business method: Check if item needs restocking
      *
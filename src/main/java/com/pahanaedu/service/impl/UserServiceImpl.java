@@ -4,9 +4,11 @@ import com.pahanaedu.dao.UserDAO;
 import com.pahanaedu.models.User;
 import com.pahanaedu.service.interfaces.UserService;
 import com.pahanaedu.util.PasswordUtil;
+import com.pahanaedu.util.PasswordVerifier;
 import com.pahanaedu.util.ValidationUtils;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Service implementation for User management operations
@@ -50,15 +52,24 @@ public class UserServiceImpl implements UserService {
             // Get user from database
             User user = userDAO.findByUsername(username);
             if (user == null) {
+                // Spend the same time as a wrong password so usernames cannot be probed
+                PasswordVerifier.getShared().verifyUnknownUser(password);
                 System.err.println("User not found: " + username);
                 return null;
             }
 
-            // Use proper password verification
-            if (!PasswordUtil.verifyPassword(password, user.getPassword())) {
+            // Verify on the password pool; outdated hashes are upgraded while the password is known
+            PasswordVerifier.Result check = PasswordVerifier.getShared().verify(password, user.getPassword());
+            if (!check.matches()) {
                 System.err.println("Password verification failed for user: " + username);
                 return null;
             }
+            if (check.getUpgradedHash() != null && user.isActive()) {
+                if (userDAO.updatePasswordHash(user.getUserId(), check.getUpgradedHash())) {
+                    user.setPassword(check.getUpgradedHash());
+                    System.out.println("Password hash upgraded for user: " + username);
+                }
+            }
 
             // Check if user is active
             if (!user.isActive()) {
@@ -69,6 +80,9 @@ public class UserServiceImpl implements UserService {
             System.out.println("Authentication successful for user: " + username);
             return user;
 
+        } catch (RejectedExecutionException e) {
+            // Password pool saturated: not a failed login, let the caller ask for a retry
+            throw e;
         } catch (Exception e) {
             System.err.println("Authentication error: " + e.getMessage());
             return null;
@@ -92,6 +106,10 @@ public class UserServiceImpl implements UserService {
         // Generate user ID if not provided
         if (user.getUserId() == null || user.getUserId().trim().isEmpty()) {
             user.setUserId(generateNextUserId());
+            if (user.getUserId() == null) {
+                System.err.println("Unable to generate user ID");
+                return false;
+            }
         }
 
         // Validate password strength
@@ -370,7 +388,7 @@ public class UserServiceImpl implements UserService {
             return userDAO.generateNextUserId();
         } catch (Exception e) {
             System.err.println("Error generating user ID: " + e.getMessage());
-            return "USR001"; // Fallback default
+            return null; // Never guess an ID another node may hold
         }
     }
 }
\ No newline at end of file
@@ -4,6 +4,9 @@ import com.pahanaedu.models.Bill;
 import com.pahanaedu.models.BillItem;
 import com.pahanaedu.models.Customer;
 import com.pahanaedu.models.Item;
+import com.pahanaedu.util.BillCursor;
+import com.pahanaedu.util.RowHandler;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.sql.Date;
 import java.util.List;
@@ -55,6 +58,25 @@ public interface BillService {
      */
     List<Bill> getAllBills(int limit, int offset);
 
+    /**
+     * Get a page of bills using keyset pagination, newest first
+     *
+     * @param cursor Position after the last bill of the previous page, or null for the first page
+     * @param limit Number of records to return
+     * @return List of bills
+     */
+    List<Bill> getBillsAfter(BillCursor cursor, int limit);
+
+    /**
+     * Stream bills with their items, oldest first, without loading them all into memory
+     *
+     * @param since Resume after this bill, or null to export from the oldest bill
+     * @param handler Receives each bill in (bill date, bill number) order
+     * @return Number of bills exported, or -1 if reading failed
+     * @throws IOException if the handler fails to write a bill
+     */
+    int exportBills(BillCursor since, RowHandler<Bill> handler) throws IOException;
+
     /**
      * Get bills by date range
      *
@@ -165,7 +187,7 @@ public interface BillService {
     /**
      * Generate next bill number
      *
-     * @return Next available bill number
+     * @return Next available bill number, or null if none could be reserved
      */
     String generateNextBillNumber();
 
@@ -219,6 +241,22 @@ public interface BillService {
      */
     String getSalesReport(Date startDate, Date endDate);
 
+    /**
+     * Get sales summary for one day
+     *
+     * @param date Day to summarize
+     * @return Daily sales summary
+     */
+    String getDailySalesSummary(Date date);
+
+    /**
+     * Get purchase history summary for a customer
+     *
+     * @param customerAccountNumber Customer account number
+     * @return Purchase history summary, or a not-found message
+     */
+    String getCustomerPurchaseHistory(String customerAccountNumber);
+
     /**
      * Get top selling items
      *
@@ -1,6 +1,11 @@
 package com.pahanaedu.service.interfaces;
 
 import com.pahanaedu.models.Customer;
+import com.pahanaedu.util.CustomerImportReader;
+import com.pahanaedu.util.CustomerSearchIndex;
+import com.pahanaedu.util.ImportReport;
+import com.pahanaedu.util.RowHandler;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -57,6 +62,35 @@ public interface CustomerService {
      */
     List<Customer> searchCustomersByName(String name);
 
+    /**
+     * Search active customers by a substring of one field, best matches first
+     *
+     * @param field Field to search (name, phone or email)
+     * @param term Substring to search for
+     * @param limit Maximum number of results
+     * @return List of matching customers
+     */
+    List<Customer> searchCustomers(CustomerSearchIndex.Field field, String term, int limit);
+
+    /**
+     * Autocomplete active customers whose name, or a word in it, starts with a prefix
+     *
+     * @param prefix Typed prefix
+     * @param limit Maximum number of results
+     * @return At most limit customers, name-start matches first
+     */
+    List<Customer> autocompleteCustomers(String prefix, int limit);
+
+    /**
+     * Stream active customers to a handler without loading them all into memory
+     *
+     * @param nameFilter Optional name substring, null or empty for all active customers
+     * @param handler Receives each customer in account number order
+     * @return Number of customers exported, or -1 if reading failed
+     * @throws IOException if the handler fails to write a row
+     */
+    int exportActiveCustomers(String nameFilter, RowHandler<Customer> handler) throws IOException;
+
     /**
      * Get all active customers
      *
@@ -72,6 +106,18 @@ public interface CustomerService {
      */
     boolean validateCustomer(Customer customer);
 
+    /**
+     * Create every valid, non-duplicate customer read from an import stream, in batches
+     * Rows that fail to parse or validate, repeat an account number, phone number or
+     * email seen earlier in the file, or name an existing account are reported and skipped.
+     *
+     * @param reader Source of import rows
+     * @param batchSize Rows validated and inserted per batch
+     * @param report Report to fill; may be read by another thread to follow progress
+     * @return The report, finished
+     */
+    ImportReport importCustomers(CustomerImportReader reader, int batchSize, ImportReport report);
+
     /**
      * Check if account number is available
      *
@@ -84,7 +130,7 @@ public interface CustomerService {
     /**
      * Generate next customer account number
      *
-     * @return Next available account number
+     * @return Next available account number, or null if none could be reserved
      */
     String generateNextAccountNumber();
 
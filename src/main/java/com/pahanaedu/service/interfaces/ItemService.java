@@ -1,6 +1,9 @@
 package com.pahanaedu.service.interfaces;
 
 import com.pahanaedu.models.Item;
+import com.pahanaedu.util.ImportReport;
+import com.pahanaedu.util.ItemImportReader;
+import com.pahanaedu.util.ItemSearchIndex;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -66,6 +69,14 @@ public interface ItemService {
      */
     List<Item> getItemsByCategory(String category);
 
+    /**
+     * Search active items combining name words, category and price range
+     *
+     * @param query Search criteria
+     * @return Requested page of matches with total count and category facets
+     */
+    ItemSearchIndex.Result searchItems(ItemSearchIndex.Query query);
+
     /**
      * Get all active items
      *
@@ -131,6 +142,16 @@ public interface ItemService {
      */
     boolean validateItem(Item item);
 
+    /**
+     * Insert or update every valid item read from an import stream, in batches
+     * Rows that fail to parse or validate are reported and skipped.
+     *
+     * @param reader Source of import rows
+     * @param batchSize Rows sent to the database per batch
+     * @return Counts, throughput and rejected rows
+     */
+    ImportReport importItems(ItemImportReader reader, int batchSize);
+
     /**
      * Check if item ID is available
      *
@@ -143,7 +164,7 @@ public interface ItemService {
     /**
      * Generate next item ID
      *
-     * @return Next available item ID
+     * @return Next available item ID, or null if none could be reserved
      */
     String generateNextItemId();
 
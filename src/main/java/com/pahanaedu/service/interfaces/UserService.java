@@ -23,6 +23,8 @@ public interface UserService {
      * @param username User's username
      * @param password User's plain text password
      * @return User object if authentication successful, null otherwise
+     * @throws java.util.concurrent.RejectedExecutionException if too many logins are
+     *         being checked to take this one now; the caller should ask for a retry
      */
     User authenticateUser(String username, String password);
 
@@ -111,7 +113,7 @@ public interface UserService {
     /**
      * Generate next user ID
      *
-     * @return Next available user ID
+     * @return Next available user ID, or null if none could be reserved
      */
     String generateNextUserId();
 }
\ No newline at end of file
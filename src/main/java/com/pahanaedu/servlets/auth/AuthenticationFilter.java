@@ -1,6 +1,7 @@
 package com.pahanaedu.servlets.auth;
 
 import com.pahanaedu.models.User;
+import com.pahanaedu.util.UrlRuleMatcher;
 import com.pahanaedu.util.ValidationUtils;
 
 import jakarta.servlet.*;
@@ -9,9 +10,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * Authentication filter to protect secured resources
@@ -27,42 +27,53 @@ import java.util.Set;
  */
 @WebFilter(filterName = "AuthenticationFilter",
         urlPatterns = {"/*"},
-        dispatcherTypes = {DispatcherType.REQUEST, DispatcherType.FORWARD})
+        dispatcherTypes = {DispatcherType.REQUEST, DispatcherType.FORWARD},
+        asyncSupported = true)
 public class AuthenticationFilter implements Filter {
 
+    // Default rules, used when web.xml does not set the publicUrls, adminUrls or apiUrls
+    // init-param (syntax in UrlRuleMatcher)
+
     // Public URLs that don't require authentication
-    private static final Set<String> PUBLIC_URLS = new HashSet<>(Arrays.asList(
-            "/login",
-            "/auth/login",
-            "/logout",
-            "/auth/logout",
-            "/",
-            "/index.jsp",
-            "/css/",
-            "/js/",
-            "/images/",
-            "/favicon.ico",
-            "/error"
-    ));
+    private static final String DEFAULT_PUBLIC_URLS =
+            "/login, /auth/login, /logout, /auth/logout, /, /index.jsp, /favicon.ico, /error, "
+                    + "/views/auth/login.jsp, /views/auth/forgot-password.jsp, /views/auth/logout.jsp, "
+                    + "/views/common/error.jsp, "
+                    + "/css/, /js/, /images/, *.css, *.js, *.png, *.jpg, *.gif, *.svg, *.ico, *.woff, *.woff2";
 
     // Admin-only URLs
-    private static final Set<String> ADMIN_URLS = new HashSet<>(Arrays.asList(
-            "/admin/",
-            "/users",
-            "/reports/admin",
-            "/settings"
-    ));
+    private static final String DEFAULT_ADMIN_URLS = "/admin/, /users/, /reports/admin/, /settings/";
 
     // API URLs that require special handling
-    private static final Set<String> API_URLS = new HashSet<>(Arrays.asList(
-            "/api/"
-    ));
+    private static final String DEFAULT_API_URLS = "/api/";
+
+    private UrlRuleMatcher urlRules;
+
+    // Authorization decision for every role and path classification, computed at init
+    private final Map<User.Role, boolean[]> decisions = new EnumMap<>(User.Role.class);
 
     private FilterConfig filterConfig;
 
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
         this.filterConfig = filterConfig;
+        try {
+            this.urlRules = new UrlRuleMatcher(
+                    UrlRuleMatcher.parseRules(getInitParameter("publicUrls", DEFAULT_PUBLIC_URLS)),
+                    UrlRuleMatcher.parseRules(getInitParameter("adminUrls", DEFAULT_ADMIN_URLS)),
+                    UrlRuleMatcher.parseRules(getInitParameter("apiUrls", DEFAULT_API_URLS)));
+        } catch (IllegalArgumentException e) {
+            throw new ServletException("Invalid URL rules for AuthenticationFilter: " + e.getMessage(), e);
+        }
+
+        int classifications = UrlRuleMatcher.PUBLIC | UrlRuleMatcher.ADMIN | UrlRuleMatcher.API;
+        for (User.Role role : User.Role.values()) {
+            boolean[] allowed = new boolean[classifications + 1];
+            for (int access = 0; access <= classifications; access++) {
+                allowed[access] = isRoleAuthorized(role, access);
+            }
+            decisions.put(role, allowed);
+        }
         System.out.println("AuthenticationFilter initialized");
     }
 
@@ -82,39 +93,47 @@ public class AuthenticationFilter implements Filter {
             // Log request for monitoring
             logRequest(httpRequest, path);
 
-            // Check if this is a public URL
-            if (isPublicUrl(path)) {
+            // Classify the path once against the compiled rules
+            int access = urlRules.classify(path);
+
+            // Check if this is a public URL, or a forward from one (e.g. /login to its JSP)
+            if ((access & UrlRuleMatcher.PUBLIC) != 0 || isForwardFromPublicUrl(httpRequest)) {
                 chain.doFilter(request, response);
                 return;
             }
 
-            // Check authentication
-            User currentUser = getCurrentUser(httpRequest);
-            if (currentUser == null) {
+            // Check authentication; the principal is resolved once and reused downstream
+            RequestPrincipal principal = RequestPrincipal.resolve(httpRequest);
+            if (principal == null) {
                 handleUnauthenticatedRequest(httpRequest, httpResponse, path);
                 return;
             }
 
-            // Validate session security
-            if (!isValidSession(httpRequest)) {
+            // Validate session security; once per request, not again on forwards
+            boolean initialDispatch = httpRequest.getDispatcherType() == DispatcherType.REQUEST;
+            HttpSession session = httpRequest.getSession(false);
+            if (initialDispatch && !isValidSession(httpRequest, session)) {
+                RequestPrincipal.clear(httpRequest);
                 handleInvalidSession(httpRequest, httpResponse);
                 return;
             }
 
             // Check authorization for protected resources
-            if (!isAuthorized(currentUser, path)) {
+            if (!isAuthorized(principal, access)) {
                 handleUnauthorizedRequest(httpRequest, httpResponse, path);
                 return;
             }
 
             // Check for admin-only resources
-            if (isAdminUrl(path) && !currentUser.isAdmin()) {
+            if (!principal.isAdmin() && (access & UrlRuleMatcher.ADMIN) != 0) {
                 handleAdminOnlyRequest(httpRequest, httpResponse, path);
                 return;
             }
 
             // Update session activity
-            updateSessionActivity(httpRequest);
+            if (initialDispatch) {
+                updateSessionActivity(session);
+            }
 
             // Set security headers
             setSecurityHeaders(httpResponse);
@@ -130,64 +149,54 @@ public class AuthenticationFilter implements Filter {
     }
 
     /**
-     * Check if URL is public (doesn't require authentication)
+     * Read a filter init-param (from web.xml), falling back to a default
      */
-    private boolean isPublicUrl(String path) {
-        // Direct match
-        if (PUBLIC_URLS.contains(path)) {
-            return true;
-        }
-
-        // Check for prefix matches (for static resources)
-        for (String publicUrl : PUBLIC_URLS) {
-            if (publicUrl.endsWith("/") && path.startsWith(publicUrl)) {
-                return true;
-            }
-        }
-
-        return false;
+    private String getInitParameter(String name, String defaultValue) {
+        String value = filterConfig.getInitParameter(name);
+        return ValidationUtils.isNotEmpty(value) ? value : defaultValue;
     }
 
     /**
-     * Check if URL requires admin privileges
+     * Check if a FORWARD dispatch came from a public URL
+     * The forward target (a JSP under /views/) is not itself public, but the page that
+     * forwarded to it was, so an anonymous user must be let through to its view.
      */
-    private boolean isAdminUrl(String path) {
-        for (String adminUrl : ADMIN_URLS) {
-            if (path.equals(adminUrl) || path.startsWith(adminUrl)) {
-                return true;
-            }
+    private boolean isForwardFromPublicUrl(HttpServletRequest request) {
+        if (request.getDispatcherType() != DispatcherType.FORWARD) {
+            return false;
         }
-        return false;
+
+        Object originalURI = request.getAttribute(RequestDispatcher.FORWARD_REQUEST_URI);
+        if (!(originalURI instanceof String)) {
+            return false;
+        }
+
+        Object originalContext = request.getAttribute(RequestDispatcher.FORWARD_CONTEXT_PATH);
+        String contextPath = originalContext instanceof String ? (String) originalContext : request.getContextPath();
+        String uri = (String) originalURI;
+        String originalPath = uri.startsWith(contextPath) ? uri.substring(contextPath.length()) : uri;
+        return (urlRules.classify(originalPath) & UrlRuleMatcher.PUBLIC) != 0;
     }
 
     /**
      * Check if URL is an API endpoint
      */
     private boolean isApiUrl(String path) {
-        for (String apiUrl : API_URLS) {
-            if (path.startsWith(apiUrl)) {
-                return true;
-            }
-        }
-        return false;
+        return (urlRules.classify(path) & UrlRuleMatcher.API) != 0;
     }
 
     /**
-     * Get current user from session
+     * Get current user from the request's principal
      */
     private User getCurrentUser(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-        if (session != null) {
-            return (User) session.getAttribute("currentUser");
-        }
-        return null;
+        RequestPrincipal principal = RequestPrincipal.resolve(request);
+        return principal != null ? principal.getUser() : null;
     }
 
     /**
      * Validate session security
      */
-    private boolean isValidSession(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    private boolean isValidSession(HttpServletRequest request, HttpSession session) {
         if (session == null) {
             return false;
         }
@@ -233,26 +242,29 @@ public class AuthenticationFilter implements Filter {
 
     /**
      * Check user authorization for specific resource
+     * A lookup in the table built at init, by role and the path's classification.
      */
-    private boolean isAuthorized(User user, String path) {
-        if (user == null) {
-            return false;
-        }
-
+    private boolean isAuthorized(RequestPrincipal principal, int access) {
         // Check if user is active
-        if (!user.isActive()) {
+        if (!principal.isActive() || principal.getRole() == null) {
             return false;
         }
+        return decisions.get(principal.getRole())[access];
+    }
 
+    /**
+     * Role-based authorization rule for a path classification
+     */
+    private static boolean isRoleAuthorized(User.Role role, int access) {
         // Basic role-based authorization
-        if (user.isAdmin()) {
+        if (role == User.Role.ADMIN) {
             return true; // Admins can access everything
         }
 
         // Staff permissions
-        if (user.isStaff()) {
+        if (role == User.Role.STAFF) {
             // Staff can access most resources except admin-only
-            return !isAdminUrl(path);
+            return (access & UrlRuleMatcher.ADMIN) == 0;
         }
 
         return false;
@@ -345,8 +357,7 @@ public class AuthenticationFilter implements Filter {
     /**
      * Update session activity timestamp
      */
-    private void updateSessionActivity(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    private void updateSessionActivity(HttpSession session) {
         if (session != null) {
             session.setAttribute("lastAccess", System.currentTimeMillis());
 
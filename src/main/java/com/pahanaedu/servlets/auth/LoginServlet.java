@@ -4,6 +4,8 @@ import com.pahanaedu.models.User;
 import com.pahanaedu.service.interfaces.UserService;
 import com.pahanaedu.service.impl.UserServiceImpl;
 import com.pahanaedu.servlets.common.BaseServlet;
+import com.pahanaedu.util.DatabaseConnection;
+import com.pahanaedu.util.LoginThrottle;
 import com.pahanaedu.util.ValidationUtils;
 import com.pahanaedu.util.PasswordUtil;
 import com.pahanaedu.util.PasswordMigrationUtil;
@@ -14,8 +16,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Servlet for handling user authentication (login)
@@ -42,19 +43,32 @@ public class LoginServlet extends BaseServlet {
 
     private UserService userService;
 
-    // Track failed login attempts (in production, use Redis or database)
-    private static final Map<String, Integer> failedAttempts = new HashMap<>();
-    private static final Map<String, Long> lastAttemptTime = new HashMap<>();
-
-    // Security constants
-    private static final int MAX_FAILED_ATTEMPTS = 5;
-    private static final long LOCKOUT_TIME = 15 * 60 * 1000; // 15 minutes
-    private static final long RATE_LIMIT_TIME = 1000; // 1 second between attempts
+    // Attempt limits per client IP and per username (in production, share them through Redis)
+    private LoginThrottle ipThrottle;
+    private LoginThrottle usernameThrottle;
+    // Header set by a trusted reverse proxy with the client address, or null to use the socket address
+    private String trustedProxyHeader;
 
     @Override
     public void init() throws ServletException {
         super.init();
         this.userService = new UserServiceImpl();
+
+        DatabaseConnection config = DatabaseConnection.getInstance();
+        long lockoutMillis = config.getIntProperty("login.lockoutMinutes", 15) * 60_000L;
+        int maxEntries = config.getIntProperty("login.throttle.maxEntries", 100_000);
+        this.ipThrottle = new LoginThrottle("IP",
+                config.getIntProperty("login.ip.burst", 10),
+                config.getIntProperty("login.ip.refillPerMinute", 20),
+                config.getIntProperty("login.ip.maxFailures", 10),
+                lockoutMillis, maxEntries);
+        this.usernameThrottle = new LoginThrottle("username",
+                config.getIntProperty("login.username.burst", 5),
+                config.getIntProperty("login.username.refillPerMinute", 10),
+                config.getIntProperty("login.username.maxFailures", 5),
+                lockoutMillis, maxEntries);
+        String proxyHeader = config.getProperty("login.ip.trustedProxyHeader", "").trim();
+        this.trustedProxyHeader = proxyHeader.isEmpty() ? null : proxyHeader;
     }
 
     @Override
@@ -213,12 +227,15 @@ public class LoginServlet extends BaseServlet {
             return;
         }
 
-        // Get client IP for security tracking
-        String clientIP = getClientIP(request);
+        // Get client IP for security tracking; never from a header the client controls
+        String clientIP = getThrottleAddress(request);
 
         // Check for rate limiting
-        if (isRateLimited(request)) {
-            setErrorMessage(request, "Too many login attempts. Please wait before trying again.");
+        LoginThrottle.Decision ipDecision = ipThrottle.tryAcquire(clientIP);
+        if (ipDecision != LoginThrottle.Decision.ALLOWED) {
+            setErrorMessage(request, ipDecision == LoginThrottle.Decision.LOCKED
+                    ? "Too many failed login attempts from your network. Please try again later."
+                    : "Too many login attempts. Please wait before trying again.");
             showLoginPage(request, response);
             return;
         }
@@ -239,17 +256,24 @@ public class LoginServlet extends BaseServlet {
         // Validate input format
         if (!ValidationUtils.isValidUsername(username)) {
             setErrorMessage(request, "Invalid username format.");
-            recordFailedAttempt(clientIP);
+            recordFailedAttempt(clientIP, null);
             showLoginPage(request, response);
             return;
         }
 
         // Check if account is locked
-        if (isAccountLocked(clientIP)) {
+        String usernameKey = username.toLowerCase();
+        LoginThrottle.Decision usernameDecision = usernameThrottle.tryAcquire(usernameKey);
+        if (usernameDecision == LoginThrottle.Decision.LOCKED) {
             setErrorMessage(request, "Account temporarily locked due to multiple failed attempts. Please try again later.");
             showLoginPage(request, response);
             return;
         }
+        if (usernameDecision == LoginThrottle.Decision.RATE_LIMITED) {
+            setErrorMessage(request, "Too many login attempts. Please wait before trying again.");
+            showLoginPage(request, response);
+            return;
+        }
 
         try {
             // Attempt authentication
@@ -257,17 +281,22 @@ public class LoginServlet extends BaseServlet {
 
             if (user != null) {
                 // Authentication successful
-                clearFailedAttempts(clientIP);
+                clearFailedAttempts(clientIP, usernameKey);
                 handleSuccessfulLogin(request, response, user, remember);
             } else {
                 // Authentication failed
-                recordFailedAttempt(clientIP);
+                recordFailedAttempt(clientIP, usernameKey);
                 handleFailedLogin(request, response, username);
             }
 
+        } catch (RejectedExecutionException e) {
+            // Password checks saturated; not counted as a failed attempt
+            System.err.println("Login deferred for user " + username + ": " + e.getMessage());
+            setErrorMessage(request, "The server is busy. Please try again in a moment.");
+            showLoginPage(request, response);
         } catch (Exception e) {
             System.err.println("Login error for user " + username + ": " + e.getMessage());
-            recordFailedAttempt(clientIP);
+            recordFailedAttempt(clientIP, usernameKey);
             setErrorMessage(request, "An error occurred during login. Please try again.");
             showLoginPage(request, response);
         }
@@ -434,54 +463,40 @@ public class LoginServlet extends BaseServlet {
     }
 
     /**
-     * Check for brute force protection
+     * Get the client address the IP throttle is keyed on
+     * The socket address, or the configured header of a trusted reverse proxy. Unlike
+     * getClientIP, never the first X-Forwarded-For entry, which the client writes
+     * itself and could rotate to get a fresh bucket on every attempt.
      */
-    private boolean isAccountLocked(String clientIP) {
-        Integer attempts = failedAttempts.get(clientIP);
-        if (attempts != null && attempts >= MAX_FAILED_ATTEMPTS) {
-            Long lastAttempt = lastAttemptTime.get(clientIP);
-            if (lastAttempt != null && System.currentTimeMillis() - lastAttempt < LOCKOUT_TIME) {
-                return true;
-            } else {
-                // Lockout period expired, clear attempts
-                clearFailedAttempts(clientIP);
+    private String getThrottleAddress(HttpServletRequest request) {
+        if (trustedProxyHeader != null) {
+            String value = request.getHeader(trustedProxyHeader);
+            if (ValidationUtils.isNotEmpty(value)) {
+                // The proxy appends the address it saw, so the last entry is its own
+                String[] addresses = value.split(",");
+                return addresses[addresses.length - 1].trim();
             }
         }
-        return false;
-    }
-
-    /**
-     * Rate limiting for login attempts
-     */
-    private boolean isRateLimited(HttpServletRequest request) {
-        String clientIP = getClientIP(request);
-        Long lastAttempt = lastAttemptTime.get(clientIP);
-
-        if (lastAttempt != null && System.currentTimeMillis() - lastAttempt < RATE_LIMIT_TIME) {
-            return true;
-        }
-
-        lastAttemptTime.put(clientIP, System.currentTimeMillis());
-        return false;
+        return request.getRemoteAddr();
     }
 
     /**
      * Record failed login attempt
      */
-    private void recordFailedAttempt(String clientIP) {
-        failedAttempts.merge(clientIP, 1, Integer::sum);
-        lastAttemptTime.put(clientIP, System.currentTimeMillis());
+    private void recordFailedAttempt(String clientIP, String usernameKey) {
+        ipThrottle.recordFailure(clientIP);
+        usernameThrottle.recordFailure(usernameKey);
 
-        System.out.println("SECURITY: Failed login attempt from IP: " + clientIP +
-                " (Total attempts: " + failedAttempts.get(clientIP) + ")");
+        System.out.println("SECURITY: Failed login attempt from IP: " + clientIP
+                + (usernameKey != null ? " for username: " + usernameKey : ""));
     }
 
     /**
      * Clear failed attempts after successful login
      */
-    private void clearFailedAttempts(String clientIP) {
-        failedAttempts.remove(clientIP);
-        lastAttemptTime.remove(clientIP);
+    private void clearFailedAttempts(String clientIP, String usernameKey) {
+        ipThrottle.recordSuccess(clientIP);
+        usernameThrottle.recordSuccess(usernameKey);
     }
 
     /**
@@ -547,28 +562,14 @@ public class LoginServlet extends BaseServlet {
         return true;
     }
 
-    /**
-     * Clean up expired failed attempts (call periodically)
-     */
-    public static void cleanupExpiredAttempts() {
-        long now = System.currentTimeMillis();
-        lastAttemptTime.entrySet().removeIf(entry -> now - entry.getValue() > LOCKOUT_TIME);
-
-        // Remove corresponding failed attempts
-        lastAttemptTime.keySet().forEach(ip -> {
-            if (!lastAttemptTime.containsKey(ip)) {
-                failedAttempts.remove(ip);
-            }
-        });
-    }
-
     @Override
     public void destroy() {
         super.destroy();
         this.userService = null;
 
-        // Clean up static maps
-        failedAttempts.clear();
-        lastAttemptTime.clear();
+        System.out.println(ipThrottle.getStats());
+        System.out.println(usernameThrottle.getStats());
+        ipThrottle.clear();
+        usernameThrottle.clear();
     }
 }
\ No newline at end of file
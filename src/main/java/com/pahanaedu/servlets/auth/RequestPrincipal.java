@@ -0,0 +1,106 @@
+package com.pahanaedu.servlets.auth;
+
+import com.pahanaedu.models.User;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * The logged-in user of one request, resolved once
+ * AuthenticationFilter reads the user from the session, stores this object as a
+ * request attribute and hands the same object to every later check: forwards back
+ * through the filter, and BaseServlet's getCurrentUser, isAdmin and isStaff. Role
+ * flags are computed when the principal is created.
+ *
+ * Design Patterns Used:
+ * - Value Object: Immutable snapshot of the user for the request
+ * - Registry Pattern: Stored on and looked up from the request
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public final class RequestPrincipal {
+
+    /**
+     * Request attribute holding the resolved principal
+     */
+    public static final String ATTRIBUTE = RequestPrincipal.class.getName();
+
+    // Session attribute set by BaseServlet.setCurrentUser
+    private static final String SESSION_USER = "currentUser";
+
+    private final User user;
+    private final User.Role role;
+    private final boolean admin;
+    private final boolean staff;
+    private final boolean active;
+
+    private RequestPrincipal(User user) {
+        this.user = user;
+        this.role = user.getRole();
+        this.admin = user.isAdmin();
+        this.staff = user.isStaff();
+        this.active = user.isActive();
+    }
+
+    /**
+     * Get the request's principal, resolving it from the session on first use
+     *
+     * @param request HTTP request
+     * @return The principal, or null if no user is logged in
+     */
+    public static RequestPrincipal resolve(HttpServletRequest request) {
+        Object cached = request.getAttribute(ATTRIBUTE);
+        if (cached instanceof RequestPrincipal) {
+            return (RequestPrincipal) cached;
+        }
+
+        HttpSession session = request.getSession(false);
+        Object user = session != null ? session.getAttribute(SESSION_USER) : null;
+        if (!(user instanceof User)) {
+            return null;
+        }
+
+        RequestPrincipal principal = new RequestPrincipal((User) user);
+        request.setAttribute(ATTRIBUTE, principal);
+        return principal;
+    }
+
+    /**
+     * Drop the request's principal after the session user changes (login, logout)
+     *
+     * @param request HTTP request
+     */
+    public static void clear(HttpServletRequest request) {
+        request.removeAttribute(ATTRIBUTE);
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public String getUserId() {
+        return user.getUserId();
+    }
+
+    public User.Role getRole() {
+        return role;
+    }
+
+    public boolean isAdmin() {
+        return admin;
+    }
+
+    public boolean isStaff() {
+        return staff;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestPrincipal{userId='" + getUserId() + "', role=" + role + "}";
+    }
+}
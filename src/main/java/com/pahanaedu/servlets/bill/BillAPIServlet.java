@@ -2,9 +2,16 @@ package com.pahanaedu.servlets.bill;
 
 import com.pahanaedu.models.Bill;
 import com.pahanaedu.models.BillItem;
+import com.pahanaedu.models.Item;
 import com.pahanaedu.service.interfaces.BillService;
+import com.pahanaedu.service.interfaces.ItemService;
 import com.pahanaedu.service.impl.BillServiceImpl;
+import com.pahanaedu.service.impl.ItemServiceImpl;
 import com.pahanaedu.servlets.common.BaseServlet;
+import com.pahanaedu.util.BillCursor;
+import com.pahanaedu.util.JsonBinder;
+import com.pahanaedu.util.JsonReader;
+import com.pahanaedu.util.JsonWriter;
 import com.pahanaedu.util.ValidationUtils;
 
 import jakarta.servlet.ServletException;
@@ -12,22 +19,26 @@ import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.BufferedReader;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Simple REST API for Bill operations
  * Demonstrates RESTful design for billing system
  */
-@WebServlet(name = "BillAPIServlet", urlPatterns = {"/api/bills", "/api/bills/*"})
+@WebServlet(name = "BillAPIServlet", urlPatterns = {"/api/bills", "/api/bills/*"}, asyncSupported = true)
 public class BillAPIServlet extends BaseServlet {
 
+    private static final int MAX_LIST_LIMIT = 100;
+
     private BillService billService;
+    private ItemService itemService;
 
     @Override
     public void init() throws ServletException {
         super.init();
         this.billService = new BillServiceImpl();
+        this.itemService = new ItemServiceImpl();
     }
 
     @Override
@@ -63,23 +74,30 @@ public class BillAPIServlet extends BaseServlet {
         }
 
         try {
-            String jsonBody = readRequestBody(request);
-            Bill bill = parseBillFromJson(jsonBody);
+            Bill bill = readBill(request);
 
             if (bill == null) {
                 sendApiError(response, 400, "Invalid bill data");
                 return;
             }
 
+            String unknownItem = priceBillItems(bill);
+            if (unknownItem != null) {
+                sendApiError(response, 400, "Unknown item: " + unknownItem);
+                return;
+            }
+
             boolean created = billService.createBill(bill);
 
             if (created) {
                 Bill createdBill = billService.findBillByNumber(bill.getBillNumber());
-                sendApiSuccess(response, 201, "Bill created", billToJson(createdBill));
+                sendApiSuccess(response, 201, "Bill created", json -> writeBill(json, createdBill));
             } else {
                 sendApiError(response, 400, "Failed to create bill");
             }
 
+        } catch (JsonReader.MalformedJsonException e) {
+            sendApiError(response, 400, "Invalid JSON: " + e.getMessage());
         } catch (Exception e) {
             sendApiError(response, 500, "Internal server error");
         }
@@ -120,7 +138,7 @@ public class BillAPIServlet extends BaseServlet {
         Bill bill = billService.findBillByNumber(billNumber);
 
         if (bill != null) {
-            sendApiSuccess(response, 200, "Bill found", billToJson(bill));
+            sendApiSuccess(response, 200, "Bill found", json -> writeBill(json, bill));
         } else {
             sendApiError(response, 404, "Bill not found");
         }
@@ -129,9 +147,10 @@ public class BillAPIServlet extends BaseServlet {
     private void getBills(HttpServletRequest request, HttpServletResponse response) throws IOException {
         String customer = getSanitizedParameter(request, "customer");
         String status = getSanitizedParameter(request, "status");
-        int limit = getIntParameter(request, "limit", 20);
+        int limit = Math.min(MAX_LIST_LIMIT, Math.max(1, getIntParameter(request, "limit", 20)));
 
         List<Bill> bills;
+        String nextCursor = null;
 
         if (ValidationUtils.isNotEmpty(customer)) {
             bills = billService.getBillsByCustomer(customer);
@@ -143,11 +162,28 @@ public class BillAPIServlet extends BaseServlet {
                 bills = List.of();
             }
         } else {
-            bills = billService.getAllBills(limit, 0);
+            // Keyset pagination: pass back nextCursor to fetch the following page
+            String cursorToken = request.getParameter("cursor");
+            BillCursor cursor = BillCursor.decode(cursorToken);
+            if (ValidationUtils.isNotEmpty(cursorToken) && cursor == null) {
+                sendApiError(response, 400, "Invalid cursor");
+                return;
+            }
+
+            // One extra row tells us whether another page exists
+            bills = billService.getBillsAfter(cursor, limit + 1);
+            if (bills.size() > limit) {
+                bills = bills.subList(0, limit);
+                nextCursor = BillCursor.after(bills.get(limit - 1)).encode();
+            }
+
+            List<Bill> page = bills;
+            sendApiSuccess(response, 200, "Bills retrieved", json -> writeBills(json, page), nextCursor);
+            return;
         }
 
-        String billsJson = billsToJson(bills);
-        sendApiSuccess(response, 200, "Bills retrieved", billsJson);
+        List<Bill> results = bills;
+        sendApiSuccess(response, 200, "Bills retrieved", json -> writeBills(json, results));
     }
 
     private String extractBillNumber(String pathInfo) {
@@ -158,127 +194,92 @@ public class BillAPIServlet extends BaseServlet {
         return ValidationUtils.isValidBillNumber(path) ? path : null;
     }
 
-    private String readRequestBody(HttpServletRequest request) throws IOException {
-        StringBuilder body = new StringBuilder();
-        try (BufferedReader reader = request.getReader()) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                body.append(line);
-            }
+    /**
+     * Bind the request body to a bill with its items in one pass over the request reader
+     *
+     * @return The bill created by the current user, or null if it has no customer account
+     * @throws JsonReader.MalformedJsonException if the body is not valid bill JSON
+     */
+    private Bill readBill(HttpServletRequest request) throws IOException {
+        Bill bill;
+        try (JsonReader reader = new JsonReader(request.getReader())) {
+            bill = JsonBinder.readBill(reader);
+            reader.endDocument();
         }
-        return body.toString();
-    }
-
-    private Bill parseBillFromJson(String json) {
-        try {
-            if (!ValidationUtils.isNotEmpty(json)) return null;
-
-            String billNumber = extractJsonValue(json, "billNumber");
-            String customerAccount = extractJsonValue(json, "customerAccount");
-            String paymentMethod = extractJsonValue(json, "paymentMethod");
-            String notes = extractJsonValue(json, "notes");
 
-            if (!ValidationUtils.isNotEmpty(customerAccount)) return null;
+        if (!ValidationUtils.isNotEmpty(bill.getCustomerAccountNumber())) return null;
 
-            Bill bill = new Bill(billNumber, customerAccount, getCurrentUser(null).getUserId());
+        bill.setCreatedBy(getCurrentUser(request).getUserId());
+        return bill;
+    }
 
-            if (ValidationUtils.isNotEmpty(paymentMethod)) {
-                try {
-                    bill.setPaymentMethod(Bill.PaymentMethod.valueOf(paymentMethod.toUpperCase()));
-                } catch (IllegalArgumentException e) {
-                    // Default to CASH if invalid
-                    bill.setPaymentMethod(Bill.PaymentMethod.CASH);
-                }
+    /**
+     * Replace the bound items with ones priced from the catalog, as the billing form does
+     *
+     * @return ID of the first item that does not exist, or null if all were found
+     */
+    private String priceBillItems(Bill bill) {
+        List<BillItem> priced = new ArrayList<>();
+        for (BillItem requested : bill.getBillItems()) {
+            Item item = itemService.findItemById(requested.getItemId());
+            if (item == null) {
+                return requested.getItemId();
             }
-
-            bill.setNotes(notes);
-            return bill;
-
-        } catch (Exception e) {
-            return null;
+            priced.add(new BillItem(bill.getBillNumber(), item, requested.getQuantity()));
         }
+        bill.setBillItems(priced);
+        return null;
     }
 
-    private String extractJsonValue(String json, String key) {
-        try {
-            String pattern = "\"" + key + "\"\\s*:\\s*\"([^\"]*)\"|\"" + key + "\"\\s*:\\s*([^,}\\s]+)";
-            java.util.regex.Pattern p = java.util.regex.Pattern.compile(pattern);
-            java.util.regex.Matcher m = p.matcher(json);
-            return m.find() ? (m.group(1) != null ? m.group(1) : m.group(2)) : null;
-        } catch (Exception e) {
-            return null;
+    private void writeBill(JsonWriter json, Bill bill) throws IOException {
+        if (bill == null) {
+            json.nullValue();
+            return;
         }
-    }
-
-    private String billToJson(Bill bill) {
-        if (bill == null) return "null";
-
-        StringBuilder json = new StringBuilder();
-        json.append("{")
-                .append("\"billNumber\":\"").append(bill.getBillNumber()).append("\",")
-                .append("\"customerAccount\":\"").append(bill.getCustomerAccountNumber()).append("\",")
-                .append("\"customerName\":\"").append(escapeJson(bill.getCustomerName())).append("\",")
-                .append("\"totalAmount\":").append(bill.getTotalAmount()).append(",")
-                .append("\"paymentMethod\":\"").append(bill.getPaymentMethod()).append("\",")
-                .append("\"status\":\"").append(bill.getStatus()).append("\",")
-                .append("\"billDate\":\"").append(bill.getBillDate()).append("\",")
-                .append("\"notes\":\"").append(escapeJson(bill.getNotes())).append("\",")
-                .append("\"items\":[");
-
-        List<BillItem> items = bill.getBillItems();
-        for (int i = 0; i < items.size(); i++) {
-            BillItem item = items.get(i);
-            if (i > 0) json.append(",");
-            json.append("{")
-                    .append("\"itemId\":\"").append(item.getItemId()).append("\",")
-                    .append("\"itemName\":\"").append(escapeJson(item.getItemName())).append("\",")
-                    .append("\"quantity\":").append(item.getQuantity()).append(",")
-                    .append("\"unitPrice\":").append(item.getUnitPrice()).append(",")
-                    .append("\"lineTotal\":").append(item.getLineTotal())
-                    .append("}");
+        json.beginObject()
+                .name("billNumber").value(bill.getBillNumber())
+                .name("customerAccount").value(bill.getCustomerAccountNumber())
+                .name("customerName").value(bill.getCustomerName())
+                .name("totalAmount").value(bill.getTotalAmount())
+                .name("paymentMethod").value(bill.getPaymentMethod() != null ? bill.getPaymentMethod().name() : null)
+                .name("status").value(bill.getStatus() != null ? bill.getStatus().name() : null)
+                .name("billDate").value(bill.getBillDate())
+                .name("notes").value(bill.getNotes())
+                .name("items").beginArray();
+
+        for (BillItem item : bill.getBillItems()) {
+            json.beginObject()
+                    .name("itemId").value(item.getItemId())
+                    .name("itemName").value(item.getItemName())
+                    .name("quantity").value(item.getQuantity())
+                    .name("unitPrice").value(item.getUnitPrice())
+                    .name("lineTotal").value(item.getLineTotal())
+                    .endObject();
         }
 
-        json.append("]}");
-        return json.toString();
+        json.endArray().endObject();
     }
 
-    private String billsToJson(List<Bill> bills) {
-        StringBuilder json = new StringBuilder("[");
-        for (int i = 0; i < bills.size(); i++) {
-            if (i > 0) json.append(",");
-            json.append(billToJson(bills.get(i)));
+    private void writeBills(JsonWriter json, List<Bill> bills) throws IOException {
+        json.beginArray();
+        for (Bill bill : bills) {
+            writeBill(json, bill);
         }
-        json.append("]");
-        return json.toString();
+        json.endArray();
     }
 
-    private void sendApiSuccess(HttpServletResponse response, int statusCode, String message, String data) throws IOException {
-        response.setStatus(statusCode);
-        response.setContentType("application/json");
-        StringBuilder json = new StringBuilder();
-        json.append("{\"success\":true,\"message\":\"").append(message).append("\"");
-        if (data != null) {
-            json.append(",\"data\":").append(data);
+    private void sendApiSuccess(HttpServletResponse response, int statusCode, String message,
+                                JsonWriter.ValueWriter data, String nextCursor) throws IOException {
+        try (JsonWriter json = startApiSuccess(response, statusCode, message, data)) {
+            json.name("nextCursor").value(nextCursor);
+            endApiResponse(json);
         }
-        json.append("}");
-        response.getWriter().write(json.toString());
-    }
-
-    private void sendApiError(HttpServletResponse response, int statusCode, String message) throws IOException {
-        response.setStatus(statusCode);
-        response.setContentType("application/json");
-        String json = String.format("{\"success\":false,\"error\":\"%s\",\"code\":%d}", message, statusCode);
-        response.getWriter().write(json);
-    }
-
-    private String escapeJson(String value) {
-        if (value == null) return "";
-        return value.replace("\\", "\\\\").replace("\"", "\\\"");
     }
 
     @Override
     public void destroy() {
         super.destroy();
         this.billService = null;
+        this.itemService = null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.pahanaedu.servlets.bill;
+
+import com.pahanaedu.service.interfaces.BillService;
+import com.pahanaedu.service.impl.BillServiceImpl;
+import com.pahanaedu.servlets.common.BaseServlet;
+import com.pahanaedu.util.BillCursor;
+import com.pahanaedu.util.BillExportWriter;
+import com.pahanaedu.util.ValidationUtils;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk export of the bill history for accounting
+ * Streams every bill with its items, oldest first, as NDJSON or CSV straight from
+ * a database cursor to the response. No Content-Length is set, so the container
+ * sends the export with chunked transfer encoding as the buffer fills.
+ *
+ * GET /api/bills/export?format=ndjson|csv[&since=cursor][&gzip=true]
+ * Each bill carries the cursor to resume after it; passing the last one received
+ * as since continues an interrupted export. A database failure part way aborts the
+ * connection (or answers 500 if nothing was sent), so a truncated export never
+ * arrives as a complete-looking 200.
+ *
+ * Design Patterns Used:
+ * - Iterator Pattern: Bills are handed over one at a time from the result set
+ * - Strategy Pattern: Output format chosen per request
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@WebServlet(name = "BillExportServlet", urlPatterns = {"/api/bills/export"})
+public class BillExportServlet extends BaseServlet {
+
+    private static final int EXPORT_BUFFER_SIZE = 16 * 1024;
+
+    private BillService billService;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        this.billService = new BillServiceImpl();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (!isUserLoggedIn(request)) {
+            sendApiError(response, 401, "Authentication required");
+            return;
+        }
+
+        if (!isAdmin(request)) {
+            sendApiError(response, 403, "Only administrators can export bills");
+            return;
+        }
+
+        String formatParam = getParameter(request, "format", "ndjson");
+        BillExportWriter.Format format = BillExportWriter.Format.fromParameter(formatParam);
+        if (format == null) {
+            sendApiError(response, 400, "Unsupported export format");
+            return;
+        }
+
+        String sinceToken = request.getParameter("since");
+        BillCursor since = BillCursor.decode(sinceToken);
+        if (ValidationUtils.isNotEmpty(sinceToken) && since == null) {
+            sendApiError(response, 400, "Invalid cursor");
+            return;
+        }
+
+        boolean gzip = "true".equalsIgnoreCase(request.getParameter("gzip"));
+        String fileName = "bills" + (since != null ? "-resumed" : "") + "." + format.getExtension()
+                + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+
+        BillExportWriter export = null;
+        try {
+            OutputStream stream = response.getOutputStream();
+            if (gzip) {
+                stream = new GZIPOutputStream(stream, EXPORT_BUFFER_SIZE);
+            }
+
+            Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
+            export = new BillExportWriter(writer, format);
+            export.begin();
+            int count = billService.exportBills(since, export);
+            if (count < 0) {
+                // NDJSON still gets its summary with the resume cursor, but the writer is not
+                // closed: that would end the body (and gzip trailer) cleanly and a truncated
+                // CSV would look complete
+                export.finish(false);
+                throw new ServletException("Bill export stopped after " + export.getBillCount()
+                        + " bills; resume with since=" + export.getLastCursor());
+            }
+            export.finish(true);
+            writer.close();
+
+            String stats = "Format: " + format.getExtension() + (gzip ? " (gzip)" : "")
+                    + (since != null ? ", Since: " + since : "")
+                    + ", Bills: " + export.getBillCount() + ", Rows: " + export.getRowCount()
+                    + ", Elapsed: " + export.getElapsedMillis() + "ms"
+                    + ", Rows/sec: " + export.getRowsPerSecond();
+            System.out.println("Bill export finished. " + stats);
+            logAction(request, "EXPORT_BILLS", stats);
+
+        } catch (IOException e) {
+            // Usually the client cancelled the download; the response is already committed
+            System.err.println("Bill export aborted: " + e.getMessage()
+                    + (export != null ? "; last cursor " + export.getLastCursor() : ""));
+        } catch (ServletException e) {
+            // Database read failed part way
+            System.err.println(e.getMessage());
+            if (response.isCommitted()) {
+                // Propagate so the container aborts the connection instead of ending the body cleanly
+                throw e;
+            }
+            response.reset();
+            sendApiError(response, 500, "Export failed");
+        } catch (Exception e) {
+            System.err.println("Error exporting bills: " + e.getMessage());
+            if (!response.isCommitted()) {
+                response.reset();
+                sendApiError(response, 500, "Export failed");
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        this.billService = null;
+    }
+}
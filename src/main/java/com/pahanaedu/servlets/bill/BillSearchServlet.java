@@ -4,6 +4,7 @@ import com.pahanaedu.models.Bill;
 import com.pahanaedu.service.interfaces.BillService;
 import com.pahanaedu.service.impl.BillServiceImpl;
 import com.pahanaedu.servlets.common.BaseServlet;
+import com.pahanaedu.util.JsonWriter;
 import com.pahanaedu.util.ValidationUtils;
 
 import jakarta.servlet.ServletException;
@@ -136,33 +137,26 @@ public class BillSearchServlet extends BaseServlet {
                 bills = bills.subList(0, 10);
             }
 
-            StringBuilder json = new StringBuilder("[");
-            for (int i = 0; i < bills.size(); i++) {
-                Bill bill = bills.get(i);
-                if (i > 0) json.append(",");
-                json.append("{")
-                        .append("\"billNumber\":\"").append(bill.getBillNumber()).append("\",")
-                        .append("\"customerAccount\":\"").append(bill.getCustomerAccountNumber()).append("\",")
-                        .append("\"customerName\":\"").append(escapeJson(bill.getCustomerName())).append("\",")
-                        .append("\"totalAmount\":").append(bill.getTotalAmount()).append(",")
-                        .append("\"status\":\"").append(bill.getStatus()).append("\",")
-                        .append("\"billDate\":\"").append(bill.getBillDate()).append("\"")
-                        .append("}");
+            try (JsonWriter json = startJsonResponse(response, HttpServletResponse.SC_OK)) {
+                json.beginArray();
+                for (Bill bill : bills) {
+                    json.beginObject()
+                            .name("billNumber").value(bill.getBillNumber())
+                            .name("customerAccount").value(bill.getCustomerAccountNumber())
+                            .name("customerName").value(bill.getCustomerName())
+                            .name("totalAmount").value(bill.getTotalAmount())
+                            .name("status").value(bill.getStatus() != null ? bill.getStatus().name() : null)
+                            .name("billDate").value(bill.getBillDate())
+                            .endObject();
+                }
+                json.endArray();
             }
-            json.append("]");
-
-            sendJsonResponse(response, json.toString());
 
         } catch (Exception e) {
             sendJsonResponse(response, "[]");
         }
     }
 
-    private String escapeJson(String value) {
-        if (value == null) return "";
-        return value.replace("\\", "\\\\").replace("\"", "\\\"");
-    }
-
     @Override
     public void destroy() {
         super.destroy();
@@ -12,6 +12,7 @@ import com.pahanaedu.service.impl.BillServiceImpl;
 import com.pahanaedu.service.impl.CustomerServiceImpl;
 import com.pahanaedu.service.impl.ItemServiceImpl;
 import com.pahanaedu.servlets.common.BaseServlet;
+import com.pahanaedu.util.BillCursor;
 import com.pahanaedu.util.ValidationUtils;
 
 import jakarta.servlet.ServletException;
@@ -116,7 +117,21 @@ public class BillServlet extends BaseServlet {
         int size = pagination[1];
         int offset = pagination[2];
 
-        List<Bill> bills = billService.getAllBills(size, offset);
+        // Keyset paging by default, which stays cheap on deep pages; an explicit page
+        // number uses OFFSET so a numbered page can still be opened directly
+        boolean keysetMode = request.getParameter("page") == null;
+        BillCursor cursor = BillCursor.decode(request.getParameter("cursor"));
+
+        List<Bill> bills = keysetMode
+                ? billService.getBillsAfter(cursor, size + 1)
+                : billService.getAllBills(size + 1, offset);
+
+        String nextCursor = null;
+        if (bills.size() > size) {
+            bills = bills.subList(0, size);
+            nextCursor = BillCursor.after(bills.get(size - 1)).encode();
+        }
+
         int totalBills = billService.getTotalBillCount();
         int totalPages = (int) Math.ceil((double) totalBills / size);
 
@@ -129,6 +144,9 @@ public class BillServlet extends BaseServlet {
         request.setAttribute("currentPage", page);
         request.setAttribute("totalPages", totalPages);
         request.setAttribute("totalBills", totalBills);
+        request.setAttribute("keysetMode", keysetMode);
+        request.setAttribute("nextCursor", nextCursor);
+        request.setAttribute("pageSize", size);
         request.setAttribute("paidBills", paidBills);
         request.setAttribute("totalAmount", totalRevenue);
         request.setAttribute("avgBillAmount", avgBillAmount);
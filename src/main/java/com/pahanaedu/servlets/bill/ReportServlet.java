@@ -0,0 +1,181 @@
+package com.pahanaedu.servlets.bill;
+
+import com.pahanaedu.service.interfaces.BillService;
+import com.pahanaedu.service.impl.BillServiceImpl;
+import com.pahanaedu.servlets.common.BaseServlet;
+import com.pahanaedu.util.AsyncRequestExecutor;
+import com.pahanaedu.util.DatabaseConnection;
+import com.pahanaedu.util.ValidationUtils;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * JSON API for sales and customer reports
+ * Reports aggregate over many bills and can take seconds, so they run on their own
+ * small executor through servlet async processing. The container thread is released
+ * as soon as the parameters are checked, and a burst of report requests waits in
+ * (or is refused by) the report queue instead of taking the threads that serve
+ * checkout.
+ *
+ * GET /api/reports/sales[?start=yyyy-MM-dd&end=yyyy-MM-dd]   (default: last 30 days)
+ * GET /api/reports/daily[?date=yyyy-MM-dd]                    (default: today)
+ * GET /api/reports/top-items[?limit=n]
+ * GET /api/reports/customers/{accountNumber}
+ *
+ * Design Patterns Used:
+ * - Command Pattern: Each report is a job handed to the AsyncRequestExecutor
+ * - REST Pattern: One path per report
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@WebServlet(name = "ReportServlet", urlPatterns = {"/api/reports/*"}, asyncSupported = true)
+public class ReportServlet extends BaseServlet {
+
+    private static final int DEFAULT_REPORT_DAYS = 30;
+    private static final int MAX_TOP_ITEMS = 100;
+
+    private BillService billService;
+    private AsyncRequestExecutor reportExecutor;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        this.billService = new BillServiceImpl();
+
+        DatabaseConnection config = DatabaseConnection.getInstance();
+        this.reportExecutor = new AsyncRequestExecutor("pahanaedu-report",
+                config.getIntProperty("report.async.threads", 4),
+                config.getIntProperty("report.async.queueSize", 16),
+                config.getIntProperty("report.async.timeoutSeconds", 30) * 1000L);
+    }
+
+    @Override
+    protected boolean usesRequestExecutor() {
+        // Reports already leave the container thread through reportExecutor
+        return false;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (!isUserLoggedIn(request)) {
+            sendApiError(response, 401, "Authentication required");
+            return;
+        }
+
+        String pathInfo = request.getPathInfo() != null ? request.getPathInfo() : "";
+        AsyncRequestExecutor.Job job;
+        try {
+            job = createJob(pathInfo, request);
+        } catch (IllegalArgumentException e) {
+            sendApiError(response, 400, e.getMessage());
+            return;
+        }
+
+        if (job == null) {
+            sendApiError(response, 404, "Unknown report");
+            return;
+        }
+
+        reportExecutor.dispatch(request, response, job, this::sendApiError);
+    }
+
+    /**
+     * Check the parameters on the request thread and build the job for the report
+     *
+     * @return The job, or null for an unknown report
+     * @throws IllegalArgumentException with the message for a 400 response
+     */
+    private AsyncRequestExecutor.Job createJob(String pathInfo, HttpServletRequest request) {
+        if ("/sales".equals(pathInfo)) {
+            LocalDate end = getDate(request, "end", LocalDate.now());
+            LocalDate start = getDate(request, "start", end.minusDays(DEFAULT_REPORT_DAYS));
+            if (start.isAfter(end)) {
+                throw new IllegalArgumentException("Start date must not be after end date");
+            }
+            return () -> {
+                String report = billService.getSalesReport(Date.valueOf(start), Date.valueOf(end));
+                return response -> sendReport(response, "sales", report);
+            };
+        }
+
+        if ("/daily".equals(pathInfo)) {
+            LocalDate date = getDate(request, "date", LocalDate.now());
+            return () -> {
+                String report = billService.getDailySalesSummary(Date.valueOf(date));
+                return response -> sendReport(response, "daily", report);
+            };
+        }
+
+        if ("/top-items".equals(pathInfo)) {
+            int limit = Math.max(1, Math.min(getIntParameter(request, "limit", 10), MAX_TOP_ITEMS));
+            return () -> {
+                List<String> items = billService.getTopSellingItems(limit);
+                return response -> sendItems(response, items);
+            };
+        }
+
+        if (pathInfo.startsWith("/customers/")) {
+            String accountNumber = pathInfo.substring("/customers/".length());
+            if (!ValidationUtils.isValidAccountNumber(accountNumber)) {
+                throw new IllegalArgumentException("Invalid account number");
+            }
+            return () -> {
+                String report = billService.getCustomerPurchaseHistory(accountNumber);
+                return response -> sendReport(response, "customer", report);
+            };
+        }
+
+        return null;
+    }
+
+    private LocalDate getDate(HttpServletRequest request, String paramName, LocalDate defaultValue) {
+        String value = request.getParameter(paramName);
+        if (!ValidationUtils.isNotEmpty(value)) {
+            return defaultValue;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid " + paramName + " date, expected yyyy-MM-dd");
+        }
+    }
+
+    private void sendReport(HttpServletResponse response, String type, String text) throws IOException {
+        sendApiSuccess(response, 200, "Report generated", json -> json.beginObject()
+                .name("report").value(type)
+                .name("text").value(text)
+                .endObject());
+    }
+
+    private void sendItems(HttpServletResponse response, List<String> items) throws IOException {
+        sendApiSuccess(response, 200, "Report generated", json -> {
+            json.beginObject()
+                    .name("report").value("top-items")
+                    .name("items").beginArray();
+            for (String item : items) {
+                json.value(item);
+            }
+            json.endArray().endObject();
+        });
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        if (reportExecutor != null) {
+            System.out.println(reportExecutor.getStats());
+            reportExecutor.shutdown();
+        }
+        this.billService = null;
+    }
+}
@@ -1,8 +1,12 @@
 package com.pahanaedu.servlets.common;
 
 import com.pahanaedu.models.User;
+import com.pahanaedu.servlets.auth.RequestPrincipal;
+import com.pahanaedu.util.BlockingRequestExecutor;
+import com.pahanaedu.util.JsonWriter;
 import com.pahanaedu.util.ValidationUtils;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,6 +14,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.math.BigDecimal;
 
 /**
  * Base servlet class providing common functionality for all servlets
@@ -45,6 +50,48 @@ public abstract class BaseServlet extends HttpServlet {
     protected static final int DEFAULT_PAGE_SIZE = 20;
     protected static final int MAX_PAGE_SIZE = 100;
 
+    /**
+     * Route the request through the shared BlockingRequestExecutor when it is enabled
+     * Servlets declared asyncSupported then run on a virtual thread behind the
+     * connection-sized limiter; the rest run here behind the same limiter.
+     *
+     * @param request HTTP request
+     * @param response HTTP response
+     * @throws ServletException if servlet error occurs
+     * @throws IOException if I/O error occurs
+     */
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        BlockingRequestExecutor executor = BlockingRequestExecutor.getShared();
+        if (!executor.isEnabled() || !usesRequestExecutor() || request.getDispatcherType() != DispatcherType.REQUEST) {
+            super.service(request, response);
+            return;
+        }
+        executor.execute(request, response, () -> super.service(request, response));
+    }
+
+    /**
+     * Whether this servlet's requests go through the BlockingRequestExecutor
+     * Servlets that start async processing themselves override this to return false.
+     *
+     * @return true by default
+     */
+    protected boolean usesRequestExecutor() {
+        return true;
+    }
+
+    /**
+     * Get the request's resolved principal
+     * Normally already resolved by AuthenticationFilter; otherwise read from the session once.
+     *
+     * @param request HTTP request
+     * @return Principal or null if not logged in
+     */
+    protected RequestPrincipal getPrincipal(HttpServletRequest request) {
+        return RequestPrincipal.resolve(request);
+    }
+
     /**
      * Get current logged-in user from session
      *
@@ -52,11 +99,8 @@ public abstract class BaseServlet extends HttpServlet {
      * @return Current user or null if not logged in
      */
     protected User getCurrentUser(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-        if (session != null) {
-            return (User) session.getAttribute(SESSION_USER);
-        }
-        return null;
+        RequestPrincipal principal = getPrincipal(request);
+        return principal != null ? principal.getUser() : null;
     }
 
     /**
@@ -76,8 +120,8 @@ public abstract class BaseServlet extends HttpServlet {
      * @return true if user is admin, false otherwise
      */
     protected boolean isAdmin(HttpServletRequest request) {
-        User user = getCurrentUser(request);
-        return user != null && user.isAdmin();
+        RequestPrincipal principal = getPrincipal(request);
+        return principal != null && principal.isAdmin();
     }
 
     /**
@@ -87,8 +131,8 @@ public abstract class BaseServlet extends HttpServlet {
      * @return true if user is staff, false otherwise
      */
     protected boolean isStaff(HttpServletRequest request) {
-        User user = getCurrentUser(request);
-        return user != null && user.isStaff();
+        RequestPrincipal principal = getPrincipal(request);
+        return principal != null && principal.isStaff();
     }
 
     /**
@@ -100,6 +144,7 @@ public abstract class BaseServlet extends HttpServlet {
     protected void setCurrentUser(HttpServletRequest request, User user) {
         HttpSession session = request.getSession(true);
         session.setAttribute(SESSION_USER, user);
+        RequestPrincipal.clear(request);
         session.setAttribute(SESSION_USER_ID, user.getUserId());
         session.setAttribute(SESSION_USER_ROLE, user.getRole().toString());
 
@@ -113,6 +158,7 @@ public abstract class BaseServlet extends HttpServlet {
      * @param request HTTP request
      */
     protected void clearUserSession(HttpServletRequest request) {
+        RequestPrincipal.clear(request);
         HttpSession session = request.getSession(false);
         if (session != null) {
             session.removeAttribute(SESSION_USER);
@@ -182,6 +228,22 @@ public abstract class BaseServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Get decimal parameter
+     *
+     * @param request HTTP request
+     * @param paramName Parameter name
+     * @return Parameter value, or null if missing or not a number
+     */
+    protected BigDecimal getDecimalParameter(HttpServletRequest request, String paramName) {
+        try {
+            String value = request.getParameter(paramName);
+            return ValidationUtils.isNotEmpty(value) ? new BigDecimal(value.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     /**
      * Get pagination parameters
      *
@@ -238,6 +300,88 @@ public abstract class BaseServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Start a JSON response that is written straight to the response writer
+     * Close the returned writer (try-with-resources) when the body is complete.
+     *
+     * @param response HTTP response
+     * @param statusCode HTTP status code
+     * @return Writer for the response body
+     * @throws IOException if I/O error occurs
+     */
+    protected JsonWriter startJsonResponse(HttpServletResponse response, int statusCode) throws IOException {
+        response.setStatus(statusCode);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        return new JsonWriter(response.getWriter());
+    }
+
+    /**
+     * Send API success response: {"success":true,"message":...,"data":...}
+     *
+     * @param response HTTP response
+     * @param statusCode HTTP status code
+     * @param message Success message
+     * @param data Writes the data member, or null for none
+     * @throws IOException if I/O error occurs
+     */
+    protected void sendApiSuccess(HttpServletResponse response, int statusCode, String message,
+                                  JsonWriter.ValueWriter data) throws IOException {
+        try (JsonWriter json = startApiSuccess(response, statusCode, message, data)) {
+            endApiResponse(json);
+        }
+    }
+
+    /**
+     * Start an API success response, leaving the outer object open for extra members
+     * Finish it with endApiResponse() and close the writer.
+     *
+     * @param response HTTP response
+     * @param statusCode HTTP status code
+     * @param message Success message
+     * @param data Writes the data member, or null for none
+     * @return Writer positioned inside the outer object
+     * @throws IOException if I/O error occurs
+     */
+    protected JsonWriter startApiSuccess(HttpServletResponse response, int statusCode, String message,
+                                         JsonWriter.ValueWriter data) throws IOException {
+        JsonWriter json = startJsonResponse(response, statusCode);
+        json.beginObject().name("success").value(true).name("message").value(message);
+        if (data != null) {
+            json.name("data").value(data);
+        }
+        return json;
+    }
+
+    /**
+     * Send API error response: {"success":false,"error":...,"code":...}
+     *
+     * @param response HTTP response
+     * @param statusCode HTTP status code
+     * @param message Error message
+     * @throws IOException if I/O error occurs
+     */
+    protected void sendApiError(HttpServletResponse response, int statusCode, String message) throws IOException {
+        try (JsonWriter json = startJsonResponse(response, statusCode)) {
+            json.beginObject()
+                    .name("success").value(false)
+                    .name("error").value(message)
+                    .name("code").value(statusCode);
+            endApiResponse(json);
+        }
+    }
+
+    /**
+     * Write the closing members of an API response and end its outer object
+     * Servlets whose API adds members to every response (e.g. a timestamp) override this.
+     *
+     * @param json Writer positioned inside the outer object
+     * @throws IOException if I/O error occurs
+     */
+    protected void endApiResponse(JsonWriter json) throws IOException {
+        json.endObject();
+    }
+
     /**
      * Send error response
      *
@@ -5,6 +5,9 @@ import com.pahanaedu.models.User;
 import com.pahanaedu.service.interfaces.CustomerService;
 import com.pahanaedu.service.impl.CustomerServiceImpl;
 import com.pahanaedu.servlets.common.BaseServlet;
+import com.pahanaedu.util.JsonBinder;
+import com.pahanaedu.util.JsonReader;
+import com.pahanaedu.util.JsonWriter;
 import com.pahanaedu.util.ValidationUtils;
 
 import jakarta.servlet.ServletException;
@@ -12,7 +15,6 @@ import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.BufferedReader;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -30,7 +32,7 @@ import java.util.regex.Pattern;
  * @author Pahana Edu Development Team
  * @version 1.0
  */
-@WebServlet(name = "CustomerAPIServlet", urlPatterns = {"/api/customers", "/api/customers/*"})
+@WebServlet(name = "CustomerAPIServlet", urlPatterns = {"/api/customers", "/api/customers/*"}, asyncSupported = true)
 public class CustomerAPIServlet extends BaseServlet {
 
     private CustomerService customerService;
@@ -89,9 +91,8 @@ public class CustomerAPIServlet extends BaseServlet {
                 return;
             }
 
-            // Parse JSON request body
-            String jsonBody = readRequestBody(request);
-            Customer customer = parseCustomerFromJson(jsonBody);
+            // Bind JSON request body
+            Customer customer = readCustomer(request);
 
             if (customer == null) {
                 sendApiError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid customer data");
@@ -105,13 +106,15 @@ public class CustomerAPIServlet extends BaseServlet {
                 // Return created customer
                 Customer createdCustomer = customerService.findCustomerByAccountNumber(customer.getAccountNumber());
                 sendApiSuccess(response, HttpServletResponse.SC_CREATED, "Customer created successfully",
-                        customerToJson(createdCustomer));
+                        json -> writeCustomer(json, createdCustomer));
 
                 logAction(request, "API_CREATE_CUSTOMER", "Account: " + customer.getAccountNumber());
             } else {
                 sendApiError(response, HttpServletResponse.SC_BAD_REQUEST, "Failed to create customer");
             }
 
+        } catch (JsonReader.MalformedJsonException e) {
+            sendApiError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid JSON: " + e.getMessage());
         } catch (Exception e) {
             System.err.println("API Error in POST: " + e.getMessage());
             sendApiError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Internal server error");
@@ -151,9 +154,8 @@ public class CustomerAPIServlet extends BaseServlet {
                 return;
             }
 
-            // Parse JSON request body
-            String jsonBody = readRequestBody(request);
-            Customer updateData = parseCustomerFromJson(jsonBody);
+            // Bind JSON request body
+            Customer updateData = readCustomer(request);
 
             if (updateData == null) {
                 sendApiError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid customer data");
@@ -177,13 +179,15 @@ public class CustomerAPIServlet extends BaseServlet {
                 // Return updated customer
                 Customer updatedCustomer = customerService.findCustomerByAccountNumber(accountNumber);
                 sendApiSuccess(response, HttpServletResponse.SC_OK, "Customer updated successfully",
-                        customerToJson(updatedCustomer));
+                        json -> writeCustomer(json, updatedCustomer));
 
                 logAction(request, "API_UPDATE_CUSTOMER", "Account: " + accountNumber);
             } else {
                 sendApiError(response, HttpServletResponse.SC_BAD_REQUEST, "Failed to update customer");
             }
 
+        } catch (JsonReader.MalformedJsonException e) {
+            sendApiError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid JSON: " + e.getMessage());
         } catch (Exception e) {
             System.err.println("API Error in PUT: " + e.getMessage());
             sendApiError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Internal server error");
@@ -250,7 +254,8 @@ public class CustomerAPIServlet extends BaseServlet {
             Customer customer = customerService.findCustomerByAccountNumber(accountNumber);
 
             if (customer != null) {
-                sendApiSuccess(response, HttpServletResponse.SC_OK, "Customer found", customerToJson(customer));
+                sendApiSuccess(response, HttpServletResponse.SC_OK, "Customer found",
+                        json -> writeCustomer(json, customer));
                 logAction(request, "API_GET_CUSTOMER", "Account: " + accountNumber);
             } else {
                 sendApiError(response, HttpServletResponse.SC_NOT_FOUND, "Customer not found");
@@ -299,8 +304,9 @@ public class CustomerAPIServlet extends BaseServlet {
             }
 
             // Build JSON response
-            String customersJson = customersToJson(customers, totalCount, offset, limit);
-            sendApiSuccess(response, HttpServletResponse.SC_OK, "Customers retrieved successfully", customersJson);
+            List<Customer> page = customers;
+            sendApiSuccess(response, HttpServletResponse.SC_OK, "Customers retrieved successfully",
+                    json -> writeCustomers(json, page, totalCount, offset, limit));
 
             logAction(request, "API_GET_CUSTOMERS",
                     "Search: " + search + ", Count: " + customers.size());
@@ -329,179 +335,69 @@ public class CustomerAPIServlet extends BaseServlet {
     }
 
     /**
-     * Read JSON request body
+     * Bind the JSON request body to a customer in one pass over the request reader
+     *
+     * @return The customer, or null if it has no name
+     * @throws JsonReader.MalformedJsonException if the body is not valid customer JSON
      */
-    private String readRequestBody(HttpServletRequest request) throws IOException {
-        StringBuilder body = new StringBuilder();
-        try (BufferedReader reader = request.getReader()) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                body.append(line);
-            }
-        }
-        return body.toString();
-    }
-
-    /**
-     * Parse Customer object from JSON (simple implementation)
-     */
-    private Customer parseCustomerFromJson(String json) {
-        try {
-            // Simple JSON parsing (in production, use a proper JSON library)
-            if (!ValidationUtils.isNotEmpty(json)) {
-                return null;
-            }
-
-            Customer customer = new Customer();
-
-            // Extract fields using simple string operations
-            String accountNumber = extractJsonValue(json, "accountNumber");
-            String name = extractJsonValue(json, "name");
-            String address = extractJsonValue(json, "address");
-            String phone = extractJsonValue(json, "phone");
-            String email = extractJsonValue(json, "email");
-            String creditLimitStr = extractJsonValue(json, "creditLimit");
-
-            if (!ValidationUtils.isNotEmpty(name)) {
-                return null; // Name is required
-            }
-
-            customer.setAccountNumber(accountNumber);
-            customer.setName(name);
-            customer.setAddress(address);
-            customer.setPhoneNumber(phone);
-            customer.setEmail(email);
-
-            // Parse credit limit
-            if (ValidationUtils.isNotEmpty(creditLimitStr)) {
-                try {
-                    customer.setCreditLimit(new BigDecimal(creditLimitStr));
-                } catch (NumberFormatException e) {
-                    // Invalid credit limit, set to zero
-                    customer.setCreditLimit(BigDecimal.ZERO);
-                }
-            }
-
-            return customer;
-
-        } catch (Exception e) {
-            System.err.println("Error parsing JSON: " + e.getMessage());
-            return null;
-        }
-    }
-
-    /**
-     * Simple JSON value extraction
-     */
-    private String extractJsonValue(String json, String key) {
-        try {
-            String pattern = "\"" + key + "\"\\s*:\\s*\"([^\"]*)\"|\"" + key + "\"\\s*:\\s*([^,}\\s]+)";
-            java.util.regex.Pattern p = java.util.regex.Pattern.compile(pattern);
-            java.util.regex.Matcher m = p.matcher(json);
+    private Customer readCustomer(HttpServletRequest request) throws IOException {
+        try (JsonReader reader = new JsonReader(request.getReader())) {
+            Customer customer = JsonBinder.readCustomer(reader);
+            reader.endDocument();
 
-            if (m.find()) {
-                return m.group(1) != null ? m.group(1) : m.group(2);
-            }
-
-            return null;
-        } catch (Exception e) {
-            return null;
+            // Name is required
+            return ValidationUtils.isNotEmpty(customer.getName()) ? customer : null;
         }
     }
 
     /**
-     * Convert Customer object to JSON
+     * Write a Customer object as JSON
      */
-    private String customerToJson(Customer customer) {
+    private void writeCustomer(JsonWriter json, Customer customer) throws IOException {
         if (customer == null) {
-            return "null";
+            json.nullValue();
+            return;
         }
 
-        return String.format(
-                "{\"accountNumber\":\"%s\",\"name\":\"%s\",\"address\":\"%s\",\"phone\":\"%s\",\"email\":\"%s\",\"creditLimit\":%s,\"isActive\":%s,\"registrationDate\":\"%s\"}",
-                escapeJson(customer.getAccountNumber()),
-                escapeJson(customer.getName()),
-                escapeJson(customer.getAddress()),
-                escapeJson(customer.getPhoneNumber()),
-                escapeJson(customer.getEmail()),
-                customer.getCreditLimit() != null ? customer.getCreditLimit() : 0,
-                customer.isActive(),
-                customer.getRegistrationDate() != null ? customer.getRegistrationDate() : ""
-        );
-    }
-
-    /**
-     * Convert list of customers to JSON with pagination info
-     */
-    private String customersToJson(List<Customer> customers, int totalCount, int offset, int limit) {
-        StringBuilder json = new StringBuilder();
-        json.append("{\"customers\":[");
-
-        for (int i = 0; i < customers.size(); i++) {
-            if (i > 0) json.append(",");
-            json.append(customerToJson(customers.get(i)));
-        }
-
-        json.append("],\"pagination\":{")
-                .append("\"totalCount\":").append(totalCount).append(",")
-                .append("\"offset\":").append(offset).append(",")
-                .append("\"limit\":").append(limit).append(",")
-                .append("\"count\":").append(customers.size())
-                .append("}}");
-
-        return json.toString();
+        json.beginObject()
+                .name("accountNumber").value(customer.getAccountNumber())
+                .name("name").value(customer.getName())
+                .name("address").value(customer.getAddress())
+                .name("phone").value(customer.getPhoneNumber())
+                .name("email").value(customer.getEmail())
+                .name("creditLimit").value(customer.getCreditLimit() != null ? customer.getCreditLimit() : BigDecimal.ZERO)
+                .name("isActive").value(customer.isActive())
+                .name("registrationDate").value(customer.getRegistrationDate())
+                .endObject();
     }
 
     /**
-     * Send API success response
+     * Write a page of customers with pagination info
      */
-    private void sendApiSuccess(HttpServletResponse response, int statusCode, String message, String data)
+    private void writeCustomers(JsonWriter json, List<Customer> customers, int totalCount, int offset, int limit)
             throws IOException {
+        json.beginObject().name("customers").beginArray();
 
-        response.setStatus(statusCode);
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
-
-        StringBuilder json = new StringBuilder();
-        json.append("{\"success\":true,\"message\":\"").append(escapeJson(message)).append("\"");
-
-        if (data != null) {
-            json.append(",\"data\":").append(data);
+        for (Customer customer : customers) {
+            writeCustomer(json, customer);
         }
 
-        json.append(",\"timestamp\":\"").append(new java.util.Date()).append("\"}");
-
-        response.getWriter().write(json.toString());
-    }
-
-    /**
-     * Send API error response
-     */
-    private void sendApiError(HttpServletResponse response, int statusCode, String message)
-            throws IOException {
-
-        response.setStatus(statusCode);
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
-
-        String json = String.format(
-                "{\"success\":false,\"error\":\"%s\",\"code\":%d,\"timestamp\":\"%s\"}",
-                escapeJson(message), statusCode, new java.util.Date()
-        );
-
-        response.getWriter().write(json);
+        json.endArray()
+                .name("pagination").beginObject()
+                .name("totalCount").value(totalCount)
+                .name("offset").value(offset)
+                .name("limit").value(limit)
+                .name("count").value(customers.size())
+                .endObject()
+                .endObject();
     }
 
     /**
-     * Escape string for JSON
+     * Customer API responses, success and error, carry a timestamp
      */
-    private String escapeJson(String value) {
-        if (value == null) return "";
-        return value.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r")
-                .replace("\t", "\\t");
+    @Override
+    protected void endApiResponse(JsonWriter json) throws IOException {
+        json.name("timestamp").value(new java.util.Date()).endObject();
     }
 
     @Override
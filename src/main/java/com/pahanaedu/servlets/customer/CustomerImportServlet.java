@@ -0,0 +1,155 @@
+package com.pahanaedu.servlets.customer;
+
+import com.pahanaedu.models.User;
+import com.pahanaedu.service.interfaces.CustomerService;
+import com.pahanaedu.service.impl.CustomerServiceImpl;
+import com.pahanaedu.servlets.common.BaseServlet;
+import com.pahanaedu.util.CustomerImportReader;
+import com.pahanaedu.util.DatabaseConnection;
+import com.pahanaedu.util.ImportReport;
+import com.pahanaedu.util.JsonWriter;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bulk customer import for onboarding a school's parents
+ * Reads customers from the request body as NDJSON or CSV. Each batch is validated
+ * on the shared worker pool, checked for duplicates within the file and against
+ * existing account numbers, and inserted as one JDBC batch.
+ *
+ * POST /api/customers/import[?format=ndjson|csv][&batchSize=n]
+ *   Runs the import and responds with the final report.
+ * GET /api/customers/import
+ *   Progress of the user's running import, or the report of the last one, so a
+ *   second tab or an AJAX poll can follow a long upload.
+ *
+ * Design Patterns Used:
+ * - Iterator Pattern: Rows are pulled from the body one at a time
+ * - Observer Pattern: Progress is read from the report the import is filling
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@WebServlet(name = "CustomerImportServlet", urlPatterns = {"/api/customers/import"})
+public class CustomerImportServlet extends BaseServlet {
+
+    private static final int MAX_BATCH_SIZE = 2000;
+
+    // Latest import per user; one entry per user who has imported since startup
+    private final Map<String, ImportReport> reportsByUser = new ConcurrentHashMap<>();
+
+    private CustomerService customerService;
+    private int defaultBatchSize;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        this.customerService = new CustomerServiceImpl();
+        this.defaultBatchSize = DatabaseConnection.getInstance().getIntProperty("import.customer.batchSize", 200);
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        User user = requireAdmin(request, response);
+        if (user == null) {
+            return;
+        }
+
+        ImportReport report = reportsByUser.get(user.getUserId());
+        if (report == null) {
+            sendApiError(response, 404, "No customer import found");
+            return;
+        }
+        sendReport(response, report.isFinished() ? "Import finished" : "Import running", report);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        User user = requireAdmin(request, response);
+        if (user == null) {
+            return;
+        }
+
+        String formatParam = request.getParameter("format");
+        CustomerImportReader.Format format = formatParam != null
+                ? CustomerImportReader.Format.fromParameter(formatParam)
+                : CustomerImportReader.Format.fromContentType(request.getContentType());
+        if (format == null) {
+            sendApiError(response, 400, "Unsupported import format");
+            return;
+        }
+
+        int batchSize = Math.max(1, Math.min(getIntParameter(request, "batchSize", defaultBatchSize), MAX_BATCH_SIZE));
+
+        ImportReport report = new ImportReport();
+        ImportReport current = reportsByUser.compute(user.getUserId(),
+                (userId, previous) -> previous != null && !previous.isFinished() ? previous : report);
+        if (current != report) {
+            sendApiError(response, 409, "A customer import is already running");
+            return;
+        }
+
+        if (request.getCharacterEncoding() == null) {
+            request.setCharacterEncoding("UTF-8");
+        }
+
+        try (CustomerImportReader reader = new CustomerImportReader(request.getReader(), format)) {
+            customerService.importCustomers(reader, batchSize, report);
+
+            logAction(request, "IMPORT_CUSTOMERS", "Format: " + format.name().toLowerCase()
+                    + ", Batch size: " + batchSize + ", " + report);
+            sendReport(response, report.isComplete() ? "Import finished" : "Import stopped early", report);
+
+        } catch (Exception e) {
+            System.err.println("Error importing customers: " + e.getMessage());
+            report.abort("Import failed: " + e.getMessage());
+            report.finish();
+            if (!response.isCommitted()) {
+                response.reset();
+                sendApiError(response, 500, "Import failed");
+            }
+        }
+    }
+
+    /**
+     * @return The logged-in administrator, or null after sending the error response
+     */
+    private User requireAdmin(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!isUserLoggedIn(request)) {
+            sendApiError(response, 401, "Authentication required");
+            return null;
+        }
+        if (!isAdmin(request)) {
+            sendApiError(response, 403, "Only administrators can import customers");
+            return null;
+        }
+        return getCurrentUser(request);
+    }
+
+    private void sendReport(HttpServletResponse response, String message, ImportReport report) throws IOException {
+        try (JsonWriter json = startJsonResponse(response, 200)) {
+            json.beginObject()
+                    .name("success").value(report.isComplete())
+                    .name("message").value(message)
+                    .name("data").value(report::writeTo)
+                    .endObject();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        this.customerService = null;
+        reportsByUser.clear();
+    }
+}
@@ -4,16 +4,24 @@ import com.pahanaedu.models.Customer;
 import com.pahanaedu.service.interfaces.CustomerService;
 import com.pahanaedu.service.impl.CustomerServiceImpl;
 import com.pahanaedu.servlets.common.BaseServlet;
+import com.pahanaedu.util.CustomerExportWriter;
+import com.pahanaedu.util.CustomerSearchIndex;
+import com.pahanaedu.util.JsonWriter;
 import com.pahanaedu.util.ValidationUtils;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Servlet for handling Customer search operations
@@ -30,6 +38,11 @@ import java.util.ArrayList;
 @WebServlet(name = "CustomerSearchServlet", urlPatterns = {"/customers/search", "/customer/search"})
 public class CustomerSearchServlet extends BaseServlet {
 
+    private static final int DEFAULT_SEARCH_LIMIT = 100;
+    private static final int MAX_SEARCH_LIMIT = 500;
+    private static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+    private static final int EXPORT_BUFFER_SIZE = 16 * 1024;
+
     private CustomerService customerService;
 
     @Override
@@ -141,6 +154,7 @@ public class CustomerSearchServlet extends BaseServlet {
         // Get search parameters
         String searchTerm = getSanitizedParameter(request, "q");
         String searchType = getParameter(request, "type", "name");
+        int limit = getSearchLimit(request);
 
         if (!ValidationUtils.isNotEmpty(searchTerm)) {
             setErrorMessage(request, "Please enter a search term");
@@ -152,21 +166,18 @@ public class CustomerSearchServlet extends BaseServlet {
             List<Customer> customers = null;
 
             switch (searchType.toLowerCase()) {
-                case "name":
-                    customers = customerService.searchCustomersByName(searchTerm);
-                    break;
                 case "account":
                     Customer customer = customerService.findCustomerByAccountNumber(searchTerm);
                     customers = customer != null ? List.of(customer) : List.of();
                     break;
                 case "phone":
-                    customers = searchByPhone(searchTerm);
+                    customers = customerService.searchCustomers(CustomerSearchIndex.Field.PHONE, searchTerm, limit);
                     break;
                 case "email":
-                    customers = searchByEmail(searchTerm);
+                    customers = customerService.searchCustomers(CustomerSearchIndex.Field.EMAIL, searchTerm, limit);
                     break;
                 default:
-                    customers = customerService.searchCustomersByName(searchTerm);
+                    customers = customerService.searchCustomers(CustomerSearchIndex.Field.NAME, searchTerm, limit);
                     break;
             }
 
@@ -201,7 +212,7 @@ public class CustomerSearchServlet extends BaseServlet {
             throws ServletException, IOException {
 
         String searchTerm = getSanitizedParameter(request, "q");
-        int limit = getIntParameter(request, "limit", 10);
+        int limit = Math.max(1, Math.min(getIntParameter(request, "limit", 10), MAX_AUTOCOMPLETE_LIMIT));
 
         if (!ValidationUtils.isNotEmpty(searchTerm) || searchTerm.length() < 2) {
             sendJsonResponse(response, "[]");
@@ -209,29 +220,21 @@ public class CustomerSearchServlet extends BaseServlet {
         }
 
         try {
-            List<Customer> customers = customerService.searchCustomersByName(searchTerm);
-
-            // Limit results for quick search
-            if (customers.size() > limit) {
-                customers = customers.subList(0, limit);
+            List<Customer> customers = customerService.autocompleteCustomers(searchTerm, limit);
+
+            try (JsonWriter json = startJsonResponse(response, HttpServletResponse.SC_OK)) {
+                json.beginArray();
+                for (Customer customer : customers) {
+                    json.beginObject()
+                            .name("accountNumber").value(customer.getAccountNumber())
+                            .name("name").value(customer.getName())
+                            .name("phone").value(customer.getPhoneNumber())
+                            .name("email").value(customer.getEmail())
+                            .endObject();
+                }
+                json.endArray();
             }
 
-            // Build JSON response
-            StringBuilder json = new StringBuilder("[");
-            for (int i = 0; i < customers.size(); i++) {
-                Customer customer = customers.get(i);
-                if (i > 0) json.append(",");
-                json.append("{")
-                        .append("\"accountNumber\":\"").append(escapeJson(customer.getAccountNumber())).append("\",")
-                        .append("\"name\":\"").append(escapeJson(customer.getName())).append("\",")
-                        .append("\"phone\":\"").append(escapeJson(customer.getPhoneNumber())).append("\",")
-                        .append("\"email\":\"").append(escapeJson(customer.getEmail())).append("\"")
-                        .append("}");
-            }
-            json.append("]");
-
-            sendJsonResponse(response, json.toString());
-
         } catch (Exception e) {
             System.err.println("Error in quick search: " + e.getMessage());
             sendJsonResponse(response, "[]");
@@ -246,6 +249,7 @@ public class CustomerSearchServlet extends BaseServlet {
 
         String searchTerm = getSanitizedParameter(request, "q");
         String searchType = getParameter(request, "type", "name");
+        int limit = getSearchLimit(request);
 
         if (!ValidationUtils.isNotEmpty(searchTerm)) {
             sendJsonResponse(response, "{\"success\": false, \"message\": \"Search term required\"}");
@@ -256,39 +260,39 @@ public class CustomerSearchServlet extends BaseServlet {
             List<Customer> customers = null;
 
             switch (searchType.toLowerCase()) {
-                case "name":
-                    customers = customerService.searchCustomersByName(searchTerm);
-                    break;
                 case "account":
                     Customer customer = customerService.findCustomerByAccountNumber(searchTerm);
                     customers = customer != null ? List.of(customer) : List.of();
                     break;
+                case "phone":
+                    customers = customerService.searchCustomers(CustomerSearchIndex.Field.PHONE, searchTerm, limit);
+                    break;
+                case "email":
+                    customers = customerService.searchCustomers(CustomerSearchIndex.Field.EMAIL, searchTerm, limit);
+                    break;
                 default:
-                    customers = customerService.searchCustomersByName(searchTerm);
+                    customers = customerService.searchCustomers(CustomerSearchIndex.Field.NAME, searchTerm, limit);
                     break;
             }
 
-            // Build JSON response
-            StringBuilder json = new StringBuilder();
-            json.append("{\"success\": true, \"count\": ").append(customers.size()).append(", \"customers\": [");
-
-            for (int i = 0; i < customers.size(); i++) {
-                Customer customer = customers.get(i);
-                if (i > 0) json.append(",");
-                json.append("{")
-                        .append("\"accountNumber\":\"").append(escapeJson(customer.getAccountNumber())).append("\",")
-                        .append("\"name\":\"").append(escapeJson(customer.getName())).append("\",")
-                        .append("\"address\":\"").append(escapeJson(customer.getAddress())).append("\",")
-                        .append("\"phone\":\"").append(escapeJson(customer.getPhoneNumber())).append("\",")
-                        .append("\"email\":\"").append(escapeJson(customer.getEmail())).append("\",")
-                        .append("\"isActive\":").append(customer.isActive())
-                        .append("}");
+            try (JsonWriter json = startJsonResponse(response, HttpServletResponse.SC_OK)) {
+                json.beginObject()
+                        .name("success").value(true)
+                        .name("count").value(customers.size())
+                        .name("customers").beginArray();
+                for (Customer customer : customers) {
+                    json.beginObject()
+                            .name("accountNumber").value(customer.getAccountNumber())
+                            .name("name").value(customer.getName())
+                            .name("address").value(customer.getAddress())
+                            .name("phone").value(customer.getPhoneNumber())
+                            .name("email").value(customer.getEmail())
+                            .name("isActive").value(customer.isActive())
+                            .endObject();
+                }
+                json.endArray().endObject();
             }
 
-            json.append("]}");
-
-            sendJsonResponse(response, json.toString());
-
         } catch (Exception e) {
             System.err.println("Error in AJAX search: " + e.getMessage());
             sendJsonResponse(response, "{\"success\": false, \"message\": \"Search failed\"}");
@@ -400,65 +404,84 @@ public class CustomerSearchServlet extends BaseServlet {
             return;
         }
 
-        try {
-            // Get export format
-            String format = getParameter(request, "format", "csv");
-            String searchTerm = getSanitizedParameter(request, "searchTerm");
-
-            List<Customer> customers;
-            if (ValidationUtils.isNotEmpty(searchTerm)) {
-                customers = customerService.searchCustomersByName(searchTerm);
-            } else {
-                customers = customerService.getAllActiveCustomers();
-            }
+        // Get export format
+        String formatParam = getParameter(request, "format", "csv");
+        CustomerExportWriter.Format format = CustomerExportWriter.Format.fromParameter(formatParam);
+        if (format == null) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Unsupported export format");
+            return;
+        }
+        String searchTerm = getSanitizedParameter(request, "searchTerm");
+        boolean gzip = "true".equalsIgnoreCase(request.getParameter("gzip"));
 
-            if ("csv".equals(format)) {
-                exportToCSV(response, customers);
-            } else if ("json".equals(format)) {
-                exportToJSON(response, customers);
-            } else {
-                sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Unsupported export format");
-                return;
-            }
+        try {
+            int count = streamExport(response, format, gzip, searchTerm);
 
             // Log export action
             logAction(request, "EXPORT_CUSTOMERS",
-                    "Format: " + format + ", Count: " + customers.size());
-
+                    "Format: " + formatParam + (gzip ? " (gzip)" : "") + ", Count: " + count);
+
+        } catch (IOException e) {
+            // Usually the client cancelled the download; the response is already committed
+            System.err.println("Customer export aborted: " + e.getMessage());
+        } catch (ServletException e) {
+            // Database read failed part way
+            System.err.println(e.getMessage());
+            if (response.isCommitted()) {
+                // Propagate so the container aborts the connection instead of ending the body cleanly
+                throw e;
+            }
+            response.reset();
+            sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Export failed");
         } catch (Exception e) {
             System.err.println("Error exporting customers: " + e.getMessage());
-            sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Export failed");
+            if (!response.isCommitted()) {
+                sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Export failed");
+            }
         }
     }
 
     /**
-     * Search customers by phone number
+     * Stream active customers straight from the database to the response
+     * Rows pass through a fixed-size buffer (and optionally gzip), so memory use does
+     * not depend on the number of customers
+     *
+     * A failed database read throws with the writer left open: closing it would end the
+     * chunked body (and the gzip trailer) cleanly and a truncated file would look complete.
+     *
+     * @return Number of customers written
+     * @throws ServletException if the database read failed part way
      */
-    private List<Customer> searchByPhone(String phone) {
-        try {
-            return customerService.getAllActiveCustomers().stream()
-                    .filter(c -> c.getPhoneNumber() != null &&
-                            c.getPhoneNumber().contains(phone))
-                    .toList();
-        } catch (Exception e) {
-            System.err.println("Error searching by phone: " + e.getMessage());
-            return List.of();
+    private int streamExport(HttpServletResponse response, CustomerExportWriter.Format format, boolean gzip,
+                             String searchTerm) throws ServletException, IOException {
+        String fileName = "customers." + format.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+
+        OutputStream stream = response.getOutputStream();
+        if (gzip) {
+            stream = new GZIPOutputStream(stream, EXPORT_BUFFER_SIZE);
         }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
+        CustomerExportWriter export = new CustomerExportWriter(writer, format);
+        export.begin();
+        int count = customerService.exportActiveCustomers(searchTerm, export);
+        if (count < 0) {
+            throw new ServletException("Customer export truncated after " + export.getCount() + " rows");
+        }
+        export.finish();
+        writer.close();
+        return count;
     }
 
     /**
-     * Search customers by email
+     * Get the requested result limit for indexed searches
      */
-    private List<Customer> searchByEmail(String email) {
-        try {
-            return customerService.getAllActiveCustomers().stream()
-                    .filter(c -> c.getEmail() != null &&
-                            c.getEmail().toLowerCase().contains(email.toLowerCase()))
-                    .toList();
-        } catch (Exception e) {
-            System.err.println("Error searching by email: " + e.getMessage());
-            return List.of();
-        }
+    private int getSearchLimit(HttpServletRequest request) {
+        int limit = getIntParameter(request, "limit", DEFAULT_SEARCH_LIMIT);
+        return Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
     }
 
     /**
@@ -503,69 +526,6 @@ public class CustomerSearchServlet extends BaseServlet {
         }
     }
 
-    /**
-     * Export customers to CSV format
-     */
-    private void exportToCSV(HttpServletResponse response, List<Customer> customers) throws IOException {
-        response.setContentType("text/csv");
-        response.setHeader("Content-Disposition", "attachment; filename=\"customers.csv\"");
-
-        try (PrintWriter writer = response.getWriter()) {
-            // Write CSV header
-            writer.println("Account Number,Name,Address,Phone,Email,Credit Limit,Active,Registration Date");
-
-            // Write customer data
-            for (Customer customer : customers) {
-                writer.printf("\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\"%n",
-                        escapeCSV(customer.getAccountNumber()),
-                        escapeCSV(customer.getName()),
-                        escapeCSV(customer.getAddress()),
-                        escapeCSV(customer.getPhoneNumber()),
-                        escapeCSV(customer.getEmail()),
-                        customer.getCreditLimit() != null ? customer.getCreditLimit().toString() : "0.00",
-                        customer.isActive() ? "Yes" : "No",
-                        customer.getRegistrationDate() != null ? customer.getRegistrationDate().toString() : ""
-                );
-            }
-        }
-    }
-
-    /**
-     * Export customers to JSON format
-     */
-    private void exportToJSON(HttpServletResponse response, List<Customer> customers) throws IOException {
-        response.setContentType("application/json");
-        response.setHeader("Content-Disposition", "attachment; filename=\"customers.json\"");
-
-        StringBuilder json = new StringBuilder();
-        json.append("{\n  \"customers\": [\n");
-
-        for (int i = 0; i < customers.size(); i++) {
-            Customer customer = customers.get(i);
-            if (i > 0) json.append(",\n");
-
-            json.append("    {\n")
-                    .append("      \"accountNumber\": \"").append(escapeJson(customer.getAccountNumber())).append("\",\n")
-                    .append("      \"name\": \"").append(escapeJson(customer.getName())).append("\",\n")
-                    .append("      \"address\": \"").append(escapeJson(customer.getAddress())).append("\",\n")
-                    .append("      \"phone\": \"").append(escapeJson(customer.getPhoneNumber())).append("\",\n")
-                    .append("      \"email\": \"").append(escapeJson(customer.getEmail())).append("\",\n")
-                    .append("      \"creditLimit\": ").append(customer.getCreditLimit() != null ? customer.getCreditLimit() : 0).append(",\n")
-                    .append("      \"isActive\": ").append(customer.isActive()).append(",\n")
-                    .append("      \"registrationDate\": \"").append(customer.getRegistrationDate() != null ? customer.getRegistrationDate() : "").append("\"\n")
-                    .append("    }");
-        }
-
-        json.append("\n  ],\n")
-                .append("  \"count\": ").append(customers.size()).append(",\n")
-                .append("  \"exportDate\": \"").append(new java.util.Date()).append("\"\n")
-                .append("}");
-
-        try (PrintWriter writer = response.getWriter()) {
-            writer.print(json.toString());
-        }
-    }
-
     /**
      * Get search statistics
      */
@@ -595,26 +555,6 @@ public class CustomerSearchServlet extends BaseServlet {
         }
     }
 
-    /**
-     * Escape string for JSON
-     */
-    private String escapeJson(String value) {
-        if (value == null) return "";
-        return value.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r")
-                .replace("\t", "\\t");
-    }
-
-    /**
-     * Escape string for CSV
-     */
-    private String escapeCSV(String value) {
-        if (value == null) return "";
-        return value.replace("\"", "\"\"");
-    }
-
     @Override
     public void destroy() {
         super.destroy();
@@ -4,6 +4,10 @@ import com.pahanaedu.models.Item;
 import com.pahanaedu.service.interfaces.ItemService;
 import com.pahanaedu.service.impl.ItemServiceImpl;
 import com.pahanaedu.servlets.common.BaseServlet;
+import com.pahanaedu.util.ItemSearchIndex;
+import com.pahanaedu.util.JsonBinder;
+import com.pahanaedu.util.JsonReader;
+import com.pahanaedu.util.JsonWriter;
 import com.pahanaedu.util.ValidationUtils;
 
 import jakarta.servlet.ServletException;
@@ -11,17 +15,19 @@ import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.BufferedReader;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Simple REST API for Item operations
  * Demonstrates RESTful design pattern
  */
-@WebServlet(name = "ItemAPIServlet", urlPatterns = {"/api/items", "/api/items/*"})
+@WebServlet(name = "ItemAPIServlet", urlPatterns = {"/api/items", "/api/items/*"}, asyncSupported = true)
 public class ItemAPIServlet extends BaseServlet {
 
+    private static final int MAX_LIST_LIMIT = 500;
+
     private ItemService itemService;
 
     @Override
@@ -63,8 +69,7 @@ public class ItemAPIServlet extends BaseServlet {
         }
 
         try {
-            String jsonBody = readRequestBody(request);
-            Item item = parseItemFromJson(jsonBody);
+            Item item = readItem(request);
 
             if (item == null) {
                 sendApiError(response, 400, "Invalid item data");
@@ -75,11 +80,13 @@ public class ItemAPIServlet extends BaseServlet {
 
             if (created) {
                 Item createdItem = itemService.findItemById(item.getItemId());
-                sendApiSuccess(response, 201, "Item created", itemToJson(createdItem));
+                sendApiSuccess(response, 201, "Item created", json -> writeItem(json, createdItem));
             } else {
                 sendApiError(response, 400, "Failed to create item");
             }
 
+        } catch (JsonReader.MalformedJsonException e) {
+            sendApiError(response, 400, "Invalid JSON: " + e.getMessage());
         } catch (Exception e) {
             sendApiError(response, 500, "Internal server error");
         }
@@ -109,8 +116,7 @@ public class ItemAPIServlet extends BaseServlet {
                 return;
             }
 
-            String jsonBody = readRequestBody(request);
-            Item updateData = parseItemFromJson(jsonBody);
+            Item updateData = readItem(request);
 
             if (updateData == null) {
                 sendApiError(response, 400, "Invalid item data");
@@ -128,11 +134,13 @@ public class ItemAPIServlet extends BaseServlet {
 
             if (updated) {
                 Item updatedItem = itemService.findItemById(itemId);
-                sendApiSuccess(response, 200, "Item updated", itemToJson(updatedItem));
+                sendApiSuccess(response, 200, "Item updated", json -> writeItem(json, updatedItem));
             } else {
                 sendApiError(response, 400, "Failed to update item");
             }
 
+        } catch (JsonReader.MalformedJsonException e) {
+            sendApiError(response, 400, "Invalid JSON: " + e.getMessage());
         } catch (Exception e) {
             sendApiError(response, 500, "Internal server error");
         }
@@ -173,7 +181,7 @@ public class ItemAPIServlet extends BaseServlet {
         Item item = itemService.findItemById(itemId);
 
         if (item != null) {
-            sendApiSuccess(response, 200, "Item found", itemToJson(item));
+            sendApiSuccess(response, 200, "Item found", json -> writeItem(json, item));
         } else {
             sendApiError(response, 404, "Item not found");
         }
@@ -181,16 +189,39 @@ public class ItemAPIServlet extends BaseServlet {
 
     private void getItems(HttpServletRequest request, HttpServletResponse response) throws IOException {
         String search = getSanitizedParameter(request, "search");
-        List<Item> items;
+        String category = getSanitizedParameter(request, "category");
+        BigDecimal minPrice = getDecimalParameter(request, "minPrice");
+        BigDecimal maxPrice = getDecimalParameter(request, "maxPrice");
+
+        if (!ValidationUtils.isNotEmpty(search) && !ValidationUtils.isNotEmpty(category)
+                && minPrice == null && maxPrice == null) {
+            List<Item> items = itemService.getAllActiveItems();
+            sendApiSuccess(response, 200, "Items retrieved", json -> writeItems(json, items));
+            return;
+        }
 
-        if (ValidationUtils.isNotEmpty(search)) {
-            items = itemService.searchItemsByName(search);
-        } else {
-            items = itemService.getAllActiveItems();
+        ItemSearchIndex.Query query = new ItemSearchIndex.Query();
+        query.setText(search);
+        query.setCategory(category);
+        query.setMinPrice(minPrice);
+        query.setMaxPrice(maxPrice);
+        query.setInStockOnly(Boolean.parseBoolean(request.getParameter("inStock")));
+        query.setOffset(Math.max(0, getIntParameter(request, "offset", 0)));
+        query.setLimit(Math.max(0, Math.min(getIntParameter(request, "limit", 0), MAX_LIST_LIMIT)));
+
+        String sort = request.getParameter("sort");
+        if (ValidationUtils.isNotEmpty(sort)) {
+            try {
+                query.setSort(ItemSearchIndex.Sort.valueOf(sort.trim().toUpperCase().replace('-', '_')));
+            } catch (IllegalArgumentException e) {
+                sendApiError(response, 400, "Invalid sort");
+                return;
+            }
         }
 
-        String itemsJson = itemsToJson(items);
-        sendApiSuccess(response, 200, "Items retrieved", itemsJson);
+        ItemSearchIndex.Result result = itemService.searchItems(query);
+        sendApiSuccess(response, 200, "Items retrieved", json -> writeItems(json, result.getItems()),
+                result.getTotalCount(), result.getCategoryCounts());
     }
 
     private String extractItemId(String pathInfo) {
@@ -201,104 +232,56 @@ public class ItemAPIServlet extends BaseServlet {
         return ValidationUtils.isValidItemId(path) ? path : null;
     }
 
-    private String readRequestBody(HttpServletRequest request) throws IOException {
-        StringBuilder body = new StringBuilder();
-        try (BufferedReader reader = request.getReader()) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                body.append(line);
-            }
-        }
-        return body.toString();
-    }
-
-    private Item parseItemFromJson(String json) {
-        try {
-            if (!ValidationUtils.isNotEmpty(json)) return null;
-
-            Item item = new Item();
-
-            String itemId = extractJsonValue(json, "itemId");
-            String name = extractJsonValue(json, "name");
-            String category = extractJsonValue(json, "category");
-            String priceStr = extractJsonValue(json, "price");
-            String stockStr = extractJsonValue(json, "stock");
-            String description = extractJsonValue(json, "description");
-
-            if (!ValidationUtils.isNotEmpty(name)) return null;
-
-            item.setItemId(itemId);
-            item.setName(name);
-            item.setCategory(category);
-            item.setDescription(description);
-
-            if (ValidationUtils.isNotEmpty(priceStr)) {
-                item.setPrice(new BigDecimal(priceStr));
-            }
-
-            if (ValidationUtils.isNotEmpty(stockStr)) {
-                item.setStockQuantity(Integer.parseInt(stockStr));
-            }
-
-            return item;
-
-        } catch (Exception e) {
-            return null;
+    /**
+     * Bind the request body to an item in one pass over the request reader
+     *
+     * @return The item, or null if it has no name
+     * @throws JsonReader.MalformedJsonException if the body is not valid item JSON
+     */
+    private Item readItem(HttpServletRequest request) throws IOException {
+        try (JsonReader reader = new JsonReader(request.getReader())) {
+            Item item = JsonBinder.readItem(reader);
+            reader.endDocument();
+            return ValidationUtils.isNotEmpty(item.getName()) ? item : null;
         }
     }
 
-    private String extractJsonValue(String json, String key) {
-        try {
-            String pattern = "\"" + key + "\"\\s*:\\s*\"([^\"]*)\"|\"" + key + "\"\\s*:\\s*([^,}\\s]+)";
-            java.util.regex.Pattern p = java.util.regex.Pattern.compile(pattern);
-            java.util.regex.Matcher m = p.matcher(json);
-            return m.find() ? (m.group(1) != null ? m.group(1) : m.group(2)) : null;
-        } catch (Exception e) {
-            return null;
+    private void writeItem(JsonWriter json, Item item) throws IOException {
+        if (item == null) {
+            json.nullValue();
+            return;
         }
+        json.beginObject()
+                .name("itemId").value(item.getItemId())
+                .name("name").value(item.getName())
+                .name("category").value(item.getCategory())
+                .name("price").value(item.getPrice())
+                .name("stock").value(item.getStockQuantity())
+                .name("description").value(item.getDescription())
+                .name("isActive").value(item.isActive())
+                .endObject();
     }
 
-    private String itemToJson(Item item) {
-        if (item == null) return "null";
-        return String.format(
-                "{\"itemId\":\"%s\",\"name\":\"%s\",\"category\":\"%s\",\"price\":%s,\"stock\":%d,\"description\":\"%s\",\"isActive\":%s}",
-                item.getItemId(), escapeJson(item.getName()), escapeJson(item.getCategory()),
-                item.getPrice(), item.getStockQuantity(), escapeJson(item.getDescription()), item.isActive()
-        );
-    }
-
-    private String itemsToJson(List<Item> items) {
-        StringBuilder json = new StringBuilder("[");
-        for (int i = 0; i < items.size(); i++) {
-            if (i > 0) json.append(",");
-            json.append(itemToJson(items.get(i)));
+    private void writeItems(JsonWriter json, List<Item> items) throws IOException {
+        json.beginArray();
+        for (Item item : items) {
+            writeItem(json, item);
         }
-        json.append("]");
-        return json.toString();
+        json.endArray();
     }
 
-    private void sendApiSuccess(HttpServletResponse response, int statusCode, String message, String data) throws IOException {
-        response.setStatus(statusCode);
-        response.setContentType("application/json");
-        StringBuilder json = new StringBuilder();
-        json.append("{\"success\":true,\"message\":\"").append(message).append("\"");
-        if (data != null) {
-            json.append(",\"data\":").append(data);
+    private void sendApiSuccess(HttpServletResponse response, int statusCode, String message,
+                                JsonWriter.ValueWriter data, int total, Map<String, Integer> categoryCounts)
+            throws IOException {
+        try (JsonWriter json = startApiSuccess(response, statusCode, message, data)) {
+            json.name("total").value(total)
+                    .name("facets").beginObject().name("category").beginObject();
+            for (Map.Entry<String, Integer> facet : categoryCounts.entrySet()) {
+                json.name(facet.getKey()).value(facet.getValue());
+            }
+            json.endObject().endObject();
+            endApiResponse(json);
         }
-        json.append("}");
-        response.getWriter().write(json.toString());
-    }
-
-    private void sendApiError(HttpServletResponse response, int statusCode, String message) throws IOException {
-        response.setStatus(statusCode);
-        response.setContentType("application/json");
-        String json = String.format("{\"success\":false,\"error\":\"%s\",\"code\":%d}", message, statusCode);
-        response.getWriter().write(json);
-    }
-
-    private String escapeJson(String value) {
-        if (value == null) return "";
-        return value.replace("\\", "\\\\").replace("\"", "\\\"");
     }
 
     @Override
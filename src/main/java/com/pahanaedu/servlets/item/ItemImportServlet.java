@@ -0,0 +1,107 @@
+package com.pahanaedu.servlets.item;
+
+import com.pahanaedu.service.interfaces.ItemService;
+import com.pahanaedu.service.impl.ItemServiceImpl;
+import com.pahanaedu.servlets.common.BaseServlet;
+import com.pahanaedu.util.DatabaseConnection;
+import com.pahanaedu.util.ImportReport;
+import com.pahanaedu.util.ItemImportReader;
+import com.pahanaedu.util.JsonWriter;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Bulk catalog import for term book lists
+ * Reads items from the request body as NDJSON or CSV, validates each row and
+ * inserts or updates the valid ones in JDBC batches. The body is read as a stream,
+ * so only one batch of items is held in memory however large the upload is.
+ *
+ * POST /api/items/import[?format=ndjson|csv][&batchSize=n]
+ * The format defaults from the Content-Type (text/csv, otherwise NDJSON). The
+ * response lists rejected rows by line with the reason, and the rows per second.
+ *
+ * Design Patterns Used:
+ * - Iterator Pattern: Rows are pulled from the body one at a time
+ * - Strategy Pattern: Input format chosen per request
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@WebServlet(name = "ItemImportServlet", urlPatterns = {"/api/items/import"})
+public class ItemImportServlet extends BaseServlet {
+
+    private static final int MAX_BATCH_SIZE = 5000;
+
+    private ItemService itemService;
+    private int defaultBatchSize;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        this.itemService = new ItemServiceImpl();
+        this.defaultBatchSize = DatabaseConnection.getInstance().getIntProperty("import.item.batchSize", 500);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (!isUserLoggedIn(request)) {
+            sendApiError(response, 401, "Authentication required");
+            return;
+        }
+
+        if (!isAdmin(request)) {
+            sendApiError(response, 403, "Only administrators can import items");
+            return;
+        }
+
+        String formatParam = request.getParameter("format");
+        ItemImportReader.Format format = formatParam != null
+                ? ItemImportReader.Format.fromParameter(formatParam)
+                : ItemImportReader.Format.fromContentType(request.getContentType());
+        if (format == null) {
+            sendApiError(response, 400, "Unsupported import format");
+            return;
+        }
+
+        int batchSize = Math.max(1, Math.min(getIntParameter(request, "batchSize", defaultBatchSize), MAX_BATCH_SIZE));
+
+        if (request.getCharacterEncoding() == null) {
+            request.setCharacterEncoding("UTF-8");
+        }
+
+        try (ItemImportReader reader = new ItemImportReader(request.getReader(), format)) {
+            ImportReport report = itemService.importItems(reader, batchSize);
+
+            logAction(request, "IMPORT_ITEMS", "Format: " + format.name().toLowerCase()
+                    + ", Batch size: " + batchSize + ", " + report);
+
+            String message = report.isComplete() ? "Import finished" : "Import stopped early";
+            try (JsonWriter json = startJsonResponse(response, 200)) {
+                json.beginObject()
+                        .name("success").value(report.isComplete())
+                        .name("message").value(message)
+                        .name("data").value(report::writeTo)
+                        .endObject();
+            }
+
+        } catch (Exception e) {
+            System.err.println("Error importing items: " + e.getMessage());
+            if (!response.isCommitted()) {
+                response.reset();
+                sendApiError(response, 500, "Import failed");
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        this.itemService = null;
+    }
+}
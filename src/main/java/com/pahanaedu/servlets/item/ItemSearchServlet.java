@@ -4,6 +4,8 @@ import com.pahanaedu.models.Item;
 import com.pahanaedu.service.interfaces.ItemService;
 import com.pahanaedu.service.impl.ItemServiceImpl;
 import com.pahanaedu.servlets.common.BaseServlet;
+import com.pahanaedu.util.ItemSearchIndex;
+import com.pahanaedu.util.JsonWriter;
 import com.pahanaedu.util.ValidationUtils;
 
 import jakarta.servlet.ServletException;
@@ -11,7 +13,10 @@ import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Simple Item Search Servlet
@@ -20,6 +25,11 @@ import java.util.List;
 @WebServlet(name = "ItemSearchServlet", urlPatterns = {"/items/search"})
 public class ItemSearchServlet extends BaseServlet {
 
+    private static final int AJAX_RESULT_LIMIT = 10;
+
+    // Parameters a page or facet link carries over; page is added per link, category per page link
+    private static final String[] LINK_PARAMS = {"q", "type", "minPrice", "maxPrice", "stockLevel", "sort", PARAM_SIZE};
+
     private ItemService itemService;
 
     @Override
@@ -60,38 +70,55 @@ public class ItemSearchServlet extends BaseServlet {
 
         String searchTerm = getSanitizedParameter(request, "q");
         String searchType = getParameter(request, "type", "name");
+        ItemSearchIndex.Query query = buildQuery(request);
 
-        if (!ValidationUtils.isNotEmpty(searchTerm)) {
-            setErrorMessage(request, "Please enter a search term");
-            redirectTo(response, request.getContextPath() + "/items");
+        if ("id".equals(searchType)) {
+            if (!ValidationUtils.isNotEmpty(searchTerm)) {
+                forwardToJSP(request, response, "item/search.jsp");
+                return;
+            }
+            Item item = itemService.findItemById(searchTerm);
+            List<Item> items = item != null ? List.of(item) : List.of();
+            setSearchAttributes(request, searchTerm, searchType, items, items.size(), Map.of());
+            logAction(request, "ITEM_SEARCH", "Term: " + searchTerm + ", Results: " + items.size());
+            forwardToJSP(request, response, "item/search.jsp");
             return;
         }
 
-        List<Item> items = null;
-
-        switch (searchType) {
-            case "name":
-                items = itemService.searchItemsByName(searchTerm);
-                break;
-            case "category":
-                items = itemService.getItemsByCategory(searchTerm);
-                break;
-            case "id":
-                Item item = itemService.findItemById(searchTerm);
-                items = item != null ? List.of(item) : List.of();
-                break;
-            default:
-                items = itemService.searchItemsByName(searchTerm);
+        if ("category".equals(searchType)) {
+            // An explicit category (a facet link) wins over the term. Category names may
+            // contain characters sanitizeInput strips, e.g. "Arts & Crafts"
+            if (!ValidationUtils.isNotEmpty(query.getCategory())) {
+                query.setCategory(getParameter(request, "q", null));
+            }
+        } else {
+            query.setText(searchTerm);
         }
 
-        request.setAttribute("items", items);
-        request.setAttribute("searchTerm", searchTerm);
-        request.setAttribute("searchType", searchType);
-        request.setAttribute("resultCount", items.size());
+        // No criteria yet: show the search form
+        if (!ValidationUtils.isNotEmpty(query.getText()) && !ValidationUtils.isNotEmpty(query.getCategory())
+                && query.getMinPrice() == null && query.getMaxPrice() == null && !query.isInStockOnly()) {
+            forwardToJSP(request, response, "item/search.jsp");
+            return;
+        }
 
-        logAction(request, "ITEM_SEARCH", "Term: " + searchTerm + ", Results: " + items.size());
+        int[] pagination = getPaginationParams(request);
+        query.setOffset(pagination[2]);
+        query.setLimit(pagination[1]);
 
-        forwardToJSP(request, response, "item/item-search-results.jsp");
+        ItemSearchIndex.Result result = itemService.searchItems(query);
+
+        setSearchAttributes(request, searchTerm, searchType, result.getItems(), result.getTotalCount(),
+                result.getCategoryCounts());
+        request.setAttribute("currentPage", pagination[0]);
+        request.setAttribute("pageSize", pagination[1]);
+        request.setAttribute("totalPages", (result.getTotalCount() + pagination[1] - 1) / pagination[1]);
+        request.setAttribute("searchQuery", buildLinkQuery(request, true));
+        request.setAttribute("facetQuery", buildLinkQuery(request, false));
+
+        logAction(request, "ITEM_SEARCH", "Term: " + searchTerm + ", Results: " + result.getTotalCount());
+
+        forwardToJSP(request, response, "item/search.jsp");
     }
 
     private void performAjaxSearch(HttpServletRequest request, HttpServletResponse response)
@@ -105,37 +132,87 @@ public class ItemSearchServlet extends BaseServlet {
         }
 
         try {
-            List<Item> items = itemService.searchItemsByName(searchTerm);
-
-            // Limit results for AJAX
-            if (items.size() > 10) {
-                items = items.subList(0, 10);
+            ItemSearchIndex.Query query = buildQuery(request);
+            query.setText(searchTerm);
+            query.setLimit(AJAX_RESULT_LIMIT);
+            List<Item> items = itemService.searchItems(query).getItems();
+
+            try (JsonWriter json = startJsonResponse(response, HttpServletResponse.SC_OK)) {
+                json.beginArray();
+                for (Item item : items) {
+                    json.beginObject()
+                            .name("itemId").value(item.getItemId())
+                            .name("name").value(item.getName())
+                            .name("category").value(item.getCategory())
+                            .name("price").value(item.getPrice())
+                            .name("stock").value(item.getStockQuantity())
+                            .endObject();
+                }
+                json.endArray();
             }
 
-            StringBuilder json = new StringBuilder("[");
-            for (int i = 0; i < items.size(); i++) {
-                Item item = items.get(i);
-                if (i > 0) json.append(",");
-                json.append("{")
-                        .append("\"itemId\":\"").append(item.getItemId()).append("\",")
-                        .append("\"name\":\"").append(escapeJson(item.getName())).append("\",")
-                        .append("\"category\":\"").append(escapeJson(item.getCategory())).append("\",")
-                        .append("\"price\":").append(item.getPrice()).append(",")
-                        .append("\"stock\":").append(item.getStockQuantity())
-                        .append("}");
-            }
-            json.append("]");
-
-            sendJsonResponse(response, json.toString());
-
         } catch (Exception e) {
             sendJsonResponse(response, "[]");
         }
     }
 
-    private String escapeJson(String value) {
-        if (value == null) return "";
-        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    /**
+     * Read the category, price, stock and sort filters shared by both search actions
+     */
+    private ItemSearchIndex.Query buildQuery(HttpServletRequest request) {
+        ItemSearchIndex.Query query = new ItemSearchIndex.Query();
+        // Matched in memory against the index, never put into SQL or markup, so use it as typed
+        query.setCategory(getParameter(request, "category", null));
+        query.setMinPrice(getDecimalParameter(request, "minPrice"));
+        query.setMaxPrice(getDecimalParameter(request, "maxPrice"));
+        query.setInStockOnly("in-stock".equals(request.getParameter("stockLevel")));
+        query.setSort(parseSort(request.getParameter("sort")));
+        return query;
+    }
+
+    /**
+     * Encode the current search as a query string for page and facet links
+     *
+     * @param includeCategory false for facet links, which set their own category
+     */
+    private String buildLinkQuery(HttpServletRequest request, boolean includeCategory) {
+        StringBuilder query = new StringBuilder("action=search");
+        for (String name : LINK_PARAMS) {
+            appendLinkParam(query, name, request.getParameter(name));
+        }
+        if (includeCategory) {
+            appendLinkParam(query, "category", request.getParameter("category"));
+        }
+        return query.toString();
+    }
+
+    private void appendLinkParam(StringBuilder query, String name, String value) {
+        if (ValidationUtils.isNotEmpty(value)) {
+            query.append('&').append(name).append('=')
+                    .append(URLEncoder.encode(value.trim(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private ItemSearchIndex.Sort parseSort(String sort) {
+        if (!ValidationUtils.isNotEmpty(sort)) {
+            return ItemSearchIndex.Sort.NAME;
+        }
+        try {
+            return ItemSearchIndex.Sort.valueOf(sort.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            return ItemSearchIndex.Sort.NAME;
+        }
+    }
+
+    private void setSearchAttributes(HttpServletRequest request, String searchTerm, String searchType,
+                                     List<Item> items, int totalCount, Map<String, Integer> categoryCounts) {
+        request.setAttribute("items", items);
+        request.setAttribute("searchTerm", searchTerm);
+        request.setAttribute("searchType", searchType);
+        request.setAttribute("resultCount", totalCount);
+        request.setAttribute("searchResultCount", totalCount);
+        request.setAttribute("categoryCounts", categoryCounts);
+        request.setAttribute("searchPerformed", true);
     }
 
     @Override
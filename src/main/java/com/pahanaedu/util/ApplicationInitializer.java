@@ -1,5 +1,6 @@
 package com.pahanaedu.util;
 
+import com.pahanaedu.service.impl.CustomerServiceImpl;
 import jakarta.servlet.ServletContextEvent;
 import jakarta.servlet.ServletContextListener;
 import jakarta.servlet.annotation.WebListener;
@@ -44,10 +45,18 @@ public class ApplicationInitializer implements ServletContextListener {
             System.err.println("=== Application Initializer Failed: " + e.getMessage() + " ===");
             e.printStackTrace();
         }
+
+        // Build customer search and autocomplete before the first keystroke
+        new CustomerServiceImpl().warmUpSearch();
     }
     
     @Override
     public void contextDestroyed(ServletContextEvent sce) {
+        // Stop import, request and password workers, then release pooled database connections
+        WorkerPool.shutdownShared();
+        BlockingRequestExecutor.shutdownShared();
+        PasswordVerifier.shutdownShared();
+        DatabaseConnection.shutdown();
         System.out.println("=== Application Initializer Destroyed ===");
     }
     
@@ -0,0 +1,254 @@
+package com.pahanaedu.util;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs slow request work on a dedicated bounded pool using servlet async processing
+ * dispatch() puts the request in async mode and returns, so the container thread
+ * goes back to serving other requests (checkout) while the job runs here. The job
+ * does the slow part and returns a Responder; writing the response and completing
+ * the request happen only if the request has not already timed out or failed.
+ *
+ * Writing a response and answering a timeout exclude each other: both happen under
+ * a per-request lock, so a timeout that fires while the result is being written
+ * waits for the write to finish instead of returning mid-write and letting the
+ * container recycle a response the pool thread is still writing to.
+ *
+ * Limits:
+ * - threads: jobs running at once, which also caps the connections they hold
+ * - queueSize: jobs waiting; beyond it requests are refused at once with 503
+ * - timeout: from dispatch, including time queued; an expired request gets 503
+ *   and its job is interrupted, or skipped if it has not started
+ *
+ * Design Patterns Used:
+ * - Command Pattern: Jobs and responders are passed in as objects
+ * - Bounded Queue: Saturation is refused early instead of piling up requests
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class AsyncRequestExecutor {
+
+    /**
+     * The slow part of a request, run on a pool thread
+     */
+    @FunctionalInterface
+    public interface Job {
+        /**
+         * @return Writes the result; called only if the request is still waiting for it
+         */
+        Responder run() throws Exception;
+    }
+
+    /**
+     * Writes a response
+     */
+    @FunctionalInterface
+    public interface Responder {
+        void respond(HttpServletResponse response) throws IOException;
+    }
+
+    /**
+     * Writes an error response with a status code and message
+     */
+    @FunctionalInterface
+    public interface ErrorResponder {
+        void respond(HttpServletResponse response, int statusCode, String message) throws IOException;
+    }
+
+    private static final int RETRY_AFTER_SECONDS = 5;
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    /**
+     * @param name Prefix of the pool thread names, also used in log messages
+     * @param threads Jobs run at once
+     * @param queueSize Jobs allowed to wait for a thread
+     * @param timeoutMillis Time from dispatch to response before the request gets 503
+     */
+    public AsyncRequestExecutor(String name, int threads, int queueSize, long timeoutMillis) {
+        this.name = name;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger counter = new AtomicInteger();
+        int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Hand the request to the pool; the calling container thread returns immediately
+     * The servlet and every filter in front of it must be asyncSupported.
+     *
+     * @param job Slow work, returning how to write its result
+     * @param errors Writes the 503/500 responses for refused, expired and failed jobs
+     */
+    public void dispatch(HttpServletRequest request, HttpServletResponse response, Job job,
+                         ErrorResponder errors) throws IOException {
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(timeoutMillis);
+
+        Exchange exchange = new Exchange(asyncContext);
+
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) throws IOException {
+                // Waits here if the result is being written right now
+                synchronized (exchange) {
+                    if (exchange.answered.compareAndSet(false, true)) {
+                        timeoutCount.incrementAndGet();
+                        System.err.println(name + ": request timed out after " + timeoutMillis + "ms: "
+                                + request.getRequestURI());
+                        Future<?> future = exchange.running;
+                        if (future != null) {
+                            future.cancel(true);
+                        }
+                        sendError(asyncContext, errors, 503, "Request timed out, please retry");
+                    }
+                }
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                // Client went away; let the job finish into nothing
+                exchange.answered.set(true);
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+
+        try {
+            exchange.running = executor.submit(() -> run(exchange, job, errors));
+        } catch (RejectedExecutionException e) {
+            synchronized (exchange) {
+                if (exchange.answered.compareAndSet(false, true)) {
+                    rejectedCount.incrementAndGet();
+                    HttpServletResponse asyncResponse = (HttpServletResponse) asyncContext.getResponse();
+                    asyncResponse.setHeader("Retry-After", String.valueOf(RETRY_AFTER_SECONDS));
+                    sendError(asyncContext, errors, 503, "Server busy, please retry");
+                }
+            }
+        }
+    }
+
+    private void run(Exchange exchange, Job job, ErrorResponder errors) {
+        if (exchange.answered.get()) {
+            // Timed out while queued
+            return;
+        }
+
+        Responder responder;
+        try {
+            responder = job.run();
+        } catch (Exception e) {
+            synchronized (exchange) {
+                if (exchange.answered.compareAndSet(false, true)) {
+                    System.err.println(name + ": job failed: " + e.getMessage());
+                    sendError(exchange.asyncContext, errors, 500, "Internal server error");
+                }
+            }
+            return;
+        }
+
+        synchronized (exchange) {
+            if (exchange.answered.compareAndSet(false, true)) {
+                try {
+                    responder.respond((HttpServletResponse) exchange.asyncContext.getResponse());
+                    completedCount.incrementAndGet();
+                } catch (Exception e) {
+                    System.err.println(name + ": error writing response: " + e.getMessage());
+                } finally {
+                    complete(exchange.asyncContext);
+                }
+            }
+        }
+    }
+
+    private void sendError(AsyncContext asyncContext, ErrorResponder errors, int statusCode, String message) {
+        try {
+            HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+            if (!response.isCommitted()) {
+                errors.respond(response, statusCode, message);
+            }
+        } catch (Exception e) {
+            System.err.println(name + ": error writing error response: " + e.getMessage());
+        } finally {
+            complete(asyncContext);
+        }
+    }
+
+    private static void complete(AsyncContext asyncContext) {
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // Already completed by the container
+        }
+    }
+
+    /**
+     * One dispatched request; its monitor guards writing the response
+     */
+    private static final class Exchange {
+        final AsyncContext asyncContext;
+        final AtomicBoolean answered = new AtomicBoolean();
+        volatile Future<?> running;
+
+        Exchange(AsyncContext asyncContext) {
+            this.asyncContext = asyncContext;
+        }
+    }
+
+    /**
+     * Stop the pool; jobs still queued are dropped and their requests time out
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Get executor statistics for monitoring
+     */
+    public String getStats() {
+        return name + " - Active: " + getActiveCount() + ", Queued: " + getQueuedCount()
+                + ", Completed: " + completedCount.get() + ", Rejected: " + rejectedCount.get()
+                + ", Timed out: " + timeoutCount.get();
+    }
+}
@@ -0,0 +1,94 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Bill;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+/**
+ * Position in the bill listing for keyset (seek) pagination
+ * Bills are listed newest first by (bill_date, bill_number); a cursor holds the
+ * key of the last bill on a page so the next page starts right after it without
+ * an OFFSET scan. Cursors travel to clients as opaque URL-safe tokens.
+ *
+ * Design Patterns Used:
+ * - Value Object Pattern: Immutable pagination key
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public final class BillCursor {
+
+    private final Timestamp billDate;
+    private final String billNumber;
+
+    public BillCursor(Timestamp billDate, String billNumber) {
+        if (billDate == null || billNumber == null) {
+            throw new IllegalArgumentException("Bill date and bill number are required");
+        }
+        this.billDate = billDate;
+        this.billNumber = billNumber;
+    }
+
+    /**
+     * Cursor positioned after the given bill
+     *
+     * @param bill Last bill of the current page
+     * @return Cursor for the following page
+     */
+    public static BillCursor after(Bill bill) {
+        return new BillCursor(bill.getBillDate(), bill.getBillNumber());
+    }
+
+    /**
+     * Encode the cursor as an opaque token
+     *
+     * @return URL-safe token
+     */
+    public String encode() {
+        String raw = billDate.getTime() + ":" + billDate.getNanos() + ":" + billNumber;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by encode()
+     *
+     * @param token Token from a client
+     * @return Cursor, or null if the token is missing or malformed
+     */
+    public static BillCursor decode(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3 || parts[2].isEmpty()) {
+                return null;
+            }
+
+            Timestamp billDate = new Timestamp(Long.parseLong(parts[0]));
+            billDate.setNanos(Integer.parseInt(parts[1]));
+            return new BillCursor(billDate, parts[2]);
+
+        } catch (IllegalArgumentException e) {
+            // Covers bad Base64, bad numbers and out-of-range nanos
+            return null;
+        }
+    }
+
+    public Timestamp getBillDate() {
+        return billDate;
+    }
+
+    public String getBillNumber() {
+        return billNumber;
+    }
+
+    @Override
+    public String toString() {
+        return "BillCursor{billDate=" + billDate + ", billNumber='" + billNumber + "'}";
+    }
+}
@@ -0,0 +1,282 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Bill;
+import com.pahanaedu.models.BillItem;
+import com.pahanaedu.models.Item;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Writes bills with their items to an export stream one bill at a time
+ * Supports NDJSON (one bill object per line, followed by a summary line) and
+ * CSV (one row per bill item). Every bill carries the BillCursor token that
+ * resumes the export after it, so an interrupted download can be continued
+ * with ?since=<cursor> instead of being restarted.
+ *
+ * For CSV the cursor is the last column; a bill is complete once a row of the
+ * next bill (or the end of the file) has been received, so resume from the
+ * cursor of the last complete bill.
+ *
+ * Call begin() once, write() for each bill, then finish().
+ *
+ * Design Patterns Used:
+ * - Strategy Pattern: Output format chosen per export
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class BillExportWriter implements RowHandler<Bill> {
+
+    /**
+     * Supported export formats
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * @return Format for a request parameter value, or null if unsupported
+         */
+        public static Format fromParameter(String value) {
+            if (value == null) {
+                return null;
+            }
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value.trim())) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Writer out;
+    private final Format format;
+    private long startNanos;
+    private int billCount;
+    private long rowCount;
+    private String lastCursor;
+
+    public BillExportWriter(Writer out, Format format) {
+        this.out = out;
+        this.format = format;
+    }
+
+    /**
+     * Write the CSV header and start the throughput clock
+     */
+    public void begin() throws IOException {
+        startNanos = System.nanoTime();
+        if (format == Format.CSV) {
+            out.write("Bill Number,Bill Date,Customer Account,Customer Name,Status,Payment Method,"
+                    + "Total Amount,Discount Amount,Item ID,Item Name,Category,Quantity,Unit Price,"
+                    + "Line Total,Cursor\n");
+        }
+    }
+
+    @Override
+    public void handle(Bill bill) throws IOException {
+        write(bill);
+    }
+
+    /**
+     * Write one bill with its items
+     */
+    public void write(Bill bill) throws IOException {
+        String cursor = BillCursor.after(bill).encode();
+        if (format == Format.CSV) {
+            writeCsv(bill, cursor);
+        } else {
+            writeJsonLine(bill, cursor);
+        }
+        billCount++;
+        lastCursor = cursor;
+    }
+
+    /**
+     * Finish the export and flush
+     * NDJSON exports end with a summary line holding the counts, the throughput and
+     * the cursor to resume from; a CSV file has nowhere to put it.
+     *
+     * @param complete false if the database read stopped part way
+     */
+    public void finish(boolean complete) throws IOException {
+        if (format == Format.NDJSON) {
+            out.write("{\"type\":\"summary\",\"complete\":");
+            out.write(String.valueOf(complete));
+            out.write(",\"bills\":");
+            out.write(String.valueOf(billCount));
+            out.write(",\"rows\":");
+            out.write(String.valueOf(rowCount));
+            out.write(",\"elapsedMillis\":");
+            out.write(String.valueOf(getElapsedMillis()));
+            out.write(",\"rowsPerSecond\":");
+            out.write(String.valueOf(getRowsPerSecond()));
+            out.write(",\"nextCursor\":");
+            out.write(lastCursor != null ? "\"" + lastCursor + "\"" : "null");
+            out.write("}\n");
+        }
+        out.flush();
+    }
+
+    /**
+     * @return Number of bills written so far
+     */
+    public int getBillCount() {
+        return billCount;
+    }
+
+    /**
+     * @return Number of bill item rows written so far; a bill without items counts as one row
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return Cursor after the last bill written, or null if none was written
+     */
+    public String getLastCursor() {
+        return lastCursor;
+    }
+
+    /**
+     * @return Milliseconds since begin()
+     */
+    public long getElapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * @return Rows written per second since begin()
+     */
+    public long getRowsPerSecond() {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        return rowCount * 1_000_000_000L / elapsedNanos;
+    }
+
+    private void writeCsv(Bill bill, String cursor) throws IOException {
+        List<BillItem> items = bill.getBillItems();
+        if (items.isEmpty()) {
+            writeCsvRow(bill, null, cursor);
+            return;
+        }
+        for (BillItem item : items) {
+            writeCsvRow(bill, item, cursor);
+        }
+    }
+
+    private void writeCsvRow(Bill bill, BillItem billItem, String cursor) throws IOException {
+        Item item = billItem != null ? billItem.getItem() : null;
+
+        out.write('"');
+        out.write(escapeCsv(bill.getBillNumber()));
+        out.write("\",\"");
+        out.write(bill.getBillDate() != null ? bill.getBillDate().toString() : "");
+        out.write("\",\"");
+        out.write(escapeCsv(bill.getCustomerAccountNumber()));
+        out.write("\",\"");
+        out.write(escapeCsv(bill.getCustomerName()));
+        out.write("\",\"");
+        out.write(bill.getStatus() != null ? bill.getStatus().name() : "");
+        out.write("\",\"");
+        out.write(bill.getPaymentMethod() != null ? bill.getPaymentMethod().name() : "");
+        out.write("\",\"");
+        out.write(amount(bill.getTotalAmount()));
+        out.write("\",\"");
+        out.write(amount(bill.getDiscountAmount()));
+        out.write("\",\"");
+        out.write(billItem != null ? escapeCsv(billItem.getItemId()) : "");
+        out.write("\",\"");
+        out.write(item != null ? escapeCsv(item.getName()) : "");
+        out.write("\",\"");
+        out.write(item != null ? escapeCsv(item.getCategory()) : "");
+        out.write("\",\"");
+        out.write(billItem != null ? String.valueOf(billItem.getQuantity()) : "");
+        out.write("\",\"");
+        out.write(billItem != null ? amount(billItem.getUnitPrice()) : "");
+        out.write("\",\"");
+        out.write(billItem != null ? amount(billItem.getLineTotal()) : "");
+        out.write("\",\"");
+        out.write(cursor);
+        out.write("\"\n");
+        rowCount++;
+    }
+
+    private void writeJsonLine(Bill bill, String cursor) throws IOException {
+        out.write("{\"type\":\"bill\",\"billNumber\":\"");
+        JsonWriter.writeEscaped(out, bill.getBillNumber());
+        out.write("\",\"billDate\":\"");
+        out.write(bill.getBillDate() != null ? bill.getBillDate().toString() : "");
+        out.write("\",\"customerAccount\":\"");
+        JsonWriter.writeEscaped(out, bill.getCustomerAccountNumber());
+        out.write("\",\"customerName\":\"");
+        JsonWriter.writeEscaped(out, bill.getCustomerName());
+        out.write("\",\"status\":\"");
+        out.write(bill.getStatus() != null ? bill.getStatus().name() : "");
+        out.write("\",\"paymentMethod\":\"");
+        out.write(bill.getPaymentMethod() != null ? bill.getPaymentMethod().name() : "");
+        out.write("\",\"totalAmount\":");
+        out.write(amount(bill.getTotalAmount()));
+        out.write(",\"discountAmount\":");
+        out.write(amount(bill.getDiscountAmount()));
+        out.write(",\"notes\":\"");
+        JsonWriter.writeEscaped(out, bill.getNotes());
+        out.write("\",\"items\":[");
+
+        List<BillItem> items = bill.getBillItems();
+        for (int i = 0; i < items.size(); i++) {
+            BillItem billItem = items.get(i);
+            Item item = billItem.getItem();
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write("{\"itemId\":\"");
+            JsonWriter.writeEscaped(out, billItem.getItemId());
+            out.write("\",\"itemName\":\"");
+            JsonWriter.writeEscaped(out, item != null ? item.getName() : null);
+            out.write("\",\"category\":\"");
+            JsonWriter.writeEscaped(out, item != null ? item.getCategory() : null);
+            out.write("\",\"quantity\":");
+            out.write(String.valueOf(billItem.getQuantity()));
+            out.write(",\"unitPrice\":");
+            out.write(amount(billItem.getUnitPrice()));
+            out.write(",\"lineTotal\":");
+            out.write(amount(billItem.getLineTotal()));
+            out.write('}');
+        }
+
+        out.write("],\"cursor\":\"");
+        out.write(cursor);
+        out.write("\"}\n");
+        rowCount += Math.max(1, items.size());
+    }
+
+    private static String amount(BigDecimal value) {
+        return value != null ? value.toPlainString() : "0";
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) return "";
+        return value.replace("\"", "\"\"");
+    }
+}
@@ -0,0 +1,257 @@
+package com.pahanaedu.util;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Execution mode for servlets whose work is blocking JDBC
+ * Every request that reaches a DAO holds a pooled connection, so at most
+ * db.pool.maxActive of them make progress at once; the rest only wait. This class
+ * puts a semaphore of that size in front of servlet work, so waiting requests queue
+ * on a permit (and get 503 after servlet.execution.permitWaitMillis) instead of
+ * queueing inside the connection pool with a connection timeout.
+ *
+ * Modes (servlet.execution.mode):
+ * - platform: servlets run on the container thread as before, with no limiter
+ * - virtual: requests to asyncSupported servlets are released from the container
+ *   thread and run on a virtual thread, one per request, that waits for a permit.
+ *   Waiting costs no platform thread, so a burst of slow requests does not grow the
+ *   container pool. Virtual threads need Java 21; on an older runtime the limiter is
+ *   still applied but requests stay on the container thread.
+ *
+ * There is no async timeout: the only bounded wait is for a permit. Once the work
+ * starts it owns the response until it finishes, because blocking JDBC cannot be
+ * interrupted and a timeout answered meanwhile would let the container recycle a
+ * response the work is still writing to.
+ *
+ * Design Patterns Used:
+ * - Singleton Pattern: One executor and limiter shared by all servlets
+ * - Strategy Pattern: Platform or virtual thread execution chosen from configuration
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class BlockingRequestExecutor {
+
+    /**
+     * Servlet work run under the limiter
+     */
+    @FunctionalInterface
+    public interface Work {
+        void run() throws ServletException, IOException;
+    }
+
+    public static final String MODE_PLATFORM = "platform";
+    public static final String MODE_VIRTUAL = "virtual";
+
+    private static final int RETRY_AFTER_SECONDS = 2;
+
+    private static volatile BlockingRequestExecutor shared;
+    private static final Object lock = new Object();
+
+    private final boolean enabled;
+    private final ExecutorService virtualThreads;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long permitWaitMillis;
+
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * @param mode MODE_PLATFORM or MODE_VIRTUAL
+     * @param maxConcurrent Requests allowed to run servlet work at once
+     * @param permitWaitMillis Time a request waits for a permit before it gets 503
+     */
+    public BlockingRequestExecutor(String mode, int maxConcurrent, long permitWaitMillis) {
+        this.enabled = MODE_VIRTUAL.equalsIgnoreCase(mode);
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.permits = new Semaphore(this.maxConcurrent, true);
+        this.permitWaitMillis = Math.max(0, permitWaitMillis);
+        this.virtualThreads = enabled ? newVirtualThreadExecutor() : null;
+
+        if (enabled && virtualThreads == null) {
+            System.err.println("Virtual threads need Java 21 (running " + Runtime.version()
+                    + "); servlet requests stay on container threads behind the limiter");
+        }
+    }
+
+    /**
+     * Get the shared executor, configured from database.properties
+     * servlet.execution.maxConcurrent defaults to db.pool.maxActive and the permit wait
+     * to db.pool.maxWait, the same bounds the connection pool itself enforces.
+     */
+    public static BlockingRequestExecutor getShared() {
+        if (shared == null) {
+            synchronized (lock) {
+                if (shared == null) {
+                    DatabaseConnection config = DatabaseConnection.getInstance();
+                    int maxConcurrent = config.getIntProperty("servlet.execution.maxConcurrent", 0);
+                    int permitWaitMillis = config.getIntProperty("servlet.execution.permitWaitMillis", -1);
+                    shared = new BlockingRequestExecutor(
+                            config.getProperty("servlet.execution.mode", MODE_PLATFORM),
+                            maxConcurrent > 0 ? maxConcurrent : config.getIntProperty("db.pool.maxActive", 20),
+                            permitWaitMillis >= 0 ? permitWaitMillis : config.getIntProperty("db.pool.maxWait", 30) * 1000L);
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Stop the shared executor; called when the application shuts down
+     */
+    public static void shutdownShared() {
+        synchronized (lock) {
+            if (shared != null) {
+                shared.shutdown();
+                shared = null;
+            }
+        }
+    }
+
+    /**
+     * Create Executors.newVirtualThreadPerTaskExecutor() when the runtime has it
+     * Looked up by reflection so the application still builds and runs on Java 17.
+     *
+     * @return The executor, or null before Java 21
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            System.err.println("Could not create virtual thread executor: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return true when servlet work should go through execute()
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return true when requests run on virtual threads
+     */
+    public boolean isVirtual() {
+        return virtualThreads != null;
+    }
+
+    /**
+     * Run servlet work under the limiter
+     * On virtual threads when available and the request allows async processing,
+     * otherwise on the calling container thread.
+     */
+    public void execute(HttpServletRequest request, HttpServletResponse response, Work work)
+            throws ServletException, IOException {
+        if (virtualThreads == null || !request.isAsyncSupported() || request.isAsyncStarted()) {
+            runLimited(response, work);
+            return;
+        }
+
+        AsyncContext asyncContext = request.startAsync(request, response);
+        // No timeout; the work completes the request itself (see class comment)
+        asyncContext.setTimeout(0);
+
+        try {
+            virtualThreads.submit(() -> {
+                try {
+                    runLimited(response, work);
+                } catch (Exception e) {
+                    System.err.println("Error processing " + request.getRequestURI() + ": " + e.getMessage());
+                    e.printStackTrace();
+                    sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Internal server error");
+                } finally {
+                    complete(asyncContext);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server is shutting down");
+            complete(asyncContext);
+        }
+    }
+
+    private void runLimited(HttpServletResponse response, Work work) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(permitWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (!acquired) {
+            rejectedCount.incrementAndGet();
+            response.setHeader("Retry-After", String.valueOf(RETRY_AFTER_SECONDS));
+            sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server busy, please retry");
+            return;
+        }
+
+        try {
+            work.run();
+            completedCount.incrementAndGet();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static void sendError(HttpServletResponse response, int statusCode, String message) {
+        try {
+            if (!response.isCommitted()) {
+                response.sendError(statusCode, message);
+            }
+        } catch (Exception e) {
+            System.err.println("Error writing error response: " + e.getMessage());
+        }
+    }
+
+    private static void complete(AsyncContext asyncContext) {
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // Already completed by the container
+        }
+    }
+
+    /**
+     * Stop accepting work; requests already running finish on their own threads
+     */
+    public void shutdown() {
+        if (virtualThreads != null) {
+            virtualThreads.shutdown();
+        }
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Get executor statistics for monitoring
+     */
+    public String getStats() {
+        return "Request executor (" + (isVirtual() ? "virtual threads" : "container threads")
+                + ") - Running: " + (maxConcurrent - permits.availablePermits()) + "/" + maxConcurrent
+                + ", Waiting: " + permits.getQueueLength() + ", Completed: " + completedCount.get()
+                + ", Rejected: " + rejectedCount.get();
+    }
+}
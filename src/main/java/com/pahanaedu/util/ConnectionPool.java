@@ -0,0 +1,414 @@
+package com.pahanaedu.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded JDBC connection pool used behind {@link DatabaseConnection}
+ * Keeps physical connections open between DAO calls so that each call does not
+ * pay a full TCP and MySQL authentication handshake
+ *
+ * Behaviour:
+ * - At most maxActive connections are open at any time
+ * - Borrowers wait fairly (FIFO) for up to maxWait milliseconds
+ * - Idle connections are validated with a cheap ping before being handed out
+ * - Idle connections above minIdle are evicted after idleTimeout
+ * - Calling close() on a borrowed connection returns it to the pool
+ * - prepareStatement(sql) is served from a per-connection {@link StatementCache}
+ *
+ * Design Patterns Used:
+ * - Object Pool Pattern: Reuses expensive connection objects
+ * - Proxy Pattern: Borrowed connections are proxies that intercept close()
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class ConnectionPool {
+
+    /**
+     * Creates new physical connections for the pool
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private final ConnectionFactory connectionFactory;
+    private final int minIdle;
+    private final int maxIdle;
+    private final int maxActive;
+    private final long maxWaitMillis;
+    private final long idleTimeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    // Permits represent connections that may still be handed out (fair = FIFO waiting)
+    private final Semaphore permits;
+    // Most recently returned connection is reused first so warm connections stay warm
+    private final ConcurrentLinkedDeque<PooledConnection> idleConnections = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger openCount = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final ScheduledExecutorService evictor;
+
+    // Statement cache statistics across all connections
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+
+    /**
+     * Create a new pool
+     *
+     * @param connectionFactory Factory for physical connections
+     * @param minIdle Minimum number of idle connections kept open
+     * @param maxIdle Maximum number of idle connections kept open
+     * @param maxActive Maximum number of open connections
+     * @param maxWaitMillis Maximum time to wait for a connection when the pool is exhausted
+     * @param idleTimeoutMillis Idle time after which connections above minIdle are closed
+     * @param evictionIntervalMillis Interval between eviction runs (0 disables eviction)
+     * @param validationTimeoutSeconds Timeout used when pinging idle connections
+     * @param statementCacheSize Prepared statements cached per connection (0 disables caching)
+     */
+    public ConnectionPool(ConnectionFactory connectionFactory, int minIdle, int maxIdle, int maxActive,
+                          long maxWaitMillis, long idleTimeoutMillis, long evictionIntervalMillis,
+                          int validationTimeoutSeconds, int statementCacheSize) {
+        if (maxActive <= 0) {
+            throw new IllegalArgumentException("maxActive must be positive");
+        }
+        if (minIdle < 0 || minIdle > maxActive) {
+            throw new IllegalArgumentException("minIdle must be between 0 and maxActive");
+        }
+
+        this.connectionFactory = connectionFactory;
+        this.minIdle = minIdle;
+        this.maxIdle = Math.max(minIdle, Math.min(maxIdle, maxActive));
+        this.maxActive = maxActive;
+        this.maxWaitMillis = maxWaitMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+        this.permits = new Semaphore(maxActive, true);
+
+        if (evictionIntervalMillis > 0) {
+            this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "pahanaedu-pool-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.evictor.scheduleWithFixedDelay(this::evictIdleConnections,
+                    evictionIntervalMillis, evictionIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.evictor = null;
+        }
+    }
+
+    /**
+     * Open connections up to the given count so that the first requests do not pay for it
+     *
+     * @param initialSize Number of connections to open
+     */
+    public void prefill(int initialSize) {
+        int target = Math.min(initialSize, maxIdle);
+        while (idleConnections.size() < target && !closed.get()) {
+            try {
+                idleConnections.offerFirst(openPhysicalConnection());
+            } catch (SQLException e) {
+                System.err.println("Connection pool prefill stopped: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Borrow a connection from the pool
+     * The returned connection must be closed by the caller to return it to the pool
+     *
+     * @return Pooled connection
+     * @throws SQLException if the pool is closed, exhausted or a connection cannot be opened
+     */
+    public Connection borrow() throws SQLException {
+        if (closed.get()) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + maxWaitMillis
+                        + " ms waiting for a database connection (maxActive=" + maxActive + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = idleConnections.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    return pooled.lease();
+                }
+                destroy(pooled);
+            }
+            return openPhysicalConnection().lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Close all idle connections and stop accepting new borrowers
+     * Connections still in use are closed when they are returned
+     */
+    public void shutdown() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    public int getOpenCount() {
+        return openCount.get();
+    }
+
+    public int getIdleCount() {
+        return idleConnections.size();
+    }
+
+    public int getActiveCount() {
+        return maxActive - permits.availablePermits();
+    }
+
+    public int getMaxActive() {
+        return maxActive;
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits.get();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.get();
+    }
+
+    /**
+     * Get pool statistics (for debugging/logging)
+     *
+     * @return String containing pool statistics
+     */
+    public String getStats() {
+        return String.format("Pool: open=%d, idle=%d, active=%d, max=%d, waiting=%d, stmtCache hits=%d misses=%d",
+                getOpenCount(), getIdleCount(), getActiveCount(), maxActive, permits.getQueueLength(),
+                getStatementCacheHits(), getStatementCacheMisses());
+    }
+
+    /**
+     * Return a leased connection to the pool, or close it if it cannot be reused
+     */
+    private void giveBack(PooledConnection pooled) {
+        try {
+            if (pooled.statementCache != null) {
+                pooled.statementCache.releaseAll();
+            }
+            boolean reusable = !closed.get() && !pooled.broken && resetState(pooled.physical);
+            if (reusable && idleConnections.size() < maxIdle) {
+                pooled.lastUsed = System.currentTimeMillis();
+                idleConnections.offerFirst(pooled);
+            } else {
+                destroy(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Undo per-borrower state so the next borrower gets a clean connection
+     */
+    private boolean resetState(Connection physical) {
+        try {
+            if (physical.isClosed()) {
+                return false;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (physical.isReadOnly()) {
+                physical.setReadOnly(false);
+            }
+            physical.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Discarding pooled connection: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Validate an idle connection with a cheap ping before handing it out
+     */
+    private boolean isUsable(PooledConnection pooled) {
+        try {
+            return !pooled.physical.isClosed() && pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Close idle connections that exceeded the idle timeout while keeping minIdle open
+     */
+    private void evictIdleConnections() {
+        try {
+            long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+            Iterator<PooledConnection> iterator = idleConnections.descendingIterator();
+            while (iterator.hasNext() && idleConnections.size() > minIdle) {
+                PooledConnection pooled = iterator.next();
+                if (pooled.lastUsed < cutoff && idleConnections.remove(pooled)) {
+                    destroy(pooled);
+                }
+            }
+
+            // Top up to minIdle without exceeding maxActive
+            while (!closed.get() && idleConnections.size() < minIdle && openCount.get() < maxActive) {
+                idleConnections.offerLast(openPhysicalConnection());
+            }
+        } catch (Exception e) {
+            System.err.println("Connection pool eviction error: " + e.getMessage());
+        }
+    }
+
+    private PooledConnection openPhysicalConnection() throws SQLException {
+        Connection physical = connectionFactory.create();
+        openCount.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    private void destroy(PooledConnection pooled) {
+        openCount.decrementAndGet();
+        if (pooled.statementCache != null) {
+            pooled.statementCache.closeAll();
+        }
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A physical connection plus its pool bookkeeping
+     */
+    private final class PooledConnection {
+        final Connection physical;
+        final StatementCache statementCache;
+        volatile long lastUsed = System.currentTimeMillis();
+        volatile boolean broken;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statementCache = statementCacheSize > 0
+                    ? new StatementCache(physical, statementCacheSize, statementCacheHits, statementCacheMisses)
+                    : null;
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new LeaseHandler(this));
+        }
+    }
+
+    /**
+     * Invocation handler for a single lease of a pooled connection
+     * close() returns the connection to the pool, prepareStatement(sql) goes through
+     * the statement cache; every other call is delegated
+     */
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private final AtomicBoolean returned = new AtomicBoolean(false);
+
+        LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        giveBack(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+
+            if (returned.get()) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+
+            try {
+                if (pooled.statementCache != null && isPlainPrepare(method)) {
+                    return pooled.statementCache.prepare((String) args[0]);
+                }
+                return method.invoke(pooled.physical, args);
+            } catch (SQLException e) {
+                if (isFatal(e)) {
+                    pooled.broken = true;
+                }
+                throw e;
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException sqlException && isFatal(sqlException)) {
+                    pooled.broken = true;
+                }
+                throw cause;
+            }
+        }
+
+        /**
+         * Only prepareStatement(String) is cached; variants with result set or key options are not
+         */
+        private boolean isPlainPrepare(Method method) {
+            return "prepareStatement".equals(method.getName())
+                    && method.getParameterCount() == 1
+                    && method.getParameterTypes()[0] == String.class;
+        }
+
+        /**
+         * SQL state class 08 means the connection itself failed
+         */
+        private boolean isFatal(SQLException e) {
+            String sqlState = e.getSQLState();
+            return sqlState != null && sqlState.startsWith("08");
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Customer;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Prefix autocomplete over active customer names
+ * Keeps two sorted maps: one keyed by the whole normalized name and one keyed by
+ * the name from each later word onwards ("perera" and "perera stores" for
+ * "Nimal Perera Stores"). A prefix lookup is a range scan of each map that stops
+ * as soon as `limit` customers are found, so a keystroke never touches MySQL or
+ * builds the full list of matches.
+ *
+ * Hits on the start of the name come before hits on a later word; within each
+ * group customers are in order of the matched text. The maps are skip lists, so lookups run
+ * without locking while refresh() updates single customers after writes.
+ *
+ * Rebuilds after the TTL are single-flight: one lookup reads the customers table
+ * while concurrent keystrokes keep using the expired structure, or wait for the
+ * build when there is none.
+ *
+ * Design Patterns Used:
+ * - Singleton Pattern: One structure shared by every CustomerServiceImpl
+ * - Sorted Index: Prefix queries become range scans
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class CustomerAutocomplete {
+
+    // Separates the name from the account number in keys; sorts before any name character
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private static volatile CustomerAutocomplete instance;
+    private static final Object lock = new Object();
+
+    private final long ttlMillis;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong rebuilds = new AtomicLong();
+
+    // Replaced whole on rebuild; updated in place under this by refresh()
+    private volatile Entries entries;
+
+    // Guarded by this; set while one lookup rebuilds the structure for everyone
+    private CompletableFuture<Entries> pendingRebuild;
+
+    /**
+     * Create an autocomplete structure
+     *
+     * @param ttlMillis Time before it is rebuilt from the database
+     */
+    public CustomerAutocomplete(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Get the shared structure configured from database.properties
+     */
+    public static CustomerAutocomplete getInstance() {
+        if (instance == null) {
+            synchronized (lock) {
+                if (instance == null) {
+                    DatabaseConnection config = DatabaseConnection.getInstance();
+                    instance = new CustomerAutocomplete(
+                            config.getIntProperty("cache.customer.searchIndexTtlSeconds", 900) * 1000L);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the first active customers whose name, or a word in it, starts with the prefix
+     *
+     * @param prefix Typed prefix (case-insensitive)
+     * @param limit Maximum number of results
+     * @param loader Loads all active customers when the structure is (re)built
+     * @return Copies of at most limit customers
+     */
+    public List<Customer> complete(String prefix, int limit, Supplier<List<Customer>> loader) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        lookups.incrementAndGet();
+
+        Entries current = entries;
+        // An expired structure still answers while another lookup rebuilds it
+        if (current == null || (System.currentTimeMillis() >= current.expiresAt && !isRebuilding())) {
+            current = rebuildShared(loader);
+        }
+
+        // LinkedHashMap keeps name-start hits first and drops a customer's second hit
+        Map<String, Customer> hits = new LinkedHashMap<>();
+        collect(current.byName, key, limit, hits);
+        if (hits.size() < limit) {
+            collect(current.byWord, key, limit, hits);
+        }
+
+        List<Customer> results = new ArrayList<>(hits.size());
+        for (Customer customer : hits.values()) {
+            results.add(customer.clone());
+        }
+        return results;
+    }
+
+    /**
+     * Build the structure ahead of the first keystroke, e.g. at application startup
+     *
+     * @param loader Loads all active customers
+     */
+    public void warmUp(Supplier<List<Customer>> loader) {
+        rebuild(loader);
+    }
+
+    private synchronized boolean isRebuilding() {
+        return pendingRebuild != null;
+    }
+
+    /**
+     * Rebuild the structure once for all concurrent lookups
+     * The first caller loads and builds; the others wait for its result. If that
+     * build fails, each waiting caller builds for itself.
+     */
+    private Entries rebuildShared(Supplier<List<Customer>> loader) {
+        CompletableFuture<Entries> build;
+        boolean leader;
+        synchronized (this) {
+            leader = pendingRebuild == null;
+            if (leader) {
+                pendingRebuild = new CompletableFuture<>();
+            }
+            build = pendingRebuild;
+        }
+
+        if (!leader) {
+            try {
+                return build.join();
+            } catch (RuntimeException e) {
+                return rebuild(loader);
+            }
+        }
+
+        try {
+            Entries built = rebuild(loader);
+            build.complete(built);
+            return built;
+        } catch (RuntimeException e) {
+            build.completeExceptionally(e);
+            throw e;
+        } finally {
+            synchronized (this) {
+                pendingRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Load all active customers and replace the structure
+     *
+     * @return The new entries (not installed if a write raced the load)
+     */
+    private Entries rebuild(Supplier<List<Customer>> loader) {
+        long startVersion = version.get();
+        List<Customer> customers = loader.get();
+
+        Entries built = new Entries(System.currentTimeMillis() + ttlMillis);
+        for (Customer customer : customers) {
+            if (customer.isActive()) {
+                built.put(customer);
+            }
+        }
+        rebuilds.incrementAndGet();
+
+        synchronized (this) {
+            // An empty result may be a swallowed DAO error - do not pin it for a whole TTL
+            if (ttlMillis > 0 && !customers.isEmpty() && version.get() == startVersion) {
+                entries = built;
+            }
+        }
+        return built;
+    }
+
+    /**
+     * Re-read one customer after a write and update its keys
+     * Inactive or missing customers are removed. If the row cannot be read the
+     * structure is dropped instead, so a failed lookup never removes a customer.
+     *
+     * @param accountNumber Changed account number
+     * @param loader Loads the customer's current row
+     */
+    public void refresh(String accountNumber, CustomerCache.Loader loader) {
+        if (accountNumber == null) {
+            return;
+        }
+        version.incrementAndGet();
+        if (entries == null) {
+            return;
+        }
+
+        Customer customer;
+        try {
+            customer = loader.load(accountNumber);
+        } catch (SQLException e) {
+            System.err.println("Error refreshing autocomplete for " + accountNumber + ": " + e.getMessage());
+            invalidateAll();
+            return;
+        }
+
+        synchronized (this) {
+            Entries current = entries;
+            if (current == null) {
+                return;
+            }
+            if (customer != null && customer.isActive()) {
+                current.put(customer);
+            } else {
+                current.remove(accountNumber);
+            }
+        }
+    }
+
+    /**
+     * Drop the structure so the next lookup rebuilds it
+     */
+    public synchronized void invalidateAll() {
+        version.incrementAndGet();
+        entries = null;
+    }
+
+    private static void collect(NavigableMap<String, Customer> map, String prefix, int limit,
+                                Map<String, Customer> hits) {
+        for (Customer customer : map.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            hits.putIfAbsent(customer.getAccountNumber(), customer);
+            if (hits.size() >= limit) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Lowercase and collapse whitespace so "  Nimal   Perera" keys as "nimal perera"
+     */
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase();
+    }
+
+    public long getLookupCount() {
+        return lookups.get();
+    }
+
+    public long getRebuildCount() {
+        return rebuilds.get();
+    }
+
+    public int size() {
+        Entries current = entries;
+        return current != null ? current.keysByAccount.size() : 0;
+    }
+
+    /**
+     * Get statistics for monitoring
+     */
+    public String getStats() {
+        return String.format("CustomerAutocomplete{customers=%d, lookups=%d, rebuilds=%d, ttlMillis=%d}",
+                size(), getLookupCount(), getRebuildCount(), ttlMillis);
+    }
+
+    /**
+     * Sorted name keys for one build of the structure
+     */
+    private static final class Entries {
+        final NavigableMap<String, Customer> byName = new ConcurrentSkipListMap<>();
+        final NavigableMap<String, Customer> byWord = new ConcurrentSkipListMap<>();
+        // Keys currently held for each account, so an update can remove the old ones
+        final Map<String, List<String>> keysByAccount = new ConcurrentHashMap<>();
+        final long expiresAt;
+
+        Entries(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        void put(Customer customer) {
+            String accountNumber = customer.getAccountNumber();
+            remove(accountNumber);
+
+            String name = normalize(customer.getName());
+            if (name.isEmpty()) {
+                return;
+            }
+
+            Customer copy = customer.clone();
+            List<String> keys = new ArrayList<>();
+            String nameKey = name + KEY_SEPARATOR + accountNumber;
+            byName.put(nameKey, copy);
+            keys.add(nameKey);
+
+            for (int i = name.indexOf(' '); i >= 0; i = name.indexOf(' ', i + 1)) {
+                String wordKey = name.substring(i + 1) + KEY_SEPARATOR + accountNumber;
+                byWord.put(wordKey, copy);
+                keys.add(wordKey);
+            }
+            keysByAccount.put(accountNumber, keys);
+        }
+
+        void remove(String accountNumber) {
+            List<String> keys = keysByAccount.remove(accountNumber);
+            if (keys == null) {
+                return;
+            }
+            byName.remove(keys.get(0));
+            for (int i = 1; i < keys.size(); i++) {
+                byWord.remove(keys.get(i));
+            }
+        }
+    }
+}
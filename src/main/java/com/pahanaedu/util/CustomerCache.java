@@ -0,0 +1,224 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Customer;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through LRU cache of customers keyed by account number
+ * Billing, the customer pages and the APIs look the same few customers up over
+ * and over; hot customers are served from memory without a database round trip.
+ *
+ * Lookups that find no customer are cached too (negative entries) with a shorter
+ * TTL, so repeated probes for a mistyped account number do not each hit the
+ * database. A failed lookup is never cached: the loader throws instead of
+ * returning null, so a database blip cannot make a customer "not found".
+ *
+ * Writes invalidate the account number, which also clears a negative entry once
+ * the customer is created. A load that started before a write is not installed,
+ * so a slow reader cannot put stale data back after an invalidation.
+ *
+ * Callers always receive copies, so modifying a returned Customer never changes
+ * the cached one.
+ *
+ * Design Patterns Used:
+ * - Singleton Pattern: One cache shared by every CustomerServiceImpl
+ * - Cache-Aside Pattern: Loads through the supplied DAO call on a miss
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class CustomerCache {
+
+    /**
+     * Loads a customer on a miss
+     */
+    @FunctionalInterface
+    public interface Loader {
+        /**
+         * @return The customer, or null only if it does not exist
+         * @throws SQLException if the lookup fails
+         */
+        Customer load(String accountNumber) throws SQLException;
+    }
+
+    private static volatile CustomerCache instance;
+    private static final Object lock = new Object();
+
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final int maxSize;
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Guarded by this
+    private final LinkedHashMap<String, CachedCustomer> entries;
+
+    /**
+     * Create a cache
+     *
+     * @param ttlMillis Time before a cached customer is reloaded (0 disables caching)
+     * @param negativeTtlMillis Time a "not found" result is remembered (0 disables negative entries)
+     * @param maxSize Maximum number of account numbers held
+     */
+    public CustomerCache(long ttlMillis, long negativeTtlMillis, int maxSize) {
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.maxSize = maxSize;
+        // Access order makes iteration start at the least recently used entry
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Get the shared cache configured from database.properties
+     */
+    public static CustomerCache getInstance() {
+        if (instance == null) {
+            synchronized (lock) {
+                if (instance == null) {
+                    DatabaseConnection config = DatabaseConnection.getInstance();
+                    instance = new CustomerCache(
+                            config.getIntProperty("cache.customer.ttlSeconds", 300) * 1000L,
+                            config.getIntProperty("cache.customer.negativeTtlSeconds", 30) * 1000L,
+                            config.getIntProperty("cache.customer.maxSize", 2000));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get a customer by account number, active or not
+     *
+     * @param accountNumber Account number
+     * @param loader Loads the customer on a miss; returns null if it does not exist
+     * @return Copy of the customer, or null if it does not exist
+     * @throws SQLException if the loader fails; nothing is cached
+     */
+    public Customer getCustomer(String accountNumber, Loader loader) throws SQLException {
+        long now = System.currentTimeMillis();
+        long startVersion;
+
+        synchronized (this) {
+            CachedCustomer cached = entries.get(accountNumber);
+            if (cached != null && !cached.isExpired(now)) {
+                if (cached.customer == null) {
+                    negativeHits.incrementAndGet();
+                    return null;
+                }
+                hits.incrementAndGet();
+                return cached.customer.clone();
+            }
+            startVersion = version.get();
+        }
+
+        misses.incrementAndGet();
+        Customer loaded = loader.load(accountNumber);
+
+        long ttl = loaded != null ? ttlMillis : negativeTtlMillis;
+        if (ttl > 0 && maxSize > 0) {
+            synchronized (this) {
+                if (version.get() == startVersion) {
+                    entries.put(accountNumber, new CachedCustomer(
+                            loaded != null ? loaded.clone() : null, now + ttl));
+                    evictOverflow();
+                }
+            }
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Drop an account number after a write
+     *
+     * @param accountNumber Changed account number
+     */
+    public synchronized void invalidate(String accountNumber) {
+        version.incrementAndGet();
+        invalidations.incrementAndGet();
+        if (accountNumber != null) {
+            entries.remove(accountNumber);
+        }
+    }
+
+    /**
+     * Drop everything
+     */
+    public synchronized void invalidateAll() {
+        version.incrementAndGet();
+        invalidations.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Drop least recently used entries above the size limit
+     */
+    private void evictOverflow() {
+        Iterator<CachedCustomer> iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getNegativeHitCount() {
+        return negativeHits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.get();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get cache statistics for monitoring
+     */
+    public String getStats() {
+        return String.format("CustomerCache{entries=%d, hits=%d, negativeHits=%d, misses=%d, evictions=%d, "
+                        + "invalidations=%d, ttlMillis=%d, negativeTtlMillis=%d, maxSize=%d}",
+                size(), getHitCount(), getNegativeHitCount(), getMissCount(), getEvictionCount(),
+                getInvalidationCount(), ttlMillis, negativeTtlMillis, maxSize);
+    }
+
+    /**
+     * A cached lookup; customer is null for a cached "not found"
+     */
+    private static final class CachedCustomer {
+        final Customer customer;
+        final long expiresAt;
+
+        CachedCustomer(Customer customer, long expiresAt) {
+            this.customer = customer;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Customer;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes customers to an export stream one row at a time
+ * Supports CSV, a JSON document ({"customers": [...], "count": n, ...}) and
+ * NDJSON (one JSON object per line). Nothing is kept per row, so an export of
+ * any size runs in constant memory when fed from CustomerDAO.streamActiveCustomers.
+ *
+ * Call begin() once, write() for each customer, then finish().
+ *
+ * Design Patterns Used:
+ * - Strategy Pattern: Output format chosen per export
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class CustomerExportWriter implements RowHandler<Customer> {
+
+    /**
+     * Supported export formats
+     */
+    public enum Format {
+        CSV("text/csv", "csv"),
+        JSON("application/json", "json"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * @return Format for a request parameter value, or null if unsupported
+         */
+        public static Format fromParameter(String value) {
+            if (value == null) {
+                return null;
+            }
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value.trim())) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Writer out;
+    private final Format format;
+    private int count;
+
+    public CustomerExportWriter(Writer out, Format format) {
+        this.out = out;
+        this.format = format;
+    }
+
+    /**
+     * Write the header (CSV column names or the start of the JSON document)
+     */
+    public void begin() throws IOException {
+        if (format == Format.CSV) {
+            out.write("Account Number,Name,Address,Phone,Email,Credit Limit,Active,Registration Date\n");
+        } else if (format == Format.JSON) {
+            out.write("{\n  \"customers\": [\n");
+        }
+    }
+
+    @Override
+    public void handle(Customer customer) throws IOException {
+        write(customer);
+    }
+
+    /**
+     * Write one customer
+     */
+    public void write(Customer customer) throws IOException {
+        switch (format) {
+            case CSV:
+                writeCsv(customer);
+                break;
+            case JSON:
+                if (count > 0) {
+                    out.write(",\n");
+                }
+                out.write("    ");
+                writeJsonObject(customer);
+                break;
+            default:
+                writeJsonObject(customer);
+                out.write('\n');
+                break;
+        }
+        count++;
+    }
+
+    /**
+     * Write the end of the document and flush
+     */
+    public void finish() throws IOException {
+        if (format == Format.JSON) {
+            out.write("\n  ],\n  \"count\": " + count + ",\n  \"exportDate\": \""
+                    + new java.util.Date() + "\"\n}");
+        }
+        out.flush();
+    }
+
+    /**
+     * @return Number of customers written so far
+     */
+    public int getCount() {
+        return count;
+    }
+
+    private void writeCsv(Customer customer) throws IOException {
+        out.write('"');
+        out.write(escapeCsv(customer.getAccountNumber()));
+        out.write("\",\"");
+        out.write(escapeCsv(customer.getName()));
+        out.write("\",\"");
+        out.write(escapeCsv(customer.getAddress()));
+        out.write("\",\"");
+        out.write(escapeCsv(customer.getPhoneNumber()));
+        out.write("\",\"");
+        out.write(escapeCsv(customer.getEmail()));
+        out.write("\",\"");
+        out.write(customer.getCreditLimit() != null ? customer.getCreditLimit().toString() : "0.00");
+        out.write("\",\"");
+        out.write(customer.isActive() ? "Yes" : "No");
+        out.write("\",\"");
+        out.write(customer.getRegistrationDate() != null ? customer.getRegistrationDate().toString() : "");
+        out.write("\"\n");
+    }
+
+    private void writeJsonObject(Customer customer) throws IOException {
+        out.write("{\"accountNumber\":\"");
+        JsonWriter.writeEscaped(out, customer.getAccountNumber());
+        out.write("\",\"name\":\"");
+        JsonWriter.writeEscaped(out, customer.getName());
+        out.write("\",\"address\":\"");
+        JsonWriter.writeEscaped(out, customer.getAddress());
+        out.write("\",\"phone\":\"");
+        JsonWriter.writeEscaped(out, customer.getPhoneNumber());
+        out.write("\",\"email\":\"");
+        JsonWriter.writeEscaped(out, customer.getEmail());
+        out.write("\",\"creditLimit\":");
+        out.write(customer.getCreditLimit() != null ? customer.getCreditLimit().toString() : "0");
+        out.write(",\"isActive\":");
+        out.write(String.valueOf(customer.isActive()));
+        out.write(",\"registrationDate\":\"");
+        out.write(customer.getRegistrationDate() != null ? customer.getRegistrationDate().toString() : "");
+        out.write("\"}");
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) return "";
+        return value.replace("\"", "\"\"");
+    }
+}
@@ -0,0 +1,53 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Customer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads customers for a bulk import from an NDJSON or CSV stream
+ * CSV columns: accountNumber, name, address, phone (or phoneNumber), email,
+ * creditLimit, isActive (or active).
+ *
+ * Design Patterns Used:
+ * - Template Method Pattern: Customer binding for the ImportReader formats
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class CustomerImportReader extends ImportReader<Customer> {
+
+    public CustomerImportReader(Reader in, Format format) {
+        super(in, format);
+    }
+
+    @Override
+    protected Customer readJson(JsonReader reader) throws IOException {
+        return JsonBinder.readCustomer(reader);
+    }
+
+    @Override
+    protected Customer readCsv() {
+        Customer customer = new Customer();
+        customer.setAccountNumber(csvValue("accountnumber"));
+        customer.setName(csvValue("name"));
+        customer.setAddress(csvValue("address"));
+        customer.setPhoneNumber(csvValue("phone", "phonenumber"));
+        customer.setEmail(csvValue("email"));
+
+        String value;
+        if ((value = csvValue("creditlimit")) != null) {
+            customer.setCreditLimit(parseDecimal("creditLimit", value));
+        }
+        if ((value = csvValue("isactive", "active")) != null) {
+            customer.setActive(parseBoolean("isActive", value));
+        }
+        return customer;
+    }
+
+    @Override
+    protected String keyColumn() {
+        return "accountnumber";
+    }
+}
@@ -0,0 +1,485 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Customer;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory trigram index for substring search over active customers
+ * Each searchable field (name, phone, email) is lowercased and split into
+ * overlapping three-character grams; every gram maps to a BitSet of the customers
+ * containing it. A query is answered by AND-ing the BitSets of its own grams and
+ * confirming the few remaining candidates with a plain contains() check, so
+ * leading-wildcard searches no longer scan the customers table. Queries shorter
+ * than three characters check every indexed customer, which is still in memory.
+ *
+ * Results are ranked exact match first, then field prefix, then word prefix, then
+ * any other substring, ties ordered by name, and cut to the requested limit.
+ *
+ * The index is built from all active customers on first use and kept current by
+ * refresh() after each customer write. It is rebuilt after the configured TTL to
+ * pick up changes made by other application nodes. Rebuilds are single-flight:
+ * one search reads the customers table while concurrent searches keep using the
+ * expired index, or wait for the build when there is none.
+ *
+ * Design Patterns Used:
+ * - Singleton Pattern: One index shared by every CustomerServiceImpl
+ * - Inverted Index: Gram to customer postings
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class CustomerSearchIndex {
+
+    /**
+     * Searchable customer fields
+     */
+    public enum Field {
+        NAME, PHONE, EMAIL
+    }
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static volatile CustomerSearchIndex instance;
+    private static final Object lock = new Object();
+
+    private final long ttlMillis;
+    private final ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong rebuilds = new AtomicLong();
+
+    // Guarded by rwLock
+    private Index index;
+
+    // Guarded by this; set while one search rebuilds the index for everyone
+    private CompletableFuture<Index> pendingRebuild;
+
+    /**
+     * Create an index
+     *
+     * @param ttlMillis Time before the index is rebuilt from the database
+     */
+    public CustomerSearchIndex(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Get the shared index configured from database.properties
+     */
+    public static CustomerSearchIndex getInstance() {
+        if (instance == null) {
+            synchronized (lock) {
+                if (instance == null) {
+                    DatabaseConnection config = DatabaseConnection.getInstance();
+                    instance = new CustomerSearchIndex(
+                            config.getIntProperty("cache.customer.searchIndexTtlSeconds", 900) * 1000L);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Find active customers whose field contains the query (case-insensitive)
+     *
+     * @param field Field to search
+     * @param query Substring to look for
+     * @param limit Maximum number of results
+     * @param loader Loads all active customers when the index is (re)built
+     * @return Copies of the best matching customers, best first
+     */
+    public List<Customer> search(Field field, String query, int limit, Supplier<List<Customer>> loader) {
+        String term = normalize(query);
+        if (term.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        queries.incrementAndGet();
+
+        long now = System.currentTimeMillis();
+        rwLock.readLock().lock();
+        try {
+            // An expired index still answers while another search rebuilds it
+            if (index != null && (now < index.expiresAt || isRebuilding())) {
+                return index.search(field, term, limit);
+            }
+        } finally {
+            rwLock.readLock().unlock();
+        }
+
+        Index built = rebuildShared(loader, now);
+        // The build may be the installed index, which refresh() updates under the write lock
+        rwLock.readLock().lock();
+        try {
+            return built.search(field, term, limit);
+        } finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Build the index ahead of the first search, e.g. at application startup
+     *
+     * @param loader Loads all active customers
+     */
+    public void warmUp(Supplier<List<Customer>> loader) {
+        rebuild(loader, System.currentTimeMillis());
+    }
+
+    /**
+     * Re-read one customer after a write and update its index entries
+     * Inactive or missing customers are removed from the index. If the row cannot
+     * be read the whole index is dropped instead, so a failed lookup never removes
+     * a customer that still exists.
+     *
+     * @param accountNumber Changed account number
+     * @param loader Loads the customer's current row
+     */
+    public void refresh(String accountNumber, CustomerCache.Loader loader) {
+        if (accountNumber == null) {
+            return;
+        }
+        version.incrementAndGet();
+
+        rwLock.readLock().lock();
+        try {
+            if (index == null) {
+                return;
+            }
+        } finally {
+            rwLock.readLock().unlock();
+        }
+
+        Customer customer;
+        try {
+            customer = loader.load(accountNumber);
+        } catch (SQLException e) {
+            System.err.println("Error refreshing search index for " + accountNumber + ": " + e.getMessage());
+            invalidateAll();
+            return;
+        }
+
+        rwLock.writeLock().lock();
+        try {
+            if (index == null) {
+                return;
+            }
+            if (customer != null && customer.isActive()) {
+                index.put(customer);
+            } else {
+                index.remove(accountNumber);
+            }
+        } finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the index so the next search rebuilds it
+     */
+    public void invalidateAll() {
+        version.incrementAndGet();
+        rwLock.writeLock().lock();
+        try {
+            index = null;
+        } finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    private synchronized boolean isRebuilding() {
+        return pendingRebuild != null;
+    }
+
+    /**
+     * Rebuild the index once for all concurrent callers
+     * The first caller loads and builds; the others wait for its result. If that
+     * build fails, each waiting caller builds for itself.
+     */
+    private Index rebuildShared(Supplier<List<Customer>> loader, long now) {
+        CompletableFuture<Index> build;
+        boolean leader;
+        synchronized (this) {
+            leader = pendingRebuild == null;
+            if (leader) {
+                pendingRebuild = new CompletableFuture<>();
+            }
+            build = pendingRebuild;
+        }
+
+        if (!leader) {
+            try {
+                return build.join();
+            } catch (RuntimeException e) {
+                return rebuild(loader, now);
+            }
+        }
+
+        try {
+            Index built = rebuild(loader, now);
+            build.complete(built);
+            return built;
+        } catch (RuntimeException e) {
+            build.completeExceptionally(e);
+            throw e;
+        } finally {
+            synchronized (this) {
+                pendingRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Build a new index from the loader and install it
+     * A build that raced a write is used for this search only, since the write's
+     * refresh() had no index to update
+     */
+    private Index rebuild(Supplier<List<Customer>> loader, long now) {
+        long startVersion = version.get();
+        List<Customer> customers = loader.get();
+
+        Index built = new Index(now + ttlMillis);
+        for (Customer customer : customers) {
+            if (customer.isActive()) {
+                built.put(customer);
+            }
+        }
+        rebuilds.incrementAndGet();
+
+        if (ttlMillis > 0 && !customers.isEmpty()) {
+            rwLock.writeLock().lock();
+            try {
+                // An empty result may be a swallowed DAO error - do not pin it for a whole TTL
+                if (version.get() == startVersion) {
+                    index = built;
+                }
+            } finally {
+                rwLock.writeLock().unlock();
+            }
+        }
+        return built;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase();
+    }
+
+    public long getQueryCount() {
+        return queries.get();
+    }
+
+    public long getRebuildCount() {
+        return rebuilds.get();
+    }
+
+    public int size() {
+        rwLock.readLock().lock();
+        try {
+            return index != null ? index.slotByAccount.size() : 0;
+        } finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get index statistics for monitoring
+     */
+    public String getStats() {
+        return String.format("CustomerSearchIndex{customers=%d, queries=%d, rebuilds=%d, ttlMillis=%d}",
+                size(), getQueryCount(), getRebuildCount(), ttlMillis);
+    }
+
+    /**
+     * Postings for all fields plus the indexed customers, addressed by slot number
+     * Not thread-safe on its own; guarded by the enclosing read/write lock
+     */
+    private static final class Index {
+        final List<Entry> entries = new ArrayList<>();
+        final Map<String, Integer> slotByAccount = new HashMap<>();
+        final Deque<Integer> freeSlots = new ArrayDeque<>();
+        final BitSet live = new BitSet();
+        final Map<Field, Map<String, BitSet>> postings = new EnumMap<>(Field.class);
+        final long expiresAt;
+
+        Index(long expiresAt) {
+            this.expiresAt = expiresAt;
+            for (Field field : Field.values()) {
+                postings.put(field, new HashMap<>());
+            }
+        }
+
+        void put(Customer customer) {
+            remove(customer.getAccountNumber());
+
+            int slot = freeSlots.isEmpty() ? entries.size() : freeSlots.pop();
+            Entry entry = new Entry(customer.clone());
+            if (slot == entries.size()) {
+                entries.add(entry);
+            } else {
+                entries.set(slot, entry);
+            }
+            slotByAccount.put(customer.getAccountNumber(), slot);
+            live.set(slot);
+
+            for (Field field : Field.values()) {
+                String value = entry.values[field.ordinal()];
+                Map<String, BitSet> fieldPostings = postings.get(field);
+                for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+                    fieldPostings.computeIfAbsent(value.substring(i, i + GRAM_LENGTH), k -> new BitSet()).set(slot);
+                }
+            }
+        }
+
+        void remove(String accountNumber) {
+            Integer slot = slotByAccount.remove(accountNumber);
+            if (slot == null) {
+                return;
+            }
+
+            Entry entry = entries.get(slot);
+            for (Field field : Field.values()) {
+                String value = entry.values[field.ordinal()];
+                Map<String, BitSet> fieldPostings = postings.get(field);
+                for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+                    String gram = value.substring(i, i + GRAM_LENGTH);
+                    BitSet bits = fieldPostings.get(gram);
+                    if (bits != null) {
+                        bits.clear(slot);
+                        if (bits.isEmpty()) {
+                            fieldPostings.remove(gram);
+                        }
+                    }
+                }
+            }
+
+            entries.set(slot, null);
+            live.clear(slot);
+            freeSlots.push(slot);
+        }
+
+        List<Customer> search(Field field, String term, int limit) {
+            BitSet candidates = candidates(field, term);
+            if (candidates == null) {
+                return new ArrayList<>();
+            }
+
+            // Max-heap on rank keeps only the best `limit` matches
+            PriorityQueue<Match> best = new PriorityQueue<>(Collections.reverseOrder(Match.ORDER));
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                Entry entry = entries.get(slot);
+                int rank = rank(entry.values[field.ordinal()], term);
+                if (rank < 0) {
+                    continue;
+                }
+                best.add(new Match(entry, rank));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            List<Match> matches = new ArrayList<>(best);
+            matches.sort(Match.ORDER);
+            List<Customer> results = new ArrayList<>(matches.size());
+            for (Match match : matches) {
+                results.add(match.entry.customer.clone());
+            }
+            return results;
+        }
+
+        /**
+         * Intersect the postings of every gram in the term
+         *
+         * @return Candidate slots, or null when some gram occurs nowhere
+         */
+        private BitSet candidates(Field field, String term) {
+            if (term.length() < GRAM_LENGTH) {
+                return (BitSet) live.clone();
+            }
+
+            Map<String, BitSet> fieldPostings = postings.get(field);
+            BitSet result = null;
+            for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+                BitSet bits = fieldPostings.get(term.substring(i, i + GRAM_LENGTH));
+                if (bits == null) {
+                    return null;
+                }
+                if (result == null) {
+                    result = (BitSet) bits.clone();
+                } else {
+                    result.and(bits);
+                }
+                if (result.isEmpty()) {
+                    return null;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * @return 0 exact, 1 prefix, 2 word prefix, 3 other substring, -1 no match
+         */
+        private static int rank(String value, String term) {
+            int index = value.indexOf(term);
+            if (index < 0) {
+                return -1;
+            }
+            if (index == 0) {
+                return value.length() == term.length() ? 0 : 1;
+            }
+            for (; index >= 0; index = value.indexOf(term, index + 1)) {
+                if (!Character.isLetterOrDigit(value.charAt(index - 1))) {
+                    return 2;
+                }
+            }
+            return 3;
+        }
+    }
+
+    /**
+     * An indexed customer and its normalized field values
+     */
+    private static final class Entry {
+        final Customer customer;
+        final String[] values;
+        final String sortName;
+
+        Entry(Customer customer) {
+            this.customer = customer;
+            this.values = new String[Field.values().length];
+            this.values[Field.NAME.ordinal()] = normalize(customer.getName());
+            this.values[Field.PHONE.ordinal()] = normalize(customer.getPhoneNumber());
+            this.values[Field.EMAIL.ordinal()] = normalize(customer.getEmail());
+            this.sortName = values[Field.NAME.ordinal()];
+        }
+    }
+
+    private static final class Match {
+        static final Comparator<Match> ORDER = Comparator.<Match>comparingInt(m -> m.rank)
+                .thenComparing(m -> m.entry.sortName)
+                .thenComparing(m -> m.entry.customer.getAccountNumber());
+
+        final Entry entry;
+        final int rank;
+
+        Match(Entry entry, int rank) {
+            this.entry = entry;
+            this.rank = rank;
+        }
+    }
+}
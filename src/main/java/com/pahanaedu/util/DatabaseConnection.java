@@ -11,24 +11,55 @@ import java.util.Properties;
  * Singleton pattern implementation for database connection management
  * Demonstrates design patterns and proper resource management
  *
+ * Connections are served from a bounded {@link ConnectionPool} sized from
+ * the db.pool.* settings in database.properties
+ *
  * @author Pahana Edu Development Team
  * @version 1.0
  */
 public class DatabaseConnection {
 
     // Singleton instance
-    private static DatabaseConnection instance;
+    private static volatile DatabaseConnection instance;
     private static final Object lock = new Object();
 
+    /**
+     * Fetch size that makes MySQL Connector/J stream a forward-only, read-only
+     * result set row by row instead of reading it all into memory
+     */
+    public static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
     // Database configuration
     private String dbUrl;
     private String dbUsername;
     private String dbPassword;
     private String dbDriver;
 
+    // Pool configuration
+    private int poolInitialSize;
+    private int poolMinIdle;
+    private int poolMaxIdle;
+    private int poolMaxActive;
+    private long poolMaxWaitMillis;
+    private long poolIdleTimeoutMillis;
+    private long poolEvictionIntervalMillis;
+    private int poolValidationTimeoutSeconds;
+    private int poolStatementCacheSize;
+    private int sequenceBlockSize;
+
+    // Loaded properties, kept for settings read by other components
+    private Properties properties;
+
+    private final ConnectionPool connectionPool;
+
     private DatabaseConnection() {
         loadDatabaseConfig();
         initializeDriver();
+        this.connectionPool = new ConnectionPool(this::openPhysicalConnection,
+                poolMinIdle, poolMaxIdle, poolMaxActive, poolMaxWaitMillis,
+                poolIdleTimeoutMillis, poolEvictionIntervalMillis, poolValidationTimeoutSeconds,
+                poolStatementCacheSize);
+        this.connectionPool.prefill(poolInitialSize);
     }
 
     public static DatabaseConnection getInstance() {
@@ -54,6 +85,7 @@ public class DatabaseConnection {
             }
 
             properties.load(input);
+            this.properties = properties;
 
             // Load configuration values
             this.dbDriver = properties.getProperty("db.driver");
@@ -61,6 +93,21 @@ public class DatabaseConnection {
             this.dbUsername = properties.getProperty("db.username");
             this.dbPassword = properties.getProperty("db.password");
 
+            // Load pool sizing
+            this.poolInitialSize = getIntProperty(properties, "db.pool.initialSize", 5);
+            this.poolMinIdle = getIntProperty(properties, "db.pool.minIdle", 2);
+            this.poolMaxIdle = getIntProperty(properties, "db.pool.maxIdle", 10);
+            this.poolMaxActive = getIntProperty(properties, "db.pool.maxActive", 20);
+            this.poolMaxWaitMillis = getIntProperty(properties, "db.pool.maxWait",
+                    getIntProperty(properties, "db.connection.timeout", 30)) * 1000L;
+            this.poolIdleTimeoutMillis = getIntProperty(properties, "db.pool.idleTimeout", 300) * 1000L;
+            this.poolEvictionIntervalMillis = getIntProperty(properties, "db.pool.evictionInterval", 60) * 1000L;
+            this.poolValidationTimeoutSeconds = getIntProperty(properties, "db.pool.validationTimeout", 2);
+            this.poolStatementCacheSize = getIntProperty(properties, "db.pool.statementCacheSize", 50);
+
+            // IDs reserved per id_sequences round trip
+            this.sequenceBlockSize = getIntProperty(properties, "db.sequence.blockSize", 20);
+
             // Validate required properties
             validateConfiguration();
 
@@ -85,6 +132,51 @@ public class DatabaseConnection {
         if (dbPassword == null) {
             throw new RuntimeException("Database password not specified in configuration");
         }
+        if (poolMaxActive <= 0) {
+            throw new RuntimeException("db.pool.maxActive must be positive");
+        }
+        if (poolMinIdle < 0 || poolMinIdle > poolMaxActive) {
+            throw new RuntimeException("db.pool.minIdle must be between 0 and db.pool.maxActive");
+        }
+    }
+
+    /**
+     * Read an integer setting from database.properties
+     * Used by components configured alongside the database, such as caches
+     *
+     * @param key Property key
+     * @param defaultValue Value used when the property is missing
+     * @return Configured value or the default
+     */
+    public int getIntProperty(String key, int defaultValue) {
+        return getIntProperty(properties, key, defaultValue);
+    }
+
+    /**
+     * Read a text setting from database.properties
+     *
+     * @param key Property key
+     * @param defaultValue Value used when the property is missing or blank
+     * @return Configured value, trimmed, or the default
+     */
+    public String getProperty(String key, String defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Read an integer property, falling back to a default when missing
+     */
+    private int getIntProperty(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid integer value for " + key + ": " + value);
+        }
     }
 
     /**
@@ -102,26 +194,65 @@ public class DatabaseConnection {
 
     /**
      * Get a database connection
-     * Each call returns a new connection - caller is responsible for closing
+     * Each call borrows a connection from the pool - caller is responsible for closing,
+     * which returns the connection to the pool
      *
      * @return Connection object to the database
      * @throws SQLException if connection cannot be established
      */
     public Connection getConnection() throws SQLException {
         try {
-            Connection connection = DriverManager.getConnection(dbUrl, dbUsername, dbPassword);
-
-            // Set connection properties for better performance and consistency
-            connection.setAutoCommit(true);
-
-            return connection;
-
+            return connectionPool.borrow();
         } catch (SQLException e) {
             System.err.println("Failed to create database connection: " + e.getMessage());
             throw new SQLException("Database connection failed: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Open a new physical connection for the pool
+     *
+     * @return New physical connection
+     * @throws SQLException if connection cannot be established
+     */
+    private Connection openPhysicalConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(dbUrl, dbUsername, dbPassword);
+
+        // Set connection properties for better performance and consistency
+        connection.setAutoCommit(true);
+
+        return connection;
+    }
+
+    /**
+     * Get the number of IDs each node reserves per sequence block
+     */
+    public int getSequenceBlockSize() {
+        return sequenceBlockSize;
+    }
+
+    /**
+     * Get the underlying connection pool
+     *
+     * @return Connection pool
+     */
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * Close all pooled connections if the singleton was ever created
+     * Called when the web application is undeployed
+     */
+    public static void shutdown() {
+        synchronized (lock) {
+            if (instance != null) {
+                instance.connectionPool.shutdown();
+                instance = null;
+            }
+        }
+    }
+
     /**
      * Test database connectivity
      * Used for health checks and initial setup validation
@@ -155,8 +286,8 @@ public class DatabaseConnection {
      * @return String containing safe configuration info
      */
     public String getConfigInfo() {
-        return String.format("Database: %s, User: %s, Driver: %s",
-                maskUrl(dbUrl), dbUsername, dbDriver);
+        return String.format("Database: %s, User: %s, Driver: %s, %s",
+                maskUrl(dbUrl), dbUsername, dbDriver, connectionPool.getStats());
     }
 
     /**
@@ -186,6 +317,7 @@ public class DatabaseConnection {
     /**
      * Utility method to close database resources safely
      * Demonstrates proper resource management
+     * For pooled connections this returns the connection to the pool
      *
      * @param connection Connection to close
      */
@@ -0,0 +1,339 @@
+package com.pahanaedu.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads records for a bulk import from an NDJSON or CSV stream, one row at a time
+ * NDJSON has one JSON object per line, with the field names of the matching API.
+ * CSV needs a header row; columns are matched by name ignoring case, spaces and
+ * underscores, and unknown columns are ignored. Quoted CSV fields may contain
+ * commas, doubled quotes and line breaks. A UTF-8 byte order mark is skipped.
+ *
+ * A row that cannot be parsed comes back with an error instead of a value, so one
+ * bad line does not stop the import. Subclasses bind a JSON object or a CSV record
+ * to their model type.
+ *
+ * Design Patterns Used:
+ * - Iterator Pattern: Rows are read on demand, never the whole file at once
+ * - Template Method Pattern: Subclasses supply the binding for each format
+ *
+ * @param <T> Type of the imported records
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public abstract class ImportReader<T> implements Closeable {
+
+    /**
+     * Supported input formats
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String name;
+
+        Format(String contentType, String name) {
+            this.contentType = contentType;
+            this.name = name;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * @return Format for a request parameter value, or null if unsupported
+         */
+        public static Format fromParameter(String value) {
+            if (value == null) {
+                return null;
+            }
+            for (Format format : values()) {
+                if (format.name.equalsIgnoreCase(value.trim())) {
+                    return format;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return CSV for text/csv, NDJSON for anything else
+         */
+        public static Format fromContentType(String contentType) {
+            if (contentType != null && contentType.toLowerCase().startsWith(CSV.contentType)) {
+                return CSV;
+            }
+            return NDJSON;
+        }
+    }
+
+    /**
+     * One input row: a value, or the reason it could not be read
+     */
+    public static final class Row<T> {
+        private final long line;
+        private final T value;
+        private final String key;
+        private final String error;
+
+        private Row(long line, T value, String key, String error) {
+            this.line = line;
+            this.value = value;
+            this.key = key;
+            this.error = error;
+        }
+
+        /**
+         * @return Line the row starts on, counting from 1
+         */
+        public long getLine() {
+            return line;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * @return Key column of a row that failed to bind, if it could be read
+         */
+        public String getKey() {
+            return key;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final BufferedReader in;
+    private final Format format;
+    private long line;
+
+    // CSV state
+    private Map<String, Integer> columns;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private long recordLine;
+    private boolean unterminatedQuote;
+
+    protected ImportReader(Reader in, Format format) {
+        this.in = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        this.format = format;
+    }
+
+    /**
+     * Bind one JSON object
+     *
+     * @throws JsonReader.MalformedJsonException if the object is malformed or a value has the wrong type
+     */
+    protected abstract T readJson(JsonReader reader) throws IOException;
+
+    /**
+     * Bind the current CSV record, reading columns with csvValue
+     *
+     * @throws IllegalArgumentException with a message for the report if a value cannot be converted
+     */
+    protected abstract T readCsv();
+
+    /**
+     * @return Normalized name of the column identifying a record, for rows that fail to bind
+     */
+    protected abstract String keyColumn();
+
+    /**
+     * @return The next row, or null at the end of the input
+     * @throws IOException if the stream itself cannot be read
+     */
+    public Row<T> next() throws IOException {
+        return format == Format.CSV ? nextCsvRow() : nextJsonRow();
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    private Row<T> nextJsonRow() throws IOException {
+        String text;
+        do {
+            text = in.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+            if (line == 1 && !text.isEmpty() && text.charAt(0) == BYTE_ORDER_MARK) {
+                text = text.substring(1);
+            }
+        } while (text.isBlank());
+
+        try (JsonReader reader = new JsonReader(new StringReader(text), text.length())) {
+            T value = readJson(reader);
+            reader.endDocument();
+            return new Row<>(line, value, null, null);
+        } catch (JsonReader.MalformedJsonException e) {
+            return new Row<>(line, null, null, "Invalid JSON: " + e.getReason() + " at column " + e.getColumn());
+        }
+    }
+
+    private Row<T> nextCsvRow() throws IOException {
+        if (columns == null) {
+            if (!readCsvRecord()) {
+                return null;
+            }
+            columns = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                columns.putIfAbsent(normalizeHeader(fields.get(i)), i);
+            }
+        }
+
+        do {
+            if (!readCsvRecord()) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        if (unterminatedQuote) {
+            return new Row<>(recordLine, null, csvValue(keyColumn()), "Unterminated quoted field");
+        }
+
+        try {
+            return new Row<>(recordLine, readCsv(), null, null);
+        } catch (IllegalArgumentException e) {
+            return new Row<>(recordLine, null, csvValue(keyColumn()), e.getMessage());
+        }
+    }
+
+    /**
+     * Value of a column in the current CSV record
+     *
+     * @param columnNames Normalized column names (lowercase letters and digits), first present wins
+     * @return Trimmed value, or null if the column is missing or empty
+     */
+    protected String csvValue(String... columnNames) {
+        for (String columnName : columnNames) {
+            Integer index = columns.get(columnName);
+            if (index != null) {
+                if (index >= fields.size()) {
+                    return null;
+                }
+                String value = fields.get(index).trim();
+                return value.isEmpty() ? null : value;
+            }
+        }
+        return null;
+    }
+
+    protected static BigDecimal parseDecimal(String column, String value) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    protected static int parseInt(String column, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    /**
+     * Parse a CSV boolean: true/false, yes/no or 1/0
+     */
+    protected static boolean parseBoolean(String column, String value) {
+        switch (value.toLowerCase()) {
+            case "true":
+            case "yes":
+            case "1":
+                return true;
+            case "false":
+            case "no":
+            case "0":
+                return false;
+            default:
+                throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    /**
+     * Read one CSV record into fields
+     *
+     * @return false at the end of the input
+     */
+    private boolean readCsvRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        unterminatedQuote = false;
+
+        int c = in.read();
+        if (c == -1) {
+            return false;
+        }
+        if (line == 0 && c == BYTE_ORDER_MARK) {
+            c = in.read();
+        }
+        recordLine = ++line;
+
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    unterminatedQuote = true;
+                    fields.add(field.toString());
+                    return true;
+                }
+                if (c == '"') {
+                    c = in.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return true;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+
+    private static String normalizeHeader(String header) {
+        StringBuilder normalized = new StringBuilder(header.length());
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
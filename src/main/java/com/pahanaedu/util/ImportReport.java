@@ -0,0 +1,208 @@
+package com.pahanaedu.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: row counts, throughput and the rows that were rejected
+ * Every rejected row is counted, but only the first maxErrors are kept with their
+ * line number and reason, so a file that is wrong throughout cannot fill the heap.
+ * All methods are synchronized; the report may be read while the import runs to
+ * follow its progress.
+ *
+ * Design Patterns Used:
+ * - Collecting Parameter Pattern: Passed through the import and filled as rows are processed
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class ImportReport {
+
+    public static final int DEFAULT_MAX_ERRORS = 1000;
+
+    /**
+     * A rejected row
+     */
+    public static final class RowError {
+        private final long line;
+        private final String id;
+        private final String message;
+
+        public RowError(long line, String id, String message) {
+            this.line = line;
+            this.id = id;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private final int maxErrors;
+    private final List<RowError> errors = new ArrayList<>();
+    private final long startNanos = System.nanoTime();
+    private long finishNanos;
+
+    private long rowCount;
+    private long createdCount;
+    private long updatedCount;
+    private long failedCount;
+    private String abortReason;
+
+    public ImportReport() {
+        this(DEFAULT_MAX_ERRORS);
+    }
+
+    public ImportReport(int maxErrors) {
+        this.maxErrors = Math.max(0, maxErrors);
+    }
+
+    public synchronized void rowRead() {
+        rowCount++;
+    }
+
+    public synchronized void rowsCreated(int count) {
+        createdCount += count;
+    }
+
+    public synchronized void rowsUpdated(int count) {
+        updatedCount += count;
+    }
+
+    /**
+     * Count a rejected row
+     *
+     * @param line Line of the row in the input (the first line of a multi-line CSV record)
+     * @param id Item ID, account number or other key of the row, if known
+     * @param message Why it was rejected
+     */
+    public synchronized void rowFailed(long line, String id, String message) {
+        failedCount++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(line, id, message));
+        }
+    }
+
+    /**
+     * Record that the input could not be read to the end; rows before it still count
+     */
+    public synchronized void abort(String reason) {
+        this.abortReason = reason;
+    }
+
+    /**
+     * Stop the clock
+     */
+    public synchronized void finish() {
+        if (finishNanos == 0) {
+            finishNanos = System.nanoTime();
+        }
+    }
+
+    public synchronized long getRowCount() {
+        return rowCount;
+    }
+
+    public synchronized long getCreatedCount() {
+        return createdCount;
+    }
+
+    public synchronized long getUpdatedCount() {
+        return updatedCount;
+    }
+
+    public synchronized long getFailedCount() {
+        return failedCount;
+    }
+
+    public synchronized List<RowError> getErrors() {
+        return new ArrayList<>(errors);
+    }
+
+    /**
+     * @return true if more rows failed than are listed in getErrors()
+     */
+    public synchronized boolean isErrorsTruncated() {
+        return failedCount > errors.size();
+    }
+
+    /**
+     * @return true once finish() has been called
+     */
+    public synchronized boolean isFinished() {
+        return finishNanos != 0;
+    }
+
+    public synchronized boolean isComplete() {
+        return abortReason == null;
+    }
+
+    public synchronized String getAbortReason() {
+        return abortReason;
+    }
+
+    /**
+     * @return Milliseconds from creation to finish(), or to now while running
+     */
+    public synchronized long getElapsedMillis() {
+        return elapsedNanos() / 1_000_000;
+    }
+
+    /**
+     * @return Input rows processed per second
+     */
+    public synchronized long getRowsPerSecond() {
+        return rowCount * 1_000_000_000L / Math.max(1, elapsedNanos());
+    }
+
+    private long elapsedNanos() {
+        return (finishNanos != 0 ? finishNanos : System.nanoTime()) - startNanos;
+    }
+
+    /**
+     * Write the report as a JSON object; usable as a JsonWriter.ValueWriter
+     */
+    public synchronized void writeTo(JsonWriter json) throws IOException {
+        json.beginObject()
+                .name("finished").value(isFinished())
+                .name("complete").value(isComplete())
+                .name("rows").value(rowCount)
+                .name("created").value(createdCount)
+                .name("updated").value(updatedCount)
+                .name("failed").value(failedCount)
+                .name("elapsedMillis").value(getElapsedMillis())
+                .name("rowsPerSecond").value(getRowsPerSecond());
+        if (abortReason != null) {
+            json.name("abortReason").value(abortReason);
+        }
+        json.name("errors").beginArray();
+        for (RowError error : errors) {
+            json.beginObject()
+                    .name("line").value(error.getLine())
+                    .name("id").value(error.getId())
+                    .name("error").value(error.getMessage())
+                    .endObject();
+        }
+        json.endArray()
+                .name("errorsTruncated").value(isErrorsTruncated())
+                .endObject();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Rows: " + rowCount + ", Created: " + createdCount + ", Updated: " + updatedCount
+                + ", Failed: " + failedCount + ", Elapsed: " + getElapsedMillis() + "ms"
+                + ", Rows/sec: " + getRowsPerSecond()
+                + (abortReason != null ? ", Aborted: " + abortReason : "");
+    }
+}
@@ -0,0 +1,482 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Item;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for the item catalog
+ * Holds an immutable snapshot of all active items (with an id map and a category
+ * index built from it) plus a bounded LRU map of individual item lookups. The
+ * ItemSearchIndex for a snapshot is built on the first search and dropped with it.
+ *
+ * Every write bumps the catalog version and drops the affected entries. A load
+ * that started before a write is not installed, so a slow reader cannot put
+ * stale data back after an invalidation. Entries also expire after the
+ * configured TTL to pick up changes made by other application nodes.
+ *
+ * Stock changes from checkouts and cancellations are applied to the snapshot in
+ * place (adjustStock) instead of dropping it, so a sale does not cost a reload of
+ * the whole items table. Reloads are single-flight: concurrent misses wait for
+ * one load instead of each reading the table.
+ *
+ * Callers always receive copies, so modifying a returned Item never changes the
+ * cached one.
+ *
+ * Design Patterns Used:
+ * - Singleton Pattern: One catalog shared by every ItemServiceImpl
+ * - Cache-Aside Pattern: Loads through the supplied DAO call on a miss
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class ItemCatalogCache {
+
+    private static volatile ItemCatalogCache instance;
+    private static final Object lock = new Object();
+
+    private final long ttlMillis;
+    private final int maxSize;
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Guarded by this
+    private Catalog catalog;
+    private long oversizedUntil;
+    private CompletableFuture<Catalog> pendingLoad;
+    private final LinkedHashMap<String, CachedItem> itemsById;
+
+    /**
+     * Create a cache
+     *
+     * @param ttlMillis Time before cached data is reloaded (0 disables caching)
+     * @param maxSize Maximum number of items held in the snapshot or the id map
+     */
+    public ItemCatalogCache(long ttlMillis, int maxSize) {
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+        // Access order makes iteration start at the least recently used entry
+        this.itemsById = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Get the shared cache configured from database.properties
+     */
+    public static ItemCatalogCache getInstance() {
+        if (instance == null) {
+            synchronized (lock) {
+                if (instance == null) {
+                    DatabaseConnection config = DatabaseConnection.getInstance();
+                    instance = new ItemCatalogCache(
+                            config.getIntProperty("cache.item.ttlSeconds", 300) * 1000L,
+                            config.getIntProperty("cache.item.maxSize", 5000));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get all active items, ordered as returned by the loader
+     *
+     * @param loader Loads all active items on a miss
+     * @return Copies of the active items
+     */
+    public List<Item> getActiveItems(Supplier<List<Item>> loader) {
+        Catalog current = getCatalog(loader);
+        return current != null ? copyOf(current.activeItems) : loader.get();
+    }
+
+    /**
+     * Get active items in a category (case-insensitive, as in MySQL)
+     *
+     * @param category Category name
+     * @param activeLoader Loads all active items on a miss
+     * @param categoryLoader Used instead when the catalog is too large to cache
+     * @return Copies of the items in the category
+     */
+    public List<Item> getActiveItemsByCategory(String category, Supplier<List<Item>> activeLoader,
+                                               Function<String, List<Item>> categoryLoader) {
+        Catalog current = getCatalog(activeLoader);
+        if (current == null) {
+            return categoryLoader.apply(category);
+        }
+        return copyOf(current.byCategory.getOrDefault(categoryKey(category), List.of()));
+    }
+
+    /**
+     * Get the distinct categories of active items, sorted case-insensitively
+     *
+     * @param activeLoader Loads all active items on a miss
+     * @param categoryLoader Used instead when the catalog is too large to cache
+     * @return Category names
+     */
+    public List<String> getCategories(Supplier<List<Item>> activeLoader, Supplier<List<String>> categoryLoader) {
+        Catalog current = getCatalog(activeLoader);
+        return current != null ? new ArrayList<>(current.categories) : categoryLoader.get();
+    }
+
+    /**
+     * Search active items by name words, category and price
+     *
+     * @param query Search criteria
+     * @param loader Loads all active items on a miss
+     * @return Matching items with total count and category facets
+     */
+    public ItemSearchIndex.Result search(ItemSearchIndex.Query query, Supplier<List<Item>> loader) {
+        Catalog current = getCatalog(loader);
+        // Catalog too large to keep: index this load for this search only
+        ItemSearchIndex index = current != null ? current.searchIndex() : new ItemSearchIndex(loader.get());
+        return index.search(query);
+    }
+
+    /**
+     * Get an item by ID, active or not
+     *
+     * @param itemId Item ID
+     * @param loader Loads a single item on a miss
+     * @return Copy of the item, or null if it does not exist
+     */
+    public Item getItem(String itemId, Function<String, Item> loader) {
+        long now = System.currentTimeMillis();
+        long startVersion;
+
+        synchronized (this) {
+            if (catalog != null && !catalog.isExpired(now)) {
+                Item item = catalog.activeById.get(itemId);
+                if (item != null) {
+                    hits.incrementAndGet();
+                    return item.clone();
+                }
+            }
+
+            CachedItem cached = itemsById.get(itemId);
+            if (cached != null && !cached.isExpired(now)) {
+                hits.incrementAndGet();
+                return cached.item.clone();
+            }
+            startVersion = version.get();
+        }
+
+        misses.incrementAndGet();
+        Item loaded = loader.apply(itemId);
+
+        if (loaded != null && ttlMillis > 0 && maxSize > 0) {
+            synchronized (this) {
+                if (version.get() == startVersion) {
+                    itemsById.put(itemId, new CachedItem(loaded.clone(), now + ttlMillis));
+                    evictOverflow();
+                }
+            }
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Drop one item and the catalog snapshot after a write
+     *
+     * @param itemId Changed item ID
+     */
+    public synchronized void invalidate(String itemId) {
+        version.incrementAndGet();
+        invalidations.incrementAndGet();
+        catalog = null;
+        if (itemId != null) {
+            itemsById.remove(itemId);
+        }
+    }
+
+    /**
+     * Apply stock changes made by a checkout or cancellation
+     * The snapshot and its search index are kept, with the changed items swapped for
+     * adjusted copies. Loads in flight are discarded as after any write. Cached stock
+     * may drift from the database until the TTL; checkout checks stock in SQL.
+     *
+     * @param stockChanges Change in stock quantity by item ID (negative for a sale)
+     */
+    public synchronized void adjustStock(Map<String, Integer> stockChanges) {
+        version.incrementAndGet();
+        if (catalog != null) {
+            catalog = catalog.withStockChanges(stockChanges);
+        }
+        for (Map.Entry<String, Integer> change : stockChanges.entrySet()) {
+            CachedItem cached = itemsById.get(change.getKey());
+            if (cached != null) {
+                itemsById.put(change.getKey(),
+                        new CachedItem(withStockChange(cached.item, change.getValue()), cached.expiresAt));
+            }
+        }
+    }
+
+    /**
+     * Drop everything
+     */
+    public synchronized void invalidateAll() {
+        version.incrementAndGet();
+        invalidations.incrementAndGet();
+        catalog = null;
+        itemsById.clear();
+    }
+
+    /**
+     * Get the current snapshot, loading it on a miss
+     *
+     * Returns null when caching is disabled, or for one TTL after the catalog was
+     * found to exceed maxSize, so callers fall back to narrower DAO queries
+     *
+     * @return Snapshot, or null if the catalog cannot be cached
+     */
+    private Catalog getCatalog(Supplier<List<Item>> loader) {
+        long now = System.currentTimeMillis();
+        long startVersion;
+        CompletableFuture<Catalog> load;
+
+        synchronized (this) {
+            if (catalog != null && !catalog.isExpired(now)) {
+                hits.incrementAndGet();
+                return catalog;
+            }
+            if (ttlMillis <= 0 || now < oversizedUntil) {
+                misses.incrementAndGet();
+                return null;
+            }
+            misses.incrementAndGet();
+            if (pendingLoad != null) {
+                // Another thread is already reading the table; share its result
+                load = pendingLoad;
+                startVersion = -1;
+            } else {
+                load = new CompletableFuture<>();
+                pendingLoad = load;
+                startVersion = version.get();
+            }
+        }
+
+        if (startVersion < 0) {
+            try {
+                return load.join();
+            } catch (RuntimeException e) {
+                // The leading load failed; read for this caller only
+                return new Catalog(loader.get(), now + ttlMillis);
+            }
+        }
+
+        Catalog loaded;
+        try {
+            List<Item> items = loader.get();
+            loaded = new Catalog(items, now + ttlMillis);
+
+            synchronized (this) {
+                pendingLoad = null;
+                if (items.size() > maxSize) {
+                    // Serve this load once, then stop trying until the TTL passes
+                    oversizedUntil = now + ttlMillis;
+                } else if (version.get() == startVersion && !items.isEmpty()) {
+                    // An empty result may be a swallowed DAO error - do not pin it for a whole TTL
+                    catalog = loaded;
+                }
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingLoad = null;
+            }
+            load.completeExceptionally(e);
+            throw e;
+        }
+        load.complete(loaded);
+        return loaded;
+    }
+
+    /**
+     * Drop least recently used id entries above the size limit
+     */
+    private void evictOverflow() {
+        Iterator<CachedItem> iterator = itemsById.values().iterator();
+        while (itemsById.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static Item withStockChange(Item item, int change) {
+        Item copy = item.clone();
+        copy.setStockQuantity(copy.getStockQuantity() + change);
+        return copy;
+    }
+
+    private static List<Item> copyOf(List<Item> items) {
+        List<Item> copies = new ArrayList<>(items.size());
+        for (Item item : items) {
+            copies.add(item.clone());
+        }
+        return copies;
+    }
+
+    private static String categoryKey(String category) {
+        return category == null ? "" : category.trim().toLowerCase();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.get();
+    }
+
+    public synchronized int getCachedItemCount() {
+        return itemsById.size() + (catalog != null ? catalog.activeItems.size() : 0);
+    }
+
+    /**
+     * Get cache statistics for monitoring
+     */
+    public String getStats() {
+        return String.format("ItemCatalogCache{version=%d, items=%d, hits=%d, misses=%d, evictions=%d, "
+                        + "invalidations=%d, ttlMillis=%d, maxSize=%d}",
+                getVersion(), getCachedItemCount(), getHitCount(), getMissCount(), getEvictionCount(),
+                getInvalidationCount(), ttlMillis, maxSize);
+    }
+
+    /**
+     * Immutable snapshot of the active catalog and its indexes
+     */
+    private static final class Catalog {
+        final List<Item> activeItems;
+        final Map<String, Item> activeById;
+        final Map<String, List<Item>> byCategory;
+        final List<String> categories;
+        final long expiresAt;
+        private volatile ItemSearchIndex searchIndex;
+
+        Catalog(List<Item> items, long expiresAt) {
+            List<Item> snapshot = new ArrayList<>(items.size());
+            Map<String, Item> byId = new HashMap<>();
+            Map<String, List<Item>> categoryIndex = new HashMap<>();
+            TreeSet<String> categoryNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+            for (Item item : items) {
+                Item copy = item.clone();
+                snapshot.add(copy);
+                byId.put(copy.getItemId(), copy);
+                categoryIndex.computeIfAbsent(categoryKey(copy.getCategory()), k -> new ArrayList<>()).add(copy);
+                if (copy.getCategory() != null) {
+                    categoryNames.add(copy.getCategory());
+                }
+            }
+
+            this.activeItems = Collections.unmodifiableList(snapshot);
+            this.activeById = byId;
+            this.byCategory = categoryIndex;
+            this.categories = new ArrayList<>(categoryNames);
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Snapshot sharing this one's unchanged items, categories and search postings
+         */
+        private Catalog(Catalog previous, Map<String, Item> replaced) {
+            List<Item> snapshot = new ArrayList<>(previous.activeItems.size());
+            for (Item item : previous.activeItems) {
+                snapshot.add(replaced.getOrDefault(item.getItemId(), item));
+            }
+            Map<String, Item> byId = new HashMap<>(previous.activeById);
+            byId.putAll(replaced);
+            Map<String, List<Item>> categoryIndex = new HashMap<>(previous.byCategory);
+            for (Item item : replaced.values()) {
+                List<Item> inCategory = new ArrayList<>(categoryIndex.get(categoryKey(item.getCategory())));
+                inCategory.replaceAll(existing -> replaced.getOrDefault(existing.getItemId(), existing));
+                categoryIndex.put(categoryKey(item.getCategory()), inCategory);
+            }
+
+            this.activeItems = Collections.unmodifiableList(snapshot);
+            this.activeById = byId;
+            this.byCategory = categoryIndex;
+            this.categories = previous.categories;
+            this.expiresAt = previous.expiresAt;
+            ItemSearchIndex index = previous.searchIndex;
+            this.searchIndex = index != null ? index.withUpdatedItems(replaced) : null;
+        }
+
+        /**
+         * Copy of this snapshot with stock changes applied to the items it holds
+         */
+        Catalog withStockChanges(Map<String, Integer> stockChanges) {
+            Map<String, Item> replaced = new HashMap<>();
+            for (Map.Entry<String, Integer> change : stockChanges.entrySet()) {
+                Item item = activeById.get(change.getKey());
+                if (item != null) {
+                    replaced.put(item.getItemId(), withStockChange(item, change.getValue()));
+                }
+            }
+            return replaced.isEmpty() ? this : new Catalog(this, replaced);
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        /**
+         * Build the search index on first use; most snapshots are replaced before anyone searches
+         */
+        ItemSearchIndex searchIndex() {
+            ItemSearchIndex index = searchIndex;
+            if (index == null) {
+                synchronized (this) {
+                    index = searchIndex;
+                    if (index == null) {
+                        index = new ItemSearchIndex(activeItems);
+                        searchIndex = index;
+                    }
+                }
+            }
+            return index;
+        }
+    }
+
+    /**
+     * A single item lookup; item is never null (misses are not cached)
+     */
+    private static final class CachedItem {
+        final Item item;
+        final long expiresAt;
+
+        CachedItem(Item item, long expiresAt) {
+            this.item = item;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Item;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads items for a catalog import from an NDJSON or CSV stream
+ * CSV columns: itemId, name, category, price, stock (or stockQuantity), reorderLevel,
+ * description, isActive (or active). A row without a reorder level has it set to
+ * UNSET_REORDER_LEVEL, leaving the default to the service.
+ *
+ * Design Patterns Used:
+ * - Template Method Pattern: Item binding for the ImportReader formats
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class ItemImportReader extends ImportReader<Item> {
+
+    public static final int UNSET_REORDER_LEVEL = -1;
+
+    public ItemImportReader(Reader in, Format format) {
+        super(in, format);
+    }
+
+    @Override
+    protected Item readJson(JsonReader reader) throws IOException {
+        return JsonBinder.readItem(reader, newItem());
+    }
+
+    @Override
+    protected Item readCsv() {
+        Item item = newItem();
+        item.setItemId(csvValue("itemid"));
+        item.setName(csvValue("name"));
+        item.setCategory(csvValue("category"));
+        item.setDescription(csvValue("description"));
+
+        String value;
+        if ((value = csvValue("price")) != null) {
+            item.setPrice(parseDecimal("price", value));
+        }
+        if ((value = csvValue("stock", "stockquantity")) != null) {
+            item.setStockQuantity(parseInt("stock", value));
+        }
+        if ((value = csvValue("reorderlevel")) != null) {
+            item.setReorderLevel(parseInt("reorderLevel", value));
+        }
+        if ((value = csvValue("isactive", "active")) != null) {
+            item.setActive(parseBoolean("isActive", value));
+        }
+        return item;
+    }
+
+    @Override
+    protected String keyColumn() {
+        return "itemid";
+    }
+
+    private static Item newItem() {
+        Item item = new Item();
+        item.setReorderLevel(UNSET_REORDER_LEVEL);
+        return item;
+    }
+}
@@ -0,0 +1,438 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Item;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable search index over a snapshot of active items
+ * Answers combined text, category and price queries with category facet counts,
+ * without going back to the database:
+ * - Name tokens: each lowercase word of an item name maps to a BitSet of items;
+ *   query words match token prefixes, so "jav prog" finds "Java Programming"
+ * - Categories: one BitSet per category (case-insensitive, as in MySQL)
+ * - Prices: item positions sorted by price, so a price range is two binary searches
+ *
+ * Items are numbered in name order, so a BitSet of matches iterates already sorted
+ * by name. Category facets are counted over the text and price matches only, so
+ * the counts show what picking another category would return.
+ *
+ * Built from the ItemCatalogCache snapshot and discarded with it on invalidation.
+ * Stock changes from sales do not rebuild it: withUpdatedItems shares every
+ * posting with the old index and only swaps the changed items.
+ *
+ * Design Patterns Used:
+ * - Inverted Index: Token and category to item postings
+ * - Immutable Object: Safe to share between request threads
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class ItemSearchIndex {
+
+    /**
+     * Result orderings
+     */
+    public enum Sort {
+        NAME, PRICE_ASC, PRICE_DESC, STOCK_ASC
+    }
+
+    private final Item[] items;
+    private final String[] sortedTokens;
+    private final BitSet[] tokenPostings;
+    private final Map<String, BitSet> categoryPostings;
+    private final Map<String, String> categoryNames;
+    private final int[] byPrice;
+    private final BigDecimal[] sortedPrices;
+    private final BitSet all;
+
+    /**
+     * Build an index over the given items
+     *
+     * @param source Active items; the index keeps its own copies
+     */
+    public ItemSearchIndex(List<Item> source) {
+        this.items = new Item[source.size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = source.get(i).clone();
+        }
+        Arrays.sort(items, Comparator.comparing((Item item) -> lower(item.getName()))
+                .thenComparing(item -> lower(item.getItemId())));
+
+        this.all = new BitSet(items.length);
+        all.set(0, items.length);
+
+        TreeMap<String, BitSet> tokens = new TreeMap<>();
+        this.categoryPostings = new HashMap<>();
+        TreeMap<String, String> names = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        for (int i = 0; i < items.length; i++) {
+            for (String token : tokenize(items[i].getName())) {
+                tokens.computeIfAbsent(token, k -> new BitSet()).set(i);
+            }
+            String category = items[i].getCategory();
+            if (category != null && !category.trim().isEmpty()) {
+                categoryPostings.computeIfAbsent(lower(category), k -> new BitSet()).set(i);
+                names.putIfAbsent(category.trim(), category.trim());
+            }
+        }
+
+        this.sortedTokens = tokens.keySet().toArray(new String[0]);
+        this.tokenPostings = tokens.values().toArray(new BitSet[0]);
+
+        // Display name per lowercase key, in case-insensitive order
+        this.categoryNames = new LinkedHashMap<>();
+        for (String name : names.values()) {
+            categoryNames.put(lower(name), name);
+        }
+
+        Integer[] order = new Integer[items.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing((Integer i) -> priceOf(items[i])).thenComparingInt(i -> i));
+        this.byPrice = new int[order.length];
+        this.sortedPrices = new BigDecimal[order.length];
+        for (int i = 0; i < order.length; i++) {
+            byPrice[i] = order[i];
+            sortedPrices[i] = priceOf(items[order[i]]);
+        }
+    }
+
+    /**
+     * Copy of an index with some items swapped for updated copies
+     */
+    private ItemSearchIndex(ItemSearchIndex source, Item[] items) {
+        this.items = items;
+        this.sortedTokens = source.sortedTokens;
+        this.tokenPostings = source.tokenPostings;
+        this.categoryPostings = source.categoryPostings;
+        this.categoryNames = source.categoryNames;
+        this.byPrice = source.byPrice;
+        this.sortedPrices = source.sortedPrices;
+        this.all = source.all;
+    }
+
+    /**
+     * Get an index with some items replaced by updated versions of themselves
+     * Only fields the postings do not depend on (such as stock) may differ; name,
+     * category and price must be unchanged.
+     *
+     * @param updated Updated items by item ID; IDs not in the index are ignored
+     * @return A new index sharing this one's postings
+     */
+    public ItemSearchIndex withUpdatedItems(Map<String, Item> updated) {
+        Item[] copy = items.clone();
+        for (int i = 0; i < copy.length; i++) {
+            Item item = updated.get(copy[i].getItemId());
+            if (item != null) {
+                copy[i] = item.clone();
+            }
+        }
+        return new ItemSearchIndex(this, copy);
+    }
+
+    /**
+     * Run a query
+     *
+     * @param query Search criteria; unset criteria match everything
+     * @return The requested page of matches, the total count and category facets
+     */
+    public Result search(Query query) {
+        BitSet matches = (BitSet) all.clone();
+
+        String text = query.getText();
+        if (text != null && !text.trim().isEmpty()) {
+            for (String word : tokenize(text)) {
+                matches.and(tokenMatches(word));
+            }
+        }
+
+        if (query.getMinPrice() != null || query.getMaxPrice() != null) {
+            matches.and(priceMatches(query.getMinPrice(), query.getMaxPrice()));
+        }
+
+        if (query.isInStockOnly()) {
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                if (items[i].getStockQuantity() <= 0) {
+                    matches.clear(i);
+                }
+            }
+        }
+
+        // Facets ignore the category filter so every category shows its own count
+        Map<String, Integer> facets = new LinkedHashMap<>();
+        for (Map.Entry<String, String> category : categoryNames.entrySet()) {
+            BitSet inCategory = (BitSet) categoryPostings.get(category.getKey()).clone();
+            inCategory.and(matches);
+            if (!inCategory.isEmpty()) {
+                facets.put(category.getValue(), inCategory.cardinality());
+            }
+        }
+
+        String category = query.getCategory();
+        if (category != null && !category.trim().isEmpty()) {
+            BitSet inCategory = categoryPostings.get(lower(category));
+            if (inCategory == null) {
+                matches.clear();
+            } else {
+                matches.and(inCategory);
+            }
+        }
+
+        int total = matches.cardinality();
+        return new Result(page(matches, query), total, facets);
+    }
+
+    /**
+     * Number of items in the index
+     */
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * Items having a name token that starts with the word
+     */
+    private BitSet tokenMatches(String word) {
+        BitSet result = new BitSet(items.length);
+        int from = Arrays.binarySearch(sortedTokens, word);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        for (int i = from; i < sortedTokens.length && sortedTokens[i].startsWith(word); i++) {
+            result.or(tokenPostings[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Items priced within the inclusive range; a null bound is open
+     */
+    private BitSet priceMatches(BigDecimal minPrice, BigDecimal maxPrice) {
+        int from = minPrice == null ? 0 : lowerBound(minPrice);
+        int to = maxPrice == null ? sortedPrices.length : upperBound(maxPrice);
+        BitSet result = new BitSet(items.length);
+        for (int i = from; i < to; i++) {
+            result.set(byPrice[i]);
+        }
+        return result;
+    }
+
+    /**
+     * First position with a price >= value
+     */
+    private int lowerBound(BigDecimal value) {
+        int low = 0;
+        int high = sortedPrices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedPrices[mid].compareTo(value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First position with a price > value
+     */
+    private int upperBound(BigDecimal value) {
+        int low = 0;
+        int high = sortedPrices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedPrices[mid].compareTo(value) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Copy out the requested page of matches in the requested order
+     */
+    private List<Item> page(BitSet matches, Query query) {
+        int offset = Math.max(0, query.getOffset());
+        int limit = query.getLimit() > 0 ? query.getLimit() : Integer.MAX_VALUE;
+        List<Item> page = new ArrayList<>();
+
+        if (query.getSort() == Sort.PRICE_ASC || query.getSort() == Sort.PRICE_DESC) {
+            boolean ascending = query.getSort() == Sort.PRICE_ASC;
+            int skipped = 0;
+            for (int n = 0; n < byPrice.length && page.size() < limit; n++) {
+                int i = byPrice[ascending ? n : byPrice.length - 1 - n];
+                if (matches.get(i) && skipped++ >= offset) {
+                    page.add(items[i].clone());
+                }
+            }
+            return page;
+        }
+
+        if (query.getSort() == Sort.STOCK_ASC) {
+            List<Item> sorted = new ArrayList<>();
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                sorted.add(items[i]);
+            }
+            // Stable sort keeps name order within equal stock
+            sorted.sort(Comparator.comparingInt(Item::getStockQuantity));
+            for (int n = offset; n < sorted.size() && page.size() < limit; n++) {
+                page.add(sorted.get(n).clone());
+            }
+            return page;
+        }
+
+        int skipped = 0;
+        for (int i = matches.nextSetBit(0); i >= 0 && page.size() < limit; i = matches.nextSetBit(i + 1)) {
+            if (skipped++ >= offset) {
+                page.add(items[i].clone());
+            }
+        }
+        return page;
+    }
+
+    private static List<String> tokenize(String value) {
+        List<String> tokens = new ArrayList<>();
+        if (value == null) {
+            return tokens;
+        }
+        for (String token : value.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.trim().toLowerCase();
+    }
+
+    private static BigDecimal priceOf(Item item) {
+        return item.getPrice() != null ? item.getPrice() : BigDecimal.ZERO;
+    }
+
+    /**
+     * Search criteria; every criterion is optional
+     */
+    public static class Query {
+        private String text;
+        private String category;
+        private BigDecimal minPrice;
+        private BigDecimal maxPrice;
+        private boolean inStockOnly;
+        private Sort sort = Sort.NAME;
+        private int offset;
+        private int limit;
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public void setCategory(String category) {
+            this.category = category;
+        }
+
+        public BigDecimal getMinPrice() {
+            return minPrice;
+        }
+
+        public void setMinPrice(BigDecimal minPrice) {
+            this.minPrice = minPrice;
+        }
+
+        public BigDecimal getMaxPrice() {
+            return maxPrice;
+        }
+
+        public void setMaxPrice(BigDecimal maxPrice) {
+            this.maxPrice = maxPrice;
+        }
+
+        public boolean isInStockOnly() {
+            return inStockOnly;
+        }
+
+        public void setInStockOnly(boolean inStockOnly) {
+            this.inStockOnly = inStockOnly;
+        }
+
+        public Sort getSort() {
+            return sort;
+        }
+
+        public void setSort(Sort sort) {
+            this.sort = sort != null ? sort : Sort.NAME;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+
+        public void setOffset(int offset) {
+            this.offset = offset;
+        }
+
+        /**
+         * @return Maximum items returned; 0 means no limit
+         */
+        public int getLimit() {
+            return limit;
+        }
+
+        public void setLimit(int limit) {
+            this.limit = limit;
+        }
+    }
+
+    /**
+     * One page of matches plus the total count and category facets
+     */
+    public static class Result {
+        private final List<Item> items;
+        private final int totalCount;
+        private final Map<String, Integer> categoryCounts;
+
+        public Result(List<Item> items, int totalCount, Map<String, Integer> categoryCounts) {
+            this.items = items;
+            this.totalCount = totalCount;
+            this.categoryCounts = categoryCounts;
+        }
+
+        public List<Item> getItems() {
+            return items;
+        }
+
+        public int getTotalCount() {
+            return totalCount;
+        }
+
+        /**
+         * @return Matching item count per category, ignoring the category filter
+         */
+        public Map<String, Integer> getCategoryCounts() {
+            return categoryCounts;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Bill;
+import com.pahanaedu.models.BillItem;
+import com.pahanaedu.models.Customer;
+import com.pahanaedu.models.Item;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binds API request bodies to model objects in one pass over a JsonReader
+ * Field names match the ones the API servlets write. Unknown fields are skipped,
+ * so clients can send back a document they received. A value of the wrong type
+ * fails with the position of the value; required fields and business rules are
+ * left to the servlets and services.
+ *
+ * Design Patterns Used:
+ * - Data Mapper Pattern: JSON fields to model properties
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public final class JsonBinder {
+
+    private JsonBinder() {
+    }
+
+    /**
+     * Read an item: {"itemId", "name", "category", "price", "stock", "reorderLevel", "description", "isActive"}
+     */
+    public static Item readItem(JsonReader reader) throws IOException {
+        return readItem(reader, new Item());
+    }
+
+    /**
+     * Read an item into the given instance; fields missing from the JSON keep their current values
+     */
+    public static Item readItem(JsonReader reader, Item item) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "itemId":
+                    item.setItemId(reader.nextString());
+                    break;
+                case "name":
+                    item.setName(reader.nextString());
+                    break;
+                case "category":
+                    item.setCategory(reader.nextString());
+                    break;
+                case "price":
+                    item.setPrice(reader.nextBigDecimal());
+                    break;
+                case "stock":
+                    item.setStockQuantity(reader.nextInt());
+                    break;
+                case "reorderLevel":
+                    item.setReorderLevel(reader.nextInt());
+                    break;
+                case "description":
+                    item.setDescription(reader.nextString());
+                    break;
+                case "isActive":
+                    item.setActive(reader.nextBoolean());
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return item;
+    }
+
+    /**
+     * Read an array of items, or a single item as a list of one
+     */
+    public static List<Item> readItems(JsonReader reader) throws IOException {
+        List<Item> items = new ArrayList<>();
+        if (reader.peek() != JsonReader.Token.BEGIN_ARRAY) {
+            items.add(readItem(reader));
+            return items;
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            items.add(readItem(reader));
+        }
+        reader.endArray();
+        return items;
+    }
+
+    /**
+     * Read a customer: {"accountNumber", "name", "address", "phone", "email", "creditLimit", "isActive"}
+     */
+    public static Customer readCustomer(JsonReader reader) throws IOException {
+        Customer customer = new Customer();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "accountNumber":
+                    customer.setAccountNumber(reader.nextString());
+                    break;
+                case "name":
+                    customer.setName(reader.nextString());
+                    break;
+                case "address":
+                    customer.setAddress(reader.nextString());
+                    break;
+                case "phone":
+                    customer.setPhoneNumber(reader.nextString());
+                    break;
+                case "email":
+                    customer.setEmail(reader.nextString());
+                    break;
+                case "creditLimit":
+                    customer.setCreditLimit(reader.nextBigDecimal());
+                    break;
+                case "isActive":
+                    customer.setActive(reader.nextBoolean());
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return customer;
+    }
+
+    /**
+     * Read a bill: {"billNumber", "customerAccount", "paymentMethod", "notes", "items": [...]}
+     * An unknown payment method defaults to CASH, as the form-based billing does.
+     * Items are added without recalculating the bill; the service prices and totals it.
+     */
+    public static Bill readBill(JsonReader reader) throws IOException {
+        Bill bill = new Bill();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "billNumber":
+                    bill.setBillNumber(reader.nextString());
+                    break;
+                case "customerAccount":
+                    bill.setCustomerAccountNumber(reader.nextString());
+                    break;
+                case "paymentMethod":
+                    bill.setPaymentMethod(parsePaymentMethod(reader.nextString()));
+                    break;
+                case "notes":
+                    bill.setNotes(reader.nextString());
+                    break;
+                case "items":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        bill.getBillItems().add(readBillItem(reader));
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        for (BillItem billItem : bill.getBillItems()) {
+            billItem.setBillNumber(bill.getBillNumber());
+        }
+        return bill;
+    }
+
+    /**
+     * Read a bill item: {"itemId", "quantity", "unitPrice"}
+     */
+    public static BillItem readBillItem(JsonReader reader) throws IOException {
+        BillItem billItem = new BillItem();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "itemId":
+                    billItem.setItemId(reader.nextString());
+                    break;
+                case "quantity":
+                    billItem.setQuantity(reader.nextInt());
+                    break;
+                case "unitPrice":
+                    billItem.setUnitPrice(reader.nextBigDecimal());
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return billItem;
+    }
+
+    private static Bill.PaymentMethod parsePaymentMethod(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Bill.PaymentMethod.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Bill.PaymentMethod.CASH;
+        }
+    }
+}
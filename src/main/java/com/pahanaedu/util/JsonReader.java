@@ -0,0 +1,573 @@
+package com.pahanaedu.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Pull-based JSON parser reading directly from a Reader
+ * The caller asks for the next token (beginObject, nextName, nextString, ...) and
+ * the parser reads only as far as that token, so a request body is parsed in one
+ * linear pass without first being copied into a String. Input is strict JSON;
+ * any syntax error, or a token of the wrong type, throws a MalformedJsonException
+ * carrying the line and column where it was found.
+ *
+ *   reader.beginObject();
+ *   while (reader.hasNext()) {
+ *       switch (reader.nextName()) {
+ *           case "name": name = reader.nextString(); break;
+ *           default: reader.skipValue();
+ *       }
+ *   }
+ *   reader.endObject();
+ *
+ * Design Patterns Used:
+ * - Iterator Pattern: Tokens are pulled one at a time
+ * - State Pattern: A scope stack decides which token may come next
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class JsonReader implements Closeable {
+
+    /**
+     * Token types returned by peek()
+     */
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    /**
+     * Malformed input, or a value of the wrong type, at a known position
+     */
+    public static class MalformedJsonException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private final String reason;
+        private final int line;
+        private final int column;
+
+        public MalformedJsonException(String message, int line, int column) {
+            super(message + " at line " + line + ", column " + column);
+            this.reason = message;
+            this.line = line;
+            this.column = column;
+        }
+
+        /**
+         * @return The message without its position
+         */
+        public String getReason() {
+            return reason;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+    }
+
+    private static final int BUFFER_SIZE = 4 * 1024;
+    private static final int MIN_BUFFER_SIZE = 64;
+
+    // Scopes on the stack
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int NONEMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    private final Reader in;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+
+    // Absolute offsets, for error positions
+    private long bufferStart;
+    private long lineStart;
+    private int line = 1;
+    private long tokenStart;
+    private int tokenLine = 1;
+
+    private int[] stack = new int[16];
+    private int stackSize = 1;
+
+    private Token peeked;
+    private final StringBuilder text = new StringBuilder();
+    private boolean booleanValue;
+
+    public JsonReader(Reader in) {
+        this(in, BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize Characters read from the Reader at a time; a reader over one
+     *                   short line (an NDJSON record) needs no more than its length
+     */
+    public JsonReader(Reader in, int bufferSize) {
+        this.in = in;
+        this.buffer = new char[Math.max(MIN_BUFFER_SIZE, Math.min(bufferSize, BUFFER_SIZE))];
+        stack[0] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * @return Type of the next token, without consuming it
+     */
+    public Token peek() throws IOException {
+        if (peeked != null) {
+            return peeked;
+        }
+
+        int scope = stack[stackSize - 1];
+        switch (scope) {
+            case EMPTY_ARRAY: {
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+                int c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+                if (c != -1) {
+                    position--;
+                }
+                break;
+            }
+            case NONEMPTY_ARRAY: {
+                int c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+                if (c != ',') {
+                    throw syntaxError("Expected ',' or ']'");
+                }
+                break;
+            }
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT: {
+                int c = nextNonWhitespace();
+                if (c == '}') {
+                    return peeked = Token.END_OBJECT;
+                }
+                if (scope == NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw syntaxError("Expected ',' or '}'");
+                    }
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw syntaxError("Expected a member name");
+                }
+                stack[stackSize - 1] = DANGLING_NAME;
+                readString();
+                return peeked = Token.NAME;
+            }
+            case DANGLING_NAME:
+                if (nextNonWhitespace() != ':') {
+                    throw syntaxError("Expected ':'");
+                }
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+                break;
+            case EMPTY_DOCUMENT:
+                stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+                break;
+            default:
+                if (nextNonWhitespace() == -1) {
+                    return peeked = Token.END_DOCUMENT;
+                }
+                throw syntaxError("Unexpected content after the JSON value");
+        }
+
+        int c = nextNonWhitespace();
+        switch (c) {
+            case -1:
+                throw syntaxError("Unexpected end of input");
+            case '{':
+                return peeked = Token.BEGIN_OBJECT;
+            case '[':
+                return peeked = Token.BEGIN_ARRAY;
+            case '"':
+                readString();
+                return peeked = Token.STRING;
+            case 't':
+                readLiteral("true");
+                booleanValue = true;
+                return peeked = Token.BOOLEAN;
+            case 'f':
+                readLiteral("false");
+                booleanValue = false;
+                return peeked = Token.BOOLEAN;
+            case 'n':
+                readLiteral("null");
+                return peeked = Token.NULL;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    readNumber(c);
+                    return peeked = Token.NUMBER;
+                }
+                throw syntaxError("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    public void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        stackSize--;
+    }
+
+    public void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        stackSize--;
+    }
+
+    /**
+     * @return true if the current object or array has another member
+     */
+    public boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    public String nextName() throws IOException {
+        expect(Token.NAME);
+        return text.toString();
+    }
+
+    /**
+     * @return A string value, or the text of a number; null for JSON null
+     */
+    public String nextString() throws IOException {
+        Token token = peek();
+        if (token == Token.NULL) {
+            peeked = null;
+            return null;
+        }
+        if (token != Token.STRING && token != Token.NUMBER) {
+            throw typeError("a string", token);
+        }
+        peeked = null;
+        return text.toString();
+    }
+
+    /**
+     * @return A number, or a string holding one; null for JSON null
+     */
+    public BigDecimal nextBigDecimal() throws IOException {
+        Token token = peek();
+        if (token == Token.NULL) {
+            peeked = null;
+            return null;
+        }
+        if (token != Token.NUMBER && token != Token.STRING) {
+            throw typeError("a number", token);
+        }
+        try {
+            BigDecimal value = new BigDecimal(text.toString().trim());
+            peeked = null;
+            return value;
+        } catch (NumberFormatException e) {
+            throw syntaxError("Expected a number but was \"" + text + "\"");
+        }
+    }
+
+    /**
+     * @return A whole number that fits in an int, or a string holding one
+     */
+    public int nextInt() throws IOException {
+        Token token = peek();
+        BigDecimal value = token == Token.NULL ? null : nextBigDecimal();
+        if (value == null) {
+            throw typeError("an integer", token);
+        }
+        try {
+            return value.intValueExact();
+        } catch (ArithmeticException e) {
+            throw syntaxError("Expected an integer but was " + value.toPlainString());
+        }
+    }
+
+    public boolean nextBoolean() throws IOException {
+        expect(Token.BOOLEAN);
+        return booleanValue;
+    }
+
+    public void nextNull() throws IOException {
+        expect(Token.NULL);
+    }
+
+    /**
+     * Skip the next value, including everything nested inside it
+     */
+    public void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_OBJECT:
+                    beginObject();
+                    depth++;
+                    break;
+                case BEGIN_ARRAY:
+                    beginArray();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    depth--;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    depth--;
+                    break;
+                case END_DOCUMENT:
+                    throw syntaxError("Unexpected end of input");
+                default:
+                    peeked = null;
+                    break;
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * Check that nothing but whitespace follows the top-level value
+     */
+    public void endDocument() throws IOException {
+        expect(Token.END_DOCUMENT);
+    }
+
+    /**
+     * @return Line of the most recently peeked token, starting at 1
+     */
+    public int getLine() {
+        return tokenLine;
+    }
+
+    /**
+     * @return Column of the most recently peeked token, starting at 1
+     */
+    public int getColumn() {
+        return (int) (tokenStart - lineStart) + 1;
+    }
+
+    /**
+     * Build an error at the current token, e.g. for a value that fails binding
+     */
+    public MalformedJsonException syntaxError(String message) {
+        return new MalformedJsonException(message, tokenLine, getColumn());
+    }
+
+    @Override
+    public void close() throws IOException {
+        peeked = null;
+        in.close();
+    }
+
+    private void expect(Token expected) throws IOException {
+        Token token = peek();
+        if (token != expected) {
+            throw typeError(expected.name(), token);
+        }
+        peeked = null;
+    }
+
+    private MalformedJsonException typeError(String expected, Token actual) {
+        return syntaxError("Expected " + expected + " but was " + actual);
+    }
+
+    private void push(int scope) {
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+        }
+        stack[stackSize++] = scope;
+    }
+
+    /**
+     * Read the next non-whitespace character and mark it as the token start
+     *
+     * @return The character, or -1 at end of input
+     */
+    private int nextNonWhitespace() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == '\n') {
+                line++;
+                lineStart = bufferStart + position;
+            } else if (c != ' ' && c != '\t' && c != '\r') {
+                tokenStart = bufferStart + position - (c == -1 ? 0 : 1);
+                tokenLine = line;
+                return c;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            bufferStart += limit;
+            position = 0;
+            limit = Math.max(0, in.read(buffer, 0, buffer.length));
+            if (limit == 0) {
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    /**
+     * Read a string after its opening quote into text
+     */
+    private void readString() throws IOException {
+        text.setLength(0);
+        while (true) {
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position++];
+                if (c == '"') {
+                    text.append(buffer, start, position - 1 - start);
+                    return;
+                }
+                if (c == '\\') {
+                    text.append(buffer, start, position - 1 - start);
+                    readEscape();
+                    start = position;
+                } else if (c < 0x20) {
+                    throw syntaxError("Unescaped control character in string");
+                }
+            }
+            text.append(buffer, start, position - start);
+            if (read() == -1) {
+                throw syntaxError("Unterminated string");
+            }
+            position--;
+        }
+    }
+
+    private void readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                text.append((char) c);
+                break;
+            case 'b':
+                text.append('\b');
+                break;
+            case 'f':
+                text.append('\f');
+                break;
+            case 'n':
+                text.append('\n');
+                break;
+            case 'r':
+                text.append('\r');
+                break;
+            case 't':
+                text.append('\t');
+                break;
+            case 'u': {
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw syntaxError("Invalid \\u escape in string");
+                    }
+                    value = (value << 4) | digit;
+                }
+                text.append((char) value);
+                break;
+            }
+            case -1:
+                throw syntaxError("Unterminated string");
+            default:
+                throw syntaxError("Invalid escape '\\" + (char) c + "' in string");
+        }
+    }
+
+    private void readLiteral(String literal) throws IOException {
+        for (int i = 1; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw syntaxError("Unexpected value, expected " + literal);
+            }
+        }
+        checkDelimiter();
+    }
+
+    /**
+     * Read a number in strict JSON form into text
+     */
+    private void readNumber(int first) throws IOException {
+        text.setLength(0);
+        int c = first;
+        if (c == '-') {
+            text.append('-');
+            c = read();
+        }
+        if (c == '0') {
+            text.append('0');
+            c = read();
+        } else if (c >= '1' && c <= '9') {
+            c = readDigits(c);
+        } else {
+            throw syntaxError("Invalid number");
+        }
+        if (c == '.') {
+            text.append('.');
+            c = read();
+            if (c < '0' || c > '9') {
+                throw syntaxError("Invalid number");
+            }
+            c = readDigits(c);
+        }
+        if (c == 'e' || c == 'E') {
+            text.append('e');
+            c = read();
+            if (c == '+' || c == '-') {
+                text.append((char) c);
+                c = read();
+            }
+            if (c < '0' || c > '9') {
+                throw syntaxError("Invalid number");
+            }
+            c = readDigits(c);
+        }
+        if (c != -1) {
+            position--;
+        }
+        checkDelimiter();
+    }
+
+    private int readDigits(int c) throws IOException {
+        while (c >= '0' && c <= '9') {
+            text.append((char) c);
+            c = read();
+        }
+        return c;
+    }
+
+    /**
+     * A literal or number must be followed by whitespace, a separator or the end
+     */
+    private void checkDelimiter() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return;
+        }
+        position--;
+        if (c != ',' && c != '}' && c != ']' && c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+            throw syntaxError("Unexpected character '" + (char) c + "' after value");
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.pahanaedu.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Streaming JSON writer shared by the API servlets and export writers
+ * Tokens are written straight into a char buffer that is flushed to the target
+ * Writer (normally the response writer) when full, so a response is never built
+ * up as an intermediate String. Strings are escaped in place, copying runs of
+ * plain characters with String.getChars, and numbers are formatted into the
+ * buffer directly.
+ *
+ * The char buffer is borrowed from the current thread and handed back by close(),
+ * so request threads reuse one buffer instead of allocating per response. Commas
+ * and colons are added automatically:
+ *
+ *   try (JsonWriter json = new JsonWriter(response.getWriter())) {
+ *       json.beginObject().name("success").value(true).endObject();
+ *   }
+ *
+ * Design Patterns Used:
+ * - Builder Pattern: Fluent token-by-token output
+ * - Object Pool Pattern: One reusable buffer per thread
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class JsonWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // Holds the thread's idle buffer; a writer takes it and puts it back on close
+    private static final ThreadLocal<char[]> BUFFERS = new ThreadLocal<>();
+
+    /**
+     * Writes one JSON value, such as a response's data member
+     */
+    @FunctionalInterface
+    public interface ValueWriter {
+        void write(JsonWriter json) throws IOException;
+    }
+
+    private final Writer out;
+    private char[] buffer;
+    private int position;
+
+    // hasElements[depth] is true once the innermost object or array has a member
+    private boolean[] hasElements = new boolean[16];
+    private int depth;
+    private boolean afterName;
+
+    /**
+     * @param out Target writer; close() flushes it but leaves it open
+     */
+    public JsonWriter(Writer out) {
+        this.out = out;
+        char[] pooled = BUFFERS.get();
+        if (pooled != null) {
+            BUFFERS.remove();
+            this.buffer = pooled;
+        } else {
+            this.buffer = new char[BUFFER_SIZE];
+        }
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        return open('{');
+    }
+
+    public JsonWriter endObject() throws IOException {
+        return close('}');
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        return open('[');
+    }
+
+    public JsonWriter endArray() throws IOException {
+        return close(']');
+    }
+
+    /**
+     * Write an object member name; the next call writes its value
+     */
+    public JsonWriter name(String name) throws IOException {
+        if (afterName) {
+            throw new IllegalStateException("Member " + name + " follows a name without a value");
+        }
+        separate();
+        writeQuoted(name);
+        append(':');
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * Write a string value; null is written as null
+     */
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeQuoted(value);
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        writeLong(value);
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        writeRaw(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Write a decimal without exponent; null is written as null
+     */
+    public JsonWriter value(BigDecimal value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeRaw(value.toPlainString());
+        return this;
+    }
+
+    /**
+     * Write a date or timestamp in its toString() form; null is written as null
+     */
+    public JsonWriter value(Date value) throws IOException {
+        return value(value != null ? value.toString() : null);
+    }
+
+    /**
+     * Write a value using a ValueWriter; a null writer writes null
+     */
+    public JsonWriter value(ValueWriter value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        value.write(this);
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        writeRaw("null");
+        return this;
+    }
+
+    /**
+     * Write a line break between top-level values (for NDJSON)
+     */
+    public JsonWriter newLine() throws IOException {
+        if (depth != 0) {
+            throw new IllegalStateException("Line break inside a JSON value");
+        }
+        append('\n');
+        hasElements[0] = false;
+        return this;
+    }
+
+    /**
+     * Pass buffered output to the target writer and flush it
+     */
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * Flush and hand the buffer back to the thread; the target writer stays open
+     */
+    @Override
+    public void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            BUFFERS.set(buffer);
+            buffer = null;
+        }
+    }
+
+    /**
+     * Write a string's JSON escaped content, without quotes, to any writer
+     * Used where JSON is written by hand; null writes nothing
+     *
+     * @param out Target writer
+     * @param value Text to escape
+     */
+    public static void writeEscaped(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (needsEscape(c)) {
+                if (i > start) {
+                    out.write(value, start, i - start);
+                }
+                String escape = shortEscape(c);
+                if (escape != null) {
+                    out.write(escape);
+                } else {
+                    out.write("\\u00");
+                    out.write(HEX[(c >> 4) & 0xF]);
+                    out.write(HEX[c & 0xF]);
+                }
+                start = i + 1;
+            }
+        }
+        if (start < length) {
+            out.write(value, start, length - start);
+        }
+    }
+
+    private JsonWriter open(char bracket) throws IOException {
+        beforeValue();
+        append(bracket);
+        depth++;
+        if (depth == hasElements.length) {
+            hasElements = Arrays.copyOf(hasElements, depth * 2);
+        }
+        hasElements[depth] = false;
+        return this;
+    }
+
+    private JsonWriter close(char bracket) throws IOException {
+        if (depth == 0 || afterName) {
+            throw new IllegalStateException("Unbalanced " + bracket);
+        }
+        depth--;
+        append(bracket);
+        return this;
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        separate();
+    }
+
+    private void separate() throws IOException {
+        if (hasElements[depth]) {
+            append(',');
+        }
+        hasElements[depth] = true;
+    }
+
+    private void writeQuoted(String value) throws IOException {
+        append('"');
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (needsEscape(c)) {
+                copy(value, start, i);
+                String escape = shortEscape(c);
+                if (escape != null) {
+                    writeRaw(escape);
+                } else {
+                    writeRaw("\\u00");
+                    append(HEX[(c >> 4) & 0xF]);
+                    append(HEX[c & 0xF]);
+                }
+                start = i + 1;
+            }
+        }
+        copy(value, start, length);
+        append('"');
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeRaw(Long.toString(value));
+            return;
+        }
+        if (position + 20 > buffer.length) {
+            flushBuffer();
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int end = position + digits(value);
+        int i = end;
+        do {
+            buffer[--i] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        position = end;
+    }
+
+    private void writeRaw(String text) throws IOException {
+        copy(text, 0, text.length());
+    }
+
+    /**
+     * Copy text[start, end) into the buffer, flushing as it fills
+     */
+    private void copy(String text, int start, int end) throws IOException {
+        while (start < end) {
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            int count = Math.min(end - start, buffer.length - position);
+            text.getChars(start, start + count, buffer, position);
+            position += count;
+            start += count;
+        }
+    }
+
+    private void append(char c) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = c;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (buffer == null) {
+            throw new IllegalStateException("JsonWriter is closed");
+        }
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static boolean needsEscape(char c) {
+        return c < 0x20 || c == '"' || c == '\\' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static String shortEscape(char c) {
+        switch (c) {
+            case '"':
+                return "\\\"";
+            case '\\':
+                return "\\\\";
+            case '\n':
+                return "\\n";
+            case '\r':
+                return "\\r";
+            case '\t':
+                return "\\t";
+            case '\b':
+                return "\\b";
+            case '\f':
+                return "\\f";
+            case '\u2028':
+                return "\\u2028";
+            case '\u2029':
+                return "\\u2029";
+            default:
+                return null;
+        }
+    }
+}
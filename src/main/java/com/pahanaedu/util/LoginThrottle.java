@@ -0,0 +1,353 @@
+package com.pahanaedu.util;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Login rate limiter and lockout tracker for one kind of key (client IP or username)
+ * Each key gets a token bucket: a burst of attempts, refilled at a steady rate, so a
+ * person mistyping a password is never slowed while a script is held to the refill
+ * rate. Consecutive failures lock the key out for a fixed time; a success clears them.
+ *
+ * Keys are spread over independently locked stripes, so a flood of attempts from
+ * many sources contends only within a stripe and never on one global lock. Each
+ * stripe holds a bounded number of keys and expires idle ones with a timing wheel:
+ * a key sits in the wheel slot of the tick it expires in, and the slots the clock
+ * has passed are swept on the next access to the stripe. When a stripe is full the
+ * unlocked key closest to expiry is dropped, so memory stays bounded under a flood
+ * of distinct keys and a lockout is only dropped when every key in the stripe is
+ * locked out.
+ *
+ * Design Patterns Used:
+ * - Token Bucket: Burst allowance with a steady refill rate
+ * - Lock Striping: Keys hash to stripes with their own locks
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class LoginThrottle {
+
+    /**
+     * Outcome of an attempt
+     */
+    public enum Decision {
+        ALLOWED,
+        RATE_LIMITED,
+        LOCKED
+    }
+
+    private static final int STRIPES = 64;
+    private static final int WHEEL_SLOTS = 64;
+
+    private final String name;
+    private final int burst;
+    private final double tokensPerMilli;
+    private final int maxFailures;
+    private final long lockoutMillis;
+    private final long refillMillis;
+    private final long tickMillis;
+    private final int maxEntriesPerStripe;
+    private final LongSupplier clock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private final AtomicLong rateLimitedCount = new AtomicLong();
+    private final AtomicLong lockoutCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * @param name Kind of key, used in log messages ("IP", "username")
+     * @param burst Attempts allowed in a row before the refill rate applies
+     * @param refillPerMinute Attempts added back per minute
+     * @param maxFailures Consecutive failures that lock the key out
+     * @param lockoutMillis Time a locked-out key stays locked
+     * @param maxEntries Keys tracked at most; beyond it the keys closest to expiry are dropped
+     */
+    public LoginThrottle(String name, int burst, int refillPerMinute, int maxFailures,
+                         long lockoutMillis, int maxEntries) {
+        this(name, burst, refillPerMinute, maxFailures, lockoutMillis, maxEntries, System::currentTimeMillis);
+    }
+
+    LoginThrottle(String name, int burst, int refillPerMinute, int maxFailures,
+                  long lockoutMillis, int maxEntries, LongSupplier clock) {
+        this.name = name;
+        this.burst = Math.max(1, burst);
+        this.tokensPerMilli = Math.max(1, refillPerMinute) / 60_000.0;
+        this.maxFailures = Math.max(1, maxFailures);
+        this.lockoutMillis = Math.max(0, lockoutMillis);
+        this.clock = clock;
+
+        // The wheel spans the longest a key is kept: a full refill or a lockout
+        this.refillMillis = (long) Math.ceil(this.burst / tokensPerMilli);
+        this.tickMillis = Math.max(1, Math.max(refillMillis, this.lockoutMillis) / (WHEEL_SLOTS - 2));
+        this.maxEntriesPerStripe = Math.max(1, (maxEntries + STRIPES - 1) / STRIPES);
+
+        long now = clock.getAsLong();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(now / tickMillis);
+        }
+    }
+
+    /**
+     * Take one attempt from the key's bucket
+     *
+     * @param key Client IP or username; null is always allowed
+     * @return ALLOWED, RATE_LIMITED when the bucket is empty, or LOCKED during a lockout
+     */
+    public Decision tryAcquire(String key) {
+        if (key == null) {
+            return Decision.ALLOWED;
+        }
+
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            long now = clock.getAsLong();
+            stripe.advance(now);
+            Entry entry = stripe.getOrCreate(key, now);
+
+            if (entry.lockedUntil > now) {
+                return Decision.LOCKED;
+            }
+
+            entry.tokens = Math.min(burst, entry.tokens + (now - entry.refilledAt) * tokensPerMilli);
+            entry.refilledAt = now;
+            if (entry.tokens < 1) {
+                stripe.schedule(key, entry, now);
+                rateLimitedCount.incrementAndGet();
+                return Decision.RATE_LIMITED;
+            }
+
+            entry.tokens -= 1;
+            stripe.schedule(key, entry, now);
+            return Decision.ALLOWED;
+        }
+    }
+
+    /**
+     * Record a failed login; the maxFailures-th consecutive failure starts a lockout
+     *
+     * @return true if this failure locked the key out
+     */
+    public boolean recordFailure(String key) {
+        if (key == null) {
+            return false;
+        }
+
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            long now = clock.getAsLong();
+            stripe.advance(now);
+            Entry entry = stripe.getOrCreate(key, now);
+
+            entry.failures++;
+            boolean locked = entry.failures >= maxFailures && entry.lockedUntil <= now;
+            if (locked) {
+                entry.lockedUntil = now + lockoutMillis;
+                entry.failures = 0;
+                lockoutCount.incrementAndGet();
+                System.out.println("SECURITY: " + name + " " + key + " locked out for "
+                        + (lockoutMillis / 1000) + "s after " + maxFailures + " failed logins");
+            }
+            stripe.schedule(key, entry, now);
+            return locked;
+        }
+    }
+
+    /**
+     * Clear failures and any lockout after a successful login; the bucket is kept
+     */
+    public void recordSuccess(String key) {
+        if (key == null) {
+            return;
+        }
+
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.advance(clock.getAsLong());
+            Entry entry = stripe.entries.get(key);
+            if (entry != null) {
+                entry.failures = 0;
+                entry.lockedUntil = 0;
+            }
+        }
+    }
+
+    /**
+     * @return true while the key is locked out
+     */
+    public boolean isLocked(String key) {
+        if (key == null) {
+            return false;
+        }
+
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Entry entry = stripe.entries.get(key);
+            return entry != null && entry.lockedUntil > clock.getAsLong();
+        }
+    }
+
+    /**
+     * @return Keys currently tracked (including expired keys not yet swept)
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.entries.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Forget every key
+     */
+    public void clear() {
+        long tick = clock.getAsLong() / tickMillis;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.entries.clear();
+                for (Set<String> slot : stripe.wheel) {
+                    slot.clear();
+                }
+                stripe.tick = tick;
+            }
+        }
+    }
+
+    /**
+     * Get throttle statistics for monitoring
+     */
+    public String getStats() {
+        return "Login throttle (" + name + ") - Tracked: " + size() + ", Rate limited: " + rateLimitedCount.get()
+                + ", Lockouts: " + lockoutCount.get() + ", Evictions: " + evictionCount.get();
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * Attempt state of one key
+     */
+    private static final class Entry {
+        double tokens;
+        long refilledAt;
+        int failures;
+        long lockedUntil;
+        long expiryTick;
+    }
+
+    /**
+     * Keys of one stripe with their timing wheel; guarded by the stripe's monitor
+     */
+    private final class Stripe {
+        final Map<String, Entry> entries = new HashMap<>();
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final Set<String>[] wheel = new Set[WHEEL_SLOTS];
+        // Last tick swept
+        long tick;
+
+        Stripe(long tick) {
+            this.tick = tick;
+            for (int i = 0; i < WHEEL_SLOTS; i++) {
+                wheel[i] = new HashSet<>();
+            }
+        }
+
+        /**
+         * Sweep the slots of every tick the clock has passed since the last access
+         */
+        void advance(long now) {
+            long target = now / tickMillis;
+            if (target - tick >= WHEEL_SLOTS) {
+                // Idle for a full turn: everything has expired
+                entries.clear();
+                for (Set<String> slot : wheel) {
+                    slot.clear();
+                }
+                tick = target;
+                return;
+            }
+            while (tick < target) {
+                tick++;
+                Set<String> slot = wheel[(int) (tick % WHEEL_SLOTS)];
+                for (String key : slot) {
+                    entries.remove(key);
+                }
+                slot.clear();
+            }
+        }
+
+        Entry getOrCreate(String key, long now) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                if (entries.size() >= maxEntriesPerStripe) {
+                    evictSoonestExpiring(now);
+                }
+                entry = new Entry();
+                entry.tokens = burst;
+                entry.refilledAt = now;
+                entries.put(key, entry);
+            }
+            return entry;
+        }
+
+        /**
+         * Move the key to the slot of the tick it expires in: the end of its lockout,
+         * a lockout period after its last failure, or otherwise once its bucket is full
+         */
+        void schedule(String key, Entry entry, long now) {
+            long expiresAt;
+            if (entry.lockedUntil > now) {
+                expiresAt = entry.lockedUntil;
+            } else if (entry.failures > 0) {
+                expiresAt = now + lockoutMillis;
+            } else {
+                expiresAt = now + refillMillis;
+            }
+            // Never further ahead than the wheel reaches
+            long expiryTick = Math.min(expiresAt / tickMillis + 1, tick + WHEEL_SLOTS - 1);
+            if (expiryTick != entry.expiryTick) {
+                if (entry.expiryTick != 0) {
+                    wheel[(int) (entry.expiryTick % WHEEL_SLOTS)].remove(key);
+                }
+                wheel[(int) (expiryTick % WHEEL_SLOTS)].add(key);
+                entry.expiryTick = expiryTick;
+            }
+        }
+
+        /**
+         * Drop the unlocked key closest to expiry; a locked-out key only if there is none
+         */
+        private void evictSoonestExpiring(long now) {
+            if (!evict(now, false)) {
+                evict(now, true);
+            }
+        }
+
+        private boolean evict(long now, boolean includeLocked) {
+            for (int i = 1; i <= WHEEL_SLOTS; i++) {
+                Set<String> slot = wheel[(int) ((tick + i) % WHEEL_SLOTS)];
+                Iterator<String> keys = slot.iterator();
+                while (keys.hasNext()) {
+                    String key = keys.next();
+                    Entry entry = entries.get(key);
+                    if (includeLocked || entry == null || entry.lockedUntil <= now) {
+                        entries.remove(key);
+                        keys.remove();
+                        evictionCount.incrementAndGet();
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.pahanaedu.util;
+
+import java.util.Arrays;
+
+/**
+ * Finds the PBKDF2 iteration count that takes a target time on this machine
+ * Run on the production host and put the printed value in database.properties as
+ * password.pbkdf2.iterations. Existing hashes are upgraded at each user's next login.
+ *
+ * Usage: java com.pahanaedu.util.PasswordHashCalibration [targetMillis]   (default 50)
+ */
+public class PasswordHashCalibration {
+
+    private static final int DEFAULT_TARGET_MILLIS = 50;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int PROBE_ITERATIONS = 20_000;
+
+    public static void main(String[] args) {
+        int targetMillis = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TARGET_MILLIS;
+
+        // Time per iteration from a short probe, then confirm at the estimated count
+        double millisPerIteration = measure(PROBE_ITERATIONS) / PROBE_ITERATIONS;
+        int estimate = roundIterations(targetMillis / millisPerIteration);
+        double measured = measure(estimate);
+        int iterations = roundIterations((double) estimate * targetMillis / measured);
+
+        System.out.println("Target: " + targetMillis + " ms per password check");
+        System.out.println(String.format("Measured: %.1f ms at %d iterations", measured, estimate));
+        System.out.println("Recommended setting:");
+        System.out.println("password.pbkdf2.iterations=" + iterations);
+    }
+
+    /**
+     * @return Median milliseconds for one hash at the given iteration count
+     */
+    static double measure(int iterations) {
+        byte[] salt = new byte[16];
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            Pbkdf2PasswordHasher.derive("calibration-password", salt, iterations, 32);
+        }
+
+        double[] times = new double[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            Pbkdf2PasswordHasher.derive("calibration-password", salt, iterations, 32);
+            times[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(times);
+        return times[MEASURED_ROUNDS / 2];
+    }
+
+    /**
+     * Round to a whole thousand, never below 10,000
+     */
+    private static int roundIterations(double iterations) {
+        return Math.max(10_000, (int) Math.round(iterations / 1000) * 1000);
+    }
+}
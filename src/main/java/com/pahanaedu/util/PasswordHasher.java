@@ -0,0 +1,40 @@
+package com.pahanaedu.util;
+
+/**
+ * One password hashing scheme and its stored format
+ * PasswordUtil hashes new passwords with its current hasher and verifies stored
+ * hashes with whichever hasher recognises their format, so schemes can be added
+ * and old hashes upgraded at login without a bulk migration.
+ *
+ * Design Patterns Used:
+ * - Strategy Pattern: Each scheme is a separate implementation
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public interface PasswordHasher {
+
+    /**
+     * Hash a password with a new random salt
+     *
+     * @return Stored form, including everything needed to verify it
+     */
+    String hash(String plainPassword);
+
+    /**
+     * Check a password against a stored hash in this hasher's format
+     * Implementations compare in constant time.
+     */
+    boolean verify(String plainPassword, String storedHash);
+
+    /**
+     * @return true if the stored hash is in this hasher's format
+     */
+    boolean supports(String storedHash);
+
+    /**
+     * @return true if the stored hash should be replaced by a new hash(), for example
+     *         because it uses a lower cost than currently configured
+     */
+    boolean needsRehash(String storedHash);
+}
@@ -1,13 +1,16 @@
 package com.pahanaedu.util;
 
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
-import java.util.Base64;
+import java.util.List;
 
 /**
  * Utility class for password hashing and verification
- * Uses SHA-256 with salt for security
+ * New passwords are hashed with PBKDF2 (Pbkdf2PasswordHasher); stored hashes are
+ * verified by whichever PasswordHasher recognises their format, including the
+ * original salted SHA-256 format. needsRehash() tells the login path when a stored
+ * hash should be replaced with one from the current hasher.
  * Demonstrates utility pattern and security best practices
  *
  * @author Pahana Edu Development Team
@@ -15,9 +18,23 @@ import java.util.Base64;
  */
 public class PasswordUtil {
 
-    private static final String HASH_ALGORITHM = "SHA-256";
-    private static final int SALT_LENGTH = 16;
-    private static final String DELIMITER = ":";
+    /**
+     * Hashers created on first use, with the iteration count from database.properties
+     */
+    private static final class Hashers {
+        static final PasswordHasher CURRENT = new Pbkdf2PasswordHasher(configuredIterations());
+        static final List<PasswordHasher> ALL = List.of(CURRENT, new Sha256PasswordHasher());
+
+        private static int configuredIterations() {
+            try {
+                return DatabaseConnection.getInstance().getIntProperty("password.pbkdf2.iterations",
+                        Pbkdf2PasswordHasher.DEFAULT_ITERATIONS);
+            } catch (RuntimeException e) {
+                System.err.println("Using default password hashing cost: " + e.getMessage());
+                return Pbkdf2PasswordHasher.DEFAULT_ITERATIONS;
+            }
+        }
+    }
 
     /**
      * Private constructor to prevent instantiation
@@ -28,22 +45,10 @@ public class PasswordUtil {
     }
 
     /**
-     * Generate a random salt for password hashing
-     *
-     * @return Base64 encoded salt string
-     */
-    private static String generateSalt() {
-        SecureRandom random = new SecureRandom();
-        byte[] salt = new byte[SALT_LENGTH];
-        random.nextBytes(salt);
-        return Base64.getEncoder().encodeToString(salt);
-    }
-
-    /**
-     * Hash a password with a random salt
+     * Hash a password with a random salt using the current hasher
      *
      * @param plainPassword The plain text password to hash
-     * @return String containing salt and hash separated by colon
+     * @return Stored form of the hash, including its format, cost and salt
      * @throws RuntimeException if hashing fails
      */
     public static String hashPassword(String plainPassword) {
@@ -51,42 +56,14 @@ public class PasswordUtil {
             throw new IllegalArgumentException("Password cannot be null or empty");
         }
 
-        try {
-            String salt = generateSalt();
-            String hash = hashPasswordWithSalt(plainPassword, salt);
-            return salt + DELIMITER + hash;
-
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Password hashing failed: " + e.getMessage(), e);
-        }
-    }
-
-    /**
-     * Hash password with provided salt
-     *
-     * @param password Plain text password
-     * @param salt Salt string
-     * @return Base64 encoded hash
-     * @throws NoSuchAlgorithmException if algorithm not available
-     */
-    private static String hashPasswordWithSalt(String password, String salt) throws NoSuchAlgorithmException {
-        MessageDigest md = MessageDigest.getInstance(HASH_ALGORITHM);
-
-        // Add salt to the hash
-        md.update(salt.getBytes());
-
-        // Hash the password
-        byte[] hashedPassword = md.digest(password.getBytes());
-
-        // Return Base64 encoded hash
-        return Base64.getEncoder().encodeToString(hashedPassword);
+        return Hashers.CURRENT.hash(plainPassword);
     }
 
     /**
      * Verify if a plain password matches the stored hash
      *
      * @param plainPassword The plain text password to verify
-     * @param storedHash The stored hash (salt:hash format)
+     * @param storedHash The stored hash, in any supported format
      * @return true if password matches, false otherwise
      */
     public static boolean verifyPassword(String plainPassword, String storedHash) {
@@ -95,21 +72,12 @@ public class PasswordUtil {
         }
 
         try {
-            // Split stored hash into salt and hash parts
-            String[] parts = storedHash.split(DELIMITER);
-            if (parts.length != 2) {
+            PasswordHasher hasher = hasherFor(storedHash);
+            if (hasher == null) {
                 System.err.println("Invalid stored hash format");
                 return false;
             }
-
-            String salt = parts[0];
-            String expectedHash = parts[1];
-
-            // Hash the provided password with the same salt
-            String actualHash = hashPasswordWithSalt(plainPassword, salt);
-
-            // Compare hashes
-            return expectedHash.equals(actualHash);
+            return hasher.verify(plainPassword, storedHash);
 
         } catch (Exception e) {
             System.err.println("Error verifying password: " + e.getMessage());
@@ -117,6 +85,30 @@ public class PasswordUtil {
         }
     }
 
+    /**
+     * Check whether a stored hash should be replaced by hashPassword()
+     * True for older formats and for hashes made with a lower cost than configured.
+     *
+     * @param storedHash The stored hash
+     * @return true if the hash should be upgraded once the password is known
+     */
+    public static boolean needsRehash(String storedHash) {
+        if (storedHash == null) {
+            return false;
+        }
+        PasswordHasher hasher = hasherFor(storedHash);
+        return hasher != null && (hasher != Hashers.CURRENT || hasher.needsRehash(storedHash));
+    }
+
+    private static PasswordHasher hasherFor(String storedHash) {
+        for (PasswordHasher hasher : Hashers.ALL) {
+            if (hasher.supports(storedHash)) {
+                return hasher;
+            }
+        }
+        return null;
+    }
+
     /**
      * Generate a random password for testing purposes
      *
@@ -174,6 +166,7 @@ public class PasswordUtil {
 
         // For development: direct comparison
         // This is NOT secure and should only be used for testing
-        return plainPassword.equals(storedPassword);
+        return MessageDigest.isEqual(plainPassword.getBytes(StandardCharsets.UTF_8),
+                storedPassword.getBytes(StandardCharsets.UTF_8));
     }
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+package com.pahanaedu.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs password checks on a small bounded pool
+ * A PBKDF2 check costs tens of milliseconds of CPU. Running them here caps how many
+ * run at once (by default one per CPU) and how many may wait; beyond that a login is
+ * refused at once with RejectedExecutionException instead of every request thread
+ * queueing on the CPU during a login storm.
+ *
+ * The check and, when the stored hash is outdated, the replacement hash are computed
+ * in the same task, so an upgrade at login costs no second trip through the queue.
+ * Logins for unknown usernames run the same check against a dummy hash, so response
+ * time does not reveal which usernames exist.
+ *
+ * Design Patterns Used:
+ * - Singleton Pattern: One pool shared by all logins
+ * - Bounded Queue: Saturation is refused early instead of piling up requests
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class PasswordVerifier {
+
+    /**
+     * Outcome of a password check
+     */
+    public static final class Result {
+        private final boolean matches;
+        private final String upgradedHash;
+
+        Result(boolean matches, String upgradedHash) {
+            this.matches = matches;
+            this.upgradedHash = upgradedHash;
+        }
+
+        public boolean matches() {
+            return matches;
+        }
+
+        /**
+         * @return New hash to store in place of the outdated one, or null if none is needed
+         */
+        public String getUpgradedHash() {
+            return upgradedHash;
+        }
+    }
+
+    private static volatile PasswordVerifier shared;
+    private static final Object lock = new Object();
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    // Hash of a random password in the current format, created on first use
+    private volatile String dummyHash;
+
+    /**
+     * @param threads Checks run at once
+     * @param queueSize Checks allowed to wait for a thread
+     * @param timeoutMillis Longest a caller waits for its check, including time queued
+     */
+    public PasswordVerifier(int threads, int queueSize, long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger counter = new AtomicInteger();
+        int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), runnable -> {
+                    Thread thread = new Thread(runnable, "pahanaedu-password-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Get the shared verifier, configured from database.properties
+     */
+    public static PasswordVerifier getShared() {
+        if (shared == null) {
+            synchronized (lock) {
+                if (shared == null) {
+                    DatabaseConnection config = DatabaseConnection.getInstance();
+                    int threads = config.getIntProperty("password.verify.threads", 0);
+                    shared = new PasswordVerifier(
+                            threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                            config.getIntProperty("password.verify.queueSize", 64),
+                            config.getIntProperty("password.verify.timeoutMillis", 5000));
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Stop the shared pool's threads; called when the application shuts down
+     */
+    public static void shutdownShared() {
+        synchronized (lock) {
+            if (shared != null) {
+                shared.shutdown();
+                shared = null;
+            }
+        }
+    }
+
+    /**
+     * Check a password on the pool, and hash it again if the stored hash is outdated
+     *
+     * @param plainPassword Password entered by the user
+     * @param storedHash Hash stored for the user
+     * @return The outcome; an upgraded hash is only produced for a matching password
+     * @throws RejectedExecutionException if the pool is saturated or the check took
+     *         longer than the timeout
+     */
+    public Result verify(String plainPassword, String storedHash) {
+        Future<Result> future;
+        try {
+            future = executor.submit(() -> {
+                boolean matches = PasswordUtil.verifyPassword(plainPassword, storedHash);
+                String upgradedHash = matches && PasswordUtil.needsRehash(storedHash)
+                        ? PasswordUtil.hashPassword(plainPassword)
+                        : null;
+                return new Result(matches, upgradedHash);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            throw new RejectedExecutionException("Too many logins in progress", e);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCount.incrementAndGet();
+            throw new RejectedExecutionException("Password check timed out", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while checking password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password check failed", e.getCause());
+        }
+    }
+
+    /**
+     * Check a password for a username that does not exist
+     * Costs the same as a real check (against a current-format dummy hash) and always
+     * fails, so an unknown username takes as long to refuse as a wrong password.
+     *
+     * @param plainPassword Password entered by the user
+     * @throws RejectedExecutionException as for verify
+     */
+    public void verifyUnknownUser(String plainPassword) {
+        verify(plainPassword, getDummyHash());
+    }
+
+    private String getDummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = PasswordUtil.hashPassword(PasswordUtil.generateRandomPassword(24));
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Stop the threads; checks still queued are dropped and their callers time out
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Get verifier statistics for monitoring
+     */
+    public String getStats() {
+        return "Password verifier - Active: " + executor.getActiveCount() + ", Queued: " + executor.getQueue().size()
+                + ", Completed: " + executor.getCompletedTaskCount() + ", Rejected: " + rejectedCount.get();
+    }
+}
@@ -0,0 +1,125 @@
+package com.pahanaedu.util;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * PBKDF2-HMAC-SHA256 password hashing with a configurable iteration count
+ * Stored as "$pbkdf2-sha256$v=1$i=ITERATIONS$SALT$HASH" (salt and hash Base64),
+ * so every hash carries its own cost. Raising the configured iterations makes
+ * older hashes report needsRehash() and they are upgraded at the next login.
+ *
+ * Design Patterns Used:
+ * - Strategy Pattern: Current PasswordHasher implementation
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+
+    public static final String PREFIX = "$pbkdf2-sha256$";
+    public static final int VERSION = 1;
+    public static final int DEFAULT_ITERATIONS = 60_000;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * @param iterations PBKDF2 iterations for new hashes; PasswordHashCalibration
+     *                   finds the count for a target time on this machine
+     */
+    public Pbkdf2PasswordHasher(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be positive");
+        }
+        this.iterations = iterations;
+    }
+
+    @Override
+    public String hash(String plainPassword) {
+        byte[] salt = new byte[SALT_LENGTH];
+        random.nextBytes(salt);
+        byte[] hash = derive(plainPassword, salt, iterations, HASH_LENGTH);
+
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + "v=" + VERSION + "$i=" + iterations + "$"
+                + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    @Override
+    public boolean verify(String plainPassword, String storedHash) {
+        ParsedHash parsed = parse(storedHash);
+        if (parsed == null) {
+            System.err.println("Invalid stored hash format");
+            return false;
+        }
+        byte[] actual = derive(plainPassword, parsed.salt, parsed.iterations, parsed.hash.length);
+        return MessageDigest.isEqual(parsed.hash, actual);
+    }
+
+    @Override
+    public boolean supports(String storedHash) {
+        return storedHash.startsWith(PREFIX);
+    }
+
+    @Override
+    public boolean needsRehash(String storedHash) {
+        ParsedHash parsed = parse(storedHash);
+        return parsed == null || parsed.version != VERSION || parsed.iterations < iterations;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    static byte[] derive(String password, byte[] salt, int iterations, int length) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, length * 8);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Password hashing failed: " + e.getMessage(), e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    /**
+     * Split a stored hash into its fields
+     *
+     * @return The fields, or null if the hash is not in this format
+     */
+    private static ParsedHash parse(String storedHash) {
+        if (!storedHash.startsWith(PREFIX)) {
+            return null;
+        }
+        String[] parts = storedHash.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 4 || !parts[0].startsWith("v=") || !parts[1].startsWith("i=")) {
+            return null;
+        }
+        try {
+            ParsedHash parsed = new ParsedHash();
+            parsed.version = Integer.parseInt(parts[0].substring(2));
+            parsed.iterations = Integer.parseInt(parts[1].substring(2));
+            parsed.salt = Base64.getDecoder().decode(parts[2]);
+            parsed.hash = Base64.getDecoder().decode(parts[3]);
+            return parsed.iterations > 0 && parsed.hash.length > 0 ? parsed : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static final class ParsedHash {
+        int version;
+        int iterations;
+        byte[] salt;
+        byte[] hash;
+    }
+}
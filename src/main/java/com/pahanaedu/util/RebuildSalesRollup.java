@@ -0,0 +1,47 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.dao.SalesRollupDAO;
+
+import java.sql.Date;
+
+/**
+ * Simple runner to rebuild the daily sales rollup from the bills table
+ * Run once after creating daily_sales_rollup, or to repair a date range:
+ *   RebuildSalesRollup                         (all days)
+ *   RebuildSalesRollup 2024-01-01 2024-01-31   (inclusive range)
+ */
+public class RebuildSalesRollup {
+
+    public static void main(String[] args) {
+        Date startDate = null;
+        Date endDate = null;
+
+        try {
+            if (args.length == 2) {
+                startDate = Date.valueOf(args[0]);
+                endDate = Date.valueOf(args[1]);
+            } else if (args.length != 0) {
+                System.err.println("Usage: RebuildSalesRollup [startDate endDate] (dates as yyyy-mm-dd)");
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid date: " + e.getMessage());
+            return;
+        }
+
+        System.out.println("Rebuilding sales rollup for "
+                + (startDate == null ? "all days" : startDate + " to " + endDate) + "...");
+
+        long started = System.currentTimeMillis();
+        int rows = new SalesRollupDAO().rebuild(startDate, endDate);
+
+        if (rows < 0) {
+            System.err.println("Rebuild failed - the rollup was left unchanged");
+        } else {
+            System.out.println("Rebuild completed: " + rows + " rollup rows in "
+                    + (System.currentTimeMillis() - started) + " ms");
+        }
+
+        DatabaseConnection.shutdown();
+    }
+}
@@ -0,0 +1,24 @@
+package com.pahanaedu.util;
+
+import java.io.IOException;
+
+/**
+ * Callback for rows read from a streaming query
+ * Lets a DAO hand each row to the caller as it is read, so exports can write
+ * straight to the response instead of collecting every row in a list first.
+ *
+ * @param <T> Row type
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface RowHandler<T> {
+
+    /**
+     * Handle one row
+     *
+     * @param row Row mapped by the DAO
+     * @throws IOException if the row cannot be written, e.g. the client went away
+     */
+    void handle(T row) throws IOException;
+}
@@ -0,0 +1,70 @@
+package com.pahanaedu.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Original password format: one salted SHA-256 pass, stored as "salt:hash"
+ * Kept so users created before PBKDF2 can still log in; PasswordUtil reports these
+ * hashes as needing a rehash, so each is replaced on the user's next login.
+ *
+ * Design Patterns Used:
+ * - Strategy Pattern: Legacy PasswordHasher implementation
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class Sha256PasswordHasher implements PasswordHasher {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int SALT_LENGTH = 16;
+    private static final String DELIMITER = ":";
+
+    @Override
+    public String hash(String plainPassword) {
+        byte[] saltBytes = new byte[SALT_LENGTH];
+        new SecureRandom().nextBytes(saltBytes);
+        String salt = Base64.getEncoder().encodeToString(saltBytes);
+        return salt + DELIMITER + Base64.getEncoder().encodeToString(digest(plainPassword, salt));
+    }
+
+    @Override
+    public boolean verify(String plainPassword, String storedHash) {
+        String[] parts = storedHash.split(DELIMITER);
+        if (parts.length != 2) {
+            System.err.println("Invalid stored hash format");
+            return false;
+        }
+
+        byte[] expected;
+        try {
+            expected = Base64.getDecoder().decode(parts[1]);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid stored hash format");
+            return false;
+        }
+        return MessageDigest.isEqual(expected, digest(plainPassword, parts[0]));
+    }
+
+    @Override
+    public boolean supports(String storedHash) {
+        return !storedHash.startsWith("$") && storedHash.indexOf(DELIMITER) > 0;
+    }
+
+    @Override
+    public boolean needsRehash(String storedHash) {
+        return true;
+    }
+
+    private static byte[] digest(String password, String salt) {
+        try {
+            MessageDigest md = MessageDigest.getInstance(HASH_ALGORITHM);
+            md.update(salt.getBytes());
+            return md.digest(password.getBytes());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Password hashing failed: " + e.getMessage(), e);
+        }
+    }
+}
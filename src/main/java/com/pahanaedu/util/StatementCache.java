@@ -0,0 +1,214 @@
+package com.pahanaedu.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements for a single pooled connection
+ * Statements are keyed by their SQL text so each statement is prepared once per
+ * connection instead of once per DAO call
+ *
+ * Statements handed out by the cache are proxies; calling close() on them clears
+ * their parameters and keeps them open for the next caller. A statement that is
+ * still in use is never handed out twice - a second request for the same SQL gets
+ * an ordinary, uncached statement instead.
+ *
+ * Not thread-safe on its own: a pooled connection is only ever leased to one
+ * thread at a time, and the pool serializes access through the lease.
+ *
+ * Design Patterns Used:
+ * - Cache Pattern: Least-recently-used statement reuse
+ * - Proxy Pattern: Intercepts close() on cached statements
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class StatementCache {
+
+    private final Connection physical;
+    private final int maxSize;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final LinkedHashMap<String, CachedStatement> statements;
+
+    /**
+     * Create a statement cache for a physical connection
+     *
+     * @param physical Physical connection that owns the statements
+     * @param maxSize Maximum number of cached statements
+     * @param hits Shared hit counter
+     * @param misses Shared miss counter
+     */
+    public StatementCache(Connection physical, int maxSize, AtomicLong hits, AtomicLong misses) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        // Access order makes iteration start at the least recently used entry
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Get a prepared statement for the SQL, preparing it only on a cache miss
+     *
+     * @param sql SQL text
+     * @return Prepared statement whose close() returns it to the cache
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        CachedStatement cached = statements.get(sql);
+
+        if (cached != null && !cached.inUse && cached.physicalStatement.isClosed()) {
+            // Closed underneath us (driver error) - prepare it again
+            statements.remove(sql);
+            cached = null;
+        }
+
+        if (cached != null) {
+            if (cached.inUse) {
+                // Same SQL already open on this connection - do not share it
+                misses.incrementAndGet();
+                return physical.prepareStatement(sql);
+            }
+            hits.incrementAndGet();
+            return cached.checkout();
+        }
+
+        misses.incrementAndGet();
+        cached = new CachedStatement(physical.prepareStatement(sql));
+        statements.put(sql, cached);
+        evictOverflow();
+        return cached.checkout();
+    }
+
+    /**
+     * Mark every statement as available again
+     * Called when the connection goes back to the pool so statements leaked by a
+     * careless caller do not stay checked out forever
+     */
+    public void releaseAll() {
+        for (CachedStatement cached : statements.values()) {
+            if (cached.inUse) {
+                cached.inUse = false;
+                cached.resetQuietly();
+            }
+        }
+    }
+
+    /**
+     * Close every cached statement
+     */
+    public void closeAll() {
+        for (CachedStatement cached : statements.values()) {
+            cached.closeQuietly();
+        }
+        statements.clear();
+    }
+
+    public int size() {
+        return statements.size();
+    }
+
+    /**
+     * Drop least recently used statements that are not currently checked out
+     */
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, CachedStatement>> iterator = statements.entrySet().iterator();
+        while (statements.size() > maxSize && iterator.hasNext()) {
+            CachedStatement eldest = iterator.next().getValue();
+            iterator.remove();
+            if (eldest.inUse) {
+                // Closed for real when the current user closes it
+                eldest.evicted = true;
+            } else {
+                eldest.closeQuietly();
+            }
+        }
+    }
+
+    /**
+     * A physical prepared statement and its checkout state
+     */
+    private static final class CachedStatement {
+        final PreparedStatement physicalStatement;
+        boolean inUse;
+        boolean evicted;
+
+        CachedStatement(PreparedStatement physicalStatement) {
+            this.physicalStatement = physicalStatement;
+        }
+
+        PreparedStatement checkout() {
+            inUse = true;
+            boolean[] closed = {false};
+
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    StatementCache.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                if (!closed[0]) {
+                                    closed[0] = true;
+                                    checkin();
+                                }
+                                return null;
+                            case "isClosed":
+                                return closed[0] || physicalStatement.isClosed();
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "toString":
+                                return "CachedStatement[" + physicalStatement + "]";
+                            default:
+                                break;
+                        }
+
+                        if (closed[0]) {
+                            throw new SQLException("Statement is closed");
+                        }
+
+                        try {
+                            return method.invoke(physicalStatement, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+
+        void checkin() {
+            inUse = false;
+            if (evicted) {
+                closeQuietly();
+            } else {
+                resetQuietly();
+            }
+        }
+
+        void resetQuietly() {
+            try {
+                physicalStatement.clearParameters();
+                physicalStatement.clearBatch();
+                physicalStatement.clearWarnings();
+            } catch (SQLException e) {
+                System.err.println("Error resetting cached statement: " + e.getMessage());
+            }
+        }
+
+        void closeQuietly() {
+            try {
+                physicalStatement.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing cached statement: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.pahanaedu.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * URL access rules compiled into a path-segment trie
+ * Each request path is classified as public, admin-only and/or API in one walk
+ * down the trie, however many rules there are.
+ *
+ * Rule syntax:
+ * - "/login"        exactly that path (a trailing slash on the request is ignored)
+ * - "/css/"         that path and everything below it ("/css/*" is the same)
+ * - "/"             the application root
+ * - "*.png"         any path whose last segment has that extension; public rules only,
+ *                   and never applied below an admin or API rule
+ *
+ * Design Patterns Used:
+ * - Interpreter Pattern: Rule strings are compiled once into a trie
+ * - Composite Pattern: Trie nodes for path segments
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class UrlRuleMatcher {
+
+    public static final int PUBLIC = 1;
+    public static final int ADMIN = 2;
+    public static final int API = 4;
+
+    private final Node root = new Node();
+    private final Map<String, Integer> extensionFlags = new HashMap<>();
+
+    /**
+     * Compile the rules
+     *
+     * @throws IllegalArgumentException for a malformed rule
+     */
+    public UrlRuleMatcher(Collection<String> publicRules, Collection<String> adminRules,
+                          Collection<String> apiRules) {
+        addRules(PUBLIC, publicRules);
+        addRules(ADMIN, adminRules);
+        addRules(API, apiRules);
+    }
+
+    /**
+     * Split a rule list from configuration (comma, space or newline separated)
+     *
+     * @param value Configured list, may be null
+     * @return The rules, empty if none
+     */
+    public static List<String> parseRules(String value) {
+        List<String> rules = new ArrayList<>();
+        if (value != null) {
+            for (String rule : value.split("[,\\s]+")) {
+                if (!rule.isEmpty()) {
+                    rules.add(rule);
+                }
+            }
+        }
+        return rules;
+    }
+
+    private void addRules(int flag, Collection<String> rules) {
+        for (String rule : rules) {
+            addRule(flag, rule.trim());
+        }
+    }
+
+    private void addRule(int flag, String rule) {
+        if (rule.startsWith("*.")) {
+            if (flag != PUBLIC) {
+                throw new IllegalArgumentException("Extension rules are only supported for public URLs: " + rule);
+            }
+            extensionFlags.merge(rule.substring(2).toLowerCase(Locale.ROOT), flag, (a, b) -> a | b);
+            return;
+        }
+        if (!rule.startsWith("/") || (rule.contains("*") && !rule.endsWith("/*"))
+                || rule.indexOf('*') != rule.lastIndexOf('*')) {
+            throw new IllegalArgumentException("Invalid URL rule: " + rule);
+        }
+
+        // "/" alone is the root page, not the whole application
+        boolean subtree = rule.endsWith("/*") || (rule.endsWith("/") && rule.length() > 1);
+        String path = rule.endsWith("/*") ? rule.substring(0, rule.length() - 2) : rule;
+
+        Node node = root;
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                node = node.children.computeIfAbsent(segment, s -> new Node());
+            }
+        }
+
+        if (subtree) {
+            node.subtreeFlags |= flag;
+        } else {
+            node.exactFlags |= flag;
+        }
+    }
+
+    /**
+     * Classify a path relative to the context root
+     *
+     * @param path Request path, e.g. "/api/items/ITM001"
+     * @return Bitwise OR of PUBLIC, ADMIN and API for every rule that matches
+     */
+    public int classify(String path) {
+        Node node = root;
+        int flags = root.subtreeFlags;
+        boolean reachedEnd = true;
+
+        int length = path.length();
+        int start = 0;
+        while (start < length) {
+            if (path.charAt(start) == '/') {
+                start++;
+                continue;
+            }
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+
+            Node child = node.children.get(path.substring(start, end));
+            if (child == null) {
+                reachedEnd = false;
+                break;
+            }
+            node = child;
+            flags |= child.subtreeFlags;
+            start = end;
+        }
+
+        if (reachedEnd) {
+            flags |= node.exactFlags;
+        }
+
+        if (!extensionFlags.isEmpty() && (flags & (ADMIN | API)) == 0) {
+            int slash = path.lastIndexOf('/');
+            int dot = path.lastIndexOf('.');
+            if (dot > slash && dot < length - 1) {
+                Integer extension = extensionFlags.get(path.substring(dot + 1).toLowerCase(Locale.ROOT));
+                if (extension != null) {
+                    flags |= extension;
+                }
+            }
+        }
+        return flags;
+    }
+
+    private static final class Node {
+        final Map<String, Node> children = new HashMap<>();
+        int exactFlags;
+        int subtreeFlags;
+    }
+}
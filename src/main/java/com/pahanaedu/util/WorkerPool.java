@@ -0,0 +1,157 @@
+package com.pahanaedu.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Fixed pool of daemon threads for CPU-bound work split across a list, such as
+ * validating the rows of an import batch
+ * map() cuts the list into one contiguous slice per thread and runs the first
+ * slice on the calling thread. The queue is bounded; when it is full, or the pool
+ * has been shut down, slices run on the caller, so a busy pool slows a request
+ * down instead of failing it.
+ *
+ * Design Patterns Used:
+ * - Singleton Pattern: One shared pool configured from database.properties
+ * - Fork-Join Pattern: Slices run in parallel and are joined in order
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+public class WorkerPool {
+
+    // Below this many elements per thread the hand-off costs more than it saves
+    private static final int MIN_SLICE_SIZE = 32;
+
+    private static volatile WorkerPool shared;
+    private static final Object lock = new Object();
+
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+
+    /**
+     * @param name Prefix of the worker thread names
+     * @param threads Worker threads, including the caller's share of each map()
+     */
+    public WorkerPool(String name, int threads) {
+        this.threads = Math.max(1, threads);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(this.threads * 16), runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Get the shared pool, sized by import.validation.threads (0 means one per CPU)
+     */
+    public static WorkerPool getShared() {
+        if (shared == null) {
+            synchronized (lock) {
+                if (shared == null) {
+                    int threads = DatabaseConnection.getInstance().getIntProperty("import.validation.threads", 0);
+                    shared = new WorkerPool("pahanaedu-worker",
+                            threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Stop the shared pool's threads; called when the application shuts down
+     */
+    public static void shutdownShared() {
+        synchronized (lock) {
+            if (shared != null) {
+                shared.shutdown();
+                shared = null;
+            }
+        }
+    }
+
+    /**
+     * Apply a function to every element, in parallel slices
+     *
+     * @return Results in the order of the inputs
+     * @throws RuntimeException thrown by the function for any element
+     */
+    @SuppressWarnings("unchecked")
+    public <T, R> List<R> map(List<T> inputs, Function<? super T, ? extends R> function) {
+        int size = inputs.size();
+        int slices = Math.min(threads, size / MIN_SLICE_SIZE);
+        Object[] results = new Object[size];
+
+        if (slices <= 1) {
+            fill(inputs, function, results, 0, size);
+            return (List<R>) Arrays.asList(results);
+        }
+
+        int sliceSize = (size + slices - 1) / slices;
+        List<Future<?>> futures = new ArrayList<>(slices - 1);
+        try {
+            for (int from = sliceSize; from < size; from += sliceSize) {
+                int start = from;
+                int end = Math.min(size, from + sliceSize);
+                try {
+                    futures.add(executor.submit(() -> fill(inputs, function, results, start, end)));
+                } catch (RejectedExecutionException e) {
+                    fill(inputs, function, results, start, end);
+                }
+            }
+            fill(inputs, function, results, 0, Math.min(size, sliceSize));
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for workers", e);
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Worker pool was shut down", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return (List<R>) Arrays.asList(results);
+    }
+
+    private static <T, R> void fill(List<T> inputs, Function<? super T, ? extends R> function,
+                                    Object[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            results[i] = function.apply(inputs.get(i));
+        }
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Stop the threads; slices still queued are cancelled and fail their map() call
+     */
+    public void shutdown() {
+        for (Runnable queued : executor.shutdownNow()) {
+            if (queued instanceof Future) {
+                ((Future<?>) queued).cancel(false);
+            }
+        }
+    }
+}
@@ -5,6 +5,8 @@
 USE pahana_edu;
 
 -- Drop existing tables if they exist (for clean setup)
+DROP TABLE IF EXISTS daily_sales_rollup;
+DROP TABLE IF EXISTS id_sequences;
 DROP TABLE IF EXISTS bill_items;
 DROP TABLE IF EXISTS bills;
 DROP TABLE IF EXISTS items;
@@ -94,7 +96,7 @@ CREATE TABLE bills (
                            ON UPDATE CASCADE ON DELETE RESTRICT,
 
     -- Indexes for performance
-                       INDEX idx_bill_date (bill_date),
+                       INDEX idx_bill_date (bill_date, bill_number), -- keyset pagination order
                        INDEX idx_bill_customer (customer_account_number),
                        INDEX idx_bill_created_by (created_by),
                        INDEX idx_bill_status (status)
@@ -122,6 +124,28 @@ CREATE TABLE bill_items (
                             INDEX idx_bill_items_item (item_id)
 ) ENGINE=InnoDB COMMENT='Individual items in each bill';
 
+-- ================================================
+-- ID Sequences Table (Hi/Lo block allocation)
+-- ================================================
+CREATE TABLE id_sequences (
+                              sequence_name VARCHAR(30) PRIMARY KEY COMMENT 'Sequence identifier (bill, customer, item, user)',
+                              next_value BIGINT NOT NULL COMMENT 'First value of the next unreserved block'
+) ENGINE=InnoDB COMMENT='Next free ID block for each generated identifier';
+
+-- ================================================
+-- Daily Sales Rollup Table (maintained with every bill change)
+-- Backfill or repair with: java com.pahanaedu.util.RebuildSalesRollup [startDate endDate]
+-- ================================================
+CREATE TABLE daily_sales_rollup (
+                                    sales_date DATE NOT NULL COMMENT 'Bill date',
+                                    payment_method ENUM('CASH', 'CARD') NOT NULL COMMENT 'Payment method used',
+                                    status ENUM('PENDING', 'PAID', 'CANCELLED') NOT NULL COMMENT 'Bill status',
+                                    bill_count INT NOT NULL DEFAULT 0 COMMENT 'Number of bills',
+                                    total_amount DECIMAL(14,2) NOT NULL DEFAULT 0 COMMENT 'Sum of bill totals',
+
+                                    PRIMARY KEY (sales_date, payment_method, status)
+) ENGINE=InnoDB COMMENT='Bill counts and totals per day, payment method and status';
+
 -- ================================================
 -- Insert Initial Test Data
 -- ================================================
@@ -152,4 +176,15 @@ INSERT INTO items (item_id, name, category, price, stock_quantity, description)
                                                                                     ('ITM008', 'System Analysis and Design', 'Analysis', 3300.00, 28, 'System analysis methodologies and design patterns');
 
 -- Note: You'll need to update the user passwords after implementing the PasswordUtil class
--- The passwords above are temporary and should be replaced with properly hashed versions
\ No newline at end of file
+-- The passwords above are temporary and should be replaced with properly hashed versions
+
+-- Seed ID sequences after the test data so new IDs continue from existing ones
+-- (missing rows are also seeded by the application on first use)
+INSERT INTO id_sequences (sequence_name, next_value)
+SELECT 'bill', COALESCE(MAX(CAST(SUBSTRING(bill_number, 5) AS UNSIGNED)), 0) + 1 FROM bills WHERE bill_number LIKE 'BILL%'
+UNION ALL
+SELECT 'customer', COALESCE(MAX(CAST(SUBSTRING(account_number, 4) AS UNSIGNED)), 0) + 1 FROM customers WHERE account_number LIKE 'CUS%'
+UNION ALL
+SELECT 'item', COALESCE(MAX(CAST(SUBSTRING(item_id, 5) AS UNSIGNED)), 0) + 1 FROM items WHERE item_id LIKE 'ITEM%'
+UNION ALL
+SELECT 'user', COALESCE(MAX(CAST(SUBSTRING(user_id, 4) AS UNSIGNED)), 0) + 1 FROM users WHERE user_id LIKE 'USR%';
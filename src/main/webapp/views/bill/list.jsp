@@ -128,8 +128,29 @@
                         </table>
                     </div>
 
+                    <!-- Cursor pagination (newest first, constant cost per page) -->
+                    <c:if test="${keysetMode}">
+                        <nav class="mt-3">
+                            <ul class="pagination justify-content-center">
+                                <li class="page-item">
+                                    <a class="page-link" href="?cursor=&size=${pageSize}">Newest</a>
+                                </li>
+                                <c:if test="${not empty nextCursor}">
+                                    <li class="page-item">
+                                        <a class="page-link" href="?cursor=${nextCursor}&size=${pageSize}">Older</a>
+                                    </li>
+                                </c:if>
+                                <c:if test="${totalPages > 1}">
+                                    <li class="page-item">
+                                        <a class="page-link" href="?page=1&size=${pageSize}">Page numbers</a>
+                                    </li>
+                                </c:if>
+                            </ul>
+                        </nav>
+                    </c:if>
+
                     <!-- Pagination (if needed) -->
-                    <c:if test="${totalPages > 1}">
+                    <c:if test="${not keysetMode && totalPages > 1}">
                         <nav class="mt-3">
                             <ul class="pagination justify-content-center">
                                 <c:if test="${currentPage > 1}">
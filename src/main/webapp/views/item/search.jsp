@@ -35,7 +35,7 @@
             </h5>
         </div>
         <div class="card-body">
-            <form action="${pageContext.request.contextPath}/items" method="get" id="searchForm">
+            <form action="${pageContext.request.contextPath}/items/search" method="get" id="searchForm">
                 <input type="hidden" name="action" value="search">
 
                 <div class="row">
@@ -47,8 +47,8 @@
                         <input type="text"
                                class="form-control"
                                id="searchTerm"
-                               name="searchTerm"
-                               value="${param.searchTerm}"
+                               name="q"
+                               value="${searchTerm}"
                                placeholder="Item name, ID, or description">
                     </div>
 
@@ -146,13 +146,28 @@
             <div class="card-header d-flex justify-content-between align-items-center">
                 <h5 class="card-title mb-0">
                     <i class="bi bi-list-check"></i> Search Results
-                    <c:if test="${not empty param.searchTerm}">
-                        for "${param.searchTerm}"
+                    <c:if test="${not empty searchTerm}">
+                        for "${searchTerm}"
                     </c:if>
                 </h5>
                 <span class="badge bg-primary">${searchResultCount} items found</span>
             </div>
             <div class="card-body">
+                <!-- Category Facets -->
+                <c:if test="${categoryCounts.size() > 1}">
+                    <div class="mb-3">
+                        <small class="text-muted me-2">Categories:</small>
+                        <c:forEach items="${categoryCounts}" var="facet">
+                            <c:url var="facetUrl" value="/items/search?${facetQuery}">
+                                <c:param name="category" value="${facet.key}" />
+                            </c:url>
+                            <a href="${facetUrl}" class="badge bg-light text-dark text-decoration-none me-1">
+                                ${facet.key} <span class="badge bg-secondary">${facet.value}</span>
+                            </a>
+                        </c:forEach>
+                    </div>
+                </c:if>
+
                 <c:choose>
                     <c:when test="${not empty items}">
                         <!-- Results Table -->
@@ -175,7 +190,7 @@
                                         <td><strong>${item.itemId}</strong></td>
                                         <td>
                                             <div>
-                                                <strong>${item.itemName}</strong>
+                                                <strong>${item.name}</strong>
                                                 <c:if test="${not empty item.description}">
                                                     <br><small class="text-muted">${item.description}</small>
                                                 </c:if>
@@ -228,6 +243,31 @@
                                 </small>
                             </div>
                         </div>
+
+                        <!-- Pagination -->
+                        <c:if test="${totalPages > 1}">
+                            <nav aria-label="Search result pagination" class="mt-3">
+                                <ul class="pagination justify-content-center">
+                                    <c:if test="${currentPage > 1}">
+                                        <li class="page-item">
+                                            <a class="page-link" href="?${searchQuery}&page=${currentPage - 1}">Previous</a>
+                                        </li>
+                                    </c:if>
+
+                                    <c:forEach begin="1" end="${totalPages}" var="i">
+                                        <li class="page-item ${i == currentPage ? 'active' : ''}">
+                                            <a class="page-link" href="?${searchQuery}&page=${i}">${i}</a>
+                                        </li>
+                                    </c:forEach>
+
+                                    <c:if test="${currentPage < totalPages}">
+                                        <li class="page-item">
+                                            <a class="page-link" href="?${searchQuery}&page=${currentPage + 1}">Next</a>
+                                        </li>
+                                    </c:if>
+                                </ul>
+                            </nav>
+                        </c:if>
                     </c:when>
 
                     <c:otherwise>
@@ -307,7 +347,7 @@
     // Clear search form
     function clearSearch() {
         document.getElementById('searchForm').reset();
-        window.location.href = '${pageContext.request.contextPath}/items?action=search';
+        window.location.href = '${pageContext.request.contextPath}/items/search';
     }
 
     // Quick search functions
@@ -0,0 +1,117 @@
+package com.pahanaedu.servlets.auth;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AuthenticationFilter with anonymous requests
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Authentication Filter Tests")
+public class AuthenticationFilterTest {
+
+    private final AuthenticationFilter filter = new AuthenticationFilter();
+    private final List<String> redirects = new ArrayList<>();
+    private final int[] chained = {0};
+
+    private final HttpServletResponse response = (HttpServletResponse) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[]{HttpServletResponse.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("sendRedirect")) {
+                    redirects.add((String) args[0]);
+                }
+                return method.getReturnType() == boolean.class ? false : null;
+            });
+
+    private final FilterChain chain = (request, response) -> chained[0]++;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // No init-params, so the filter uses its default rules
+        filter.init((FilterConfig) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{FilterConfig.class},
+                (proxy, method, args) -> null));
+    }
+
+    /**
+     * An anonymous request with no session
+     */
+    private HttpServletRequest request(String uri, DispatcherType type, Map<String, Object> attributes) {
+        return (HttpServletRequest) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getRequestURI":
+                            return uri;
+                        case "getContextPath":
+                            return "/app";
+                        case "getDispatcherType":
+                            return type;
+                        case "getMethod":
+                            return "GET";
+                        case "getAttribute":
+                            return attributes.get((String) args[0]);
+                        default:
+                            return method.getReturnType() == boolean.class ? false : null;
+                    }
+                });
+    }
+
+    private HttpServletRequest forward(String from, String to) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(RequestDispatcher.FORWARD_REQUEST_URI, from);
+        attributes.put(RequestDispatcher.FORWARD_CONTEXT_PATH, "/app");
+        return request(to, DispatcherType.FORWARD, attributes);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test Login Page Forward Reaches Its JSP")
+    void testForwardedLoginJsp() throws Exception {
+        filter.doFilter(request("/app/login", DispatcherType.REQUEST, Map.of()), response, chain);
+        filter.doFilter(forward("/app/login", "/app/views/auth/login.jsp"), response, chain);
+
+        assertEquals(2, chained[0], "Login and its forwarded JSP both pass the filter");
+        assertTrue(redirects.isEmpty(), "No redirect back to /login: " + redirects);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test Error Page Is Public")
+    void testErrorPage() throws Exception {
+        filter.doFilter(forward("/app/error", "/app/views/common/error.jsp"), response, chain);
+        filter.doFilter(request("/app/views/common/error.jsp", DispatcherType.REQUEST, Map.of()), response, chain);
+
+        assertEquals(2, chained[0]);
+        assertTrue(redirects.isEmpty());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Protected Pages Still Need A Login")
+    void testProtectedPages() throws Exception {
+        filter.doFilter(request("/app/bills", DispatcherType.REQUEST, Map.of()), response, chain);
+        filter.doFilter(forward("/app/bills", "/app/views/bill/list.jsp"), response, chain);
+        filter.doFilter(request("/app/views/auth/profile.jsp", DispatcherType.REQUEST, Map.of()), response, chain);
+
+        assertEquals(0, chained[0]);
+        assertEquals(3, redirects.size());
+        assertTrue(redirects.get(0).startsWith("/app/login?redirect="), redirects.get(0));
+    }
+}
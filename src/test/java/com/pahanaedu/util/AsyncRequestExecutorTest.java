@@ -0,0 +1,240 @@
+package com.pahanaedu.util;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AsyncRequestExecutor
+ * Requests, responses and async contexts are proxies that record what the executor does
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Async Request Executor Tests")
+public class AsyncRequestExecutorTest {
+
+    private AsyncRequestExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * One request dispatched to the executor, with what was done to it
+     */
+    private static final class Call {
+        final List<Integer> errorCodes = new CopyOnWriteArrayList<>();
+        final Map<String, String> headers = new ConcurrentHashMap<>();
+        final AtomicInteger completions = new AtomicInteger();
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile AsyncListener listener;
+
+        final HttpServletResponse response = (HttpServletResponse) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{HttpServletResponse.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("setHeader")) {
+                        headers.put((String) args[0], (String) args[1]);
+                    }
+                    return method.getReturnType() == boolean.class ? false : null;
+                });
+
+        final AsyncContext asyncContext = (AsyncContext) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{AsyncContext.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getResponse":
+                            return response;
+                        case "addListener":
+                            listener = (AsyncListener) args[0];
+                            return null;
+                        case "complete":
+                            completions.incrementAndGet();
+                            completed.countDown();
+                            return null;
+                        default:
+                            return null;
+                    }
+                });
+
+        final HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "startAsync":
+                            return asyncContext;
+                        case "getRequestURI":
+                            return "/reports/daily";
+                        default:
+                            return method.getReturnType() == boolean.class ? false : null;
+                    }
+                });
+
+        final AsyncRequestExecutor.ErrorResponder errors =
+                (response, statusCode, message) -> errorCodes.add(statusCode);
+
+        boolean awaitCompleted() throws InterruptedException {
+            return completed.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * A job that holds its pool thread until released
+     */
+    private static AsyncRequestExecutor.Job blockingJob(CountDownLatch started, CountDownLatch release) {
+        return () -> {
+            started.countDown();
+            release.await();
+            return response -> { };
+        };
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test Job Result Is Written")
+    void testJobCompletes() throws Exception {
+        executor = new AsyncRequestExecutor("test-async", 1, 1, 60_000);
+        Call call = new Call();
+        AtomicBoolean written = new AtomicBoolean();
+
+        executor.dispatch(call.request, call.response, () -> response -> written.set(true), call.errors);
+
+        assertTrue(call.awaitCompleted());
+        assertTrue(written.get());
+        assertTrue(call.errorCodes.isEmpty());
+        assertEquals(1, call.completions.get());
+        assertTrue(executor.getStats().contains("Completed: 1"));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test Full Queue Refuses With 503")
+    void testRejectedWhenQueueFull() throws Exception {
+        executor = new AsyncRequestExecutor("test-async", 1, 1, 60_000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Call running = new Call();
+        executor.dispatch(running.request, running.response, blockingJob(started, release), running.errors);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Call queued = new Call();
+        executor.dispatch(queued.request, queued.response, () -> response -> { }, queued.errors);
+
+        Call refused = new Call();
+        executor.dispatch(refused.request, refused.response, () -> response -> { }, refused.errors);
+        assertEquals(List.of(HttpServletResponse.SC_SERVICE_UNAVAILABLE), refused.errorCodes);
+        assertNotNull(refused.headers.get("Retry-After"));
+        assertEquals(1, refused.completions.get(), "Refused request is completed at once");
+
+        release.countDown();
+        assertTrue(running.awaitCompleted());
+        assertTrue(queued.awaitCompleted());
+        assertTrue(queued.errorCodes.isEmpty());
+        assertTrue(executor.getStats().contains("Rejected: 1"));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Timeout While Queued Skips The Job")
+    void testTimeoutWhileQueued() throws Exception {
+        executor = new AsyncRequestExecutor("test-async", 1, 2, 60_000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Call running = new Call();
+        executor.dispatch(running.request, running.response, blockingJob(started, release), running.errors);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        AtomicBoolean ran = new AtomicBoolean();
+        Call expired = new Call();
+        executor.dispatch(expired.request, expired.response, () -> {
+            ran.set(true);
+            return response -> { };
+        }, expired.errors);
+
+        expired.listener.onTimeout(null);
+        assertEquals(List.of(HttpServletResponse.SC_SERVICE_UNAVAILABLE), expired.errorCodes);
+        assertEquals(1, expired.completions.get());
+
+        // A later job on the single thread runs only after the expired one was dequeued
+        Call after = new Call();
+        executor.dispatch(after.request, after.response, () -> response -> { }, after.errors);
+        release.countDown();
+        assertTrue(after.awaitCompleted());
+
+        assertFalse(ran.get(), "Expired job is skipped");
+        assertEquals(1, expired.completions.get(), "Expired request is not completed twice");
+        assertTrue(executor.getStats().contains("Timed out: 1"));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test Failed Job Gets 500")
+    void testJobFailure() throws Exception {
+        executor = new AsyncRequestExecutor("test-async", 1, 1, 60_000);
+        Call call = new Call();
+
+        executor.dispatch(call.request, call.response, () -> {
+            throw new IllegalStateException("Report query failed");
+        }, call.errors);
+
+        assertTrue(call.awaitCompleted());
+        assertEquals(List.of(HttpServletResponse.SC_INTERNAL_SERVER_ERROR), call.errorCodes);
+        assertEquals(1, call.completions.get());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test Timeout Waits For A Response Being Written")
+    void testTimeoutDuringWrite() throws Exception {
+        executor = new AsyncRequestExecutor("test-async", 1, 1, 60_000);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch finishWrite = new CountDownLatch(1);
+        Call call = new Call();
+
+        executor.dispatch(call.request, call.response, () -> response -> {
+            writing.countDown();
+            try {
+                finishWrite.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, call.errors);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        Thread timeout = new Thread(() -> {
+            try {
+                call.listener.onTimeout(null);
+            } catch (Exception e) {
+                fail(e);
+            }
+        });
+        timeout.start();
+        timeout.join(200);
+        assertTrue(timeout.isAlive(), "Timeout waits while the result is written");
+
+        finishWrite.countDown();
+        timeout.join(5000);
+        assertFalse(timeout.isAlive());
+        assertTrue(call.errorCodes.isEmpty(), "Written request gets no timeout error");
+        assertEquals(1, call.completions.get());
+    }
+}
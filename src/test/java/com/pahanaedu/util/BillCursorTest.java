@@ -0,0 +1,60 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Bill;
+import org.junit.jupiter.api.*;
+
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BillCursor
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Bill Cursor Tests")
+public class BillCursorTest {
+
+    @Test
+    @Order(1)
+    @DisplayName("Test Cursor Token Round Trip")
+    void testRoundTrip() {
+        Timestamp billDate = Timestamp.valueOf("2024-03-15 10:30:45.123456");
+        BillCursor cursor = new BillCursor(billDate, "BILL000042");
+
+        String token = cursor.encode();
+        assertFalse(token.contains("BILL"), "Token should be opaque");
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), "Token should be URL-safe");
+
+        BillCursor decoded = BillCursor.decode(token);
+        assertNotNull(decoded);
+        assertEquals(billDate, decoded.getBillDate());
+        assertEquals("BILL000042", decoded.getBillNumber());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test Cursor After Bill")
+    void testAfterBill() {
+        Bill bill = new Bill("BILL000007", "CUS001", "USR001");
+        bill.setBillDate(Timestamp.valueOf("2024-01-01 09:00:00"));
+
+        BillCursor cursor = BillCursor.decode(BillCursor.after(bill).encode());
+        assertNotNull(cursor);
+        assertEquals(bill.getBillDate(), cursor.getBillDate());
+        assertEquals(bill.getBillNumber(), cursor.getBillNumber());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Malformed Tokens Are Rejected")
+    void testMalformedTokens() {
+        assertNull(BillCursor.decode(null));
+        assertNull(BillCursor.decode(""));
+        assertNull(BillCursor.decode("not base64!"));
+        assertNull(BillCursor.decode("Zm9vOmJhcg"));  // "foo:bar"
+        assertNull(BillCursor.decode("MTIzOjQ1Ng"));  // "123:456" - no bill number
+    }
+}
@@ -0,0 +1,124 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Bill;
+import com.pahanaedu.models.BillItem;
+import com.pahanaedu.models.Customer;
+import com.pahanaedu.models.Item;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BillExportWriter
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Bill Export Writer Tests")
+public class BillExportWriterTest {
+
+    private Bill first;
+    private Bill second;
+
+    @BeforeEach
+    void setUp() {
+        first = new Bill();
+        first.setBillNumber("BILL000001");
+        first.setCustomerAccountNumber("CUS001");
+        first.setCustomer(new Customer("CUS001", "Nimal \"Nim\" Perera"));
+        first.setBillDate(Timestamp.valueOf("2024-03-01 10:15:00"));
+        first.setStatus(Bill.Status.PAID);
+        first.setPaymentMethod(Bill.PaymentMethod.CASH);
+        first.getBillItems().add(billItem("ITEM001", "Java Programming", 2, "2500.00"));
+        first.getBillItems().add(billItem("ITEM004", "Blue Pen", 10, "50.00"));
+        first.setTotalAmount(new BigDecimal("5450.00"));
+
+        second = new Bill();
+        second.setBillNumber("BILL000002");
+        second.setCustomerAccountNumber("CUS002");
+        second.setBillDate(Timestamp.valueOf("2024-03-01 10:15:00"));
+        second.setStatus(Bill.Status.CANCELLED);
+        second.setPaymentMethod(Bill.PaymentMethod.CARD);
+        second.setTotalAmount(BigDecimal.ZERO);
+    }
+
+    private static BillItem billItem(String itemId, String name, int quantity, String unitPrice) {
+        Item item = new Item();
+        item.setItemId(itemId);
+        item.setName(name);
+        item.setCategory("Books");
+        BillItem billItem = new BillItem();
+        billItem.setItem(item);
+        billItem.setQuantity(quantity);
+        billItem.setUnitPrice(new BigDecimal(unitPrice));
+        return billItem;
+    }
+
+    private BillExportWriter export(StringWriter out, BillExportWriter.Format format) throws IOException {
+        BillExportWriter writer = new BillExportWriter(out, format);
+        writer.begin();
+        writer.handle(first);
+        writer.handle(second);
+        writer.finish(true);
+        return writer;
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test NDJSON Lines With Cursors And Summary")
+    void testNdjson() throws IOException {
+        StringWriter out = new StringWriter();
+        BillExportWriter writer = export(out, BillExportWriter.Format.NDJSON);
+        String[] lines = out.toString().split("\n");
+
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{\"type\":\"bill\",\"billNumber\":\"BILL000001\""));
+        assertTrue(lines[0].contains("\"customerName\":\"Nimal \\\"Nim\\\" Perera\""));
+        assertTrue(lines[0].contains("\"totalAmount\":5450.00"), "Stored total is kept");
+        assertTrue(lines[0].contains("{\"itemId\":\"ITEM004\",\"itemName\":\"Blue Pen\",\"category\":\"Books\","
+                + "\"quantity\":10,\"unitPrice\":50.00,\"lineTotal\":500.00}"));
+        assertTrue(lines[1].contains("\"items\":[],\"cursor\":\"" + BillCursor.after(second).encode() + "\"}"));
+
+        assertTrue(lines[2].startsWith("{\"type\":\"summary\",\"complete\":true,\"bills\":2,\"rows\":3,"));
+        assertTrue(lines[2].endsWith("\"nextCursor\":\"" + writer.getLastCursor() + "\"}"));
+        assertEquals(2, writer.getBillCount());
+        assertEquals(3, writer.getRowCount());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test CSV Rows Per Bill Item")
+    void testCsv() throws IOException {
+        StringWriter out = new StringWriter();
+        export(out, BillExportWriter.Format.CSV);
+        String[] lines = out.toString().split("\n");
+
+        assertEquals(4, lines.length, "Header, two item rows and one row for the empty bill");
+        assertTrue(lines[0].endsWith(",Line Total,Cursor"));
+        assertTrue(lines[1].startsWith("\"BILL000001\",\"2024-03-01 10:15:00.0\",\"CUS001\",\"Nimal \"\"Nim\"\" Perera\""));
+        assertTrue(lines[2].contains("\"ITEM004\",\"Blue Pen\",\"Books\",\"10\",\"50.00\",\"500.00\""));
+        assertTrue(lines[3].contains("\"CANCELLED\",\"CARD\",\"0\",\"0\",\"\",\"\",\"\",\"\",\"\",\"\""));
+
+        // A resumed export starts after the cursor on the last row
+        String cursor = lines[3].substring(lines[3].lastIndexOf(",\"") + 2, lines[3].length() - 1);
+        BillCursor decoded = BillCursor.decode(cursor);
+        assertEquals("BILL000002", decoded.getBillNumber());
+        assertEquals(second.getBillDate(), decoded.getBillDate());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Format Parameter Parsing")
+    void testFormatParameter() {
+        assertEquals(BillExportWriter.Format.CSV, BillExportWriter.Format.fromParameter("CSV"));
+        assertEquals(BillExportWriter.Format.NDJSON, BillExportWriter.Format.fromParameter(" ndjson "));
+        assertNull(BillExportWriter.Format.fromParameter("json"));
+        assertNull(BillExportWriter.Format.fromParameter(null));
+    }
+}
@@ -0,0 +1,95 @@
+package com.pahanaedu.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BlockingRequestExecutor
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Blocking Request Executor Tests")
+public class BlockingRequestExecutorTest {
+
+    private final List<Integer> errorCodes = new ArrayList<>();
+
+    // A synchronous request and a response that records sendError calls
+    private final HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[]{HttpServletRequest.class},
+            (proxy, method, args) -> method.getReturnType() == boolean.class ? false : null);
+
+    private final HttpServletResponse response = (HttpServletResponse) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[]{HttpServletResponse.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("sendError")) {
+                    errorCodes.add((Integer) args[0]);
+                }
+                return method.getReturnType() == boolean.class ? false : null;
+            });
+
+    @Test
+    @Order(1)
+    @DisplayName("Test Modes")
+    void testModes() throws Exception {
+        assertFalse(new BlockingRequestExecutor("platform", 5, 0).isEnabled());
+
+        BlockingRequestExecutor executor = new BlockingRequestExecutor("virtual", 5, 0);
+        assertTrue(executor.isEnabled());
+        assertEquals(Runtime.version().feature() >= 21, executor.isVirtual());
+
+        int[] runs = {0};
+        executor.execute(request, response, () -> runs[0]++);
+        assertEquals(1, runs[0]);
+        assertEquals(5, executor.getAvailablePermits(), "Permit is released after the work");
+        executor.shutdown();
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test Busy Limiter Refuses With 503")
+    void testLimiterRefusesWhenFull() throws Exception {
+        BlockingRequestExecutor executor = new BlockingRequestExecutor("virtual", 1, 50);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread holder = new Thread(() -> {
+            try {
+                executor.execute(request, response, () -> {
+                    holding.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                fail(e);
+            }
+        });
+        holder.start();
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        int[] runs = {0};
+        executor.execute(request, response, () -> runs[0]++);
+        assertEquals(0, runs[0], "Work does not run without a permit");
+        assertEquals(List.of(HttpServletResponse.SC_SERVICE_UNAVAILABLE), errorCodes);
+
+        release.countDown();
+        holder.join(5000);
+        executor.execute(request, response, () -> runs[0]++);
+        assertEquals(1, runs[0]);
+        assertTrue(executor.getStats().contains("Rejected: 1"));
+        executor.shutdown();
+    }
+}
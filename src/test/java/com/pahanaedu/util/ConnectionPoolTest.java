@@ -0,0 +1,239 @@
+package com.pahanaedu.util;
+
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ConnectionPool
+ * Uses stub connections so the pool can be tested without a MySQL server
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Connection Pool Tests")
+public class ConnectionPoolTest {
+
+    private AtomicInteger physicalOpened;
+    private AtomicInteger physicalClosed;
+    private AtomicInteger statementsPrepared;
+
+    @BeforeEach
+    void setUp() {
+        physicalOpened = new AtomicInteger();
+        physicalClosed = new AtomicInteger();
+        statementsPrepared = new AtomicInteger();
+    }
+
+    /**
+     * Create a stub prepared statement that only tracks its closed state
+     */
+    private PreparedStatement stubStatement() {
+        statementsPrepared.incrementAndGet();
+        AtomicBoolean closed = new AtomicBoolean(false);
+
+        return (PreparedStatement) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            closed.set(true);
+                            return null;
+                        case "isClosed":
+                            return closed.get();
+                        case "executeUpdate":
+                            return 1;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    /**
+     * Create a stub physical connection that tracks open/close calls
+     */
+    private Connection stubConnection() {
+        physicalOpened.incrementAndGet();
+        AtomicBoolean closed = new AtomicBoolean(false);
+        AtomicBoolean autoCommit = new AtomicBoolean(true);
+
+        return (Connection) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (closed.compareAndSet(false, true)) {
+                                physicalClosed.incrementAndGet();
+                            }
+                            return null;
+                        case "isClosed":
+                            return closed.get();
+                        case "isValid":
+                            return !closed.get();
+                        case "getAutoCommit":
+                            return autoCommit.get();
+                        case "setAutoCommit":
+                            autoCommit.set((Boolean) args[0]);
+                            return null;
+                        case "isReadOnly":
+                            return false;
+                        case "prepareStatement":
+                            return stubStatement();
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private ConnectionPool newPool(int minIdle, int maxIdle, int maxActive, long maxWaitMillis) {
+        return new ConnectionPool(this::stubConnection, minIdle, maxIdle, maxActive,
+                maxWaitMillis, 60_000, 0, 1, 10);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test Connections Are Reused After Close")
+    void testConnectionReuse() throws SQLException {
+        ConnectionPool pool = newPool(0, 5, 5, 1000);
+
+        Connection first = pool.borrow();
+        first.close();
+        assertTrue(first.isClosed(), "Returned lease should report closed");
+
+        Connection second = pool.borrow();
+        assertFalse(second.isClosed(), "New lease should be open");
+        second.close();
+
+        assertEquals(1, physicalOpened.get(), "Only one physical connection should be opened");
+        assertEquals(0, physicalClosed.get(), "Physical connection should stay open in the pool");
+        assertEquals(1, pool.getIdleCount());
+
+        pool.shutdown();
+        assertEquals(1, physicalClosed.get(), "Shutdown should close idle connections");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test Borrow Times Out When Pool Is Exhausted")
+    void testBorrowTimeout() throws SQLException {
+        ConnectionPool pool = newPool(0, 2, 2, 50);
+
+        Connection conn1 = pool.borrow();
+        Connection conn2 = pool.borrow();
+        assertNotSame(conn1, conn2);
+        assertEquals(2, pool.getActiveCount());
+
+        assertThrows(SQLException.class, pool::borrow, "Third borrow should time out");
+
+        conn1.close();
+        Connection conn3 = pool.borrow();
+        assertNotNull(conn3, "Borrow should succeed once a connection is returned");
+
+        conn2.close();
+        conn3.close();
+        pool.shutdown();
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Returned Connection Is Reset")
+    void testStateResetOnReturn() throws SQLException {
+        ConnectionPool pool = newPool(0, 1, 1, 1000);
+
+        Connection conn = pool.borrow();
+        conn.setAutoCommit(false);
+        conn.close();
+
+        Connection again = pool.borrow();
+        assertTrue(again.getAutoCommit(), "Auto-commit should be restored on return");
+        again.close();
+
+        // Closing twice must not return the connection twice
+        again.close();
+        assertEquals(1, pool.getIdleCount());
+        assertThrows(SQLException.class, () -> again.setAutoCommit(true),
+                "Using a returned lease should fail");
+
+        pool.shutdown();
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test Max Idle Limit")
+    void testMaxIdle() throws SQLException {
+        ConnectionPool pool = newPool(0, 1, 3, 1000);
+
+        Connection conn1 = pool.borrow();
+        Connection conn2 = pool.borrow();
+        conn1.close();
+        conn2.close();
+
+        assertEquals(1, pool.getIdleCount(), "Only maxIdle connections should be kept");
+        assertEquals(1, physicalClosed.get(), "Extra connection should be closed");
+        assertEquals(1, pool.getOpenCount());
+
+        pool.shutdown();
+        assertThrows(SQLException.class, pool::borrow, "Closed pool should reject borrowers");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test Prepared Statement Cache")
+    void testStatementCache() throws SQLException {
+        ConnectionPool pool = newPool(0, 1, 1, 1000);
+        String sql = "UPDATE items SET stock_quantity = ? WHERE item_id = ?";
+
+        for (int i = 0; i < 3; i++) {
+            try (Connection conn = pool.borrow();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                assertEquals(1, stmt.executeUpdate());
+            }
+        }
+
+        assertEquals(1, statementsPrepared.get(), "Statement should be prepared once per connection");
+        assertEquals(2, pool.getStatementCacheHits());
+        assertEquals(1, pool.getStatementCacheMisses());
+
+        // A statement that is still open is not shared
+        try (Connection conn = pool.borrow();
+             PreparedStatement first = conn.prepareStatement(sql);
+             PreparedStatement second = conn.prepareStatement(sql)) {
+            assertNotSame(first, second);
+        }
+        assertEquals(2, statementsPrepared.get());
+
+        pool.shutdown();
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test Statement Cache LRU Limit")
+    void testStatementCacheLimit() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(this::stubConnection, 0, 1, 1, 1000, 60_000, 0, 1, 2);
+
+        try (Connection conn = pool.borrow()) {
+            for (String sql : new String[]{"SELECT 1", "SELECT 2", "SELECT 3", "SELECT 1"}) {
+                conn.prepareStatement(sql).close();
+            }
+        }
+
+        assertEquals(4, statementsPrepared.get(), "Evicted statement should be prepared again");
+        assertEquals(0, pool.getStatementCacheHits());
+
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,190 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Customer;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CustomerAutocomplete
+ * Uses an in-memory customer table in place of CustomerDAO
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Customer Autocomplete Tests")
+public class CustomerAutocompleteTest {
+
+    private Map<String, Customer> customers;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        customers = new LinkedHashMap<>();
+        add("CUS001", "Nimal Perera");
+        add("CUS002", "Kamala Silva");
+        add("CUS003", "Perera  Book Stores");
+        add("CUS004", "Peter Fernando");
+        add("CUS005", "Anura Perera");
+        loads = new AtomicInteger();
+    }
+
+    private void add(String accountNumber, String name) {
+        customers.put(accountNumber, new Customer(accountNumber, name));
+    }
+
+    private List<Customer> loadActive() {
+        loads.incrementAndGet();
+        List<Customer> copies = new ArrayList<>();
+        for (Customer customer : customers.values()) {
+            if (customer.isActive()) {
+                copies.add(customer.clone());
+            }
+        }
+        return copies;
+    }
+
+    private Customer load(String accountNumber) {
+        Customer customer = customers.get(accountNumber);
+        return customer != null ? customer.clone() : null;
+    }
+
+    private static List<String> accounts(List<Customer> results) {
+        return results.stream().map(Customer::getAccountNumber).toList();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test Name Start Matches Come Before Word Matches")
+    void testOrdering() {
+        CustomerAutocomplete autocomplete = new CustomerAutocomplete(60_000);
+        autocomplete.warmUp(this::loadActive);
+
+        assertEquals(List.of("CUS003", "CUS004", "CUS001", "CUS005"),
+                accounts(autocomplete.complete("Pe", 10, this::loadActive)));
+        assertEquals(List.of("CUS003", "CUS001"),
+                accounts(autocomplete.complete("PERERA", 2, this::loadActive)));
+        assertEquals(List.of("CUS003"),
+                accounts(autocomplete.complete("perera book", 10, this::loadActive)));
+        assertEquals(List.of("CUS003"),
+                accounts(autocomplete.complete("book st", 10, this::loadActive)));
+        assertTrue(autocomplete.complete("era", 10, this::loadActive).isEmpty(), "Only prefixes match");
+        assertEquals(1, loads.get(), "Lookups should not reload customers");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test Refresh Updates Single Customers")
+    void testRefresh() {
+        CustomerAutocomplete autocomplete = new CustomerAutocomplete(60_000);
+        autocomplete.warmUp(this::loadActive);
+
+        customers.get("CUS001").setName("Nimali Fonseka");
+        autocomplete.refresh("CUS001", this::load);
+        customers.get("CUS004").setActive(false);
+        autocomplete.refresh("CUS004", this::load);
+        add("CUS006", "Fernando Traders");
+        autocomplete.refresh("CUS006", this::load);
+
+        assertEquals(List.of("CUS003", "CUS005"), accounts(autocomplete.complete("per", 10, this::loadActive)));
+        assertEquals(List.of("CUS006", "CUS001"), accounts(autocomplete.complete("f", 10, this::loadActive)));
+        assertEquals(5, autocomplete.size());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Lazy Build And Returned Copies")
+    void testLazyBuild() {
+        CustomerAutocomplete autocomplete = new CustomerAutocomplete(60_000);
+
+        autocomplete.complete("kam", 5, this::loadActive).get(0).setName("Changed");
+        assertEquals("Kamala Silva", autocomplete.complete("kam", 5, this::loadActive).get(0).getName());
+        assertTrue(autocomplete.complete(" ", 5, this::loadActive).isEmpty());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test Failed Refresh Drops The Structure Instead Of The Customer")
+    void testFailedRefresh() {
+        CustomerAutocomplete autocomplete = new CustomerAutocomplete(60_000);
+        autocomplete.warmUp(this::loadActive);
+
+        autocomplete.refresh("CUS002", accountNumber -> {
+            throw new java.sql.SQLException("Communications link failure");
+        });
+        assertEquals(0, autocomplete.size(), "Structure is dropped");
+
+        assertEquals(List.of("CUS002"), accounts(autocomplete.complete("kam", 10, this::loadActive)));
+        assertEquals(2, loads.get(), "Next lookup rebuilds it");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test Rebuilds Are Single-Flight")
+    void testSingleFlightRebuild() throws Exception {
+        CustomerAutocomplete autocomplete = new CustomerAutocomplete(1);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<List<Customer>> slowLoader = () -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loadActive();
+        };
+
+        // Nothing built yet: a second keystroke waits for the first one's build
+        List<List<Customer>> results = new CopyOnWriteArrayList<>();
+        Thread leader = new Thread(() -> results.add(autocomplete.complete("per", 10, slowLoader)));
+        leader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Thread follower = new Thread(() -> results.add(autocomplete.complete("kam", 10, this::loadActive)));
+        follower.start();
+        follower.join(200);
+        assertTrue(follower.isAlive(), "Follower waits for the build in progress");
+
+        release.countDown();
+        leader.join(5000);
+        follower.join(5000);
+        assertEquals(2, results.size());
+        assertEquals(1, loads.get(), "One load served both lookups");
+
+        // Expired structure: served as-is while another lookup rebuilds it
+        Thread.sleep(5);
+        CountDownLatch reloading = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Thread rebuilder = new Thread(() -> autocomplete.complete("per", 10, () -> {
+            reloading.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loadActive();
+        }));
+        rebuilder.start();
+        assertTrue(reloading.await(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of("CUS002"), accounts(autocomplete.complete("kam", 10, this::loadActive)));
+        assertEquals(1, loads.get(), "Stale structure answered without another load");
+
+        finish.countDown();
+        rebuilder.join(5000);
+        assertEquals(2, loads.get());
+    }
+}
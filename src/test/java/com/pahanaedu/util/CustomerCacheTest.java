@@ -0,0 +1,138 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Customer;
+import org.junit.jupiter.api.*;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CustomerCache
+ * Uses a counting loader in place of CustomerDAO
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Customer Cache Tests")
+public class CustomerCacheTest {
+
+    private Map<String, Customer> customers;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        customers = new HashMap<>();
+        customers.put("CUS001", new Customer("CUS001", "Nimal Perera", "Colombo", "0771234567", "nimal@example.com"));
+        customers.put("CUS002", new Customer("CUS002", "Kamala Silva", "Kandy", "0712345678", "kamala@example.com"));
+        customers.put("CUS003", new Customer("CUS003", "Sunil Fernando", "Galle", "0723456789", "sunil@example.com"));
+        loads = new AtomicInteger();
+    }
+
+    private Customer load(String accountNumber) {
+        loads.incrementAndGet();
+        Customer customer = customers.get(accountNumber);
+        return customer != null ? customer.clone() : null;
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test Hot Customer Is Served From Cache")
+    void testCacheHit() throws Exception {
+        CustomerCache cache = new CustomerCache(60_000, 60_000, 100);
+
+        assertEquals("Nimal Perera", cache.getCustomer("CUS001", this::load).getName());
+        assertEquals("Nimal Perera", cache.getCustomer("CUS001", this::load).getName());
+        assertEquals("Nimal Perera", cache.getCustomer("CUS001", this::load).getName());
+
+        assertEquals(1, loads.get());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test Misses Are Cached As Negative Entries")
+    void testNegativeEntries() throws Exception {
+        CustomerCache cache = new CustomerCache(60_000, 60_000, 100);
+
+        assertNull(cache.getCustomer("CUS999", this::load));
+        assertNull(cache.getCustomer("CUS999", this::load));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getNegativeHitCount());
+
+        // Creating the customer clears the negative entry
+        customers.put("CUS999", new Customer("CUS999", "New Customer"));
+        cache.invalidate("CUS999");
+        assertNotNull(cache.getCustomer("CUS999", this::load));
+        assertEquals(2, loads.get());
+
+        CustomerCache noNegatives = new CustomerCache(60_000, 0, 100);
+        noNegatives.getCustomer("CUS998", this::load);
+        noNegatives.getCustomer("CUS998", this::load);
+        assertEquals(4, loads.get(), "Negative caching can be disabled");
+
+        // A failed lookup is not remembered as "not found"
+        assertThrows(SQLException.class, () -> cache.getCustomer("CUS001", accountNumber -> {
+            throw new SQLException("Connection refused");
+        }));
+        assertEquals("Nimal Perera", cache.getCustomer("CUS001", this::load).getName());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Returned Customers Are Copies And Writes Invalidate")
+    void testCopiesAndInvalidation() throws Exception {
+        CustomerCache cache = new CustomerCache(60_000, 60_000, 100);
+
+        cache.getCustomer("CUS002", this::load).setCreditLimit(new BigDecimal("99999.00"));
+        assertEquals(BigDecimal.ZERO, cache.getCustomer("CUS002", this::load).getCreditLimit());
+
+        customers.get("CUS002").setCreditLimit(new BigDecimal("5000.00"));
+        cache.invalidate("CUS002");
+        assertEquals(new BigDecimal("5000.00"), cache.getCustomer("CUS002", this::load).getCreditLimit());
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getInvalidationCount());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test Load Racing A Write Is Not Installed")
+    void testStaleLoadDiscarded() throws Exception {
+        CustomerCache cache = new CustomerCache(60_000, 60_000, 100);
+
+        // The write lands while the load is still running
+        Customer stale = cache.getCustomer("CUS003", accountNumber -> {
+            Customer customer = load(accountNumber);
+            cache.invalidate(accountNumber);
+            return customer;
+        });
+        assertNotNull(stale, "The caller still gets its own load");
+
+        cache.getCustomer("CUS003", this::load);
+        assertEquals(2, loads.get(), "Stale load should not have been cached");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test Least Recently Used Customer Is Evicted")
+    void testLruLimit() throws Exception {
+        CustomerCache cache = new CustomerCache(60_000, 60_000, 2);
+
+        cache.getCustomer("CUS001", this::load);
+        cache.getCustomer("CUS002", this::load);
+        cache.getCustomer("CUS001", this::load);
+        cache.getCustomer("CUS003", this::load);  // evicts CUS002
+        cache.getCustomer("CUS001", this::load);
+        cache.getCustomer("CUS002", this::load);
+
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.size());
+        assertTrue(cache.getEvictionCount() >= 1);
+    }
+}
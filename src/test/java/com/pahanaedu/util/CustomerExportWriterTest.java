@@ -0,0 +1,85 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Customer;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CustomerExportWriter
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Customer Export Writer Tests")
+public class CustomerExportWriterTest {
+
+    private Customer first;
+    private Customer second;
+
+    @BeforeEach
+    void setUp() {
+        first = new Customer("CUS001", "Nimal \"Nim\" Perera", "12 Main St,\nColombo", "0771234567", "nimal@example.com");
+        first.setCreditLimit(new BigDecimal("5000.00"));
+        first.setRegistrationDate(Timestamp.valueOf("2024-01-15 10:00:00"));
+        second = new Customer("CUS002", "Kamala Silva");
+        second.setRegistrationDate(Timestamp.valueOf("2024-02-01 09:30:00"));
+    }
+
+    private String export(CustomerExportWriter.Format format) throws IOException {
+        StringWriter out = new StringWriter();
+        CustomerExportWriter writer = new CustomerExportWriter(out, format);
+        writer.begin();
+        writer.handle(first);
+        writer.handle(second);
+        writer.finish();
+        assertEquals(2, writer.getCount());
+        return out.toString();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test CSV Export Escapes Quotes")
+    void testCsv() throws IOException {
+        String[] lines = export(CustomerExportWriter.Format.CSV).split("\n");
+
+        assertEquals("Account Number,Name,Address,Phone,Email,Credit Limit,Active,Registration Date", lines[0]);
+        assertTrue(lines[1].startsWith("\"CUS001\",\"Nimal \"\"Nim\"\" Perera\",\"12 Main St,"));
+        assertEquals("\"CUS002\",\"Kamala Silva\",\"\",\"\",\"\",\"0\",\"Yes\",\"2024-02-01 09:30:00.0\"",
+                lines[lines.length - 1]);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test JSON Document And NDJSON Lines")
+    void testJson() throws IOException {
+        String json = export(CustomerExportWriter.Format.JSON);
+        assertTrue(json.startsWith("{\n  \"customers\": [\n    {\"accountNumber\":\"CUS001\""));
+        assertTrue(json.contains("\"name\":\"Nimal \\\"Nim\\\" Perera\""));
+        assertTrue(json.contains("\"address\":\"12 Main St,\\nColombo\""));
+        assertTrue(json.contains("},\n    {\"accountNumber\":\"CUS002\""));
+        assertTrue(json.contains("\"count\": 2"));
+        assertTrue(json.endsWith("}"));
+
+        String[] lines = export(CustomerExportWriter.Format.NDJSON).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"accountNumber\":\"CUS001\"") && lines[0].endsWith("}"));
+        assertTrue(lines[1].contains("\"creditLimit\":0,\"isActive\":true"));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Format Parameter Parsing")
+    void testFormatParameter() {
+        assertEquals(CustomerExportWriter.Format.CSV, CustomerExportWriter.Format.fromParameter("csv"));
+        assertEquals(CustomerExportWriter.Format.NDJSON, CustomerExportWriter.Format.fromParameter(" NDJSON "));
+        assertNull(CustomerExportWriter.Format.fromParameter("xml"));
+        assertNull(CustomerExportWriter.Format.fromParameter(null));
+    }
+}
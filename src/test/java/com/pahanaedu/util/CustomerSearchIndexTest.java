@@ -0,0 +1,217 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Customer;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CustomerSearchIndex
+ * Uses an in-memory customer table in place of CustomerDAO
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Customer Search Index Tests")
+public class CustomerSearchIndexTest {
+
+    private Map<String, Customer> customers;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        customers = new LinkedHashMap<>();
+        add("CUS001", "Nimal Perera", "0771234567", "nimal@example.com");
+        add("CUS002", "Kamala Silva", "0712345678", "kamala.silva@example.com");
+        add("CUS003", "Perera Stores", "0723456789", "orders@pererastores.lk");
+        add("CUS004", "Ruwan Jayaperera", "0112223344", "ruwan@example.com");
+        add("CUS005", "Perera", "0779998887", null);
+        loads = new AtomicInteger();
+    }
+
+    private void add(String accountNumber, String name, String phone, String email) {
+        customers.put(accountNumber, new Customer(accountNumber, name, "Colombo", phone, email));
+    }
+
+    private List<Customer> loadActive() {
+        loads.incrementAndGet();
+        List<Customer> copies = new ArrayList<>();
+        for (Customer customer : customers.values()) {
+            if (customer.isActive()) {
+                copies.add(customer.clone());
+            }
+        }
+        return copies;
+    }
+
+    private Customer load(String accountNumber) {
+        Customer customer = customers.get(accountNumber);
+        return customer != null ? customer.clone() : null;
+    }
+
+    private static List<String> accounts(List<Customer> results) {
+        return results.stream().map(Customer::getAccountNumber).toList();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test Substring Matches Are Ranked")
+    void testRanking() {
+        CustomerSearchIndex index = new CustomerSearchIndex(60_000);
+
+        List<Customer> results = index.search(CustomerSearchIndex.Field.NAME, "PERERA", 10, this::loadActive);
+
+        // Exact, then prefix, then word prefix, then inside a word
+        assertEquals(List.of("CUS005", "CUS003", "CUS001", "CUS004"), accounts(results));
+        assertEquals(List.of("CUS005", "CUS003"),
+                accounts(index.search(CustomerSearchIndex.Field.NAME, "perera", 2, this::loadActive)));
+        assertEquals(1, loads.get(), "Index should only be built once");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test Phone, Email And Short Queries")
+    void testFields() {
+        CustomerSearchIndex index = new CustomerSearchIndex(60_000);
+
+        assertEquals(List.of("CUS002"),
+                accounts(index.search(CustomerSearchIndex.Field.PHONE, "12345678", 10, this::loadActive)));
+        assertEquals(List.of("CUS003"),
+                accounts(index.search(CustomerSearchIndex.Field.EMAIL, "stores.lk", 10, this::loadActive)));
+        assertEquals(3, index.search(CustomerSearchIndex.Field.EMAIL, "example", 10, this::loadActive).size());
+        assertEquals(List.of("CUS002"),
+                accounts(index.search(CustomerSearchIndex.Field.NAME, "si", 10, this::loadActive)));
+        assertTrue(index.search(CustomerSearchIndex.Field.NAME, "xyz", 10, this::loadActive).isEmpty());
+        assertTrue(index.search(CustomerSearchIndex.Field.NAME, "  ", 10, this::loadActive).isEmpty());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Refresh Keeps Index Current")
+    void testRefresh() {
+        CustomerSearchIndex index = new CustomerSearchIndex(60_000);
+        index.search(CustomerSearchIndex.Field.NAME, "nimal", 10, this::loadActive);
+
+        // Rename, add and deactivate
+        customers.get("CUS001").setName("Nimali Fonseka");
+        index.refresh("CUS001", this::load);
+        add("CUS006", "Nimal Traders", "0765554443", "sales@nimaltraders.lk");
+        index.refresh("CUS006", this::load);
+        customers.get("CUS002").setActive(false);
+        index.refresh("CUS002", this::load);
+
+        assertEquals(List.of("CUS006", "CUS001"),
+                accounts(index.search(CustomerSearchIndex.Field.NAME, "nimal", 10, this::loadActive)));
+        assertTrue(index.search(CustomerSearchIndex.Field.NAME, "kamala", 10, this::loadActive).isEmpty());
+        assertTrue(index.search(CustomerSearchIndex.Field.NAME, "perera", 10, this::loadActive).stream()
+                .noneMatch(c -> c.getAccountNumber().equals("CUS001")));
+        assertEquals(5, index.size());
+        assertEquals(1, loads.get(), "Writes should not rebuild the index");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test Build Racing A Write Is Not Installed")
+    void testStaleBuildDiscarded() {
+        CustomerSearchIndex index = new CustomerSearchIndex(60_000);
+
+        List<Customer> results = index.search(CustomerSearchIndex.Field.NAME, "perera", 10, () -> {
+            List<Customer> loaded = loadActive();
+            index.refresh("CUS001", this::load);
+            return loaded;
+        });
+        assertEquals(4, results.size(), "The caller still gets its own build");
+
+        index.search(CustomerSearchIndex.Field.NAME, "perera", 10, this::loadActive);
+        assertEquals(2, loads.get(), "Stale build should not have been installed");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test Failed Refresh Drops The Index Instead Of The Customer")
+    void testFailedRefresh() {
+        CustomerSearchIndex index = new CustomerSearchIndex(60_000);
+        index.search(CustomerSearchIndex.Field.NAME, "kamala", 10, this::loadActive);
+
+        index.refresh("CUS002", accountNumber -> {
+            throw new java.sql.SQLException("Communications link failure");
+        });
+        assertEquals(0, index.size(), "Index is dropped");
+
+        assertEquals(List.of("CUS002"),
+                accounts(index.search(CustomerSearchIndex.Field.NAME, "kamala", 10, this::loadActive)));
+        assertEquals(2, loads.get(), "Next search rebuilds it");
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test Rebuilds Are Single-Flight")
+    void testSingleFlightRebuild() throws Exception {
+        CustomerSearchIndex index = new CustomerSearchIndex(1);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<List<Customer>> slowLoader = () -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loadActive();
+        };
+
+        // No index yet: a second search waits for the first one's build
+        List<List<Customer>> results = new CopyOnWriteArrayList<>();
+        Thread leader = new Thread(() ->
+                results.add(index.search(CustomerSearchIndex.Field.NAME, "perera", 10, slowLoader)));
+        leader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Thread follower = new Thread(() ->
+                results.add(index.search(CustomerSearchIndex.Field.NAME, "perera", 10, this::loadActive)));
+        follower.start();
+        follower.join(200);
+        assertTrue(follower.isAlive(), "Follower waits for the build in progress");
+
+        release.countDown();
+        leader.join(5000);
+        follower.join(5000);
+        assertEquals(2, results.size());
+        assertEquals(4, results.get(1).size());
+        assertEquals(1, loads.get(), "One load served both searches");
+
+        // Expired index: served as-is while another search rebuilds it
+        Thread.sleep(5);
+        CountDownLatch reloading = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Thread rebuilder = new Thread(() -> index.search(CustomerSearchIndex.Field.NAME, "perera", 10, () -> {
+            reloading.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loadActive();
+        }));
+        rebuilder.start();
+        assertTrue(reloading.await(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of("CUS002"),
+                accounts(index.search(CustomerSearchIndex.Field.NAME, "kamala", 10, this::loadActive)));
+        assertEquals(1, loads.get(), "Stale index answered without another load");
+
+        finish.countDown();
+        rebuilder.join(5000);
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,115 @@
+package com.pahanaedu.util;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for HiLoSequence
+ * Uses an in-memory block allocator in place of the id_sequences table
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Hi/Lo Sequence Tests")
+public class HiLoSequenceTest {
+
+    private AtomicLong nextFree;
+    private AtomicLong reservations;
+
+    @BeforeEach
+    void setUp() {
+        nextFree = new AtomicLong(1);
+        reservations = new AtomicLong();
+    }
+
+    private long reserve(String sequenceName, int blockSize) {
+        reservations.incrementAndGet();
+        return nextFree.getAndAdd(blockSize);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test Values Are Served From Reserved Blocks")
+    void testBlockReuse() throws SQLException {
+        HiLoSequence sequence = new HiLoSequence("bill", 10, this::reserve);
+
+        for (long expected = 1; expected <= 25; expected++) {
+            assertEquals(expected, sequence.nextValue());
+        }
+
+        assertEquals(3, reservations.get(), "25 values should need three blocks of 10");
+        assertEquals(3, sequence.getBlocksReserved());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test Two Nodes Never Share A Value")
+    void testSharedAllocator() throws SQLException {
+        HiLoSequence nodeA = new HiLoSequence("customer", 5, this::reserve);
+        HiLoSequence nodeB = new HiLoSequence("customer", 5, this::reserve);
+
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 12; i++) {
+            assertTrue(seen.add(nodeA.nextValue()));
+            assertTrue(seen.add(nodeB.nextValue()));
+        }
+
+        assertEquals(24, seen.size());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Concurrent Callers Receive Unique Values")
+    void testConcurrentUniqueness() throws Exception {
+        HiLoSequence sequence = new HiLoSequence("item", 7, this::reserve);
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 500;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        assertTrue(seen.add(sequence.nextValue()), "Duplicate value handed out");
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, seen.size());
+        long expectedBlocks = (threads * perThread + 6) / 7;
+        assertEquals(expectedBlocks, reservations.get(), "No block should be reserved twice");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test Allocator Failure Is Reported")
+    void testAllocatorFailure() {
+        HiLoSequence sequence = new HiLoSequence("user", 10, (name, size) -> {
+            throw new SQLException("id_sequences unavailable");
+        });
+
+        assertThrows(SQLException.class, sequence::nextValue);
+        assertThrows(IllegalArgumentException.class, () -> new HiLoSequence("user", 0, this::reserve));
+    }
+}
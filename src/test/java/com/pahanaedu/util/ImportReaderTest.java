@@ -0,0 +1,176 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Customer;
+import com.pahanaedu.models.Item;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ImportReader, its item and customer readers, and ImportReport
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Import Reader Tests")
+public class ImportReaderTest {
+
+    private static <T> List<ImportReader.Row<T>> readAll(ImportReader<T> reader) throws IOException {
+        List<ImportReader.Row<T>> rows = new ArrayList<>();
+        try (reader) {
+            ImportReader.Row<T> row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static List<ImportReader.Row<Item>> readItems(String input, ImportReader.Format format)
+            throws IOException {
+        return readAll(new ItemImportReader(new StringReader(input), format));
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test NDJSON Rows And Bad Lines")
+    void testNdjson() throws IOException {
+        String input = "\uFEFF{\"itemId\":\"ITEM101\",\"name\":\"Atlas\",\"category\":\"Books\",\"price\":1250.00,\"stock\":40}\n"
+                + "\n"
+                + "{\"itemId\":\"ITEM102\",\"name\":\"Ruler\" \"price\":50}\n"
+                + "{\"name\":\"Eraser\",\"price\":\"20\",\"stock\":5,\"reorderLevel\":2,\"isActive\":false}\r\n";
+
+        List<ImportReader.Row<Item>> rows = readItems(input, ImportReader.Format.NDJSON);
+        assertEquals(3, rows.size());
+
+        Item atlas = rows.get(0).getValue();
+        assertEquals(1, rows.get(0).getLine());
+        assertEquals("ITEM101", atlas.getItemId());
+        assertEquals(new BigDecimal("1250.00"), atlas.getPrice());
+        assertEquals(ItemImportReader.UNSET_REORDER_LEVEL, atlas.getReorderLevel());
+
+        assertNull(rows.get(1).getValue());
+        assertEquals(3, rows.get(1).getLine(), "Blank lines still count");
+        assertEquals("Invalid JSON: Expected ',' or '}' at column 36", rows.get(1).getError());
+
+        Item eraser = rows.get(2).getValue();
+        assertEquals(2, eraser.getReorderLevel());
+        assertEquals(5, eraser.getStockQuantity());
+        assertFalse(eraser.isActive());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test CSV Headers And Quoting")
+    void testCsv() throws IOException {
+        String input = "Item ID,Name,Category,Price,Stock Quantity,Notes,Description\r\n"
+                + "ITEM201,\"Pens, blue (10)\",Stationery,120.50,30,x,\"He said \"\"write\"\"\"\r\n"
+                + "\r\n"
+                + "ITEM202,Map,Maps,45,10,,\"Line one\nline two\"\n"
+                + "ITEM203,Globe,Maps,abc,3,,\n"
+                + "ITEM204,Chalk,Stationery,15,100";
+
+        List<ImportReader.Row<Item>> rows = readItems(input, ImportReader.Format.CSV);
+        assertEquals(4, rows.size());
+
+        Item pens = rows.get(0).getValue();
+        assertEquals(2, rows.get(0).getLine());
+        assertEquals("Pens, blue (10)", pens.getName());
+        assertEquals(30, pens.getStockQuantity());
+        assertEquals("He said \"write\"", pens.getDescription());
+
+        assertEquals(4, rows.get(1).getLine());
+        assertEquals("Line one\nline two", rows.get(1).getValue().getDescription());
+
+        assertEquals(6, rows.get(2).getLine(), "Line numbers count the line break inside the quoted field");
+        assertEquals("ITEM203", rows.get(2).getKey());
+        assertEquals("Invalid price: abc", rows.get(2).getError());
+
+        assertEquals("ITEM204", rows.get(3).getValue().getItemId());
+        assertNull(rows.get(3).getValue().getDescription());
+
+        List<ImportReader.Row<Item>> open = readItems("itemId,name\nITEM1,\"never closed\n", ImportReader.Format.CSV);
+        assertEquals("Unterminated quoted field", open.get(0).getError());
+        assertEquals("ITEM1", open.get(0).getKey());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Customer Rows")
+    void testCustomers() throws IOException {
+        String csv = "Account Number,Name,Phone Number,Email,Credit Limit,Active\n"
+                + "CUS101,Nimal Perera,0771234567,NIMAL@example.com,2500.00,yes\n"
+                + ",Kamala Silva,,kamala@example.com,,0\n"
+                + "CUS103,Sunil,0777654321,,lots,\n";
+
+        List<ImportReader.Row<Customer>> rows = readAll(new CustomerImportReader(new StringReader(csv),
+                ImportReader.Format.CSV));
+        assertEquals(3, rows.size());
+
+        Customer nimal = rows.get(0).getValue();
+        assertEquals("CUS101", nimal.getAccountNumber());
+        assertEquals("0771234567", nimal.getPhoneNumber());
+        assertEquals(new BigDecimal("2500.00"), nimal.getCreditLimit());
+        assertTrue(nimal.isActive());
+
+        Customer kamala = rows.get(1).getValue();
+        assertNull(kamala.getAccountNumber());
+        assertNull(kamala.getPhoneNumber());
+        assertFalse(kamala.isActive());
+
+        assertEquals("CUS103", rows.get(2).getKey());
+        assertEquals("Invalid creditLimit: lots", rows.get(2).getError());
+
+        List<ImportReader.Row<Customer>> json = readAll(new CustomerImportReader(new StringReader(
+                "{\"accountNumber\":\"CUS104\",\"name\":\"Ruwan\",\"email\":\"ruwan@example.com\"}\n"),
+                ImportReader.Format.NDJSON));
+        assertEquals("ruwan@example.com", json.get(0).getValue().getEmail());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test Format Selection")
+    void testFormat() {
+        assertEquals(ImportReader.Format.CSV, ImportReader.Format.fromContentType("text/csv; charset=UTF-8"));
+        assertEquals(ImportReader.Format.NDJSON, ImportReader.Format.fromContentType(null));
+        assertEquals(ImportReader.Format.CSV, ImportReader.Format.fromParameter(" CSV "));
+        assertNull(ImportReader.Format.fromParameter("xml"));
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test Report Caps Errors")
+    void testReport() throws IOException {
+        ImportReport report = new ImportReport(2);
+        for (int i = 1; i <= 5; i++) {
+            report.rowRead();
+            report.rowFailed(i, "ITEM" + i, "Bad row \"" + i + "\"");
+        }
+        report.rowsCreated(3);
+        report.rowsUpdated(1);
+        report.finish();
+
+        assertEquals(5, report.getFailedCount());
+        assertEquals(2, report.getErrors().size());
+        assertTrue(report.isErrorsTruncated());
+        assertTrue(report.isComplete());
+        assertTrue(report.isFinished());
+
+        StringWriter out = new StringWriter();
+        try (JsonWriter json = new JsonWriter(out)) {
+            report.writeTo(json);
+        }
+        String text = out.toString();
+        assertTrue(text.startsWith("{\"finished\":true,\"complete\":true,\"rows\":5,\"created\":3,\"updated\":1,\"failed\":5,"));
+        assertTrue(text.contains("\"errors\":[{\"line\":1,\"id\":\"ITEM1\",\"error\":\"Bad row \\\"1\\\"\"},"));
+        assertTrue(text.endsWith("\"errorsTruncated\":true}"));
+    }
+}
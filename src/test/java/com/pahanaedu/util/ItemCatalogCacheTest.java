@@ -0,0 +1,218 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Item;
+import org.junit.jupiter.api.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ItemCatalogCache
+ * Uses counting loaders in place of ItemDAO
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Item Catalog Cache Tests")
+public class ItemCatalogCacheTest {
+
+    private List<Item> activeItems;
+    private AtomicInteger catalogLoads;
+    private AtomicInteger itemLoads;
+
+    @BeforeEach
+    void setUp() {
+        activeItems = new ArrayList<>();
+        activeItems.add(new Item("ITEM001", "Java Basics", "Programming", new BigDecimal("2500.00"), 50));
+        activeItems.add(new Item("ITEM002", "SQL Design", "Database", new BigDecimal("3000.00"), 30));
+        activeItems.add(new Item("ITEM003", "Advanced Java", "Programming", new BigDecimal("3500.00"), 25));
+        catalogLoads = new AtomicInteger();
+        itemLoads = new AtomicInteger();
+    }
+
+    private List<Item> loadActive() {
+        catalogLoads.incrementAndGet();
+        List<Item> copies = new ArrayList<>();
+        for (Item item : activeItems) {
+            copies.add(item.clone());
+        }
+        return copies;
+    }
+
+    private Item loadItem(String itemId) {
+        itemLoads.incrementAndGet();
+        Item item = new Item(itemId, "Archived " + itemId, "Archive", new BigDecimal("100.00"), 0);
+        item.setActive(false);
+        return item;
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test Catalog Is Loaded Once And Indexed")
+    void testCatalogReuse() {
+        ItemCatalogCache cache = new ItemCatalogCache(60_000, 100);
+
+        assertEquals(3, cache.getActiveItems(this::loadActive).size());
+        assertEquals(3, cache.getActiveItems(this::loadActive).size());
+
+        List<Item> programming = cache.getActiveItemsByCategory("PROGRAMMING", this::loadActive, c -> List.of());
+        assertEquals(2, programming.size(), "Category lookup should be case-insensitive");
+        assertEquals(List.of("Database", "Programming"), cache.getCategories(this::loadActive, List::of));
+
+        Item item = cache.getItem("ITEM002", this::loadItem);
+        assertEquals("SQL Design", item.getName());
+
+        assertEquals(1, catalogLoads.get(), "Catalog should only be loaded once");
+        assertEquals(0, itemLoads.get(), "Active item should come from the snapshot");
+        assertEquals(1, cache.getMissCount());
+        assertEquals(4, cache.getHitCount());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test Returned Items Are Copies")
+    void testDefensiveCopies() {
+        ItemCatalogCache cache = new ItemCatalogCache(60_000, 100);
+
+        Item item = cache.getItem("ITEM001", this::loadItem);
+        cache.getActiveItems(this::loadActive).get(0).setPrice(BigDecimal.ONE);
+        Item first = cache.getItem("ITEM001", this::loadItem);
+        first.setPrice(BigDecimal.ONE);
+
+        assertEquals(new BigDecimal("2500.00"), cache.getItem("ITEM001", this::loadItem).getPrice());
+        assertNotSame(item, first);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Invalidation Reloads Changed Data")
+    void testInvalidation() {
+        ItemCatalogCache cache = new ItemCatalogCache(60_000, 100);
+        cache.getActiveItems(this::loadActive);
+
+        activeItems.get(0).setStockQuantity(49);
+        cache.invalidate("ITEM001");
+
+        assertEquals(49, cache.getActiveItems(this::loadActive).get(0).getStockQuantity());
+        assertEquals(49, cache.getItem("ITEM001", this::loadItem).getStockQuantity());
+        assertEquals(2, catalogLoads.get());
+        assertEquals(1, cache.getInvalidationCount());
+        assertTrue(cache.getVersion() > 0);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test Load Racing A Write Is Not Installed")
+    void testStaleLoadDiscarded() {
+        ItemCatalogCache cache = new ItemCatalogCache(60_000, 100);
+
+        // The write lands while the load is still running
+        List<Item> stale = cache.getActiveItems(() -> {
+            List<Item> items = loadActive();
+            cache.invalidate("ITEM002");
+            return items;
+        });
+        assertEquals(3, stale.size(), "The caller still gets its own load");
+
+        cache.getActiveItems(this::loadActive);
+        assertEquals(2, catalogLoads.get(), "Stale load should not have been cached");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test Inactive Item LRU And Size Limit")
+    void testItemLruLimit() {
+        ItemCatalogCache cache = new ItemCatalogCache(60_000, 2);
+
+        cache.getItem("ITEM101", this::loadItem);
+        cache.getItem("ITEM102", this::loadItem);
+        cache.getItem("ITEM101", this::loadItem);
+        cache.getItem("ITEM103", this::loadItem);  // evicts ITEM102
+        cache.getItem("ITEM101", this::loadItem);
+        cache.getItem("ITEM102", this::loadItem);
+
+        assertEquals(4, itemLoads.get());
+        assertTrue(cache.getEvictionCount() >= 1);
+
+        // Catalog larger than maxSize falls back to the narrower loader
+        List<Item> byCategory = cache.getActiveItemsByCategory("Programming", this::loadActive,
+                c -> List.of(new Item("ITEM001", "Java Basics", "Programming", BigDecimal.TEN, 1)));
+        assertEquals(2, byCategory.size(), "First oversized load is still served");
+        byCategory = cache.getActiveItemsByCategory("Programming", this::loadActive,
+                c -> List.of(new Item("ITEM001", "Java Basics", "Programming", BigDecimal.TEN, 1)));
+        assertEquals(1, byCategory.size(), "Later calls use the category loader");
+        assertEquals(1, catalogLoads.get());
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test Sales Adjust Stock Without A Reload")
+    void testAdjustStock() {
+        ItemCatalogCache cache = new ItemCatalogCache(60_000, 100);
+        ItemSearchIndex.Query inStock = new ItemSearchIndex.Query();
+        inStock.setInStockOnly(true);
+        assertEquals(3, cache.search(inStock, this::loadActive).getTotalCount());
+        cache.getItem("ITEM101", this::loadItem);
+
+        cache.adjustStock(Map.of("ITEM001", -50, "ITEM002", -5, "ITEM101", 4));
+
+        assertEquals(0, cache.getItem("ITEM001", this::loadItem).getStockQuantity());
+        assertEquals(25, cache.getActiveItemsByCategory("Database", this::loadActive, c -> List.of())
+                .get(0).getStockQuantity());
+        assertEquals(4, cache.getItem("ITEM101", this::loadItem).getStockQuantity());
+        assertEquals(2, cache.search(inStock, this::loadActive).getTotalCount(), "Search sees the new stock");
+        assertEquals(1, catalogLoads.get(), "The snapshot is kept");
+        assertEquals(1, itemLoads.get());
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Test Concurrent Misses Share One Load")
+    void testSingleFlightLoad() throws Exception {
+        ItemCatalogCache cache = new ItemCatalogCache(60_000, 100);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread leader = new Thread(() -> cache.getActiveItems(() -> {
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loadActive();
+        }));
+        leader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        List<Thread> followers = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread follower = new Thread(() -> {
+                int size = cache.getActiveItems(this::loadActive).size();
+                synchronized (sizes) {
+                    sizes.add(size);
+                }
+            });
+            followers.add(follower);
+            follower.start();
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        leader.join(5000);
+        for (Thread follower : followers) {
+            follower.join(5000);
+        }
+        assertEquals(List.of(3, 3, 3, 3), sizes);
+        assertEquals(1, catalogLoads.get(), "Followers waited for the leader's load");
+    }
+}
@@ -0,0 +1,116 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Item;
+import org.junit.jupiter.api.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ItemSearchIndex
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Item Search Index Tests")
+public class ItemSearchIndexTest {
+
+    private static ItemSearchIndex index;
+
+    @BeforeAll
+    static void setUpClass() {
+        List<Item> items = new ArrayList<>();
+        items.add(new Item("ITEM001", "Java Programming Basics", "Books", new BigDecimal("2500.00"), 50));
+        items.add(new Item("ITEM002", "SQL Database Design", "books", new BigDecimal("3000.00"), 0));
+        items.add(new Item("ITEM003", "Advanced Java", "Books", new BigDecimal("3500.00"), 25));
+        items.add(new Item("ITEM004", "Blue Ballpoint Pen", "Stationery", new BigDecimal("50.00"), 500));
+        items.add(new Item("ITEM005", "Java Coffee Mug", "Other", new BigDecimal("1200.00"), 10));
+        index = new ItemSearchIndex(items);
+    }
+
+    private static List<String> ids(ItemSearchIndex.Result result) {
+        return result.getItems().stream().map(Item::getItemId).toList();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test Name Words Match Token Prefixes")
+    void testTextSearch() {
+        ItemSearchIndex.Query query = new ItemSearchIndex.Query();
+        query.setText("JAV");
+        ItemSearchIndex.Result result = index.search(query);
+
+        // Name order
+        assertEquals(List.of("ITEM003", "ITEM005", "ITEM001"), ids(result));
+        assertEquals(3, result.getTotalCount());
+
+        query.setText("java prog");
+        assertEquals(List.of("ITEM001"), ids(index.search(query)));
+
+        query.setText("python");
+        assertEquals(0, index.search(query).getTotalCount());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test Combined Filters With Category Facets")
+    void testCombinedQuery() {
+        ItemSearchIndex.Query query = new ItemSearchIndex.Query();
+        query.setText("java");
+        query.setCategory("BOOKS");
+        query.setMaxPrice(new BigDecimal("3000.00"));
+        ItemSearchIndex.Result result = index.search(query);
+
+        assertEquals(List.of("ITEM001"), ids(result));
+        // Facets ignore the category filter
+        assertEquals(Map.of("Books", 1, "Other", 1), result.getCategoryCounts());
+
+        ItemSearchIndex.Query books = new ItemSearchIndex.Query();
+        books.setCategory("Books");
+        books.setInStockOnly(true);
+        assertEquals(List.of("ITEM003", "ITEM001"), ids(index.search(books)));
+
+        books.setCategory("Toys");
+        assertEquals(0, index.search(books).getTotalCount());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Price Range Sorting And Paging")
+    void testPriceRange() {
+        ItemSearchIndex.Query query = new ItemSearchIndex.Query();
+        query.setMinPrice(new BigDecimal("1200.00"));
+        query.setMaxPrice(new BigDecimal("3000.00"));
+        query.setSort(ItemSearchIndex.Sort.PRICE_DESC);
+        ItemSearchIndex.Result result = index.search(query);
+
+        assertEquals(List.of("ITEM002", "ITEM001", "ITEM005"), ids(result), "Range bounds are inclusive");
+
+        query.setOffset(1);
+        query.setLimit(1);
+        result = index.search(query);
+        assertEquals(List.of("ITEM001"), ids(result));
+        assertEquals(3, result.getTotalCount(), "Total counts every match, not just the page");
+
+        ItemSearchIndex.Query all = new ItemSearchIndex.Query();
+        all.setSort(ItemSearchIndex.Sort.STOCK_ASC);
+        all.setLimit(2);
+        assertEquals(List.of("ITEM002", "ITEM005"), ids(index.search(all)));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test Returned Items Are Copies")
+    void testDefensiveCopies() {
+        ItemSearchIndex.Query query = new ItemSearchIndex.Query();
+        query.setText("pen");
+        index.search(query).getItems().get(0).setPrice(BigDecimal.ONE);
+
+        assertEquals(new BigDecimal("50.00"), index.search(query).getItems().get(0).getPrice());
+    }
+}
@@ -0,0 +1,125 @@
+package com.pahanaedu.util;
+
+import com.pahanaedu.models.Bill;
+import com.pahanaedu.models.Customer;
+import com.pahanaedu.models.Item;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for JsonReader and JsonBinder
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("JSON Reader Tests")
+public class JsonReaderTest {
+
+    private static JsonReader reader(String json) {
+        return new JsonReader(new StringReader(json));
+    }
+
+    private static JsonReader.MalformedJsonException parseError(String json) {
+        return assertThrows(JsonReader.MalformedJsonException.class, () -> {
+            JsonReader reader = reader(json);
+            reader.skipValue();
+            reader.endDocument();
+        });
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test Pulling Tokens")
+    void testTokens() throws IOException {
+        JsonReader reader = reader(" {\"name\": \"Pen \\\"Blue\\\" \\u00e9\\n\", \"price\": -12.50e1,"
+                + " \"stock\": \"7\", \"tags\": [true, false, null, {}], \"extra\": {\"a\": [1, [2]]}}\n");
+
+        reader.beginObject();
+        assertEquals("name", reader.nextName());
+        assertEquals("Pen \"Blue\" é\n", reader.nextString());
+        assertEquals("price", reader.nextName());
+        assertEquals(0, new BigDecimal("-125.0").compareTo(reader.nextBigDecimal()));
+        assertEquals("stock", reader.nextName());
+        assertEquals(7, reader.nextInt(), "Numbers in strings are accepted");
+        assertEquals("tags", reader.nextName());
+        reader.beginArray();
+        assertTrue(reader.nextBoolean());
+        assertFalse(reader.nextBoolean());
+        assertNull(reader.nextString());
+        assertEquals(JsonReader.Token.BEGIN_OBJECT, reader.peek());
+        reader.skipValue();
+        assertFalse(reader.hasNext());
+        reader.endArray();
+        assertEquals("extra", reader.nextName());
+        reader.skipValue();
+        reader.endObject();
+        reader.endDocument();
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test Errors Report Line And Column")
+    void testErrorPositions() {
+        JsonReader.MalformedJsonException error = parseError("{\n  \"name\": \"Pen\",\n  \"price\" 12\n}");
+        assertEquals(3, error.getLine());
+        assertEquals(11, error.getColumn());
+        assertTrue(error.getMessage().startsWith("Expected ':'"));
+
+        assertEquals(8, parseError("[1, 2, ]").getColumn());
+        assertEquals(2, parseError("[01]").getColumn());
+        assertEquals(1, parseError("{\"a\": 1} x").getLine());
+        assertNotNull(parseError("{\"a\": \"open"));
+        assertNotNull(parseError("{\"a\": tru}"));
+        assertNotNull(parseError("{'a': 1}"));
+        assertNotNull(parseError("[1 2]"));
+        assertNotNull(parseError(""));
+
+        JsonReader.MalformedJsonException typeError = assertThrows(JsonReader.MalformedJsonException.class,
+                () -> JsonBinder.readItem(reader("{\"name\": \"Pen\",\n \"stock\": 2.5}")));
+        assertEquals(2, typeError.getLine());
+        assertEquals(11, typeError.getColumn());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Values Across Buffer Boundaries")
+    void testLargeInput() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 500; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"itemId\":\"ITEM").append(i)
+                    .append("\",\"name\":\"").append("n".repeat(i)).append("\",\"price\":").append(i).append(".25}");
+        }
+        json.append(']');
+
+        List<Item> items = JsonBinder.readItems(reader(json.toString()));
+        assertEquals(500, items.size());
+        assertEquals("n".repeat(499), items.get(499).getName());
+        assertEquals(new BigDecimal("321.25"), items.get(321).getPrice());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test Binding Customers And Bills")
+    void testBinding() throws IOException {
+        Customer customer = JsonBinder.readCustomer(reader("{\"accountNumber\":\"CUS001\",\"name\":\"Nimal\","
+                + "\"phone\":\"0771234567\",\"creditLimit\":5000,\"unknown\":{\"x\":[1]}}"));
+        assertEquals("CUS001", customer.getAccountNumber());
+        assertEquals("0771234567", customer.getPhoneNumber());
+        assertEquals(new BigDecimal("5000"), customer.getCreditLimit());
+
+        Bill bill = JsonBinder.readBill(reader("{\"customerAccount\":\"CUS001\",\"paymentMethod\":\"card\","
+                + "\"items\":[{\"itemId\":\"ITEM001\",\"quantity\":2},{\"itemId\":\"ITEM004\",\"quantity\":10}]}"));
+        assertEquals(Bill.PaymentMethod.CARD, bill.getPaymentMethod());
+        assertEquals(2, bill.getBillItems().size());
+        assertEquals("ITEM004", bill.getBillItems().get(1).getItemId());
+        assertEquals(10, bill.getBillItems().get(1).getQuantity());
+    }
+}
@@ -0,0 +1,101 @@
+package com.pahanaedu.util;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for JsonWriter
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("JSON Writer Tests")
+public class JsonWriterTest {
+
+    @Test
+    @Order(1)
+    @DisplayName("Test Nested Values And Separators")
+    void testStructure() throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonWriter json = new JsonWriter(out)) {
+            json.beginObject()
+                    .name("success").value(true)
+                    .name("count").value(-42)
+                    .name("price").value(new BigDecimal("1E+3"))
+                    .name("date").value(Timestamp.valueOf("2024-03-01 10:15:00"))
+                    .name("notes").value((String) null)
+                    .name("data").value(w -> w.beginArray().value(1).value(Long.MAX_VALUE).beginObject().endObject().endArray())
+                    .name("empty").beginArray().endArray()
+                    .endObject();
+        }
+
+        assertEquals("{\"success\":true,\"count\":-42,\"price\":1000,\"date\":\"2024-03-01 10:15:00.0\","
+                + "\"notes\":null,\"data\":[1,9223372036854775807,{}],\"empty\":[]}", out.toString());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test String Escaping")
+    void testEscaping() throws IOException {
+        String text = "Say \"hi\"\\\n\t\u0001 \u2028end";
+        String expected = "Say \\\"hi\\\"\\\\\\n\\t\\u0001 \\u2028end";
+
+        StringWriter out = new StringWriter();
+        try (JsonWriter json = new JsonWriter(out)) {
+            json.beginArray().value(text).endArray();
+        }
+        assertEquals("[\"" + expected + "\"]", out.toString());
+
+        StringWriter raw = new StringWriter();
+        JsonWriter.writeEscaped(raw, text);
+        assertEquals(expected, raw.toString());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Output Larger Than The Buffer")
+    void testLargeOutput() throws IOException {
+        String name = "x".repeat(5000) + "\"";
+        StringWriter out = new StringWriter();
+        try (JsonWriter json = new JsonWriter(out)) {
+            json.beginArray();
+            for (int i = 0; i < 1000; i++) {
+                json.beginObject().name("id").value(i).name("name").value(name).endObject();
+            }
+            json.endArray();
+        }
+
+        String result = out.toString();
+        assertTrue(result.startsWith("[{\"id\":0,\"name\":\"xxx"));
+        assertTrue(result.endsWith("{\"id\":999,\"name\":\"" + "x".repeat(5000) + "\\\"\"}]"));
+        int expectedLength = 2 + 999;
+        for (int i = 0; i < 1000; i++) {
+            expectedLength += "{\"id\":,\"name\":\"\"}".length() + String.valueOf(i).length() + name.length() + 1;
+        }
+        assertEquals(expectedLength, result.length());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test Line Separated Values And Misuse")
+    void testNewLineAndMisuse() throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonWriter json = new JsonWriter(out)) {
+            json.beginObject().name("a").value(1).endObject().newLine();
+            json.beginObject().name("b").value(2).endObject().newLine();
+
+            assertThrows(IllegalStateException.class, json::endArray);
+            json.beginObject().name("c");
+            assertThrows(IllegalStateException.class, () -> json.name("d"));
+            assertThrows(IllegalStateException.class, json::newLine);
+        }
+        assertTrue(out.toString().startsWith("{\"a\":1}\n{\"b\":2}\n"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.pahanaedu.util;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for LoginThrottle
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Login Throttle Tests")
+public class LoginThrottleTest {
+
+    private static final long MINUTE = 60_000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @Order(1)
+    @DisplayName("Test Burst Then Refill Rate")
+    void testTokenBucket() {
+        // 3 in a row, then one every 10 seconds
+        LoginThrottle throttle = new LoginThrottle("IP", 3, 6, 100, 15 * MINUTE, 1000, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(LoginThrottle.Decision.ALLOWED, throttle.tryAcquire("10.0.0.1"));
+        }
+        assertEquals(LoginThrottle.Decision.RATE_LIMITED, throttle.tryAcquire("10.0.0.1"));
+        assertEquals(LoginThrottle.Decision.ALLOWED, throttle.tryAcquire("10.0.0.2"), "Keys are independent");
+
+        now.addAndGet(9_000);
+        assertEquals(LoginThrottle.Decision.RATE_LIMITED, throttle.tryAcquire("10.0.0.1"));
+        now.addAndGet(1_500);
+        assertEquals(LoginThrottle.Decision.ALLOWED, throttle.tryAcquire("10.0.0.1"));
+        assertEquals(LoginThrottle.Decision.ALLOWED, throttle.tryAcquire(null));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test Lockout And Success")
+    void testLockout() {
+        LoginThrottle throttle = new LoginThrottle("username", 100, 100, 3, 15 * MINUTE, 1000, now::get);
+
+        assertFalse(throttle.recordFailure("admin"));
+        assertFalse(throttle.recordFailure("admin"));
+        throttle.recordSuccess("admin");
+        assertFalse(throttle.recordFailure("admin"), "Success resets the failure count");
+        assertFalse(throttle.recordFailure("admin"));
+        assertTrue(throttle.recordFailure("admin"));
+
+        assertEquals(LoginThrottle.Decision.LOCKED, throttle.tryAcquire("admin"));
+        now.addAndGet(14 * MINUTE);
+        assertTrue(throttle.isLocked("admin"));
+        now.addAndGet(2 * MINUTE);
+        assertFalse(throttle.isLocked("admin"));
+        assertEquals(LoginThrottle.Decision.ALLOWED, throttle.tryAcquire("admin"));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Expiry And Bounded Size")
+    void testExpiryAndBound() {
+        LoginThrottle throttle = new LoginThrottle("IP", 5, 60, 5, MINUTE, 640, now::get);
+
+        for (int i = 0; i < 10_000; i++) {
+            throttle.tryAcquire("192.168." + (i / 256) + "." + (i % 256));
+        }
+        assertTrue(throttle.size() <= 640, "Tracked keys stay within the bound: " + throttle.size());
+        assertTrue(throttle.getStats().contains("Evictions: "));
+
+        // Locked keys outlive keys that were only seen once
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("attacker");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            throttle.tryAcquire("10.1." + (i / 256) + "." + (i % 256));
+        }
+        assertEquals(LoginThrottle.Decision.LOCKED, throttle.tryAcquire("attacker"));
+
+        // ...and keys with a single failure, which are kept as long as a lockout
+        for (int i = 0; i < 10_000; i++) {
+            throttle.recordFailure("10.2." + (i / 256) + "." + (i % 256));
+        }
+        assertEquals(LoginThrottle.Decision.LOCKED, throttle.tryAcquire("attacker"));
+
+        now.addAndGet(2 * MINUTE);
+        throttle.tryAcquire("warm-up");
+        assertFalse(throttle.isLocked("attacker"));
+        assertTrue(throttle.size() < 640, "Idle keys are swept once expired");
+    }
+}
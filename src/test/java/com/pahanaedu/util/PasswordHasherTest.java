@@ -0,0 +1,76 @@
+package com.pahanaedu.util;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the password hashers and PasswordVerifier
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Password Hasher Tests")
+public class PasswordHasherTest {
+
+    @Test
+    @Order(1)
+    @DisplayName("Test PBKDF2 Format And Rehash")
+    void testPbkdf2() {
+        Pbkdf2PasswordHasher weak = new Pbkdf2PasswordHasher(1000);
+        Pbkdf2PasswordHasher strong = new Pbkdf2PasswordHasher(2000);
+
+        String hash = weak.hash("Admin123");
+        assertTrue(hash.startsWith("$pbkdf2-sha256$v=1$i=1000$"), hash);
+        assertNotEquals(hash, weak.hash("Admin123"), "Each hash has its own salt");
+
+        assertTrue(strong.verify("Admin123", hash), "Cost is read from the stored hash");
+        assertFalse(strong.verify("admin123", hash));
+        assertTrue(strong.needsRehash(hash));
+        assertFalse(weak.needsRehash(hash));
+
+        assertFalse(strong.verify("Admin123", "$pbkdf2-sha256$v=1$i=x$abc$def"));
+        assertFalse(strong.supports("c2FsdA==:aGFzaA=="));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test Legacy SHA-256 Hashes")
+    void testLegacyFormat() {
+        Sha256PasswordHasher legacy = new Sha256PasswordHasher();
+        String hash = legacy.hash("Staff123");
+
+        assertTrue(legacy.supports(hash));
+        assertTrue(legacy.verify("Staff123", hash));
+        assertFalse(legacy.verify("Staff124", hash));
+        assertTrue(legacy.needsRehash(hash));
+        assertFalse(legacy.supports(new Pbkdf2PasswordHasher(1000).hash("Staff123")));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Verifier Upgrades And Refuses When Saturated")
+    void testVerifier() {
+        PasswordVerifier verifier = new PasswordVerifier(1, 1, 5000);
+        String legacyHash = new Sha256PasswordHasher().hash("Staff123");
+
+        PasswordVerifier.Result result = verifier.verify("Staff123", legacyHash);
+        assertTrue(result.matches());
+        assertNotNull(result.getUpgradedHash(), "Legacy hashes are upgraded on a match");
+        assertTrue(PasswordUtil.verifyPassword("Staff123", result.getUpgradedHash()));
+
+        result = verifier.verify("wrong", legacyHash);
+        assertFalse(result.matches());
+        assertNull(result.getUpgradedHash());
+        assertDoesNotThrow(() -> verifier.verifyUnknownUser("Staff123"), "Unknown users get a real check");
+        verifier.shutdown();
+
+        PasswordVerifier stopped = new PasswordVerifier(1, 1, 5000);
+        stopped.shutdown();
+        assertThrows(RejectedExecutionException.class, () -> stopped.verify("Staff123", legacyHash));
+        assertTrue(stopped.getStats().contains("Rejected: 1"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.pahanaedu.util;
+
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for UrlRuleMatcher
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("URL Rule Matcher Tests")
+public class UrlRuleMatcherTest {
+
+    private final UrlRuleMatcher matcher = new UrlRuleMatcher(
+            UrlRuleMatcher.parseRules("/login, /, /css/\n/js/*  *.png,*.CSS"),
+            UrlRuleMatcher.parseRules("/admin/, /users/, /reports/admin/"),
+            UrlRuleMatcher.parseRules("/api/"));
+
+    @Test
+    @Order(1)
+    @DisplayName("Test Exact And Subtree Rules")
+    void testPathRules() {
+        assertEquals(UrlRuleMatcher.PUBLIC, matcher.classify("/login"));
+        assertEquals(UrlRuleMatcher.PUBLIC, matcher.classify("/login/"));
+        assertEquals(0, matcher.classify("/login/other"), "Exact rules do not cover sub-paths");
+        assertEquals(UrlRuleMatcher.PUBLIC, matcher.classify("/"));
+        assertEquals(0, matcher.classify("/dashboard"), "The root rule is exact");
+
+        assertEquals(UrlRuleMatcher.PUBLIC, matcher.classify("/css/app/site.min.css"));
+        assertEquals(UrlRuleMatcher.PUBLIC, matcher.classify("/js/app.js"));
+        assertEquals(UrlRuleMatcher.ADMIN, matcher.classify("/users"));
+        assertEquals(UrlRuleMatcher.ADMIN, matcher.classify("/users/USR001/edit"));
+        assertEquals(0, matcher.classify("/usersettings"), "Rules match whole segments");
+        assertEquals(UrlRuleMatcher.ADMIN, matcher.classify("/reports/admin/daily"));
+        assertEquals(0, matcher.classify("/reports/daily"));
+        assertEquals(UrlRuleMatcher.API, matcher.classify("/api/items/ITM001"));
+        assertEquals(UrlRuleMatcher.API, matcher.classify("//api//items"));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test Extension Rules")
+    void testExtensionRules() {
+        assertEquals(UrlRuleMatcher.PUBLIC, matcher.classify("/views/img/logo.PNG"));
+        assertEquals(UrlRuleMatcher.PUBLIC, matcher.classify("/theme.css"));
+        assertEquals(0, matcher.classify("/views/bill.jsp"));
+        assertEquals(0, matcher.classify("/images.png/list"), "Only the last segment counts");
+        assertEquals(UrlRuleMatcher.API, matcher.classify("/api/items/export.png"), "Never opens API paths");
+        assertEquals(UrlRuleMatcher.ADMIN, matcher.classify("/admin/chart.png"), "Never opens admin paths");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test Invalid Rules")
+    void testInvalidRules() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new UrlRuleMatcher(List.of("login"), List.of(), List.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new UrlRuleMatcher(List.of("/a/*/b"), List.of(), List.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new UrlRuleMatcher(List.of(), List.of("*.png"), List.of()));
+        assertTrue(UrlRuleMatcher.parseRules(null).isEmpty());
+    }
+}
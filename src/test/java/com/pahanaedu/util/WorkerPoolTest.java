@@ -0,0 +1,77 @@
+package com.pahanaedu.util;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for WorkerPool
+ *
+ * @author Pahana Edu Development Team
+ * @version 1.0
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Worker Pool Tests")
+public class WorkerPoolTest {
+
+    private WorkerPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new WorkerPool("test-worker", 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test Results Keep Input Order")
+    void testMapKeepsOrder() {
+        List<Integer> inputs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            inputs.add(i);
+        }
+
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        List<String> results = pool.map(inputs, i -> {
+            threadNames.add(Thread.currentThread().getName());
+            return "v" + i;
+        });
+
+        assertEquals(1000, results.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("v" + i, results.get(i));
+        }
+        assertTrue(threadNames.contains(Thread.currentThread().getName()), "The caller runs the first slice");
+        assertEquals(List.of("a"), pool.map(List.of(1), i -> "a"), "Small inputs run on the caller");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test Failures And Shutdown")
+    void testFailuresAndShutdown() {
+        List<Integer> inputs = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            inputs.add(i);
+        }
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> pool.map(inputs, i -> {
+            if (i == 400) {
+                throw new IllegalArgumentException("bad " + i);
+            }
+            return i;
+        }));
+        assertEquals("bad 400", error.getMessage());
+
+        pool.shutdown();
+        assertEquals(500, pool.map(inputs, i -> i * 2).size(), "A stopped pool runs everything on the caller");
+    }
+}